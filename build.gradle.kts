@@ -51,6 +51,78 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+tasks.register<JavaExec>("generateDataset") {
+    group = "load testing"
+    description = "Generates a synthetic dataset, args: managers warehousesPerManager staffPerWarehouse productsPerWarehouse transactions seed"
+    mainModule.set("com.oop.stockflow")
+    mainClass.set("com.oop.stockflow.tools.DatasetGenerator")
+    classpath = sourceSets["main"].runtimeClasspath
+    environment("LOG_CONSOLE", "true")
+}
+
+tasks.register<JavaExec>("simulateLoad") {
+    group = "load testing"
+    description = "Runs concurrent simulated staff against the repositories, args: threads durationSeconds seed"
+    mainModule.set("com.oop.stockflow")
+    mainClass.set("com.oop.stockflow.tools.LoadSimulator")
+    classpath = sourceSets["main"].runtimeClasspath
+    environment("LOG_CONSOLE", "true")
+}
+
+tasks.register<JavaExec>("benchmarkUpdates") {
+    group = "load testing"
+    description = "Compares WAL volume and latency of full-row and dirty-field product updates, args: iterations seed"
+    mainModule.set("com.oop.stockflow")
+    mainClass.set("com.oop.stockflow.tools.UpdateBenchmark")
+    classpath = sourceSets["main"].runtimeClasspath
+    environment("LOG_CONSOLE", "true")
+}
+
+tasks.register<JavaExec>("checkQueryPlans") {
+    group = "load testing"
+    description = "Fails if a hot repository query plans a sequential scan over a large table of the generated dataset"
+    mainModule.set("com.oop.stockflow")
+    mainClass.set("com.oop.stockflow.tools.QueryPlanCheck")
+    classpath = sourceSets["main"].runtimeClasspath
+    environment("LOG_CONSOLE", "true")
+}
+
+tasks.register<JavaExec>("transactionArchive") {
+    group = "maintenance"
+    description = "Manages archived transaction partitions, args: list | export | drop YYYY-MM | restore YYYY-MM"
+    mainModule.set("com.oop.stockflow")
+    mainClass.set("com.oop.stockflow.tools.ArchiveTool")
+    classpath = sourceSets["main"].runtimeClasspath
+    environment("LOG_CONSOLE", "true")
+}
+
+tasks.register<JavaExec>("benchmarkTableRendering") {
+    group = "load testing"
+    description = "Measures frame times of scrolling a large transaction table with legacy and cached cells, args: rows rowsPerFrame seed"
+    mainModule.set("com.oop.stockflow")
+    mainClass.set("com.oop.stockflow.tools.TableRenderBenchmark")
+    classpath = sourceSets["main"].runtimeClasspath
+    environment("LOG_CONSOLE", "true")
+}
+
+tasks.register<JavaExec>("benchmarkForecast") {
+    group = "load testing"
+    description = "Measures sequential and parallel demand forecast fits for generated daily series, args: skus historyDays seed"
+    mainModule.set("com.oop.stockflow")
+    mainClass.set("com.oop.stockflow.tools.ForecastBenchmark")
+    classpath = sourceSets["main"].runtimeClasspath
+    environment("LOG_CONSOLE", "true")
+}
+
+tasks.register<JavaExec>("benchmarkWavePlanning") {
+    group = "load testing"
+    description = "Measures wave planning time for generated pending outbound transactions, args: pendingLines destinations seed"
+    mainModule.set("com.oop.stockflow")
+    mainClass.set("com.oop.stockflow.tools.WavePlanningBenchmark")
+    classpath = sourceSets["main"].runtimeClasspath
+    environment("LOG_CONSOLE", "true")
+}
+
 jlink {
     imageZip.set(layout.buildDirectory.file("/distributions/app-${javafx.platform.classifier}.zip"))
     options.set(listOf("--strip-debug", "--compress", "2", "--no-header-files", "--no-man-pages"))
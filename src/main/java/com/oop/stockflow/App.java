@@ -1,14 +1,26 @@
 package com.oop.stockflow;
 
+import com.oop.stockflow.app.JobSchedule;
+import com.oop.stockflow.app.JobScheduler;
 import com.oop.stockflow.app.SceneManager;
+import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.db.MigrationRunner;
+import com.oop.stockflow.logging.Logger;
+import com.oop.stockflow.repository.ManagerRepository;
+import com.oop.stockflow.repository.OfflineTransactionQueue;
+import com.oop.stockflow.repository.TransactionRepository;
+import com.oop.stockflow.service.DemandForecastService;
+import com.oop.stockflow.service.StockAlertService;
+import com.oop.stockflow.service.TransactionArchiveService;
 import javafx.application.Application;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.time.Duration;
 
 /**
  * The main application class for StockFlow.
@@ -16,8 +28,10 @@ import java.io.IOException;
  * This class extends JavaFX's Application and serves as the entry point
  * for the JavaFX GUI framework. It initializes the primary stage, sets up
  * the StageManager, and loads the initial application view (Login scene).
+ * Background jobs are scheduled once the window is shown and stopped when the application exits.
  */
 public class App extends Application {
+    private static final Logger LOGGER = Logger.getLogger(App.class);
 
     /**
      * The primary entry point for the JavaFX application.
@@ -28,6 +42,10 @@ public class App extends Application {
      */
     @Override
     public void start(Stage stage) throws IOException {
+        if (!MigrationRunner.getInstance().migrate()) {
+            LOGGER.error("Database schema is not up to date, some screens may fail.");
+        }
+
         StageManager stageManager = StageManager.getInstance();
         stageManager.init(stage);
 
@@ -36,5 +54,75 @@ public class App extends Application {
         stageManager.setScene(loginScene, "Login");
 
         stage.show();
+
+        // jobs run off the JavaFX thread and must not delay the login screen
+        scheduleJobs();
+        JobScheduler.getInstance().start();
+
+        // replays transactions queued while the database was unreachable in an earlier session
+        OfflineTransactionQueue.getInstance();
+    }
+
+    /**
+     * Called by JavaFX when the application exits. Stops scheduling background jobs.
+     */
+    @Override
+    public void stop() {
+        JobScheduler.getInstance().shutdown();
+    }
+
+    /**
+     * Schedules the background jobs. Exclusive jobs maintain shared data and run on one client per slot,
+     * local jobs maintain the state of this client, and essential jobs run even when jobs are disabled.
+     * Daily jobs only run if some client is open at their time; the screens they feed stay correct without
+     * them, only slower or with more stale rows.
+     */
+    private void scheduleJobs() {
+        JobScheduler scheduler = JobScheduler.getInstance();
+        TransactionArchiveService archiveService = TransactionArchiveService.getInstance();
+        SessionManager sessionManager = SessionManager.getInstance();
+
+        scheduler.scheduleExclusive("partition-maintenance", JobSchedule.every(Duration.ofHours(6)), Duration.ofMinutes(2), () -> {
+            archiveService.runMaintenance();
+            return true;
+        });
+        scheduler.scheduleExclusive("change-tombstone-prune", JobSchedule.cron("40 3 * * *"), Duration.ofMinutes(5),
+                () -> archiveService.pruneChangeTombstones() >= 0);
+        scheduler.scheduleExclusive("daily-rollups", JobSchedule.cron("10 0 * * *"), Duration.ofMinutes(5),
+                () -> TransactionRepository.getInstance().rollupDailyOutboundCounts(TransactionRepository.ROLLUP_RECOUNT_DAYS) >= 0);
+        scheduler.scheduleExclusive("reorder-evaluation", JobSchedule.cron("30 2 * * *"), Duration.ofMinutes(10),
+                App::evaluateReorderPoints);
+        scheduler.scheduleExclusive("session-sweep", JobSchedule.every(Duration.ofMinutes(15)), Duration.ofMinutes(1),
+                () -> sessionManager.sweepIdleSessions() >= 0);
+
+        // several heartbeats fit in the idle timeout, so one failed heartbeat does not get a session swept;
+        // essential, since clients with jobs disabled would otherwise be swept by the other clients
+        scheduler.scheduleEssential("session-heartbeat", JobSchedule.every(sessionManager.getIdleTimeout().dividedBy(4)),
+                Duration.ofSeconds(30), sessionManager::heartbeat);
+        scheduler.scheduleLocal("expiry-scan", JobSchedule.cron("1 0 * * *"), Duration.ofMinutes(1), () -> {
+            StockAlertService.getInstance().scanExpiry();
+            return true;
+        });
+    }
+
+    /**
+     * Refits the demand forecast of every manager and writes the recommended reorder points back to the products.
+     *
+     * @return true if every manager was evaluated, false if at least one failed.
+     */
+    private static boolean evaluateReorderPoints() {
+        DemandForecastService forecastService = DemandForecastService.getInstance();
+        boolean succeeded = true;
+        int updated = 0;
+        for (int managerId : new ManagerRepository().getAllManagerIds()) {
+            int count = forecastService.applyForecast(managerId);
+            if (count < 0) {
+                succeeded = false;
+            } else {
+                updated += count;
+            }
+        }
+        LOGGER.info("Reorder evaluation updated {} products.", updated);
+        return succeeded;
     }
 }
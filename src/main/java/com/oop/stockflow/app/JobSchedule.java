@@ -0,0 +1,215 @@
+package com.oop.stockflow.app;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Cadence of a background job, either a fixed rate or a cron expression.
+ *
+ * Cron expressions have the five standard fields, minute, hour, day of month, month and day of week
+ * (0 or 7 is Sunday), each a {@code *}, a value, a range {@code a-b} or a comma separated list of them,
+ * optionally stepped with {@code /n}. As in cron, a day matches if either day field matches when both
+ * are restricted. Times are local to the machine running the client.
+ */
+public final class JobSchedule {
+    private static final int SEARCH_YEARS = 5;
+
+    private final Duration interval;
+    private final String expression;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+    private final boolean anyDayOfMonth;
+    private final boolean anyDayOfWeek;
+
+    private JobSchedule(Duration interval, String expression, BitSet[] fields, boolean anyDayOfMonth, boolean anyDayOfWeek) {
+        this.interval = interval;
+        this.expression = expression;
+        this.minutes = fields[0];
+        this.hours = fields[1];
+        this.daysOfMonth = fields[2];
+        this.months = fields[3];
+        this.daysOfWeek = fields[4];
+        this.anyDayOfMonth = anyDayOfMonth;
+        this.anyDayOfWeek = anyDayOfWeek;
+    }
+
+    /**
+     * Creates a fixed rate schedule. The first run is due as soon as the scheduler starts.
+     *
+     * @param interval The time between the starts of two runs, at least one second.
+     * @return The schedule.
+     * @throws IllegalArgumentException If the interval is shorter than a second.
+     */
+    public static JobSchedule every(Duration interval) {
+        if (interval.compareTo(Duration.ofSeconds(1)) < 0) {
+            throw new IllegalArgumentException("Job interval must be at least one second: " + interval);
+        }
+        return new JobSchedule(interval, null, new BitSet[5], true, true);
+    }
+
+    /**
+     * Creates a schedule from a cron expression, e.g. {@code "10 0 * * *"} for every day at 00:10.
+     * The first run is due at the first matching minute after the scheduler starts.
+     *
+     * @param expression The five field cron expression.
+     * @return The schedule.
+     * @throws IllegalArgumentException If the expression is malformed or never matches.
+     */
+    public static JobSchedule cron(String expression) {
+        String[] parts = expression.trim().split("\\s+");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Cron expression needs 5 fields: " + expression);
+        }
+
+        BitSet[] fields = {
+                parseField(parts[0], 0, 59, expression),
+                parseField(parts[1], 0, 23, expression),
+                parseField(parts[2], 1, 31, expression),
+                parseField(parts[3], 1, 12, expression),
+                parseField(parts[4], 0, 7, expression)
+        };
+        // Sunday is both 0 and 7
+        if (fields[4].get(7)) {
+            fields[4].set(0);
+        }
+        JobSchedule schedule = new JobSchedule(null, expression, fields, parts[2].equals("*"), parts[4].equals("*"));
+        try {
+            schedule.next(LocalDateTime.now());
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        return schedule;
+    }
+
+    /**
+     * Computes when the first run is due after the scheduler starts.
+     *
+     * @param now The current time.
+     * @return The due time of the first run.
+     */
+    public LocalDateTime first(LocalDateTime now) {
+        return interval != null ? now : next(now);
+    }
+
+    /**
+     * Computes when the run after a given time is due.
+     *
+     * @param after The due time of the previous run, or the current time.
+     * @return The due time of the next run, strictly after {@code after}.
+     * @throws IllegalStateException If the cron expression never matches, e.g. {@code "0 0 31 2 *"}.
+     */
+    public LocalDateTime next(LocalDateTime after) {
+        if (interval != null) {
+            return after.plus(interval);
+        }
+
+        LocalDateTime time = after.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        LocalDateTime limit = time.plusYears(SEARCH_YEARS);
+        while (time.isBefore(limit)) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+            } else if (!matchesDay(time)) {
+                time = time.toLocalDate().plusDays(1).atStartOfDay();
+            } else if (!hours.get(time.getHour())) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!minutes.get(time.getMinute())) {
+                time = time.plusMinutes(1);
+            } else {
+                return time;
+            }
+        }
+        throw new IllegalStateException("Cron expression never matches: " + expression);
+    }
+
+    /**
+     * Checks whether a run for a slot is still needed, given the slot of the last run of any client.
+     * A cron slot is needed until some client ran it. A fixed rate slot is needed unless a client ran
+     * within the last half interval, so clients with shifted timers share a single cadence.
+     *
+     * @param lastSlot The slot of the last run, or null if the job never ran.
+     * @param slot The slot about to run.
+     * @return true if the slot should run, false if it is already covered.
+     */
+    public boolean isDue(LocalDateTime lastSlot, LocalDateTime slot) {
+        if (lastSlot == null) {
+            return true;
+        }
+        if (interval != null) {
+            return !lastSlot.isAfter(slot.minus(interval.dividedBy(2)));
+        }
+        return lastSlot.isBefore(slot);
+    }
+
+    /**
+     * Returns a readable form of the schedule, used in logs.
+     *
+     * @return The interval or the cron expression.
+     */
+    @Override
+    public String toString() {
+        return interval != null ? "every " + interval : "cron " + expression;
+    }
+
+    private boolean matchesDay(LocalDateTime time) {
+        boolean dayOfMonth = daysOfMonth.get(time.getDayOfMonth());
+        boolean dayOfWeek = daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+        if (anyDayOfMonth || anyDayOfWeek) {
+            return dayOfMonth && dayOfWeek;
+        }
+        return dayOfMonth || dayOfWeek;
+    }
+
+    private static BitSet parseField(String field, int min, int max, String expression) {
+        BitSet values = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            String range = part;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseValue(part.substring(slash + 1), 1, max, expression);
+                range = part.substring(0, slash);
+            }
+
+            int from;
+            int to;
+            if (range.equals("*")) {
+                from = min;
+                to = max;
+            } else if (range.contains("-")) {
+                String[] bounds = range.split("-", 2);
+                from = parseValue(bounds[0], min, max, expression);
+                to = parseValue(bounds[1], min, max, expression);
+                if (from > to) {
+                    throw new IllegalArgumentException("Descending range " + range + " in cron expression: " + expression);
+                }
+            } else {
+                from = parseValue(range, min, max, expression);
+                // "5/15" means from 5 to the end in steps of 15
+                to = slash >= 0 ? max : from;
+            }
+
+            for (int value = from; value <= to; value += step) {
+                values.set(value);
+            }
+        }
+        return values;
+    }
+
+    private static int parseValue(String text, int min, int max, String expression) {
+        try {
+            int value = Integer.parseInt(text);
+            if (value < min || value > max) {
+                throw new IllegalArgumentException("Value " + value + " out of range " + min + "-" + max
+                        + " in cron expression: " + expression);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value '" + text + "' in cron expression: " + expression, e);
+        }
+    }
+}
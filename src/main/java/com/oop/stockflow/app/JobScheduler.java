@@ -0,0 +1,399 @@
+package com.oop.stockflow.app;
+
+import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.logging.Logger;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs named background jobs on a fixed rate or cron schedule.
+ * Implements singleton pattern to ensure only one scheduler runs per client.
+ *
+ * A single timer thread waits for the next due job and starts it on a virtual thread, so jobs never run
+ * on the JavaFX thread and a slow job does not delay the others. A job is re-armed only after its run
+ * finishes, so runs of one job never overlap, and every run is delayed by a random jitter so clients
+ * started together do not hit the database at the same moment. Jobs do not run in a screen's
+ * {@link com.oop.stockflow.db.QueryScope}, so navigation never cancels them.
+ *
+ * Exclusive jobs run on one client at a time: the run holds a PostgreSQL advisory lock keyed by the job
+ * name, and records the slot it ran for in the scheduled_jobs table, so the other clients skip that slot
+ * instead of repeating it once the lock is free. The lock is held on a dedicated connection outside the
+ * pools for the whole run, so a long job neither takes a write connection from the screens nor trips the
+ * pool's leak detection. Local jobs run on every client.
+ *
+ * Disabled with the optional .env entry {@code JOBS_ENABLED=false}, e.g. for a client on a slow link.
+ * Essential jobs, which keep this client working, such as its session heartbeat, run regardless.
+ */
+public final class JobScheduler {
+    private static final Logger LOGGER = Logger.getLogger(JobScheduler.class);
+
+    private static final int JOB_LOCK_CLASS = 0x534a;
+
+    private static JobScheduler instance;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private ScheduledExecutorService timer;
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     * Reads whether jobs are enabled from the environment.
+     */
+    private JobScheduler() {
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        this.enabled = Boolean.parseBoolean(dotenv.get("JOBS_ENABLED", "true"));
+    }
+
+    /**
+     * Returns the singleton instance of the JobScheduler.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton JobScheduler instance.
+     */
+    public static synchronized JobScheduler getInstance() {
+        if (instance == null) {
+            instance = new JobScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Schedules a job that runs on one client at a time and once per slot across all clients.
+     *
+     * @param name The unique name of the job, also the key of its advisory lock.
+     * @param schedule When the job is due.
+     * @param jitter The upper bound of the random delay added to every run.
+     * @param task The work of the job, returning false or throwing if it failed.
+     */
+    public void scheduleExclusive(String name, JobSchedule schedule, Duration jitter, BooleanSupplier task) {
+        add(new Job(name, schedule, jitter, true, false, task));
+    }
+
+    /**
+     * Schedules a job that runs on every client, for work on this client's own state.
+     *
+     * @param name The unique name of the job.
+     * @param schedule When the job is due.
+     * @param jitter The upper bound of the random delay added to every run.
+     * @param task The work of the job, returning false or throwing if it failed.
+     */
+    public void scheduleLocal(String name, JobSchedule schedule, Duration jitter, BooleanSupplier task) {
+        add(new Job(name, schedule, jitter, false, false, task));
+    }
+
+    /**
+     * Schedules a job that runs on every client even when background jobs are disabled,
+     * for work this client cannot do without.
+     *
+     * @param name The unique name of the job.
+     * @param schedule When the job is due.
+     * @param jitter The upper bound of the random delay added to every run.
+     * @param task The work of the job, returning false or throwing if it failed.
+     */
+    public void scheduleEssential(String name, JobSchedule schedule, Duration jitter, BooleanSupplier task) {
+        add(new Job(name, schedule, jitter, false, true, task));
+    }
+
+    /**
+     * Starts the timer and arms every scheduled job, or only the essential ones if jobs are disabled.
+     * Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (timer != null) {
+            return;
+        }
+        if (!enabled) {
+            LOGGER.info("Background jobs are disabled, only essential jobs will run.");
+        }
+
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int armed = 0;
+        for (Job job : jobs.values()) {
+            if (isRunnable(job)) {
+                arm(job, job.schedule.first(LocalDateTime.now()));
+                armed++;
+            }
+        }
+        LOGGER.info("Job scheduler started with {} jobs.", armed);
+    }
+
+    /**
+     * Stops the timer. Runs in progress finish, but no new run starts.
+     */
+    public synchronized void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+            LOGGER.info("Job scheduler stopped.");
+        }
+    }
+
+    /**
+     * Retrieves the execution statistics of every job on this client.
+     *
+     * @return A list of snapshots, one per job.
+     */
+    public List<JobStats> getStats() {
+        List<JobStats> stats = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            stats.add(job.snapshot());
+        }
+        return stats;
+    }
+
+    private synchronized void add(Job job) {
+        if (jobs.putIfAbsent(job.name, job) != null) {
+            throw new IllegalArgumentException("A job named " + job.name + " is already scheduled");
+        }
+        if (timer != null && isRunnable(job)) {
+            arm(job, job.schedule.first(LocalDateTime.now()));
+        }
+    }
+
+    private boolean isRunnable(Job job) {
+        return enabled || job.essential;
+    }
+
+    /**
+     * Starts the run of a job for a slot once the slot and a random jitter have passed.
+     *
+     * @param job The job.
+     * @param slot The time the run is due, before jitter.
+     */
+    private synchronized void arm(Job job, LocalDateTime slot) {
+        if (timer == null) {
+            job.setNextRunAt(null);
+            return;
+        }
+
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), slot).toMillis());
+        if (!job.jitter.isZero()) {
+            delayMillis += ThreadLocalRandom.current().nextLong(job.jitter.toMillis() + 1);
+        }
+        job.setNextRunAt(slot);
+        try {
+            timer.schedule(() -> Thread.ofVirtual().name("job-" + job.name).start(() -> runAndRearm(job, slot)),
+                    delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shut down while the job was running
+            job.setNextRunAt(null);
+        }
+    }
+
+    private void runAndRearm(Job job, LocalDateTime slot) {
+        try {
+            if (job.exclusive) {
+                runExclusive(job, slot);
+            } else {
+                run(job);
+            }
+        } finally {
+            // a run that overran its next slot skips it rather than starting late
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime next = job.schedule.next(slot);
+            arm(job, next.isBefore(now) ? job.schedule.next(now) : next);
+        }
+    }
+
+    /**
+     * Runs an exclusive job under its advisory lock, unless another client holds it or already ran the slot.
+     *
+     * @param job The job.
+     * @param slot The time the run is due, before jitter.
+     */
+    private void runExclusive(Job job, LocalDateTime slot) {
+        try (Connection lockConn = DatabaseManager.openDedicatedConnection()) {
+            if (!tryLock(lockConn, job.name)) {
+                job.recordSkip();
+                LOGGER.info("Job {} is running on another client, skipping.", job.name);
+                return;
+            }
+            try {
+                if (!claim(lockConn, job, slot)) {
+                    job.recordSkip();
+                    LOGGER.debug("Job {} already ran for {} on another client, skipping.", job.name, slot);
+                    return;
+                }
+                long durationMillis = run(job);
+                recordFinish(lockConn, job, durationMillis);
+            } finally {
+                unlock(lockConn, job.name);
+            }
+        } catch (SQLException e) {
+            job.recordFailure();
+            LOGGER.error("Failed to coordinate job {}", job.name, e);
+        }
+    }
+
+    /**
+     * Runs the task of a job and records the outcome.
+     *
+     * @param job The job.
+     * @return The duration of the run in milliseconds.
+     */
+    private long run(Job job) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        boolean succeeded;
+        try {
+            succeeded = job.task.getAsBoolean();
+        } catch (RuntimeException e) {
+            LOGGER.error("Job {} threw an exception", job.name, e);
+            succeeded = false;
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        job.recordRun(startedAt, durationMillis, succeeded);
+        if (succeeded) {
+            LOGGER.info("Job {} finished in {} ms.", job.name, durationMillis);
+        } else {
+            LOGGER.warn("Job {} failed after {} ms.", job.name, durationMillis);
+        }
+        return durationMillis;
+    }
+
+    /**
+     * Claims a slot of a job for this client, unless some client already ran it.
+     *
+     * @param conn The connection holding the job's advisory lock.
+     * @param job The job.
+     * @param slot The time the run is due, before jitter.
+     * @return true if the slot was claimed, false if it is already covered.
+     * @throws SQLException If the bookkeeping row cannot be read or written.
+     */
+    private boolean claim(Connection conn, Job job, LocalDateTime slot) throws SQLException {
+        LocalDateTime lastSlot = null;
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT last_slot FROM scheduled_jobs WHERE name = ?")) {
+            stmt.setString(1, job.name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    lastSlot = rs.getTimestamp(1).toLocalDateTime();
+                }
+            }
+        }
+        if (!job.schedule.isDue(lastSlot, slot)) {
+            return false;
+        }
+
+        String sql = "INSERT INTO scheduled_jobs (name, last_slot, last_started_at, run_count) " +
+                "VALUES (?, ?, LOCALTIMESTAMP, 1) " +
+                "ON CONFLICT (name) DO UPDATE SET last_slot = EXCLUDED.last_slot, " +
+                "last_started_at = EXCLUDED.last_started_at, run_count = scheduled_jobs.run_count + 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, job.name);
+            stmt.setTimestamp(2, Timestamp.valueOf(slot));
+            stmt.executeUpdate();
+        }
+        return true;
+    }
+
+    private void recordFinish(Connection conn, Job job, long durationMillis) throws SQLException {
+        String sql = "UPDATE scheduled_jobs SET last_finished_at = LOCALTIMESTAMP, last_duration_ms = ?, " +
+                "last_succeeded = ?, failure_count = failure_count + CASE WHEN ? THEN 0 ELSE 1 END WHERE name = ?";
+        boolean succeeded = job.lastSucceeded();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, durationMillis);
+            stmt.setBoolean(2, succeeded);
+            stmt.setBoolean(3, succeeded);
+            stmt.setString(4, job.name);
+            stmt.executeUpdate();
+        }
+    }
+
+    private boolean tryLock(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            stmt.setInt(1, JOB_LOCK_CLASS);
+            stmt.setInt(2, name.hashCode());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            stmt.setInt(1, JOB_LOCK_CLASS);
+            stmt.setInt(2, name.hashCode());
+            stmt.execute();
+        }
+    }
+
+    /**
+     * A scheduled job with its execution statistics on this client.
+     */
+    private static class Job {
+        private final String name;
+        private final JobSchedule schedule;
+        private final Duration jitter;
+        private final boolean exclusive;
+        private final boolean essential;
+        private final BooleanSupplier task;
+        private long runs;
+        private long failures;
+        private long skips;
+        private long lastDurationMillis = -1;
+        private boolean lastSucceeded;
+        private LocalDateTime lastStartedAt;
+        private LocalDateTime nextRunAt;
+
+        private Job(String name, JobSchedule schedule, Duration jitter, boolean exclusive, boolean essential, BooleanSupplier task) {
+            this.name = name;
+            this.schedule = schedule;
+            this.jitter = jitter;
+            this.exclusive = exclusive;
+            this.essential = essential;
+            this.task = task;
+        }
+
+        private synchronized void recordRun(LocalDateTime startedAt, long durationMillis, boolean succeeded) {
+            runs++;
+            if (!succeeded) {
+                failures++;
+            }
+            lastStartedAt = startedAt;
+            lastDurationMillis = durationMillis;
+            lastSucceeded = succeeded;
+        }
+
+        private synchronized void recordFailure() {
+            failures++;
+        }
+
+        private synchronized void recordSkip() {
+            skips++;
+        }
+
+        private synchronized boolean lastSucceeded() {
+            return lastSucceeded;
+        }
+
+        private synchronized void setNextRunAt(LocalDateTime nextRunAt) {
+            this.nextRunAt = nextRunAt;
+        }
+
+        private synchronized JobStats snapshot() {
+            return new JobStats(name, schedule.toString(), runs, failures, skips, lastDurationMillis, lastStartedAt, nextRunAt);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.oop.stockflow.app;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of the execution statistics of one background job on this client.
+ * Runs another client performed are counted as skips here and recorded in the scheduled_jobs table.
+ */
+public class JobStats {
+    private final String name;
+    private final String schedule;
+    private final long runs;
+    private final long failures;
+    private final long skips;
+    private final long lastDurationMillis;
+    private final LocalDateTime lastStartedAt;
+    private final LocalDateTime nextRunAt;
+
+    /**
+     * Constructs a JobStats.
+     *
+     * @param name The name of the job.
+     * @param schedule The readable schedule of the job.
+     * @param runs The number of runs started by this client.
+     * @param failures The number of those runs that failed.
+     * @param skips The number of due runs skipped because another client held or had done them.
+     * @param lastDurationMillis The duration of the last run, or -1 if the job has not run yet.
+     * @param lastStartedAt The start time of the last run, or null if the job has not run yet.
+     * @param nextRunAt The time the next run is due, or null if the scheduler is stopped.
+     */
+    public JobStats(String name, String schedule, long runs, long failures, long skips,
+                    long lastDurationMillis, LocalDateTime lastStartedAt, LocalDateTime nextRunAt) {
+        this.name = name;
+        this.schedule = schedule;
+        this.runs = runs;
+        this.failures = failures;
+        this.skips = skips;
+        this.lastDurationMillis = lastDurationMillis;
+        this.lastStartedAt = lastStartedAt;
+        this.nextRunAt = nextRunAt;
+    }
+
+    /**
+     * Retrieves the name of the job.
+     *
+     * @return The job name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the schedule of the job.
+     *
+     * @return The interval or cron expression.
+     */
+    public String getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * Retrieves the number of runs started by this client.
+     *
+     * @return The run count.
+     */
+    public long getRuns() {
+        return runs;
+    }
+
+    /**
+     * Retrieves the number of runs that failed.
+     *
+     * @return The failure count.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Retrieves the number of due runs skipped because another client held or had done them.
+     *
+     * @return The skip count.
+     */
+    public long getSkips() {
+        return skips;
+    }
+
+    /**
+     * Retrieves the duration of the last run.
+     *
+     * @return The duration in milliseconds, or -1 if the job has not run yet.
+     */
+    public long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    /**
+     * Retrieves the start time of the last run.
+     *
+     * @return The start time, or null if the job has not run yet.
+     */
+    public LocalDateTime getLastStartedAt() {
+        return lastStartedAt;
+    }
+
+    /**
+     * Retrieves the time the next run is due.
+     *
+     * @return The due time, or null if the scheduler is stopped.
+     */
+    public LocalDateTime getNextRunAt() {
+        return nextRunAt;
+    }
+}
@@ -1,25 +1,42 @@
 package com.oop.stockflow.app;
 
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.AuthenticatedUser;
 import com.oop.stockflow.repository.AuthRepository;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.time.Duration;
 
 /**
  * Manages user session state throughout the application lifecycle.
  * Implements singleton pattern to ensure only one session manager exists.
  * Handles session creation, persistence to database, and cleanup during logout.
+ *
+ * A logged in client keeps its session alive with a periodic heartbeat; sessions without a heartbeat for
+ * longer than the optional .env entry {@code SESSION_IDLE_TIMEOUT_MINUTES} (default 60) are swept.
  */
 public final class SessionManager {
+    private static final Logger LOGGER = Logger.getLogger(SessionManager.class);
+
+    private static final int DEFAULT_IDLE_TIMEOUT_MINUTES = 60;
 
     private static SessionManager instance;
-    private AuthenticatedUser currentUser;
+    // read by the heartbeat job
+    private volatile AuthenticatedUser currentUser;
 
     private AuthRepository authRepository = AuthRepository.getInstance();
 
+    private final Duration idleTimeout;
+
     /**
      * Private constructor to prevent direct instantiation.
-     * Ensures only one instance can be created through getInstance().
+     * Reads the session idle timeout from the environment.
      */
-    private SessionManager() {}
+    private SessionManager() {
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        this.idleTimeout = Duration.ofMinutes(Long.parseLong(
+                dotenv.get("SESSION_IDLE_TIMEOUT_MINUTES", String.valueOf(DEFAULT_IDLE_TIMEOUT_MINUTES))));
+    }
 
     /**
      * Returns the singleton instance of SessionManager.
@@ -43,7 +60,7 @@ public final class SessionManager {
      */
     public boolean startSession(AuthenticatedUser user) {
         if (user == null) {
-            System.err.println("[ERROR] Attempted to start session with null user.");
+            LOGGER.error("Attempted to start session with null user.");
             return false;
         }
 
@@ -51,10 +68,10 @@ public final class SessionManager {
 
         if (savedToDb) {
             this.currentUser = user;
-            System.out.println("[INFO] Session started for user: " + user.getName());
+            LOGGER.info("Session started for user: {}", user.getName());
             return true;
         } else {
-            System.err.println("[ERROR] Failed to save session to database for user: " + user.getName());
+            LOGGER.error("Failed to save session to database for user: {}", user.getName());
             this.currentUser = null;
             return false;
         }
@@ -69,17 +86,17 @@ public final class SessionManager {
     public boolean endSession() {
         boolean deletedFromDb = true;
         if (this.currentUser != null) {
-            System.out.println("[INFO] Ending session for user: " + currentUser.getName());
+            LOGGER.info("Ending session for user: {}", currentUser.getName());
             deletedFromDb = authRepository.deleteSession(currentUser.getId());
             if (!deletedFromDb) {
-                System.err.println("[ERROR] Failed to delete session from database for user ID: " + currentUser.getId());
+                LOGGER.error("Failed to delete session from database for user ID: {}", currentUser.getId());
             }
         } else {
-            System.out.println("[INFO] No active session to end.");
+            LOGGER.info("No active session to end.");
         }
 
         this.currentUser = null;
-        System.out.println("[INFO] Local session cleared.");
+        LOGGER.info("Local session cleared.");
         return deletedFromDb;
     }
 
@@ -100,4 +117,45 @@ public final class SessionManager {
     public boolean isLoggedIn() {
         return currentUser != null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Marks the session of the current user as still in use. Does nothing if no user is logged in.
+     * A session swept while the machine was asleep is saved again.
+     *
+     * @return true if the session is alive or no user is logged in, false if a database error occurred.
+     */
+    public boolean heartbeat() {
+        AuthenticatedUser user = currentUser;
+        if (user == null || authRepository.touchSession(user.getId(), user.getUserType())) {
+            return true;
+        }
+        if (currentUser != user) {
+            // logged out while the session was touched
+            return true;
+        }
+        LOGGER.warn("Session of user {} was swept, saving it again.", user.getName());
+        return authRepository.saveSession(user.getId(), user.getUserType());
+    }
+
+    /**
+     * Deletes the sessions of every client that stopped sending heartbeats for longer than the idle timeout.
+     *
+     * @return The number of sessions deleted, or -1 if an error occurred.
+     */
+    public int sweepIdleSessions() {
+        int deleted = authRepository.deleteIdleSessions(idleTimeout);
+        if (deleted > 0) {
+            LOGGER.info("Swept {} idle sessions.", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Retrieves how long a session may go without a heartbeat before it is swept.
+     *
+     * @return The idle timeout.
+     */
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+}
@@ -1,5 +1,8 @@
 package com.oop.stockflow.app;
 
+import com.oop.stockflow.db.QueryScope;
+import com.oop.stockflow.logging.Logger;
+import com.oop.stockflow.service.ChangeNotificationService;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -13,6 +16,8 @@ import java.util.function.Consumer;
  * Provides methods for switching between different views with or without passing data to controllers.
  */
 public class StageManager {
+    private static final Logger LOGGER = Logger.getLogger(StageManager.class);
+
     private static StageManager instance;
     private Stage mainStage;
 
@@ -75,12 +80,15 @@ public class StageManager {
     /**
      * Navigates to a new view by loading its FXML and displaying it on the main stage.
      * The new scene maintains the current stage dimensions.
+     * Change subscriptions of the previous screen are released and its running queries are cancelled first.
      *
      * @param view The View enum representing the target FXML view to navigate to.
      * @param title The title to be displayed in the window's title bar.
      */
     public void navigate(View view, String title) {
         try {
+            ChangeNotificationService.getInstance().clearScreenListeners();
+            QueryScope.enter(view.name());
             Parent root = SceneManager.loadFxml(view);
 
             if (this.mainStage == null) {
@@ -92,7 +100,7 @@ public class StageManager {
             this.setScene(scene, title);
 
         } catch (Exception e) {
-            System.out.println("[ERROR] " + e.getMessage());
+            LOGGER.error("Failed to navigate to {}", view, e);
         }
     }
 
@@ -100,6 +108,7 @@ public class StageManager {
      * Navigates to a new view and passes data to its controller before displaying.
      * Allows pre-configuration of the controller through a Consumer callback.
      * The new scene maintains the current stage dimensions.
+     * Change subscriptions of the previous screen are released and its running queries are cancelled first.
      *
      * @param <T> The type of the controller class.
      * @param view The View enum representing the target FXML view to navigate to.
@@ -108,6 +117,8 @@ public class StageManager {
      */
     public <T> void navigateWithData(View view, String title, Consumer<T> controllerConsumer) {
         try {
+            ChangeNotificationService.getInstance().clearScreenListeners();
+            QueryScope.enter(view.name());
             FXMLLoader loader = SceneManager.getLoader(view);
             Parent root = loader.load();
 
@@ -117,8 +128,7 @@ public class StageManager {
             Scene scene = new Scene(root, this.mainStage.getWidth(), this.mainStage.getHeight());
             setScene(scene, title);
         } catch (Exception e) {
-            System.out.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to navigate to {}", view, e);
         }
     }
 }
@@ -20,6 +20,7 @@ public enum View {
     TRANSACTION_SHOW("TransactionShow.fxml"),
     TRANSACTION_CREATE_OUTBOUND("OutboundTransaction.fxml"),
     TRANSACTION_CREATE_INBOUND("InboundTransaction.fxml"),
+    TRANSACTION_CREATE_TRANSFER("TransferTransaction.fxml"),
     WAREHOUSE_INDEX("WarehouseIndex.fxml"),
     WAREHOUSE_SHOW("WarehouseShow.fxml"),
     WAREHOUSE_CREATE("WarehouseCreate.fxml"),
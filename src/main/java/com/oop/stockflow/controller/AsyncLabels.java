@@ -0,0 +1,38 @@
+package com.oop.stockflow.controller;
+
+import com.oop.stockflow.logging.Logger;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shows the results of asynchronous repository calls in labels of the dashboard screens.
+ * The label is updated on the JavaFX thread once the call completes, and shows "-" if it failed.
+ */
+final class AsyncLabels {
+    private static final Logger LOGGER = Logger.getLogger(AsyncLabels.class);
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private AsyncLabels() {
+    }
+
+    /**
+     * Shows the result of an asynchronous count in a label once it completes.
+     *
+     * @param count The pending count.
+     * @param label The label to update.
+     */
+    static void showCount(CompletableFuture<Integer> count, Label label) {
+        count.whenCompleteAsync((value, error) -> {
+            if (error != null) {
+                LOGGER.error("Failed to load count", error);
+                label.setText("-");
+            } else {
+                label.setText(String.valueOf(value));
+            }
+        }, Platform::runLater);
+    }
+}
@@ -0,0 +1,110 @@
+package com.oop.stockflow.controller;
+
+import com.oop.stockflow.db.DatabaseExecutor;
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.db.QueryScope;
+import com.oop.stockflow.logging.Logger;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Auto-refresh mode of a screen, driven by a change cursor.
+ *
+ * Every interval the cursor of the screen's rows is polled in the background, a single query that reads
+ * the end of an index whatever the size of the data. Only when it moved is the delta since the previous
+ * cursor fetched, and handed to the screen on the JavaFX thread to patch its lists and labels in place.
+ * At most one poll runs at a time, and polling stops by itself once the user navigates away.
+ *
+ * Cursors stay below the change horizon of the database, the oldest transaction still running, so a
+ * change committed late by a long transaction is picked up by a later poll rather than skipped. A delta
+ * may reach past the cursor polled with it; screens apply deltas idempotently.
+ *
+ * @param <T> The type of the delta.
+ */
+class AutoRefresh<T> {
+    private static final Logger LOGGER = Logger.getLogger(AutoRefresh.class);
+    private static final Duration INTERVAL = Duration.seconds(5);
+
+    private final LongSupplier cursorQuery;
+    private final LongFunction<T> deltaQuery;
+    private final Consumer<T> apply;
+    private final Timeline timeline = new Timeline(new KeyFrame(INTERVAL, event -> poll()));
+    private QueryScope scope;
+    private boolean polling;
+    // read and written only by the poll task, one at a time
+    private volatile long cursor;
+
+    /**
+     * Creates a stopped auto-refresh.
+     *
+     * @param cursorQuery Reads the current cursor, returns a negative value on failure.
+     * @param deltaQuery Fetches the delta since a cursor, returns null on failure.
+     * @param apply Applies a delta to the screen, called on the JavaFX thread.
+     */
+    AutoRefresh(LongSupplier cursorQuery, LongFunction<T> deltaQuery, Consumer<T> apply) {
+        this.cursorQuery = cursorQuery;
+        this.deltaQuery = deltaQuery;
+        this.apply = apply;
+        timeline.setCycleCount(Animation.INDEFINITE);
+    }
+
+    /**
+     * Starts polling. The screen has to show at least every change up to the given cursor,
+     * so it is read before the screen loads its data.
+     *
+     * @param initialCursor The cursor read before the screen's data was loaded.
+     */
+    void start(long initialCursor) {
+        cursor = initialCursor;
+        scope = QueryScope.active();
+        timeline.play();
+    }
+
+    /**
+     * Stops polling. A poll already running is still applied.
+     */
+    void stop() {
+        timeline.stop();
+    }
+
+    private void poll() {
+        if (scope.isCancelled()) {
+            stop();
+            return;
+        }
+        if (polling) {
+            return;
+        }
+        polling = true;
+        DatabaseExecutor.supplyAsync(QueryIntent.READ, this::fetchDelta)
+                .whenCompleteAsync((delta, error) -> {
+                    polling = false;
+                    if (error != null) {
+                        if (!scope.isCancelled()) {
+                            LOGGER.warn("Auto-refresh poll failed", error);
+                        }
+                    } else if (delta != null && !scope.isCancelled()) {
+                        apply.accept(delta);
+                    }
+                }, Platform::runLater);
+    }
+
+    private T fetchDelta() {
+        long latest = cursorQuery.getAsLong();
+        if (latest < 0 || latest == cursor) {
+            return null;
+        }
+        T delta = deltaQuery.apply(cursor);
+        if (delta != null) {
+            cursor = latest;
+        }
+        return delta;
+    }
+}
@@ -2,22 +2,33 @@ package com.oop.stockflow.controller;
 
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.*;
+import com.oop.stockflow.repository.OfflineTransactionQueue;
 import com.oop.stockflow.repository.ProductRepository;
 import com.oop.stockflow.repository.TransactionRepository;
 import com.oop.stockflow.utils.DateTimeUtils;
 import com.oop.stockflow.utils.StringUtils;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
 import javafx.util.StringConverter;
 
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 public class InboundTransactionsController {
+    private static final Logger LOGGER = Logger.getLogger(InboundTransactionsController.class);
+
     // sidebar fields
     @FXML private Label nameLabel;
     @FXML private Label roleLabel;
@@ -35,14 +46,30 @@ public class InboundTransactionsController {
     @FXML private TextField txtQuantity;
     @FXML private ComboBox<ShippingType> cmbShippingMethod;
     @FXML private DatePicker dateTransaction;
+    @FXML private VBox expiryDateField;
+    @FXML private DatePicker dateExpiry;
     @FXML private ComboBox<TransactionStatus> cmbStatus;
     @FXML private Button btnCreate;
     @FXML private Button btnCancel;
 
+    // scanning mode fields
+    @FXML private CheckBox chkScanMode;
+    @FXML private VBox productField;
+    @FXML private VBox quantityField;
+    @FXML private VBox scanPanel;
+    @FXML private TextField txtScan;
+    @FXML private Label lblScanStatus;
+    @FXML private ListView<Integer> lstScanned;
+
     private AuthenticatedUser currentUser;
     private Warehouse currentWarehouse;
     private final TransactionRepository transactionRepository = TransactionRepository.getInstance();
     private final ProductRepository productRepository = ProductRepository.getInstance();
+    // identifies the submission of the current form input, so retrying it cannot record it twice
+    private UUID requestId;
+    private List<Object> submittedInput;
+    private ScanSession scanSession = new ScanSession(List.of());
+    private final ObservableList<Integer> scannedSkus = FXCollections.observableArrayList();
 
     public void initData(Warehouse warehouse, AuthenticatedUser user) {
         currentUser = user;
@@ -53,6 +80,9 @@ public class InboundTransactionsController {
         dateTransaction.setValue(LocalDate.now());
         cmbStatus.getSelectionModel().select(TransactionStatus.PENDING);
         addInputValidationListeners();
+        setupScanList();
+        // once the screen is shown, so the dialog opens on top of it
+        Platform.runLater(OfflineRejections::reviewIfAny);
     }
 
     private void loadUserData() {
@@ -68,6 +98,7 @@ public class InboundTransactionsController {
         try {
             List<Product> products = productRepository.getAllProductsByWarehouseId(currentWarehouse.getId());
             cmbProductSku.setItems(FXCollections.observableArrayList(products));
+            scanSession = new ScanSession(products);
 
             // Set how Product objects are displayed in the ComboBox
             cmbProductSku.setConverter(new StringConverter<Product>() {
@@ -83,13 +114,25 @@ public class InboundTransactionsController {
             });
 
         } catch (Exception e) {
-            System.err.println("[ERROR] Failed to load products into ComboBox: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to load products into ComboBox", e);
         }
         cmbShippingMethod.setItems(FXCollections.observableArrayList(ShippingType.values()));
         cmbShippingMethod.getSelectionModel().selectFirst();
         cmbStatus.setItems(FXCollections.observableArrayList(TransactionStatus.values()));
         cmbStatus.getSelectionModel().select(TransactionStatus.PENDING);
+
+        // expiry date only applies to fresh products
+        cmbProductSku.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (chkScanMode.isSelected()) {
+                return;
+            }
+            boolean isFresh = newValue instanceof FreshProduct;
+            expiryDateField.setVisible(isFresh);
+            expiryDateField.setManaged(isFresh);
+            if (!isFresh) {
+                dateExpiry.setValue(null);
+            }
+        });
     }
 
     /**
@@ -104,10 +147,87 @@ public class InboundTransactionsController {
     }
 
 
+    /**
+     * Shows each scanned product with its counted units.
+     */
+    private void setupScanList() {
+        lstScanned.setItems(scannedSkus);
+        lstScanned.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Integer sku, boolean empty) {
+                super.updateItem(sku, empty);
+                ScanSession.Line line = empty || sku == null ? null : scanSession.getLine(sku);
+                setText(line == null ? null
+                        : line.getProduct().getName() + " (SKU: " + sku + ")  x " + line.getCount());
+            }
+        });
+    }
+
     // Action Handlers
+    /**
+     * Switches between entering one product at a time and scanning products with a barcode scanner.
+     * In scanning mode the expiry date applies to every fresh product of the session.
+     */
+    @FXML
+    private void toggleScanMode() {
+        boolean scanning = chkScanMode.isSelected();
+        productField.setVisible(!scanning);
+        productField.setManaged(!scanning);
+        quantityField.setVisible(!scanning);
+        quantityField.setManaged(!scanning);
+        scanPanel.setVisible(scanning);
+        scanPanel.setManaged(scanning);
+
+        boolean showExpiry = scanning || cmbProductSku.getValue() instanceof FreshProduct;
+        expiryDateField.setVisible(showExpiry);
+        expiryDateField.setManaged(showExpiry);
+        if (scanning) {
+            txtScan.requestFocus();
+        }
+    }
+
+    /**
+     * Handles a code sent by the scanner, which types it into the scan field followed by Enter.
+     * Only the in-memory session is updated, so scans can follow each other as fast as the scanner fires.
+     */
+    @FXML
+    private void handleScan() {
+        String code = txtScan.getText();
+        txtScan.clear();
+        if (code == null || code.isBlank()) {
+            return;
+        }
+
+        Product product = scanSession.resolve(code);
+        if (product == null) {
+            lblScanStatus.setText("Unknown code: " + code.trim());
+            return;
+        }
+        ScanSession.Line line = scanSession.add(product);
+        if (line.getCount() == 1) {
+            scannedSkus.add(product.getSku());
+        } else {
+            // replacing the item redraws only its cell
+            scannedSkus.set(line.getPosition(), product.getSku());
+        }
+        lblScanStatus.setText(scanSession.getTotalUnits() + " units of " + scannedSkus.size() + " products scanned");
+    }
+
+    /**
+     * Discards the scanned products.
+     */
+    @FXML
+    private void clearScans() {
+        scanSession.clear();
+        scannedSkus.clear();
+        lblScanStatus.setText("Ready to scan");
+        txtScan.requestFocus();
+    }
+
     /**
      * Handles the "+ Create Transaction" button click.
-     * Validates input and calls the repository to save the inbound transaction.
+     * Validates input and calls the repository to save the inbound transaction,
+     * or every scanned product at once in scanning mode.
      */
     @FXML
     private void createTransaction() {
@@ -115,6 +235,10 @@ public class InboundTransactionsController {
             showAlert(Alert.AlertType.WARNING, "Prohibited Action", "You are not allowed to perform any transaction on non active warehouse");
             return;
         }
+        if (chkScanMode.isSelected()) {
+            confirmScans();
+            return;
+        }
         Product selectedProduct = cmbProductSku.getValue();
         String quantityStr = txtQuantity.getText();
         ShippingType selectedShipping = cmbShippingMethod.getValue();
@@ -139,20 +263,32 @@ public class InboundTransactionsController {
             return;
         }
 
+        LocalDate expiryDate = dateExpiry.getValue();
+        if (selectedProduct instanceof FreshProduct && expiryDate != null && expiryDate.isBefore(selectedDate)) {
+            showAlert(Alert.AlertType.WARNING, "Input Error", "Expiry date cannot be before the transaction date.");
+            return;
+        }
+
         Timestamp timestamp = Timestamp.valueOf(selectedDate.atStartOfDay());
         int productSku = selectedProduct.getSku();
-
+        LocalDate lotExpiry = selectedProduct instanceof FreshProduct ? expiryDate : null;
 
         boolean success = transactionRepository.createInboundTransaction(
+                requestIdFor(Arrays.asList(productSku, quantity, selectedShipping, selectedDate, selectedStatus, lotExpiry)),
                 currentUser.getId(),
                 timestamp,
                 selectedShipping,
                 productSku,
                 quantity,
-                selectedStatus
+                selectedStatus,
+                lotExpiry
         );
 
-        if (success) {
+        if (success && OfflineTransactionQueue.getInstance().getPendingCount() > 0) {
+            showAlert(Alert.AlertType.INFORMATION, "Saved Offline",
+                    "The database is unreachable. The inbound transaction was saved on this computer and will be sent automatically once the connection is back.");
+            clearForm();
+        } else if (success) {
             showAlert(Alert.AlertType.INFORMATION, "Success", "Inbound transaction created successfully!");
             clearForm();
         } else {
@@ -160,13 +296,69 @@ public class InboundTransactionsController {
         }
     }
 
+    /**
+     * Saves one inbound transaction per scanned product, all in a single database transaction.
+     */
+    private void confirmScans() {
+        ShippingType selectedShipping = cmbShippingMethod.getValue();
+        LocalDate selectedDate = dateTransaction.getValue();
+        TransactionStatus selectedStatus = cmbStatus.getValue();
+
+        if (scanSession.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Input Error", "Scan at least one product.");
+            return;
+        }
+        if (selectedShipping == null || selectedDate == null || selectedStatus == null) {
+            showAlert(Alert.AlertType.WARNING, "Input Error", "Please fill all required fields.");
+            return;
+        }
+
+        LocalDate expiryDate = dateExpiry.getValue();
+        if (expiryDate != null && expiryDate.isBefore(selectedDate)) {
+            showAlert(Alert.AlertType.WARNING, "Input Error", "Expiry date cannot be before the transaction date.");
+            return;
+        }
+
+        Map<Integer, Integer> quantities = scanSession.getQuantities();
+        Map<Integer, LocalDate> expiryDates = new HashMap<>();
+        if (expiryDate != null) {
+            for (int sku : quantities.keySet()) {
+                if (scanSession.getLine(sku).getProduct() instanceof FreshProduct) {
+                    expiryDates.put(sku, expiryDate);
+                }
+            }
+        }
+
+        boolean success = transactionRepository.createInboundTransactions(
+                requestIdFor(Arrays.asList(quantities, selectedShipping, selectedDate, selectedStatus, expiryDate)),
+                currentUser.getId(),
+                Timestamp.valueOf(selectedDate.atStartOfDay()),
+                selectedShipping,
+                quantities,
+                selectedStatus,
+                expiryDates
+        );
+
+        if (success && OfflineTransactionQueue.getInstance().getPendingCount() > 0) {
+            showAlert(Alert.AlertType.INFORMATION, "Saved Offline",
+                    "The database is unreachable. The scanned products were saved on this computer and will be sent automatically once the connection is back.");
+        } else if (success) {
+            showAlert(Alert.AlertType.INFORMATION, "Success", "Inbound transactions created for " + quantities.size() + " scanned products!");
+        } else {
+            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to create inbound transactions for the scanned products.");
+            return;
+        }
+        clearForm();
+        clearScans();
+    }
+
     /**
      * Handles the "Cancel" button click.
      * Clears the form or navigates away.
      */
     @FXML
     private void cancelTransaction(ActionEvent event) {
-        System.out.println("Cancel button clicked.");
+        LOGGER.debug("Cancel button clicked.");
         clearForm();
         goToTransactionIndex();
     }
@@ -200,6 +392,15 @@ public class InboundTransactionsController {
         );
     }
 
+    @FXML
+    private void goToTransferTransaction() {
+        StageManager.getInstance().navigateWithData(
+                View.TRANSACTION_CREATE_TRANSFER,
+                "New Stock Transfer",
+                (TransferTransactionController controller) -> controller.initData(currentWarehouse, currentUser)
+        );
+    }
+
     @FXML
     private void goToSettings() {
         StageManager.getInstance().navigateWithData(
@@ -211,7 +412,7 @@ public class InboundTransactionsController {
 
     @FXML
     private void handleLogout() {
-        System.out.println("Logging out...");
+        LOGGER.debug("Logging out...");
         // SessionManager.getInstance().endSession(); // Clear session
         StageManager.getInstance().navigate(View.LOGIN, "Login"); // Navigate to Login
     }
@@ -226,7 +427,21 @@ public class InboundTransactionsController {
         txtQuantity.clear();
         cmbShippingMethod.getSelectionModel().selectFirst(); // Reset to default
         dateTransaction.setValue(LocalDate.now()); // Reset to today
+        dateExpiry.setValue(null);
         cmbStatus.getSelectionModel().select(TransactionStatus.PENDING); // Reset to default
+        // the next submission is a new transaction
+        requestId = null;
+    }
+
+    /**
+     * Returns the request ID of a submission, keeping it while the same input is submitted again.
+     */
+    private UUID requestIdFor(List<Object> input) {
+        if (requestId == null || !input.equals(submittedInput)) {
+            requestId = UUID.randomUUID();
+            submittedInput = input;
+        }
+        return requestId;
     }
 
     /**
@@ -0,0 +1,78 @@
+package com.oop.stockflow.controller;
+
+import com.oop.stockflow.repository.OfflineTransactionQueue;
+import com.oop.stockflow.repository.RejectedTransaction;
+import com.oop.stockflow.utils.DateTimeUtils;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.TextArea;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shows the transactions that were saved offline but rejected by the database when they were sent,
+ * so the user can queue them again or discard them. Used by the staff transaction screens.
+ */
+final class OfflineRejections {
+    private static final ButtonType RETRY = new ButtonType("Retry", ButtonBar.ButtonData.YES);
+    private static final ButtonType DISCARD = new ButtonType("Discard", ButtonBar.ButtonData.NO);
+    private static final ButtonType LATER = new ButtonType("Later", ButtonBar.ButtonData.CANCEL_CLOSE);
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private OfflineRejections() {
+    }
+
+    /**
+     * Asks the user what to do with the rejected transactions, if there are any.
+     * Must be called on the JavaFX thread.
+     */
+    static void reviewIfAny() {
+        OfflineTransactionQueue queue = OfflineTransactionQueue.getInstance();
+        if (queue.getRejectedCount() == 0) {
+            return;
+        }
+        List<RejectedTransaction> rejected = queue.getRejected();
+        if (rejected.isEmpty()) {
+            return;
+        }
+
+        StringBuilder details = new StringBuilder();
+        for (RejectedTransaction transaction : rejected) {
+            if (transaction.getType() == null) {
+                details.append("Unreadable entry");
+            } else {
+                details.append(transaction.getType().getDbValue())
+                        .append(" of ").append(transaction.getQuantity())
+                        .append(" units, SKU ").append(transaction.getProductSku())
+                        .append(", ").append(DateTimeUtils.format(transaction.getDate(), DateTimeUtils.TABLE_DATE_TIME));
+            }
+            details.append(System.lineSeparator()).append("    ").append(transaction.getReason()).append(System.lineSeparator());
+        }
+
+        TextArea detailArea = new TextArea(details.toString());
+        detailArea.setEditable(false);
+        detailArea.setWrapText(true);
+
+        Alert alert = new Alert(Alert.AlertType.WARNING, null, RETRY, DISCARD, LATER);
+        alert.setTitle("Offline Transactions Rejected");
+        alert.setHeaderText(rejected.size() + " transactions saved offline were rejected by the database when they were sent.");
+        alert.setContentText("Retry them after fixing the cause, e.g. once the missing stock has been received, or discard them.");
+        alert.getDialogPane().setExpandableContent(detailArea);
+        alert.getDialogPane().setExpanded(true);
+
+        Optional<ButtonType> result = alert.showAndWait();
+        if (result.isPresent() && result.get() == RETRY) {
+            if (!queue.retryRejected(rejected.size())) {
+                Alert error = new Alert(Alert.AlertType.ERROR, "Failed to queue the rejected transactions again.");
+                error.setHeaderText(null);
+                error.showAndWait();
+            }
+        } else if (result.isPresent() && result.get() == DISCARD) {
+            queue.discardRejected(rejected.size());
+        }
+    }
+}
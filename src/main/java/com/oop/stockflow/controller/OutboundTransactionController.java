@@ -2,22 +2,32 @@ package com.oop.stockflow.controller;
 
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.*;
+import com.oop.stockflow.repository.OfflineTransactionQueue;
 import com.oop.stockflow.repository.ProductRepository;
 import com.oop.stockflow.repository.TransactionRepository;
 import com.oop.stockflow.utils.DateTimeUtils;
 import com.oop.stockflow.utils.StringUtils;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
 import javafx.util.StringConverter;
 
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 public class OutboundTransactionController {
+    private static final Logger LOGGER = Logger.getLogger(OutboundTransactionController.class);
+
     @FXML
     private Label nameLabel;
     @FXML
@@ -39,10 +49,31 @@ public class OutboundTransactionController {
     @FXML
     private Label initialLabel;
 
+    // scanning mode fields
+    @FXML
+    private CheckBox scanModeCheck;
+    @FXML
+    private VBox productPanel;
+    @FXML
+    private VBox quantityPanel;
+    @FXML
+    private VBox scanPanel;
+    @FXML
+    private TextField scanField;
+    @FXML
+    private Label scanStatusLabel;
+    @FXML
+    private ListView<Integer> scannedList;
+
     private final TransactionRepository transactionRepository = TransactionRepository.getInstance();
     private final ProductRepository productRepository = ProductRepository.getInstance();
     private AuthenticatedUser currentUser;
     private Warehouse currentWarehouse;
+    // identifies the submission of the current form input, so retrying it cannot record it twice
+    private UUID requestId;
+    private List<Object> submittedInput;
+    private ScanSession scanSession = new ScanSession(List.of());
+    private final ObservableList<Integer> scannedSkus = FXCollections.observableArrayList();
 
     public void initData(Warehouse warehouse, AuthenticatedUser user) {
         this.currentWarehouse = warehouse;
@@ -52,6 +83,9 @@ public class OutboundTransactionController {
         populateComboBoxes();
         transactionDatePicker.setValue(LocalDate.now());
         addInputValidationListeners();
+        setupScanList();
+        // once the screen is shown, so the dialog opens on top of it
+        Platform.runLater(OfflineRejections::reviewIfAny);
     }
 
     /**
@@ -69,6 +103,7 @@ public class OutboundTransactionController {
          // populate products combo box
          List<Product> products = productRepository.getAllProductsByWarehouseId(currentWarehouse.getId());
          productSKUCombo.setItems(FXCollections.observableArrayList(products));
+         scanSession = new ScanSession(products);
          productSKUCombo.setConverter(new StringConverter<Product>() {
              @Override
              public String toString(Product product) {
@@ -100,11 +135,88 @@ public class OutboundTransactionController {
         });
     }
 
+    /**
+     * Shows each scanned product with its counted units.
+     */
+    private void setupScanList() {
+        scannedList.setItems(scannedSkus);
+        scannedList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Integer sku, boolean empty) {
+                super.updateItem(sku, empty);
+                ScanSession.Line line = empty || sku == null ? null : scanSession.getLine(sku);
+                setText(line == null ? null
+                        : line.getProduct().getName() + " (SKU: " + sku + ")  x " + line.getCount());
+            }
+        });
+    }
+
     // === Action Handlers ===
 
+    /**
+     * Switches between entering one product at a time and scanning products with a barcode scanner.
+     */
+    @FXML
+    private void toggleScanMode() {
+        boolean scanning = scanModeCheck.isSelected();
+        productPanel.setVisible(!scanning);
+        productPanel.setManaged(!scanning);
+        quantityPanel.setVisible(!scanning);
+        quantityPanel.setManaged(!scanning);
+        scanPanel.setVisible(scanning);
+        scanPanel.setManaged(scanning);
+        if (scanning) {
+            scanField.requestFocus();
+        }
+    }
+
+    /**
+     * Handles a code sent by the scanner, which types it into the scan field followed by Enter.
+     * Only the in-memory session is updated, so scans can follow each other as fast as the scanner fires.
+     * A scan beyond the stock loaded with the screen is rejected.
+     */
+    @FXML
+    private void handleScan() {
+        String code = scanField.getText();
+        scanField.clear();
+        if (code == null || code.isBlank()) {
+            return;
+        }
+
+        Product product = scanSession.resolve(code);
+        if (product == null) {
+            scanStatusLabel.setText("Unknown code: " + code.trim());
+            return;
+        }
+        if (!checkStockAvailability(product.getQuantity(), scanSession.getCount(product.getSku()) + 1)) {
+            scanStatusLabel.setText("Insufficient stock for product: " + product.getName());
+            return;
+        }
+        ScanSession.Line line = scanSession.add(product);
+        if (line.getCount() == 1) {
+            scannedSkus.add(product.getSku());
+        } else {
+            // replacing the item redraws only its cell
+            scannedSkus.set(line.getPosition(), product.getSku());
+        }
+        scanStatusLabel.setText(scanSession.getTotalUnits() + " units of " + scannedSkus.size() + " products scanned");
+    }
+
+    /**
+     * Discards the scanned products.
+     */
+    @FXML
+    private void clearScans() {
+        scanSession.clear();
+        scannedSkus.clear();
+        scanStatusLabel.setText("Ready to scan");
+        scanField.requestFocus();
+    }
+
     /**
      * Handles the "Create Transaction" button click.
-     * Gathers form data, validates it, and calls the repository to save.
+     * Gathers form data, validates it, and calls the repository to save,
+     * or saves every scanned product at once in scanning mode.
      */
     @FXML
     private void handleCreateTransaction(ActionEvent event) {
@@ -112,6 +224,10 @@ public class OutboundTransactionController {
             showAlert(Alert.AlertType.WARNING, "Prohibited Action", "You are not allowed to perform any transaction on non active warehouse");
             return;
         }
+        if (scanModeCheck.isSelected()) {
+            confirmScans();
+            return;
+        }
 
         Product selectedProduct = productSKUCombo.getValue();
         String quantityStr = quantityField.getText();
@@ -148,6 +264,7 @@ public class OutboundTransactionController {
         // Assuming current user and warehouse ID are available
         Timestamp timestamp = Timestamp.valueOf(selectedDate.atStartOfDay());
         boolean success = transactionRepository.createOutboundTransaction(
+             requestIdFor(Arrays.asList(selectedProduct.getSku(), quantity, selectedShippingMethod, selectedDate, selectedStatus, destinationAddress)),
              currentUser.getId(),
              timestamp,
              destinationAddress,
@@ -157,7 +274,12 @@ public class OutboundTransactionController {
              selectedStatus
         );
 
-        if (success) {
+        if (success && OfflineTransactionQueue.getInstance().getPendingCount() > 0) {
+            showAlert(Alert.AlertType.INFORMATION, "Saved Offline",
+                    "The database is unreachable. The outbound transaction was saved on this computer and will be sent automatically once the connection is back.");
+            clearForm();
+            goToTransactionIndex();
+        } else if (success) {
             showAlert(Alert.AlertType.INFORMATION, "Success", "Outbound transaction created successfully!");
             clearForm();
             goToTransactionIndex();
@@ -166,6 +288,49 @@ public class OutboundTransactionController {
         }
     }
 
+    /**
+     * Saves one outbound transaction per scanned product, all in a single database transaction.
+     */
+    private void confirmScans() {
+        ShippingType selectedShippingMethod = shippingMethodCombo.getValue();
+        LocalDate selectedDate = transactionDatePicker.getValue();
+        TransactionStatus selectedStatus = statusCombo.getValue();
+        String destinationAddress = destinationAddressArea.getText().trim();
+
+        if (scanSession.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Input Error", "Scan at least one product.");
+            return;
+        }
+        if (selectedShippingMethod == null || selectedDate == null || selectedStatus == null || destinationAddress.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Input Error", "Please fill in all required fields.");
+            return;
+        }
+
+        Map<Integer, Integer> quantities = scanSession.getQuantities();
+        boolean success = transactionRepository.createOutboundTransactions(
+             requestIdFor(Arrays.asList(quantities, selectedShippingMethod, selectedDate, selectedStatus, destinationAddress)),
+             currentUser.getId(),
+             Timestamp.valueOf(selectedDate.atStartOfDay()),
+             destinationAddress,
+             selectedShippingMethod,
+             quantities,
+             selectedStatus
+        );
+
+        if (success && OfflineTransactionQueue.getInstance().getPendingCount() > 0) {
+            showAlert(Alert.AlertType.INFORMATION, "Saved Offline",
+                    "The database is unreachable. The scanned products were saved on this computer and will be sent automatically once the connection is back.");
+        } else if (success) {
+            showAlert(Alert.AlertType.INFORMATION, "Success", "Outbound transactions created for " + quantities.size() + " scanned products!");
+        } else {
+            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to create outbound transactions for the scanned products.");
+            return;
+        }
+        clearForm();
+        clearScans();
+        goToTransactionIndex();
+    }
+
     /**
      * Handles the "Cancel" button click.
      * Navigates back to the transactions list view.
@@ -207,6 +372,15 @@ public class OutboundTransactionController {
         );
     }
 
+    @FXML
+    private void goToTransferTransaction() {
+        StageManager.getInstance().navigateWithData(
+                View.TRANSACTION_CREATE_TRANSFER,
+                "New Stock Transfer",
+                (TransferTransactionController controller) -> controller.initData(currentWarehouse, currentUser)
+        );
+    }
+
     @FXML
     private void goToSettings() {
         StageManager.getInstance().navigateWithData(
@@ -218,7 +392,7 @@ public class OutboundTransactionController {
 
     @FXML
     private void handleLogout(ActionEvent event) {
-        System.out.println("Logging out...");
+        LOGGER.debug("Logging out...");
         // SessionManager.getInstance().endSession(); // Clear session if using one
         StageManager.getInstance().navigate(View.LOGIN, "Login");
     }
@@ -238,6 +412,19 @@ public class OutboundTransactionController {
         transactionDatePicker.setValue(LocalDate.now()); // Reset to today
         statusCombo.getSelectionModel().select(TransactionStatus.PENDING); // Reset to default
         destinationAddressArea.clear();
+        // the next submission is a new transaction
+        requestId = null;
+    }
+
+    /**
+     * Returns the request ID of a submission, keeping it while the same input is submitted again.
+     */
+    private UUID requestIdFor(List<Object> input) {
+        if (requestId == null || !input.equals(submittedInput)) {
+            requestId = UUID.randomUUID();
+            submittedInput = input;
+        }
+        return requestId;
     }
 
     /**
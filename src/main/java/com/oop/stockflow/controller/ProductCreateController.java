@@ -3,6 +3,7 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.*;
 import com.oop.stockflow.repository.ProductRepository;
 import com.oop.stockflow.utils.DateTimeUtils;
@@ -19,6 +20,7 @@ import java.net.URL;
 import java.util.ResourceBundle;
 
 public class ProductCreateController implements Initializable {
+    private static final Logger LOGGER = Logger.getLogger(ProductCreateController.class);
 
     // === Context Data ===
     private Warehouse currentWarehouse;
@@ -121,7 +123,7 @@ public class ProductCreateController implements Initializable {
         this.currentUser = user;
         loadPageContext();
         if (this.currentUser == null) {
-            System.err.println("Error: AuthenticatedUser is required for Add Stock.");
+            LOGGER.error("AuthenticatedUser is required for Add Stock.");
             handleLogout(null);
         }
     }
@@ -247,7 +249,7 @@ public class ProductCreateController implements Initializable {
 
                 productToAdd = new FreshProduct(name, brand, description, purchasePrice, weight, volume,
                         quantity, requiredTemp, daysToAlert, currentWarehouse.getId());
-                System.out.println("checikg " + currentWarehouse.getId());
+                LOGGER.debug("checikg {}", currentWarehouse.getId());
             }
         } catch (NumberFormatException e) {
             showAlert(Alert.AlertType.WARNING, "Input Error", "Please enter valid numbers for the product type specific fields.");
@@ -271,7 +273,7 @@ public class ProductCreateController implements Initializable {
      */
     @FXML
     private void cancelCreate(ActionEvent event) {
-        System.out.println("Cancel button clicked.");
+        LOGGER.debug("Cancel button clicked.");
         navigateToProductList();
     }
 
@@ -322,7 +324,7 @@ public class ProductCreateController implements Initializable {
 
     @FXML
     private void handleLogout(ActionEvent event) {
-        System.out.println("Logging out...");
+        LOGGER.debug("Logging out...");
         SessionManager.getInstance().endSession();
         StageManager.getInstance().navigate(View.LOGIN, "Login");
     }
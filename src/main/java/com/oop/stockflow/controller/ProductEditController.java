@@ -3,8 +3,12 @@ package com.oop.stockflow.controller; // Sesuaikan package
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.*; // Import model & enum
 import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.ProductUpdateResult;
+import com.oop.stockflow.service.ProductUpdateService;
+import com.oop.stockflow.service.StockAlertService;
 import com.oop.stockflow.utils.DateTimeUtils;
 import com.oop.stockflow.utils.StringUtils;
 import javafx.event.ActionEvent;
@@ -15,14 +19,17 @@ import javafx.scene.layout.VBox;
 import java.math.BigDecimal;
 
 public class ProductEditController {
+    private static final Logger LOGGER = Logger.getLogger(ProductEditController.class);
 
     // === Data Konteks ===
     private Warehouse currentWarehouse; // Keep for navigating back
     private AuthenticatedUser currentUser; // Keep for navigating back
     private Product productToEdit; // Produk yang sedang diedit
+    private Product originalProduct; // State saat form dibuka, dasar untuk merge
 
     // === Repositori ===
     private final ProductRepository productRepository = ProductRepository.getInstance();
+    private final ProductUpdateService productUpdateService = ProductUpdateService.getInstance();
 
     @FXML
     private Label nameLabel;
@@ -66,11 +73,12 @@ public class ProductEditController {
         this.productToEdit = product;
 
         if (this.currentUser == null || this.productToEdit == null || this.currentWarehouse == null) {
-            System.err.println("Error: User, Product, and Warehouse data are required for editing.");
+            LOGGER.error("User, Product, and Warehouse data are required for editing.");
             showAlert(Alert.AlertType.ERROR, "Initialization Error", "Cannot load product data for editing.");
             navigateToProductList();
             return;
         }
+        this.originalProduct = product.copy();
 
         loadPageContext();
         populateForm();
@@ -172,14 +180,41 @@ public class ProductEditController {
             return;
         }
 
-        boolean success = productRepository.updateProduct(productToEdit);
+        ProductUpdateResult result = productUpdateService.update(originalProduct, productToEdit);
+
+        switch (result) {
+            case UPDATED:
+                StockAlertService.getInstance().evaluateProduct(productToEdit);
+                showAlert(Alert.AlertType.INFORMATION, "Success", "Product updated successfully!");
+                navigateToProductList();
+                break;
+            case CONFLICT:
+                showAlert(Alert.AlertType.WARNING, "Edit Conflict",
+                        "This product was changed by someone else in the meantime. The form has been reloaded with the latest data, please apply your changes again.");
+                reloadProduct();
+                break;
+            case NOT_FOUND:
+                showAlert(Alert.AlertType.ERROR, "Product Not Found", "This product has been deleted by someone else.");
+                navigateToProductList();
+                break;
+            default:
+                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update product.");
+                break;
+        }
+    }
 
-        if (success) {
-            showAlert(Alert.AlertType.INFORMATION, "Success", "Product updated successfully!");
+    /**
+     * Loads the latest state of the product into the form after a conflicting edit.
+     */
+    private void reloadProduct() {
+        Product current = productRepository.getProductBySku(productToEdit.getSku());
+        if (current == null) {
             navigateToProductList();
-        } else {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update product.");
+            return;
         }
+        productToEdit = current;
+        originalProduct = current.copy();
+        populateForm();
     }
 
     /**
@@ -205,11 +240,11 @@ public class ProductEditController {
 
     private void navigateToProductList() {
         if (currentWarehouse == null || currentUser == null) {
-            System.err.println("Error: Cannot navigate back to product list - context lost.");
+            LOGGER.error("Cannot navigate back to product list - context lost.");
             StageManager.getInstance().navigate(View.WAREHOUSE_INDEX, "Warehouse List"); // Example fallback
             return;
         }
-        System.out.println("Navigating back to Product List...");
+        LOGGER.debug("Navigating back to Product List...");
         StageManager.getInstance().navigateWithData(
                 View.PRODUCT_INDEX,
                 "Product Management for " + currentWarehouse.getName(),
@@ -3,11 +3,15 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.AuthenticatedUser;
+import com.oop.stockflow.model.ChangeSet;
+import com.oop.stockflow.model.DryGoodProduct;
 import com.oop.stockflow.model.Product;
 import com.oop.stockflow.model.Warehouse;
 import com.oop.stockflow.repository.ProductRepository;
 import com.oop.stockflow.repository.TransactionRepository;
+import com.oop.stockflow.service.StockAlertService;
 import com.oop.stockflow.utils.DateTimeUtils;
 import com.oop.stockflow.utils.StringUtils;
 import javafx.collections.FXCollections;
@@ -21,11 +25,19 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
 
 import java.net.URL;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 public class ProductIndexController implements Initializable {
+    private static final Logger LOGGER = Logger.getLogger(ProductIndexController.class);
+    // same order as the initial load, which is sorted by name in the database
+    private static final Comparator<Product> BY_NAME = Comparator.comparing(Product::getName, String.CASE_INSENSITIVE_ORDER);
+
     private Warehouse currentWarehouse;
     private AuthenticatedUser currentUser;
 
@@ -40,6 +52,8 @@ public class ProductIndexController implements Initializable {
     private Label dateLabel;
     @FXML
     private Label initialLabel;
+    @FXML
+    private CheckBox autoRefreshCheck;
 
     // Stats Cards
     @FXML
@@ -66,6 +80,8 @@ public class ProductIndexController implements Initializable {
     private TableColumn<Product, Void> actionsColumn;
 
     private ObservableList<Product> productList = FXCollections.observableArrayList();
+    private AutoRefresh<ChangeSet<Product>> productRefresh;
+    private AutoRefresh<Boolean> transactionRefresh;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -78,25 +94,28 @@ public class ProductIndexController implements Initializable {
         this.currentUser = user;
 
         if (this.currentUser == null) {
-            System.err.println("Error: AuthenticatedUser is required for Product Index.");
+            LOGGER.error("AuthenticatedUser is required for Product Index.");
             return;
         }
 
+        int warehouseId = warehouse.getId();
+        productRefresh = new AutoRefresh<>(
+                () -> productRepository.getProductChangeCursor(warehouseId),
+                since -> productRepository.getProductChangesByWarehouseId(warehouseId, since),
+                this::applyProductChanges);
+        // the daily counters are two indexed counts, recounting them is cheaper than tracking their rows
+        transactionRefresh = new AutoRefresh<>(
+                () -> transactionRepository.getTransactionChangeCursorByWarehouseId(warehouseId),
+                since -> Boolean.TRUE,
+                changed -> loadTransactionStats());
+
         loadPageContext();
         loadStats();
         loadProductData();
     }
 
     private void loadStats() {
-        // count inbound today
-        int countInboundToday = 0;
-        countInboundToday = transactionRepository.countTodayInboundTransaction(currentWarehouse.getId());
-        inboundTodayLabel.setText(String.valueOf(countInboundToday));
-
-        // count outbound today
-        int countOutboundToday = 0;
-        countOutboundToday = transactionRepository.countTodayOutboundTransaction(currentWarehouse.getId());
-        outboundTodayLabel.setText(String.valueOf(countOutboundToday));
+        loadTransactionStats();
 
         // count low stock
         int countLowStock = 0;
@@ -109,6 +128,18 @@ public class ProductIndexController implements Initializable {
         totalStockLabel.setText(String.valueOf(countStock));
     }
 
+    private void loadTransactionStats() {
+        // count inbound today
+        int countInboundToday = 0;
+        countInboundToday = transactionRepository.countTodayInboundTransaction(currentWarehouse.getId());
+        inboundTodayLabel.setText(String.valueOf(countInboundToday));
+
+        // count outbound today
+        int countOutboundToday = 0;
+        countOutboundToday = transactionRepository.countTodayOutboundTransaction(currentWarehouse.getId());
+        outboundTodayLabel.setText(String.valueOf(countOutboundToday));
+    }
+
     private void setupTableColumns() {
         skuColumn.setCellValueFactory(new PropertyValueFactory<>("sku"));
         productNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
@@ -157,10 +188,56 @@ public class ProductIndexController implements Initializable {
         productsTable.refresh();
     }
 
+    /**
+     * Patches the table with the products changed since the last poll and recalculates the stock counters
+     * from the list, so only the changed rows are fetched.
+     */
+    private void applyProductChanges(ChangeSet<Product> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Set<Long> replaced = new HashSet<>(changes.getDeletedIds());
+        for (Product product : changes.getChanged()) {
+            replaced.add((long) product.getSku());
+        }
+        productList.removeIf(product -> replaced.contains((long) product.getSku()));
+        for (Product product : changes.getChanged()) {
+            int index = Collections.binarySearch(productList, product, BY_NAME);
+            productList.add(index >= 0 ? index : -index - 1, product);
+        }
+
+        long lowStock = productList.stream()
+                .filter(product -> product instanceof DryGoodProduct dryGood && dryGood.getQuantity() < dryGood.getReorderPoint())
+                .count();
+        lowStockLabel.setText(String.valueOf(lowStock));
+        totalStockLabel.setText(String.valueOf(productList.size()));
+    }
+
     // action handlers
+    @FXML
+    private void toggleAutoRefresh() {
+        if (!autoRefreshCheck.isSelected()) {
+            productRefresh.stop();
+            transactionRefresh.stop();
+            return;
+        }
+        // read before reloading, so no change between the reload and the first poll is missed
+        long productCursor = productRepository.getProductChangeCursor(currentWarehouse.getId());
+        if (productCursor < 0) {
+            autoRefreshCheck.setSelected(false);
+            showAlert(Alert.AlertType.ERROR, "Auto-refresh", "Could not start auto-refresh, please try again.");
+            return;
+        }
+        loadStats();
+        loadProductData();
+        productRefresh.start(productCursor);
+        // a recount needs no exact starting point, the first poll simply recounts once
+        transactionRefresh.start(0);
+    }
+
     @FXML
     private void handleAddNewProduct(ActionEvent event) {
-        System.out.println("Add New Product button clicked.");
+        LOGGER.debug("Add New Product button clicked.");
         // TODO: Navigasi ke halaman Add Product
         // StageManager.getInstance().navigateTo(View.PRODUCT_ADD, "Add New Product");
         showAlert(Alert.AlertType.INFORMATION, "Action", "Add New Product navigation not implemented yet.");
@@ -168,28 +245,28 @@ public class ProductIndexController implements Initializable {
 
     @FXML
     private void handlePrevious(ActionEvent event) {
-        System.out.println("Previous Page button clicked.");
+        LOGGER.debug("Previous Page button clicked.");
         // TODO: Implementasi logika pagination - halaman sebelumnya
         showAlert(Alert.AlertType.INFORMATION, "Action", "Pagination (Previous) not implemented yet.");
     }
 
     @FXML
     private void handlePage2(ActionEvent event) { // Contoh untuk tombol halaman 2
-        System.out.println("Page 2 button clicked.");
+        LOGGER.debug("Page 2 button clicked.");
         // TODO: Implementasi logika pagination - pergi ke halaman 2
         showAlert(Alert.AlertType.INFORMATION, "Action", "Pagination (Page 2) not implemented yet.");
     }
 
     @FXML
     private void handlePage3(ActionEvent event) { // Contoh untuk tombol halaman 3
-        System.out.println("Page 3 button clicked.");
+        LOGGER.debug("Page 3 button clicked.");
         // TODO: Implementasi logika pagination - pergi ke halaman 3
         showAlert(Alert.AlertType.INFORMATION, "Action", "Pagination (Page 3) not implemented yet.");
     }
 
     @FXML
     private void handleNext(ActionEvent event) {
-        System.out.println("Next Page button clicked.");
+        LOGGER.debug("Next Page button clicked.");
         // TODO: Implementasi logika pagination - halaman berikutnya
         showAlert(Alert.AlertType.INFORMATION, "Action", "Pagination (Next) not implemented yet.");
     }
@@ -223,6 +300,7 @@ public class ProductIndexController implements Initializable {
             boolean deleted = productRepository.deleteProduct(product.getSku());
 
             if (deleted) {
+                StockAlertService.getInstance().removeProduct(currentWarehouse.getId(), product.getSku());
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Product '" + product.getName() + "' deleted successfully.");
                 loadProductData();
             } else {
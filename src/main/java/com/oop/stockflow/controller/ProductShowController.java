@@ -3,20 +3,21 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.*;
 import com.oop.stockflow.repository.ProductRepository;
 import com.oop.stockflow.utils.DateTimeUtils;
+import com.oop.stockflow.utils.FormatUtils;
 import com.oop.stockflow.utils.StringUtils;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.util.Locale;
 
 public class ProductShowController {
+    private static final Logger LOGGER = Logger.getLogger(ProductShowController.class);
+
     private Warehouse currentWarehouse;
     private AuthenticatedUser currentUser;
     private Product productToShow;
@@ -67,7 +68,7 @@ private final ProductRepository productRepository = ProductRepository.getInstanc
         loadPageContext();
 
         if (this.currentUser == null || this.productToShow == null || this.currentWarehouse == null) {
-            System.err.println("Error: User, Product, and Warehouse data are required for viewing product details.");
+            LOGGER.error("User, Product, and Warehouse data are required for viewing product details.");
             showAlert(Alert.AlertType.ERROR, "Initialization Error", "Cannot load product details.");
             handleBack(null);
             return;
@@ -81,12 +82,6 @@ private final ProductRepository productRepository = ProductRepository.getInstanc
      */
     private void populateView() {
         if (productToShow == null) return;
-        // --- Formatters ---
-        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("id", "ID"));
-        DecimalFormat weightFormat = new DecimalFormat("#,##0.### 'kg'");
-        DecimalFormat volumeFormat = new DecimalFormat("#,##0.### 'm³'");
-        DecimalFormat tempFormat = new DecimalFormat("#,##0.0 '°C'");
-
         // --- Basic Information ---
         skuLabel.setText(String.valueOf(productToShow.getSku()));
         productTypeLabel.setText(StringUtils.toTitleCase(productToShow.getProductType().getDbValue()));
@@ -96,11 +91,11 @@ private final ProductRepository productRepository = ProductRepository.getInstanc
 
         // --- Inventory Details ---
         currentQuantityLabel.setText(productToShow.getQuantity() + " units");
-        purchasePriceLabel.setText(productToShow.getPurchasePrice() != null ? currencyFormat.format(productToShow.getPurchasePrice()) : "N/A");
+        purchasePriceLabel.setText(productToShow.getPurchasePrice() != null ? FormatUtils.formatCurrency(productToShow.getPurchasePrice()) : "N/A");
 
         // --- Physical Specifications ---
-        weightLabel.setText(weightFormat.format(productToShow.getWeightPerUnitKg()));
-        volumeLabel.setText(volumeFormat.format(productToShow.getVolumePerUnitM3()));
+        weightLabel.setText(FormatUtils.formatUnitWeight(productToShow.getWeightPerUnitKg()));
+        volumeLabel.setText(FormatUtils.formatUnitVolume(productToShow.getVolumePerUnitM3()));
 
         if (productToShow instanceof DryGoodProduct dryGood) {
             // Populate Dry Good fields
@@ -115,7 +110,7 @@ private final ProductRepository productRepository = ProductRepository.getInstanc
             expiryAlertLabel.getStyleClass().add("na-badge");
 
         } else if (productToShow instanceof FreshProduct fresh) {
-            temperatureLabel.setText(fresh.getRequiredTemp() != null ? tempFormat.format(fresh.getRequiredTemp()) : "N/A");
+            temperatureLabel.setText(fresh.getRequiredTemp() != null ? FormatUtils.formatTemperature(fresh.getRequiredTemp()) : "N/A");
 
             expiryAlertLabel.setText(fresh.getDaysToAlertBeforeExpiry() > 0 ? fresh.getDaysToAlertBeforeExpiry() + " days" : "N/A");
             if (fresh.getDaysToAlertBeforeExpiry() > 0) {
@@ -141,7 +136,7 @@ private final ProductRepository productRepository = ProductRepository.getInstanc
      */
     @FXML
     private void handleBack(ActionEvent event) {
-        System.out.println("Back button clicked.");
+        LOGGER.debug("Back button clicked.");
         goToProductIndex();
     }
 
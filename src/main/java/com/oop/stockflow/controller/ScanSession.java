@@ -0,0 +1,166 @@
+package com.oop.stockflow.controller;
+
+import com.oop.stockflow.model.Product;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the products scanned at a dock, for the scanning mode of the inbound and outbound screens.
+ *
+ * Scanned codes are resolved against a hash index of the products of the warehouse, built once when the
+ * screen opens, and repeated scans of a product only increase its count, so a scan never reaches the
+ * database. The counted quantities are submitted together once the session is confirmed.
+ * Products have no separate barcode, so their labels encode the SKU; leading zeros added by
+ * fixed-length barcode formats are ignored.
+ */
+class ScanSession {
+    private final Map<String, Product> productsByCode = new HashMap<>();
+    private final Map<Integer, Line> lines = new LinkedHashMap<>();
+    private int totalUnits;
+
+    /**
+     * Creates an empty session for the given products.
+     *
+     * @param products The products of the warehouse that can be scanned.
+     */
+    ScanSession(List<Product> products) {
+        for (Product product : products) {
+            productsByCode.put(normalize(String.valueOf(product.getSku())), product);
+        }
+    }
+
+    /**
+     * Resolves a scanned code to a product of the warehouse.
+     *
+     * @param code The scanned code.
+     * @return The product, or null if the code does not belong to a product of the warehouse.
+     */
+    Product resolve(String code) {
+        return productsByCode.get(normalize(code));
+    }
+
+    /**
+     * Counts one more unit of a product.
+     *
+     * @param product The scanned product, as returned by {@link #resolve(String)}.
+     * @return The line of the product, with its updated count.
+     */
+    Line add(Product product) {
+        Line line = lines.computeIfAbsent(product.getSku(), sku -> new Line(product, lines.size()));
+        line.count++;
+        totalUnits++;
+        return line;
+    }
+
+    /**
+     * Retrieves the counted units of a product.
+     *
+     * @param sku The SKU of the product.
+     * @return The count, or 0 if the product was not scanned.
+     */
+    int getCount(int sku) {
+        Line line = lines.get(sku);
+        return line != null ? line.count : 0;
+    }
+
+    /**
+     * Retrieves the line of a scanned product.
+     *
+     * @param sku The SKU of the product.
+     * @return The line, or null if the product was not scanned.
+     */
+    Line getLine(int sku) {
+        return lines.get(sku);
+    }
+
+    /**
+     * Retrieves the counted quantity of every scanned product, in the order they were first scanned.
+     *
+     * @return The quantities by SKU.
+     */
+    Map<Integer, Integer> getQuantities() {
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        lines.forEach((sku, line) -> quantities.put(sku, line.count));
+        return Collections.unmodifiableMap(quantities);
+    }
+
+    /**
+     * Retrieves the number of units scanned in the session.
+     *
+     * @return The total unit count.
+     */
+    int getTotalUnits() {
+        return totalUnits;
+    }
+
+    /**
+     * Checks whether anything was scanned.
+     *
+     * @return true if the session has no lines, false otherwise.
+     */
+    boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Discards every counted line.
+     */
+    void clear() {
+        lines.clear();
+        totalUnits = 0;
+    }
+
+    private static String normalize(String code) {
+        String trimmed = code.trim();
+        int start = 0;
+        while (start < trimmed.length() - 1 && trimmed.charAt(start) == '0') {
+            start++;
+        }
+        return trimmed.substring(start);
+    }
+
+    /**
+     * A scanned product and its count.
+     */
+    static class Line {
+        private final Product product;
+        private final int position;
+        private int count;
+
+        private Line(Product product, int position) {
+            this.product = product;
+            this.position = position;
+        }
+
+        /**
+         * Retrieves the scanned product.
+         *
+         * @return The product.
+         */
+        Product getProduct() {
+            return product;
+        }
+
+        /**
+         * Retrieves the position of the line, in the order products were first scanned.
+         *
+         * @return The zero-based position.
+         */
+        int getPosition() {
+            return position;
+        }
+
+        /**
+         * Retrieves the counted units.
+         *
+         * @return The count.
+         */
+        int getCount() {
+            return count;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.AuthenticatedUser;
 import com.oop.stockflow.model.Staff;
 import com.oop.stockflow.model.Warehouse;
@@ -28,6 +29,8 @@ import javafx.scene.text.Font;
 import static com.oop.stockflow.app.View.STAFF_CREATE;
 
 public class StaffIndexController {
+    private static final Logger LOGGER = Logger.getLogger(StaffIndexController.class);
+
     private Warehouse currentWarehouse;
     private AuthenticatedUser currentUser;
 
@@ -100,7 +103,7 @@ public class StaffIndexController {
 
     private void loadStaffList(int warehouseId) {
         if (staffListContainer == null) {
-            System.err.println("[ERROR] staffListContainer is null. Check FXML fx:id.");
+            LOGGER.error("staffListContainer is null. Check FXML fx:id.");
             return;
         }
 
@@ -196,7 +199,7 @@ public class StaffIndexController {
                 showAlert(Alert.AlertType.ERROR, "Error", "Failed to delete staff account.");
             }
         } else {
-            System.out.println("Deletion cancelled for staff ID: " + staff.getId());
+            LOGGER.debug("Deletion cancelled for staff ID: {}", staff.getId());
         }
     }
 
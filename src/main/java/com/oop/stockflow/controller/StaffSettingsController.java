@@ -3,6 +3,7 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.AuthenticatedUser;
 import com.oop.stockflow.model.Staff;
 import com.oop.stockflow.model.UserType;
@@ -15,6 +16,8 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
 public class StaffSettingsController {
+    private static final Logger LOGGER = Logger.getLogger(StaffSettingsController.class);
+
     private Warehouse currentWarehouse;
     private AuthenticatedUser currentUser;
 
@@ -49,7 +52,7 @@ public class StaffSettingsController {
         this.currentUser = user;
 
         if (this.currentUser == null) {
-            System.err.println("FATAL ERROR: StaffSettingsController requires a valid AuthenticatedUser.");
+            LOGGER.error("StaffSettingsController requires a valid AuthenticatedUser.");
             return;
         }
         loadPageContext();
@@ -121,7 +124,7 @@ public class StaffSettingsController {
      */
     @FXML
     private void handleCancel(ActionEvent event) {
-        System.out.println("Cancel changes - Navigating back.");
+        LOGGER.debug("Cancel changes - Navigating back.");
         goToTransactionIndex(event);
     }
 
@@ -131,7 +134,7 @@ public class StaffSettingsController {
      */
     @FXML
     private void togglePasswordVisibility(ActionEvent event) {
-        System.out.println("Toggle password visibility clicked - complex UI interaction.");
+        LOGGER.debug("Toggle password visibility clicked - complex UI interaction.");
         Label eyeLabel = (Label) togglePasswordButton.getGraphic();
         if (eyeLabel.getText().equals("👁")) {
             eyeLabel.setText("👁‍🗨");
@@ -170,6 +173,15 @@ public class StaffSettingsController {
         );
     }
 
+    @FXML
+    private void goToTransferTransaction(ActionEvent event) {
+        StageManager.getInstance().navigateWithData(
+                View.TRANSACTION_CREATE_TRANSFER,
+                "Create Stock Transfer",
+                (TransferTransactionController controller) -> { controller.initData(currentWarehouse, currentUser); }
+        );
+    }
+
     @FXML
     private void goToSettings() {
         StageManager.getInstance().navigateWithData(
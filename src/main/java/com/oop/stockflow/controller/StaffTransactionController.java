@@ -3,6 +3,7 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.AuthenticatedUser;
 import com.oop.stockflow.model.Product;
 import com.oop.stockflow.model.Warehouse;
@@ -18,6 +19,8 @@ import java.time.LocalDate;
 import java.util.ResourceBundle;
 
 public class StaffTransactionController implements Initializable {
+    private static final Logger LOGGER = Logger.getLogger(StaffTransactionController.class);
+
     // sidebar fields
     @FXML private Label staffNameLabel;
 
@@ -194,13 +197,13 @@ public class StaffTransactionController implements Initializable {
     // sidebar navigations
     @FXML
     private void navigateToInbound() {
-        System.out.println("Already on Inbound page.");
+        LOGGER.debug("Already on Inbound page.");
         inboundRadio.setSelected(true);
     }
 
     @FXML
     private void navigateToOutbound() {
-        System.out.println("Switching to Outbound view.");
+        LOGGER.debug("Switching to Outbound view.");
         outboundRadio.setSelected(true);
     }
 
@@ -3,27 +3,45 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.controller.cell.DateTimeCell;
+import com.oop.stockflow.controller.cell.StatusBadgeCell;
+import com.oop.stockflow.controller.cell.TransactionTypeCell;
+import com.oop.stockflow.db.DatabaseExecutor;
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.db.QueryScope;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.*;
 import com.oop.stockflow.repository.ProductRepository;
 import com.oop.stockflow.repository.TransactionRepository;
+import com.oop.stockflow.service.ChangeNotificationService;
+import com.oop.stockflow.service.WavePlanningService;
 import com.oop.stockflow.utils.DateTimeUtils;
+import com.oop.stockflow.utils.FormatUtils;
 import com.oop.stockflow.utils.StringUtils;
-import javafx.beans.property.SimpleStringProperty;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
-import org.kordamp.ikonli.javafx.FontIcon;
 
 import java.sql.Timestamp;
-import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class TransactionIndexController {
+    private static final Logger LOGGER = Logger.getLogger(TransactionIndexController.class);
+
     @FXML
     private Label nameLabel;
     @FXML
@@ -32,6 +50,8 @@ public class TransactionIndexController {
     private Label initialLabel;
     @FXML
     private Label dateLabel;
+    @FXML
+    private CheckBox autoRefreshCheck;
 
     // Navigation buttons
     @FXML
@@ -72,14 +92,94 @@ public class TransactionIndexController {
     private AuthenticatedUser currentUser;
     private final TransactionRepository transactionRepository = TransactionRepository.getInstance();
     private final ProductRepository productRepository = ProductRepository.getInstance();
+    private final WavePlanningService wavePlanningService = WavePlanningService.getInstance();
+    private AutoRefresh<ChangeSet<Transaction>> transactionRefresh;
+    private QueryScope scope;
+
+    // product columns by SKU, shared by every row of the same product so rendering a cell never queries
+    private final Map<Integer, ObservableValue<String>> productNames = new HashMap<>();
+    private final Map<Integer, ObservableValue<String>> productBrands = new HashMap<>();
 
     public void initData(Warehouse warehouse, AuthenticatedUser user) {
         this.currentWarehouse = warehouse;
         this.currentUser = user;
+        scope = QueryScope.active();
         loadSessionData();
         setupTableColumns();
         loadTransactions();
         loadPageContext();
+        ChangeNotificationService.getInstance().subscribeScreen(this::onChange);
+        if (currentUser != null) {
+            int staffId = currentUser.getId();
+            transactionRefresh = new AutoRefresh<>(
+                    () -> transactionRepository.getTransactionChangeCursorByStaffId(staffId),
+                    since -> transactionRepository.getTransactionChangesByStaffId(staffId, since),
+                    this::applyTransactionChanges);
+        }
+    }
+
+    /**
+     * Applies a transaction changed by any client to the table, without reloading the whole list.
+     * The changed row is fetched on the notification thread and applied on the JavaFX thread.
+     */
+    private void onChange(ChangeEvent event) {
+        if (event.getEntity() != ChangeEntity.TRANSACTION || currentUser == null || event.getUserId() != currentUser.getId()) {
+            return;
+        }
+        Transaction transaction = event.isDelete() ? null : transactionRepository.getTransactionById(event.getId());
+        Platform.runLater(() -> applyTransactionChange(event.getId(), transaction));
+    }
+
+    /**
+     * Replaces, inserts or removes a single row and recalculates the statistics.
+     *
+     * @param transactionId The ID of the changed transaction.
+     * @param transaction The current state of the transaction, or null if it was deleted.
+     */
+    private void applyTransactionChange(long transactionId, Transaction transaction) {
+        if (patchTransaction(transactionId, transaction)) {
+            calculateAndDisplayStatistics();
+        }
+    }
+
+    /**
+     * Applies the transactions changed since the last auto-refresh poll and recalculates the statistics once.
+     */
+    private void applyTransactionChanges(ChangeSet<Transaction> changes) {
+        boolean patched = false;
+        for (long transactionId : changes.getDeletedIds()) {
+            patched |= patchTransaction(transactionId, null);
+        }
+        for (Transaction transaction : changes.getChanged()) {
+            patched |= patchTransaction(transaction.getId(), transaction);
+        }
+        if (patched) {
+            calculateAndDisplayStatistics();
+        }
+    }
+
+    /**
+     * Replaces, inserts or removes a single row.
+     *
+     * @return true if the table changed, false otherwise.
+     */
+    private boolean patchTransaction(long transactionId, Transaction transaction) {
+        for (int i = 0; i < allTransactionsList.size(); i++) {
+            if (allTransactionsList.get(i).getId() == transactionId) {
+                if (transaction == null) {
+                    allTransactionsList.remove(i);
+                } else {
+                    allTransactionsList.set(i, transaction);
+                }
+                return true;
+            }
+        }
+        if (transaction != null) {
+            // newest first, like the initial load
+            allTransactionsList.add(0, transaction);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -88,7 +188,7 @@ public class TransactionIndexController {
     private void loadSessionData() {
         currentUser = SessionManager.getInstance().getCurrentUser();
         if (currentUser == null) {
-            System.err.println("Error: No authenticated user found!");
+            LOGGER.error("No authenticated user found!");
         } else {
             nameLabel.setText(currentUser.getName());
             roleLabel.setText(currentUser.getUserType().getDbValue());
@@ -105,12 +205,44 @@ public class TransactionIndexController {
             return;
         }
         List<Transaction> dbTransactions = transactionRepository.getAllTransactionsByStaffId(currentUser.getId());
+        loadProductColumns(dbTransactions);
         allTransactionsList.setAll(dbTransactions);
         transactionsTable.setItems(allTransactionsList);
         transactionsTable.refresh();
         calculateAndDisplayStatistics();
     }
 
+    /**
+     * Loads the name and brand of every product referenced by the transactions with a single query.
+     */
+    private void loadProductColumns(List<Transaction> transactions) {
+        productNames.clear();
+        productBrands.clear();
+        Set<Integer> skus = transactions.stream().map(Transaction::getSku).collect(Collectors.toSet());
+        for (Product product : productRepository.getProductsBySkus(skus)) {
+            cacheProductColumns(product.getSku(), product.getName(), product.getBrand());
+        }
+    }
+
+    private void cacheProductColumns(int sku, String name, String brand) {
+        productNames.put(sku, new ReadOnlyStringWrapper(name != null ? name : "N/A").getReadOnlyProperty());
+        productBrands.put(sku, new ReadOnlyStringWrapper(brand != null ? brand : "N/A").getReadOnlyProperty());
+    }
+
+    /**
+     * Returns the cached column value of a product, fetching the product once if it was not loaded yet,
+     * e.g. for a transaction added by a change notification.
+     */
+    private ObservableValue<String> productColumn(Map<Integer, ObservableValue<String>> cache, int sku) {
+        ObservableValue<String> value = cache.get(sku);
+        if (value == null) {
+            Product product = productRepository.getProductBySku(sku);
+            cacheProductColumns(sku, product != null ? product.getName() : null, product != null ? product.getBrand() : null);
+            value = cache.get(sku);
+        }
+        return value;
+    }
+
     /**
      * Menghitung dan menampilkan statistik berdasarkan allTransactionsList.
      */
@@ -126,11 +258,14 @@ public class TransactionIndexController {
         long committedCount = allTransactionsList.stream()
                 .filter(t -> t.getStatus() == TransactionStatus.COMMITTED)
                 .count();
+        // a transfer is inbound for the warehouse receiving it and outbound for the one sending it
         long inboundCount = allTransactionsList.stream()
-                .filter(t -> t instanceof InboundTransaction)
+                .filter(t -> t instanceof InboundTransaction
+                        || t instanceof TransferTransaction transfer && transfer.isReceivedBy(currentWarehouse.getId()))
                 .count();
         long outboundCount = allTransactionsList.stream()
-                .filter(t -> t instanceof OutboundTransaction)
+                .filter(t -> t instanceof OutboundTransaction
+                        || t instanceof TransferTransaction transfer && !transfer.isReceivedBy(currentWarehouse.getId()))
                 .count();
 
         updateStatisticsDisplay(pendingCount, committedCount, inboundCount, outboundCount);
@@ -153,69 +288,17 @@ public class TransactionIndexController {
     private void setupTableColumns() {
         idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
 
-        productNameColumn.setCellValueFactory(cellData -> {
-            Transaction transaction = cellData.getValue();
-            int sku = transaction.getSku();
-            String productName = productRepository.getProductNameBySku(sku);
-            return new SimpleStringProperty(productName != null ? productName : "N/A");
-        });
-
-        brandColumn.setCellValueFactory(cellData -> {
-            Transaction transaction = cellData.getValue();
-            int sku = transaction.getSku();
-            String brand = productRepository.getProductBrandBySku(sku);
-            return new SimpleStringProperty(brand != null ? brand : "N/A");
-        });
+        productNameColumn.setCellValueFactory(cellData -> productColumn(productNames, cellData.getValue().getSku()));
+        brandColumn.setCellValueFactory(cellData -> productColumn(productBrands, cellData.getValue().getSku()));
 
         dateColumn.setCellValueFactory(new PropertyValueFactory<>("date"));
-        dateColumn.setCellFactory(column -> new TableCell<Transaction, Timestamp>() {
-            private final SimpleDateFormat formatter = new SimpleDateFormat("dd MMM yyyy HH:mm");
-
-            @Override
-            protected void updateItem(Timestamp item, boolean empty) {
-                super.updateItem(item, empty);
-                setText(empty || item == null ? null : formatter.format(item));
-            }
-        });
+        dateColumn.setCellFactory(column -> new DateTimeCell<>());
 
         statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
-        statusColumn.setCellFactory(column -> new TableCell<Transaction, TransactionStatus>() {
-            @Override
-            protected void updateItem(TransactionStatus status, boolean empty) {
-                super.updateItem(status, empty);
-                if (empty || status == null) {
-                    setGraphic(null);
-                    setText(null);
-                    setStyle("");
-                } else {
-                    Label statusLabel = new Label(status.getDbValue().substring(0, 1).toUpperCase() + status.getDbValue().substring(1)); // Capitalize
-                    statusLabel.setStyle(getStatusStyle(status));
-                    statusLabel.setAlignment(Pos.CENTER);
-                    statusLabel.setMaxWidth(Double.MAX_VALUE);
-                    setGraphic(statusLabel);
-                    setText(null);
-                }
-            }
-        });
+        statusColumn.setCellFactory(column -> new StatusBadgeCell<>());
 
         typeColumn.setCellValueFactory(new PropertyValueFactory<>("type"));
-        typeColumn.setCellFactory(column -> new TableCell<Transaction, TransactionType>() {
-            @Override
-            protected void updateItem(TransactionType item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setText(null);
-                    setGraphic(null);
-                    setStyle("");
-                } else {
-                    setText(item.getDbValue().substring(0, 1).toUpperCase() + item.getDbValue().substring(1));
-                    FontIcon icon = new FontIcon(item == TransactionType.INBOUND ? "fas-arrow-down" : "fas-arrow-up");
-                    icon.setIconSize(14);
-                    setGraphic(icon);
-                    setStyle(item == TransactionType.INBOUND ? "-fx-text-fill: green;" : "-fx-text-fill: blue;");
-                }
-            }
-        });
+        typeColumn.setCellFactory(column -> new TransactionTypeCell<>());
 
         actionsColumn.setCellFactory(column -> new TableCell<Transaction, Void>() {
             private final Button detailBtn = new Button("Detail");
@@ -254,23 +337,6 @@ public class TransactionIndexController {
         });
     }
 
-    /**
-     * Mengembalikan string style CSS untuk status badge.
-     */
-    private String getStatusStyle(TransactionStatus status) {
-        String baseStyle = "-fx-padding: 4 12; -fx-background-radius: 12; -fx-font-size: 12px; -fx-font-weight: 600;";
-        switch (status) {
-            case COMMITTED:
-                return baseStyle + "-fx-background-color: #d1fae5; -fx-text-fill: #065f46;"; // Hijau
-            case PENDING:
-                return baseStyle + "-fx-background-color: #fef3c7; -fx-text-fill: #92400e;"; // Kuning
-            case VOIDED:
-                return baseStyle + "-fx-background-color: #fee2e2; -fx-text-fill: #991b1b;"; // Merah
-            default:
-                return baseStyle + "-fx-background-color: #f3f4f6; -fx-text-fill: #374151;"; // Abu-abu
-        }
-    }
-
     /**
      * Memuat ulang data transaksi dari database.
      */
@@ -278,10 +344,31 @@ public class TransactionIndexController {
         loadTransactions();
     }
 
+    @FXML
+    private void toggleAutoRefresh() {
+        if (transactionRefresh == null) {
+            autoRefreshCheck.setSelected(false);
+            return;
+        }
+        if (!autoRefreshCheck.isSelected()) {
+            transactionRefresh.stop();
+            return;
+        }
+        // read before reloading, so no change between the reload and the first poll is missed
+        long cursor = transactionRepository.getTransactionChangeCursorByStaffId(currentUser.getId());
+        if (cursor < 0) {
+            autoRefreshCheck.setSelected(false);
+            showAlert(Alert.AlertType.ERROR, "Auto-refresh", "Could not start auto-refresh, please try again.");
+            return;
+        }
+        loadTransactions();
+        transactionRefresh.start(cursor);
+    }
+
     // navigation
     @FXML
     private void handleTransactionsList() {
-        System.out.println("Refreshing Transactions List...");
+        LOGGER.debug("Refreshing Transactions List...");
         refreshTable();
     }
 
@@ -303,6 +390,15 @@ public class TransactionIndexController {
         );
     }
 
+    @FXML
+    private void goToTransferTransaction() {
+        StageManager.getInstance().navigateWithData(
+                View.TRANSACTION_CREATE_TRANSFER,
+                "New Stock Transfer",
+                (TransferTransactionController controller) -> controller.initData(currentWarehouse, currentUser)
+        );
+    }
+
     @FXML
     private void goToSettings() {
         StageManager.getInstance().navigateWithData(
@@ -315,11 +411,89 @@ public class TransactionIndexController {
     // action handlers
     @FXML
     private void handleLogout() {
-        System.out.println("Logging out...");
+        LOGGER.debug("Logging out...");
         SessionManager.getInstance().endSession();
         StageManager.getInstance().navigate(View.LOGIN, "Login");
     }
 
+    /**
+     * Plans pick waves for the pending outbound transactions of the warehouse and commits the wave the staff
+     * member chooses. Planning reads every pending transaction of the warehouse, so it runs off the UI thread.
+     */
+    @FXML
+    private void handlePlanWaves(ActionEvent event) {
+        if (currentWarehouse.getStatus() != WarehouseStatus.ACTIVE) {
+            showAlert(Alert.AlertType.WARNING, "Prohibited Action", "You are not allowed to perform any transaction on non active warehouse.");
+            return;
+        }
+        Button button = (Button) event.getSource();
+        button.setDisable(true);
+        int warehouseId = currentWarehouse.getId();
+        DatabaseExecutor.supplyAsync(QueryIntent.READ, () -> wavePlanningService.planWaves(warehouseId))
+                .whenCompleteAsync((List<PickWave> waves, Throwable error) -> {
+                    if (scope.isCancelled()) {
+                        return;
+                    }
+                    button.setDisable(false);
+                    if (error != null) {
+                        LOGGER.error("Failed to plan pick waves of warehouse {}", warehouseId, error);
+                        showAlert(Alert.AlertType.ERROR, "Error", "Failed to plan pick waves.");
+                        return;
+                    }
+                    if (waves.isEmpty()) {
+                        showAlert(Alert.AlertType.INFORMATION, "Pick Waves", "There are no pending outbound transactions to plan.");
+                        return;
+                    }
+                    showCommitWaveDialog(waves, button);
+                }, Platform::runLater);
+    }
+
+    private void showCommitWaveDialog(List<PickWave> waves, Button button) {
+        Map<String, PickWave> wavesByLabel = new LinkedHashMap<>();
+        for (PickWave wave : waves) {
+            wavesByLabel.put(describeWave(wavesByLabel.size() + 1, wave), wave);
+        }
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(wavesByLabel.keySet().iterator().next(), wavesByLabel.keySet());
+        dialog.setTitle("Pick Waves");
+        dialog.setHeaderText(waves.size() + " pick waves planned for the pending outbound transactions");
+        dialog.setContentText("Choose the wave to commit:");
+
+        dialog.showAndWait().map(wavesByLabel::get).ifPresent(wave -> commitWave(wave, button));
+    }
+
+    /**
+     * Commits every transaction of a wave with a single statement, off the UI thread.
+     */
+    private void commitWave(PickWave wave, Button button) {
+        button.setDisable(true);
+        int warehouseId = currentWarehouse.getId();
+        DatabaseExecutor.supplyAsync(() -> wavePlanningService.commitWave(warehouseId, wave))
+                .whenCompleteAsync((Integer committed, Throwable error) -> {
+                    if (scope.isCancelled()) {
+                        return;
+                    }
+                    button.setDisable(false);
+                    if (error != null || committed < 0) {
+                        if (error != null) {
+                            LOGGER.error("Failed to commit a pick wave of warehouse {}", warehouseId, error);
+                        }
+                        showAlert(Alert.AlertType.ERROR, "Error", "Failed to commit the wave. Check the stock of its products.");
+                        return;
+                    }
+                    showAlert(Alert.AlertType.INFORMATION, "Success",
+                            "Committed " + committed + " of " + wave.getTransactions().size() + " transactions of the wave.");
+                    refreshTable();
+                }, Platform::runLater);
+    }
+
+    private String describeWave(int number, PickWave wave) {
+        // the address is entered in a text area, keep the choice on one line
+        String destination = wave.getDestinationAddress().strip().replaceAll("\\s*\\R\\s*", ", ");
+        return String.format("Wave %d: %s to %s, %d transactions, %d units, %s, %s", number,
+                wave.getShippingType().getDbValue(), destination, wave.getTransactions().size(), wave.getTotalQuantity(),
+                FormatUtils.formatWeight(wave.getTotalWeightKg()), FormatUtils.formatVolume(wave.getTotalVolumeM3()));
+    }
+
     private void handleDetailAction(Transaction transaction) {
         StageManager.getInstance().navigateWithData(
                 View.TRANSACTION_SHOW,
@@ -3,9 +3,13 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.*;
 import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.WarehouseRepository;
+import com.oop.stockflow.service.InventoryValuationService;
 import com.oop.stockflow.utils.DateTimeUtils;
+import com.oop.stockflow.utils.FormatUtils;
 import com.oop.stockflow.utils.StringUtils;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -14,14 +18,14 @@ import javafx.scene.control.Label;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.text.SimpleDateFormat;
-import java.util.Locale;
 
 public class TransactionShowController {
+    private static final Logger LOGGER = Logger.getLogger(TransactionShowController.class);
+
     // repositories
     private final ProductRepository productRepository = ProductRepository.getInstance();
+    private final WarehouseRepository warehouseRepository = WarehouseRepository.getInstance();
+    private final InventoryValuationService inventoryValuationService = InventoryValuationService.getInstance();
 
     // data
     private Warehouse currentWarehouse;
@@ -110,7 +114,7 @@ public class TransactionShowController {
             this.relatedProduct = productRepository.getProductBySku(currentTransaction.getSku());
         }
         if (this.relatedProduct == null) {
-            System.err.println("Warning: Could not fetch product details for SKU: " + currentTransaction.getSku());
+            LOGGER.warn("Could not fetch product details for SKU: {}", currentTransaction.getSku());
         }
     }
 
@@ -119,20 +123,15 @@ public class TransactionShowController {
      */
     private void populateView() {
         if (currentTransaction == null) {
-            System.out.println("transaction object is null");
+            LOGGER.debug("transaction object is null");
         } else {
             dateLabel.setText(DateTimeUtils.getCurrentDate());
             initialLabel.setText(StringUtils.getInitial(currentUser.getName()));
             roleLabel.setText(currentUser.getUserType().getDbValue());
             nameLabel.setText(currentUser.getName());
-            SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMMM yyyy");
-            NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("id", "ID"));
-            DecimalFormat weightFormat = new DecimalFormat("#,##0.00 'kg'");
-            DecimalFormat volumeFormat = new DecimalFormat("#,##0.000 'm³'");
-
             // Transaction Header
             transactionId.setText("Transaction ID #" + currentTransaction.getId());
-            transactionDate.setText(dateFormat.format(currentTransaction.getDate()));
+            transactionDate.setText(DateTimeUtils.format(currentTransaction.getDate(), DateTimeUtils.LONG_DATE));
             statusHeader.setText(StringUtils.toTitleCase(currentTransaction.getStatus().getDbValue()));
             if (currentTransaction.getStatus() == TransactionStatus.COMMITTED) {
                 statusHeader.getStyleClass().add("status-badge-committed");
@@ -165,6 +164,11 @@ public class TransactionShowController {
                 destinationAddress.setText(outbound.getDestinationAddress() != null && !outbound.getDestinationAddress().isBlank()
                         ? outbound.getDestinationAddress()
                         : "N/A (Outbound)");
+            } else if (currentTransaction instanceof TransferTransaction transfer) {
+                Warehouse destination = warehouseRepository.getWarehouseById(transfer.getDestinationWarehouseId());
+                destinationAddress.setText(destination != null
+                        ? destination.getName() + ", " + destination.getAddress() + ", " + destination.getCity()
+                        : "N/A (Warehouse Removed)");
             } else {
                 destinationAddress.setText("N/A (Inbound Transaction)");
                 destinationAddress.getParent().getParent().setVisible(false);
@@ -175,26 +179,33 @@ public class TransactionShowController {
             int qty = currentTransaction.getQuantity();
             quantity.setText(String.valueOf(qty));
 
-            BigDecimal price = BigDecimal.ZERO;
-            if (relatedProduct != null && relatedProduct.getPurchasePrice() != null) {
+            // inbound stock is valued at the cost it was received at, outbound at the running average cost
+            BigDecimal price = currentTransaction.getUnitCost();
+            if (price == null && currentTransaction.getType() == TransactionType.OUTBOUND) {
+                price = inventoryValuationService.getAverageUnitCost(currentTransaction.getSku());
+            }
+            if (price == null && relatedProduct != null) {
                 price = relatedProduct.getPurchasePrice();
-                purchasePrice.setText(currencyFormat.format(price));
+            }
+            if (price != null) {
+                purchasePrice.setText(FormatUtils.formatCurrency(price));
             } else {
+                price = BigDecimal.ZERO;
                 purchasePrice.setText("N/A");
             }
 
             // Calculate Total Value
             BigDecimal totalVal = price.multiply(new BigDecimal(qty)).setScale(2, RoundingMode.HALF_UP);
-            totalValue.setText(currencyFormat.format(totalVal));
+            totalValue.setText(FormatUtils.formatCurrency(totalVal));
 
             // --- Physical Specs Card ---
             if (relatedProduct != null) {
                 double wpu = relatedProduct.getWeightPerUnitKg();
                 double vpu = relatedProduct.getVolumePerUnitM3();
-                weightPerUnit.setText("(" + weightFormat.format(wpu) + " / unit)");
-                volumePerUnit.setText("(" + volumeFormat.format(vpu) + " / unit)");
-                totalWeight.setText(weightFormat.format(wpu * qty));
-                totalVolume.setText(volumeFormat.format(vpu * qty));
+                weightPerUnit.setText("(" + FormatUtils.formatWeight(wpu) + " / unit)");
+                volumePerUnit.setText("(" + FormatUtils.formatVolume(vpu) + " / unit)");
+                totalWeight.setText(FormatUtils.formatWeight(wpu * qty));
+                totalVolume.setText(FormatUtils.formatVolume(vpu * qty));
             } else {
                 weightPerUnit.setText("N/A");
                 volumePerUnit.setText("N/A");
@@ -207,15 +218,17 @@ public class TransactionShowController {
 
     /**
      * Applies CSS style classes to badges based on enum values.
-     * Assumes style classes like .badge-inbound, .badge-outbound,
+     * Assumes style classes like .badge-inbound, .badge-outbound, .badge-transfer,
      * .badge-committed, .badge-pending, .badge-voided exist in CSS.
      */
     private void updateBadgeStyles() {
         // Clear existing type styles
-        transactionType.getStyleClass().removeAll("badge-inbound", "badge-outbound");
+        transactionType.getStyleClass().removeAll("badge-inbound", "badge-outbound", "badge-transfer");
         // Add correct type style
         if (currentTransaction.getType() == TransactionType.INBOUND) {
             transactionType.getStyleClass().add("badge-inbound");
+        } else if (currentTransaction.getType() == TransactionType.TRANSFER) {
+            transactionType.getStyleClass().add("badge-transfer");
         } else {
             transactionType.getStyleClass().add("badge-outbound");
         }
@@ -239,7 +252,7 @@ public class TransactionShowController {
     // navigations
     @FXML
     private void goToTransactionIndex() {
-        System.out.println("Back button clicked.");
+        LOGGER.debug("Back button clicked.");
         StageManager.getInstance().navigateWithData(
                 View.TRANSACTION_INDEX,
                 "Transactions List",
@@ -267,6 +280,15 @@ public class TransactionShowController {
         );
     }
 
+    @FXML
+    private void goToTransferTransaction() {
+        StageManager.getInstance().navigateWithData(
+                View.TRANSACTION_CREATE_TRANSFER,
+                "New Stock Transfer",
+                (TransferTransactionController controller) -> controller.initData(currentWarehouse, currentUser)
+        );
+    }
+
     @FXML
     private void goToSettings() {
         StageManager.getInstance().navigateWithData(
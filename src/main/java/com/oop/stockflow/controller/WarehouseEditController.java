@@ -3,6 +3,7 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.AuthenticatedUser;
 import com.oop.stockflow.model.Warehouse;
 import com.oop.stockflow.model.WarehouseStatus;
@@ -18,6 +19,8 @@ import java.net.URL;
 import java.util.ResourceBundle;
 
 public class WarehouseEditController implements Initializable {
+    private static final Logger LOGGER = Logger.getLogger(WarehouseEditController.class);
+
     private Warehouse currentWarehouse;
     private AuthenticatedUser currentUser;
     private final WarehouseRepository warehouseRepository = WarehouseRepository.getInstance();
@@ -180,17 +183,17 @@ public class WarehouseEditController implements Initializable {
         double capacityKg = parseDoubleSafe(storageCapacityKgField.getText());
         double capacityM3 =  parseDoubleSafe(storageCapacityM3Field.getText());
 
-        boolean success = warehouseRepository.updateWarehouse(
-                currentWarehouse.getId(),
-                name,
-                address,
-                city,
-                state,
-                postalCode,
-                capacityKg,
-                capacityM3,
-                selectedStatus
-        );
+        currentWarehouse.setName(name);
+        currentWarehouse.setAddress(address);
+        currentWarehouse.setCity(city);
+        currentWarehouse.setState(state);
+        currentWarehouse.setPostalCode(postalCode);
+        currentWarehouse.setMaxCapacityWeight(capacityKg);
+        currentWarehouse.setMaxCapacityVolume(capacityM3);
+        currentWarehouse.setStatus(selectedStatus);
+
+        // only the fields changed in the form are written
+        boolean success = warehouseRepository.updateWarehouse(currentWarehouse);
 
         if (success) {
             showAlert(Alert.AlertType.INFORMATION, "Success", "Warehouse details updated successfully!");
@@ -256,7 +259,7 @@ public class WarehouseEditController implements Initializable {
         postalCodeField.setText(currentWarehouse.getPostalCode());
         storageCapacityKgField.setText(String.valueOf(currentWarehouse.getMaxCapacityWeight()));
         storageCapacityM3Field.setText(String.valueOf(currentWarehouse.getMaxCapacityVolume()));
-        System.out.println("Max Capacity KG: " + currentWarehouse.getMaxCapacityWeight() + " Capcity volume: " + currentWarehouse.getMaxCapacityVolume());
+        LOGGER.debug("Max Capacity KG: {} Capcity volume: {}", currentWarehouse.getMaxCapacityWeight(), currentWarehouse.getMaxCapacityVolume());
 
         switch (currentWarehouse.getStatus()) {
             case ACTIVE:
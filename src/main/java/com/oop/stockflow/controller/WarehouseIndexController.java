@@ -3,18 +3,35 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View;
+import com.oop.stockflow.db.DatabaseExecutor;
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.db.QueryScope;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.AuthenticatedUser;
+import com.oop.stockflow.model.ReplenishmentSuggestion;
+import com.oop.stockflow.model.ValuationMethod;
 import com.oop.stockflow.model.Warehouse;
-import com.oop.stockflow.repository.ProductRepository;
-import com.oop.stockflow.repository.StaffRepository;
+import com.oop.stockflow.repository.AsyncProductRepository;
+import com.oop.stockflow.repository.AsyncStaffRepository;
+import com.oop.stockflow.repository.AsyncWarehouseRepository;
 import com.oop.stockflow.repository.WarehouseRepository;
+import com.oop.stockflow.service.DemandForecastService;
+import com.oop.stockflow.service.InventoryValuationService;
+import com.oop.stockflow.service.ReplenishmentService;
+import com.oop.stockflow.utils.FormatUtils;
 import com.oop.stockflow.utils.StringUtils;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -22,9 +39,16 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class WarehouseIndexController {
+    private static final Logger LOGGER = Logger.getLogger(WarehouseIndexController.class);
+
     @FXML
     private GridPane warehouseContainer;
     @FXML
@@ -41,18 +65,31 @@ public class WarehouseIndexController {
     private Label totalWarehouseLabel;
     @FXML
     private Label totalStockLabel;
+    @FXML
+    private TableView<ReplenishmentSuggestion> replenishmentTable;
+    @FXML
+    private TableColumn<ReplenishmentSuggestion, String> reorderWarehouseColumn;
 
     final private WarehouseRepository warehouseRepository = WarehouseRepository.getInstance();
-    final private ProductRepository productRepository = ProductRepository.getInstance();
-    final private StaffRepository staffRepository = StaffRepository.getInstance();
+    final private AsyncWarehouseRepository asyncWarehouseRepository = AsyncWarehouseRepository.getInstance();
+    final private AsyncProductRepository asyncProductRepository = AsyncProductRepository.getInstance();
+    final private AsyncStaffRepository asyncStaffRepository = AsyncStaffRepository.getInstance();
+    final private ReplenishmentService replenishmentService = ReplenishmentService.getInstance();
+    final private DemandForecastService demandForecastService = DemandForecastService.getInstance();
+    final private InventoryValuationService inventoryValuationService = InventoryValuationService.getInstance();
 
     private AuthenticatedUser currentUser;
+    private QueryScope scope;
+    private final Map<Integer, String> warehouseNames = new HashMap<>();
 
     public void initData(AuthenticatedUser user) {
         currentUser = user;
+        scope = QueryScope.active();
         loadPageContext();
         loadWarehouses();
         loadStats();
+        int managerId = currentUser.getId();
+        refreshReplenishment(() -> replenishmentService.getPlan(managerId), null);
     }
 
     // navigations
@@ -68,6 +105,41 @@ public class WarehouseIndexController {
     }
 
     // action handlers
+    @FXML
+    private void handleRecalculateReplenishment(ActionEvent event) {
+        Button button = (Button) event.getSource();
+        button.setDisable(true);
+        int managerId = currentUser.getId();
+        refreshReplenishment(() -> replenishmentService.runPlan(managerId), button);
+    }
+
+    /**
+     * Refits the demand forecast of every SKU of the manager off the UI thread, since it streams the
+     * outbound history of the last two years, then recalculates the replenishment plan.
+     */
+    @FXML
+    private void handleForecastReorderPoints(ActionEvent event) {
+        Button button = (Button) event.getSource();
+        button.setDisable(true);
+        int managerId = currentUser.getId();
+        DatabaseExecutor.supplyAsync(QueryIntent.ANALYTICS, () -> demandForecastService.applyForecast(managerId))
+                .whenCompleteAsync((Integer updated, Throwable error) -> {
+                    if (scope.isCancelled()) {
+                        return;
+                    }
+                    if (error != null || updated < 0) {
+                        if (error != null) {
+                            LOGGER.error("Failed to forecast reorder points of manager {}", managerId, error);
+                        }
+                        button.setDisable(false);
+                        showAlert(Alert.AlertType.ERROR, "Forecast Failed", "Could not update reorder points from the outbound history.");
+                        return;
+                    }
+                    showAlert(Alert.AlertType.INFORMATION, "Forecast Complete", "Updated reorder points of " + updated + " products.");
+                    refreshReplenishment(() -> replenishmentService.runPlan(managerId), button);
+                }, Platform::runLater);
+    }
+
     @FXML
     private void handleLogout() {
         SessionManager.getInstance().endSession();
@@ -83,6 +155,7 @@ public class WarehouseIndexController {
         int maxCols = 4;
 
         for (Warehouse w : warehouses) {
+            warehouseNames.put(w.getId(), w.getName());
             VBox card = createWarehouseCard(w);
 
             GridPane.setColumnIndex(card, col);
@@ -99,20 +172,68 @@ public class WarehouseIndexController {
     }
 
     private void loadStats() {
-        int totalWarehouse = 0;
-        totalWarehouse = warehouseRepository.countWarehouseByManagerId(currentUser.getId());
-        totalWarehouseLabel.setText(String.valueOf(totalWarehouse));
+        // independent counts run in parallel
+        CompletableFuture<Integer> totalWarehouse = asyncWarehouseRepository.countWarehouseByManagerId(currentUser.getId());
+        CompletableFuture<Integer> totalStaff = asyncStaffRepository.countAllStaffByManagerId(currentUser.getId());
+        CompletableFuture<Integer> totalStock = asyncProductRepository.countProductsByManagerId(currentUser.getId());
+
+        AsyncLabels.showCount(totalWarehouse, totalWarehouseLabel);
+        AsyncLabels.showCount(totalStaff, totalStaffLabel);
+        AsyncLabels.showCount(totalStock, totalStockLabel);
+        AsyncLabels.showCount(totalWarehouse, totalLocationsLabel);
+    }
+
+    /**
+     * Shows the weighted average stock value of a warehouse in a label.
+     * The first call replays the manager's stock ledger, so the value is computed off the UI thread.
+     */
+    private void showStockValue(int warehouseId, Label label) {
+        DatabaseExecutor.supplyAsync(QueryIntent.ANALYTICS, () -> inventoryValuationService.getWarehouseValue(warehouseId, ValuationMethod.WEIGHTED_AVERAGE))
+                .whenCompleteAsync((BigDecimal value, Throwable error) -> {
+                    if (error != null || value == null) {
+                        LOGGER.error("Failed to load stock value of warehouse {}", warehouseId, error);
+                        label.setText("-");
+                    } else {
+                        label.setText(FormatUtils.formatCurrency(value));
+                    }
+                }, Platform::runLater);
+    }
 
-        int totalStaff = 0;
-        totalStaff = staffRepository.countAllStaffByManagerId(currentUser.getId());
-        totalStaffLabel.setText(String.valueOf(totalStaff));
+    private void showAlert(Alert.AlertType alertType, String title, String message) {
+        Alert alert = new Alert(alertType);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
 
-        int totalStock = 0;
-        totalStock = productRepository.countProductsByManagerId(currentUser.getId());
-        totalStockLabel.setText(String.valueOf(totalStock));
+    /**
+     * Computes a replenishment plan off the UI thread and shows it once it arrives, unless the screen was left.
+     *
+     * @param plan Reads or recalculates the plan.
+     * @param button The button that started the calculation, enabled again when it finishes, or null.
+     */
+    private void refreshReplenishment(Supplier<List<ReplenishmentSuggestion>> plan, Button button) {
+        DatabaseExecutor.supplyAsync(QueryIntent.ANALYTICS, plan)
+                .whenCompleteAsync((List<ReplenishmentSuggestion> suggestions, Throwable error) -> {
+                    if (scope.isCancelled()) {
+                        return;
+                    }
+                    if (button != null) {
+                        button.setDisable(false);
+                    }
+                    if (error != null) {
+                        LOGGER.error("Failed to load the replenishment plan of manager {}", currentUser.getId(), error);
+                        return;
+                    }
+                    loadReplenishment(suggestions);
+                }, Platform::runLater);
+    }
 
-        int totalLocations = totalWarehouse;
-        totalLocationsLabel.setText(String.valueOf(totalLocations));
+    private void loadReplenishment(List<ReplenishmentSuggestion> suggestions) {
+        reorderWarehouseColumn.setCellValueFactory(cellData ->
+                new SimpleStringProperty(warehouseNames.getOrDefault(cellData.getValue().getWarehouseId(), "N/A")));
+        replenishmentTable.setItems(FXCollections.observableArrayList(suggestions));
     }
 
     private VBox createWarehouseCard(Warehouse warehouse) {
@@ -171,23 +292,34 @@ public class WarehouseIndexController {
 
         // Stats Section
         // calculate staff
-        int totalStaff = staffRepository.countStaffByWarehouseId(warehouse.getId());
+        Label staffValue = styledLabel("-", 28, true, "warehouse-stat-value");
+        AsyncLabels.showCount(asyncStaffRepository.countStaffByWarehouseId(warehouse.getId()), staffValue);
         VBox staffBox = new VBox(4,
-                styledLabel(String.valueOf(totalStaff), 28, true, "warehouse-stat-value"),
+                staffValue,
                 styledLabel("Staff", 12, false, "warehouse-stat-label")
         );
         staffBox.setAlignment(Pos.CENTER);
         HBox.setHgrow(staffBox, Priority.ALWAYS);
 
         // calculate stock
-        int stockTotal = productRepository.countProductsByWarehouseId(warehouse.getId());
+        Label stockValue = styledLabel("-", 28, true, "warehouse-stat-value");
+        AsyncLabels.showCount(asyncProductRepository.countProductsByWarehouseId(warehouse.getId()), stockValue);
         VBox stockBox = new VBox(4,
-                styledLabel(String.valueOf(stockTotal), 28, true, "warehouse-stat-value"),
+                stockValue,
                 styledLabel("Stock Items", 12, false, "warehouse-stat-label")
         );
         stockBox.setAlignment(Pos.CENTER);
         HBox.setHgrow(stockBox, Priority.ALWAYS);
 
+        // calculate stock value
+        Label valueLabel = styledLabel("-", 16, true, "warehouse-stat-value");
+        showStockValue(warehouse.getId(), valueLabel);
+        VBox valueBox = new VBox(4,
+                valueLabel,
+                styledLabel("Stock Value", 12, false, "warehouse-stat-label")
+        );
+        valueBox.setAlignment(Pos.CENTER);
+
         HBox statsBox = new HBox(40, staffBox, stockBox);
         statsBox.setAlignment(Pos.CENTER);
 
@@ -206,7 +338,7 @@ public class WarehouseIndexController {
         });
 
         // Combine all
-        card.getChildren().addAll(headerBox, statsBox, viewBtn);
+        card.getChildren().addAll(headerBox, statsBox, valueBox, viewBtn);
 
         return card;
     }
@@ -3,25 +3,46 @@ package com.oop.stockflow.controller;
 import com.oop.stockflow.app.SessionManager;
 import com.oop.stockflow.app.StageManager;
 import com.oop.stockflow.app.View; // Pastikan View.STOCK_MANAGEMENT sudah ada di sini
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.AuthenticatedUser;
+import com.oop.stockflow.model.ChangeEntity;
+import com.oop.stockflow.model.ChangeEvent;
+import com.oop.stockflow.model.StockAlert;
 import com.oop.stockflow.model.Warehouse;
+import com.oop.stockflow.repository.AsyncProductRepository;
+import com.oop.stockflow.repository.AsyncTransactionRepository;
 import com.oop.stockflow.repository.ProductRepository;
 import com.oop.stockflow.repository.TransactionRepository;
+import com.oop.stockflow.service.ChangeNotificationService;
+import com.oop.stockflow.service.StockAlertService;
 import com.oop.stockflow.utils.DateTimeUtils;
 import com.oop.stockflow.utils.StringUtils;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.geometry.Insets;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.XYChart;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class WarehouseShowController {
-    private ProductRepository productRepository = ProductRepository.getInstance();
-    private TransactionRepository transactionRepository = TransactionRepository.getInstance();
+    private static final Logger LOGGER = Logger.getLogger(WarehouseShowController.class);
+
+    private AsyncProductRepository asyncProductRepository = AsyncProductRepository.getInstance();
+    private AsyncTransactionRepository asyncTransactionRepository = AsyncTransactionRepository.getInstance();
+    private StockAlertService stockAlertService = StockAlertService.getInstance();
+
+    private static final int MAX_VISIBLE_NOTIFICATIONS = 5;
 
     @FXML
     private Label nameLabel;
@@ -31,6 +52,8 @@ public class WarehouseShowController {
     private Label dateLabel;
     @FXML
     private Label initialLabel;
+    @FXML
+    private CheckBox autoRefreshCheck;
 
     // Main Content Header
     @FXML
@@ -62,38 +85,33 @@ public class WarehouseShowController {
 
     private Warehouse currentWarehouse;
     private AuthenticatedUser currentUser;
+    // set while a refresh for the entity is queued, so bursts of changes cause a single refresh
+    private final AtomicBoolean productsChanged = new AtomicBoolean();
+    private final AtomicBoolean transactionsChanged = new AtomicBoolean();
+    private AutoRefresh<Boolean> productRefresh;
+    private AutoRefresh<Boolean> transactionRefresh;
 
     private void loadStats() {
-        // count inbound today
-        int countInboundToday = 0;
-        countInboundToday = transactionRepository.countTodayInboundTransaction(currentWarehouse.getId());
-        inboundTodayCardLabel.setText(String.valueOf(countInboundToday));
-
-        // count outbound today
-        int countOutboundToday = 0;
-        countOutboundToday = transactionRepository.countTodayOutboundTransaction(currentWarehouse.getId());
-        outboundTodayCardLabel.setText(String.valueOf(countOutboundToday));
-
-        // count low stock product
-        int countLowStock = 0;
-        countLowStock = productRepository.countLowStockByWarehouseId(currentWarehouse.getId());
-        lowStockCardLabel.setText(String.valueOf(countLowStock));
-        lowStockLabel.setText(String.valueOf(countLowStock));
-
-        // count in stock product
-        int countInStock = 0;
-        countInStock = productRepository.countInStock(currentWarehouse.getId());
-        inStockLabel.setText(String.valueOf(countInStock));
-
-        // count out stock product
-        int countOutStock = 0;
-        countOutStock = productRepository.countOutStock(currentWarehouse.getId());
-        outStockLabel.setText(String.valueOf(countOutStock));
-
-        // calculate stock
-        int countStock = 0;
-        countStock = productRepository.countProductsByWarehouseId(currentWarehouse.getId());
-        totalStockCardLabel.setText(String.valueOf(countStock));
+        loadTransactionStats();
+        loadProductStats();
+    }
+
+    private void loadTransactionStats() {
+        int warehouseId = currentWarehouse.getId();
+        // independent counts run in parallel
+        AsyncLabels.showCount(asyncTransactionRepository.countTodayInboundTransaction(warehouseId), inboundTodayCardLabel);
+        AsyncLabels.showCount(asyncTransactionRepository.countTodayOutboundTransaction(warehouseId), outboundTodayCardLabel);
+    }
+
+    private void loadProductStats() {
+        int warehouseId = currentWarehouse.getId();
+        // independent counts run in parallel
+        CompletableFuture<Integer> countLowStock = asyncProductRepository.countLowStockByWarehouseId(warehouseId);
+        AsyncLabels.showCount(countLowStock, lowStockCardLabel);
+        AsyncLabels.showCount(countLowStock, lowStockLabel);
+        AsyncLabels.showCount(asyncProductRepository.countInStock(warehouseId), inStockLabel);
+        AsyncLabels.showCount(asyncProductRepository.countOutStock(warehouseId), outStockLabel);
+        AsyncLabels.showCount(asyncProductRepository.countProductsByWarehouseId(warehouseId), totalStockCardLabel);
     }
 
     // navigations
@@ -175,32 +193,91 @@ public class WarehouseShowController {
         currentWarehouse = warehouse;
         loadPageContext();
         updateUI();
+        ChangeNotificationService.getInstance().subscribeScreen(this::onChange);
+
+        // the cards are indexed counts, so a moved cursor recounts the affected cards instead of fetching rows
+        int warehouseId = warehouse.getId();
+        productRefresh = new AutoRefresh<>(
+                () -> ProductRepository.getInstance().getProductChangeCursor(warehouseId),
+                since -> Boolean.TRUE,
+                changed -> markChanged(productsChanged));
+        transactionRefresh = new AutoRefresh<>(
+                () -> TransactionRepository.getInstance().getTransactionChangeCursorByWarehouseId(warehouseId),
+                since -> Boolean.TRUE,
+                changed -> markChanged(transactionsChanged));
+    }
+
+    @FXML
+    private void toggleAutoRefresh() {
+        if (autoRefreshCheck.isSelected()) {
+            // starting from 0, the first poll brings a dashboard opened a while ago up to date
+            productRefresh.start(0);
+            transactionRefresh.start(0);
+        } else {
+            productRefresh.stop();
+            transactionRefresh.stop();
+        }
+    }
+
+    /**
+     * Schedules a refresh of the parts of the dashboard affected by a change in this warehouse.
+     * Product changes refresh the stock counters and notifications, transaction changes
+     * refresh the daily counters and the outbound chart.
+     */
+    private void onChange(ChangeEvent event) {
+        if (currentWarehouse == null || event.getWarehouseId() != currentWarehouse.getId()) {
+            return;
+        }
+        markChanged(event.getEntity() == ChangeEntity.PRODUCT ? productsChanged : transactionsChanged);
+    }
+
+    private void markChanged(AtomicBoolean changed) {
+        if (changed.compareAndSet(false, true)) {
+            Platform.runLater(this::applyChanges);
+        }
+    }
+
+    private void applyChanges() {
+        if (productsChanged.getAndSet(false)) {
+            loadProductStats();
+            loadNotifications();
+        }
+        if (transactionsChanged.getAndSet(false)) {
+            loadTransactionStats();
+            drawOutboundChart();
+        }
     }
 
     /**
      * Helper method to draw the outbound transaction chart.
      * Assuming the chart shows outbound counts over the last 7 days.
+     * The counts are loaded in the background and drawn once they arrive.
      */
     private void drawOutboundChart() {
+        final int DAYS_TO_SHOW = 7;
+        asyncTransactionRepository.getOutboundTransactionCounts(currentWarehouse.getId(), DAYS_TO_SHOW)
+                .whenCompleteAsync((counts, error) -> {
+                    if (error != null) {
+                        LOGGER.error("Failed to load outbound transaction counts", error);
+                        return;
+                    }
+                    renderOutboundChart(counts);
+                }, Platform::runLater);
+    }
+
+    private void renderOutboundChart(Map<LocalDate, Integer> counts) {
         outboundChart.getData().clear();
 
         XYChart.Series<String, Number> series = new XYChart.Series<>();
         series.setName("Outbound Transactions");
 
-        final int DAYS_TO_SHOW = 7;
-        Map<LocalDate, Integer> counts = transactionRepository.getOutboundTransactionCounts(
-                currentWarehouse.getId(),
-                DAYS_TO_SHOW
-        );
-
-        DateTimeFormatter chartLabelFormatter = DateTimeFormatter.ofPattern("M/d");
         LocalDate today = LocalDate.now();
 
         for (Map.Entry<LocalDate, Integer> entry : counts.entrySet()) {
             LocalDate date = entry.getKey();
             int count = entry.getValue();
 
-            String label = date.equals(today) ? "Today" : date.format(chartLabelFormatter);
+            String label = date.equals(today) ? "Today" : date.format(DateTimeUtils.CHART_DAY);
 
             series.getData().add(new XYChart.Data<>(label, count));
         }
@@ -217,6 +294,54 @@ public class WarehouseShowController {
             warehouseAddress.setText(currentWarehouse.getAddress());
             loadStats();
             drawOutboundChart();
+            loadNotifications();
+        }
+    }
+
+    /**
+     * Fills the notifications card with the most recent stock alerts of the warehouse.
+     */
+    private void loadNotifications() {
+        notificationsContainer.getChildren().clear();
+
+        List<StockAlert> alerts = stockAlertService.getAlerts(currentWarehouse.getId());
+        if (alerts.isEmpty()) {
+            Label emptyLabel = new Label("No notifications");
+            emptyLabel.getStyleClass().add("notification-text");
+            emptyLabel.setFont(Font.font(12));
+            notificationsContainer.getChildren().add(emptyLabel);
+            return;
+        }
+
+        for (StockAlert alert : alerts.subList(0, Math.min(alerts.size(), MAX_VISIBLE_NOTIFICATIONS))) {
+            notificationsContainer.getChildren().add(createNotificationItem(alert));
         }
     }
+
+    private HBox createNotificationItem(StockAlert alert) {
+        Label icon = new Label(alert.getType().getIcon());
+        icon.getStyleClass().add("notification-icon");
+        icon.setFont(Font.font(20));
+
+        Label title = new Label(alert.getType().getTitle());
+        title.getStyleClass().add("notification-title");
+        title.setFont(Font.font("System Bold", 13));
+
+        Label text = new Label(alert.getMessage());
+        text.getStyleClass().add("notification-text");
+        text.setFont(Font.font(12));
+        text.setWrapText(true);
+
+        Label time = new Label(DateTimeUtils.getRelativeTime(alert.getRaisedAt()));
+        time.getStyleClass().add("notification-time");
+        time.setFont(Font.font(11));
+
+        VBox content = new VBox(4, title, text, time);
+        HBox.setHgrow(content, Priority.ALWAYS);
+
+        HBox item = new HBox(12, icon, content);
+        item.getStyleClass().addAll("notification-item", alert.getType().getStyleClass());
+        item.setPadding(new Insets(12));
+        return item;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.oop.stockflow.controller.cell;
+
+import com.oop.stockflow.utils.DateTimeUtils;
+import javafx.scene.control.TableCell;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Table cell that shows a date with a shared, immutable {@link DateTimeFormatter}.
+ * The text is only rebuilt when the cell is reused for a different date.
+ *
+ * @param <S> The type of the table rows.
+ * @param <T> The type of the date, e.g. {@link java.sql.Timestamp}.
+ */
+public class DateTimeCell<S, T extends Date> extends TableCell<S, T> {
+    private final DateTimeFormatter formatter;
+    private long shownTime = Long.MIN_VALUE;
+
+    /**
+     * Constructs a DateTimeCell using the table date and time format.
+     */
+    public DateTimeCell() {
+        this(DateTimeUtils.TABLE_DATE_TIME);
+    }
+
+    /**
+     * Constructs a DateTimeCell.
+     *
+     * @param formatter The formatter used to display the date.
+     */
+    public DateTimeCell(DateTimeFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+    @Override
+    protected void updateItem(T item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || item == null) {
+            shownTime = Long.MIN_VALUE;
+            setText(null);
+        } else if (item.getTime() != shownTime) {
+            shownTime = item.getTime();
+            setText(DateTimeUtils.format(item, formatter));
+        }
+    }
+}
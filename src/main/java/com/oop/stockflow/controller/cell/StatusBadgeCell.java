@@ -0,0 +1,63 @@
+package com.oop.stockflow.controller.cell;
+
+import com.oop.stockflow.model.TransactionStatus;
+import com.oop.stockflow.utils.StringUtils;
+import javafx.geometry.Pos;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Table cell that shows a transaction status as a colored badge.
+ * Each cell owns a single badge label and only swaps its style class when the status changes,
+ * so scrolling does not allocate nodes or parse inline styles. Colors come from the
+ * {@code status-badge-*} classes of the stylesheet.
+ *
+ * @param <S> The type of the table rows.
+ */
+public class StatusBadgeCell<S> extends TableCell<S, TransactionStatus> {
+    private static final String BADGE_CLASS = "status-badge";
+    private static final Map<TransactionStatus, String> TEXTS = new EnumMap<>(TransactionStatus.class);
+    private static final Map<TransactionStatus, String> STYLE_CLASSES = new EnumMap<>(TransactionStatus.class);
+
+    static {
+        for (TransactionStatus status : TransactionStatus.values()) {
+            TEXTS.put(status, StringUtils.toTitleCase(status.getDbValue()));
+            STYLE_CLASSES.put(status, BADGE_CLASS + "-" + status.getDbValue());
+        }
+    }
+
+    private final Label badge = new Label();
+    private TransactionStatus shownStatus;
+
+    /**
+     * Constructs a StatusBadgeCell.
+     */
+    public StatusBadgeCell() {
+        badge.getStyleClass().add(BADGE_CLASS);
+        badge.setAlignment(Pos.CENTER);
+        badge.setMaxWidth(Double.MAX_VALUE);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(TransactionStatus status, boolean empty) {
+        super.updateItem(status, empty);
+        if (empty || status == null) {
+            setGraphic(null);
+            return;
+        }
+        if (status != shownStatus) {
+            if (shownStatus != null) {
+                badge.getStyleClass().remove(STYLE_CLASSES.get(shownStatus));
+            }
+            badge.getStyleClass().add(STYLE_CLASSES.get(status));
+            badge.setText(TEXTS.get(status));
+            shownStatus = status;
+        }
+        setGraphic(badge);
+    }
+}
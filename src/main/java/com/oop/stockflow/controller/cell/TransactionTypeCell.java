@@ -0,0 +1,67 @@
+package com.oop.stockflow.controller.cell;
+
+import com.oop.stockflow.model.TransactionType;
+import com.oop.stockflow.utils.StringUtils;
+import javafx.scene.control.TableCell;
+import org.kordamp.ikonli.javafx.FontIcon;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Table cell that shows a transaction type with a direction icon.
+ * Each cell creates its icons once and only switches between them and the
+ * {@code transaction-type-*} style classes when the type changes.
+ *
+ * @param <S> The type of the table rows.
+ */
+public class TransactionTypeCell<S> extends TableCell<S, TransactionType> {
+    private static final int ICON_SIZE = 14;
+    private static final Map<TransactionType, String> TEXTS = new EnumMap<>(TransactionType.class);
+    private static final Map<TransactionType, String> STYLE_CLASSES = new EnumMap<>(TransactionType.class);
+
+    static {
+        for (TransactionType type : TransactionType.values()) {
+            TEXTS.put(type, StringUtils.toTitleCase(type.getDbValue()));
+            STYLE_CLASSES.put(type, "transaction-type-" + type.getDbValue());
+        }
+    }
+
+    private final Map<TransactionType, FontIcon> icons = new EnumMap<>(TransactionType.class);
+    private TransactionType shownType;
+
+    @Override
+    protected void updateItem(TransactionType type, boolean empty) {
+        super.updateItem(type, empty);
+        if (empty || type == null) {
+            clearType();
+            setText(null);
+            setGraphic(null);
+            return;
+        }
+        if (type != shownType) {
+            clearType();
+            getStyleClass().add(STYLE_CLASSES.get(type));
+            setText(TEXTS.get(type));
+            setGraphic(icons.computeIfAbsent(type, TransactionTypeCell::createIcon));
+            shownType = type;
+        }
+    }
+
+    private void clearType() {
+        if (shownType != null) {
+            getStyleClass().remove(STYLE_CLASSES.get(shownType));
+            shownType = null;
+        }
+    }
+
+    private static FontIcon createIcon(TransactionType type) {
+        FontIcon icon = new FontIcon(switch (type) {
+            case INBOUND -> "fas-arrow-down";
+            case OUTBOUND -> "fas-arrow-up";
+            case TRANSFER -> "fas-exchange-alt";
+        });
+        icon.setIconSize(ICON_SIZE);
+        return icon;
+    }
+}
@@ -0,0 +1,48 @@
+package com.oop.stockflow.db;
+
+import java.sql.SQLException;
+
+/**
+ * Remembers the last database error raised on the current thread.
+ * The blocking repositories log and swallow their SQLExceptions and return sentinel values, so an empty
+ * list cannot be told apart from a failed query. Every error raised by an instrumented connection, its
+ * statements and result sets, or by taking a connection from a pool is recorded here first, so a caller
+ * that cleared the record before a repository call can check afterwards whether the call hit the database
+ * error it swallowed, and with which cause.
+ */
+public final class DatabaseErrors {
+    private static final ThreadLocal<SQLException> lastError = new ThreadLocal<>();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private DatabaseErrors() {
+    }
+
+    /**
+     * Records an error raised on the current thread.
+     *
+     * @param error The error.
+     */
+    static void record(SQLException error) {
+        lastError.set(error);
+    }
+
+    /**
+     * Forgets the error recorded on the current thread, before a call whose errors should be observed.
+     */
+    public static void clear() {
+        lastError.remove();
+    }
+
+    /**
+     * Retrieves and forgets the last error recorded on the current thread since the last {@link #clear()}.
+     *
+     * @return The last error, or null if no database error was raised.
+     */
+    public static SQLException take() {
+        SQLException error = lastError.get();
+        lastError.remove();
+        return error;
+    }
+}
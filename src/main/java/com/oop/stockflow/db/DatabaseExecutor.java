@@ -0,0 +1,76 @@
+package com.oop.stockflow.db;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking database work on virtual threads.
+ * Every task runs on its own virtual thread, but at most as many tasks as the connection pool
+ * has connections run at the same time; the others wait on a semaphore instead of inside the pool.
+ * Each {@link QueryIntent} has its own semaphore, like its pool, so queued reads never delay a write
+ * and queued analytics never delay an interactive read.
+ *
+ * A read or analytics task runs in the {@link QueryScope} that was active when it was submitted. Such
+ * tasks of a screen that was left before they started fail with a CancellationException instead of
+ * running. Write tasks run outside any scope, so leaving a screen never cancels a write.
+ */
+public class DatabaseExecutor {
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Map<QueryIntent, Semaphore> permitsByIntent = new EnumMap<>(QueryIntent.class);
+
+    static {
+        for (QueryIntent intent : QueryIntent.values()) {
+            permitsByIntent.put(intent, new Semaphore(DatabaseManager.getMaximumPoolSize(intent), true));
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private DatabaseExecutor() {
+    }
+
+    /**
+     * Runs a blocking database task asynchronously, counted against the write pool.
+     *
+     * @param <T> The type of the task result.
+     * @param task The task to run.
+     * @return A future completed with the task result, or exceptionally if the task throws.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return supplyAsync(QueryIntent.WRITE, task);
+    }
+
+    /**
+     * Runs a blocking database task asynchronously, counted against the pool of the given intent.
+     *
+     * @param <T> The type of the task result.
+     * @param intent Whether the task only reads, and how slowly.
+     * @param task The task to run.
+     * @return A future completed with the task result, or exceptionally if the task throws.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(QueryIntent intent, Supplier<T> task) {
+        Semaphore permits = permitsByIntent.get(intent);
+        QueryScope scope = intent != QueryIntent.WRITE ? QueryScope.active() : null;
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                if (scope == null) {
+                    return task.get();
+                }
+                if (scope.isCancelled()) {
+                    throw new CancellationException("Screen was left before the task started");
+                }
+                return scope.run(task);
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+}
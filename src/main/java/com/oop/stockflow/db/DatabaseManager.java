@@ -1,30 +1,80 @@
 package com.oop.stockflow.db;
 
+import com.oop.stockflow.logging.Logger;
+
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Map;
 import io.github.cdimascio.dotenv.Dotenv;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
 
 /**
  * Manages database connections using HikariCP connection pooling.
  * Provides centralized access to database connections throughout the application.
- * Automatically initializes the connection pool on class loading and manages
+ * Automatically initializes the connection pools on class loading and manages
  * connection lifecycle with optimal performance settings.
+ *
+ * Connections are routed by {@link QueryIntent}: writes use the write pool on the primary
+ * database, reads use a separate read pool so heavy dashboard queries cannot take the connections
+ * that transaction inserts need. The read pool points at the read replica given by DB_READ_URL,
+ * or at the primary when none is configured. Because a replica lags behind the primary, reads
+ * go to the primary for a short window after this application wrote, so it always sees its own writes.
+ * Slow analytics reads get a small pool of their own next to the read pool. Without a replica the three
+ * pools share the primary's budget of 10 connections per client, split 6 / 3 / 1; with a replica the
+ * write pool keeps that budget on the primary and the read and analytics pools use the replica's.
+ * Pools shrink to one idle connection, so an idle client does not hold a backend per pool slot.
+ *
+ * Every statement gets the query timeout of its intent, and statements of work started by a screen
+ * are cancelled when the user navigates away, see {@link QueryScope}.
  */
 public class DatabaseManager {
+    private static final Logger LOGGER = Logger.getLogger(DatabaseManager.class);
+
+    private static final int MAXIMUM_POOL_SIZE = 10;
+    private static final int READ_POOL_SIZE = 10;
+    private static final int ANALYTICS_POOL_SIZE = 3;
+    private static final int SHARED_WRITE_POOL_SIZE = 6;
+    private static final int SHARED_READ_POOL_SIZE = 3;
+    private static final int SHARED_ANALYTICS_POOL_SIZE = 1;
+    private static final int MINIMUM_IDLE = 1;
+    private static final long DEFAULT_READ_YOUR_WRITES_MS = 5000;
     private static HikariDataSource dataSource;
+    private static HikariDataSource readDataSource;
+    private static HikariDataSource analyticsDataSource;
+    private static final Map<QueryIntent, Integer> queryTimeoutSeconds = new EnumMap<>(Map.of(
+            QueryIntent.WRITE, 0,
+            QueryIntent.READ, 15,
+            QueryIntent.ANALYTICS, 120));
+    private static final Map<QueryIntent, Integer> poolSizes = new EnumMap<>(QueryIntent.class);
+    private static boolean readReplica;
+    private static long readYourWritesMillis = DEFAULT_READ_YOUR_WRITES_MS;
+    private static volatile long lastWriteMillis;
+    private static String dbUrl;
+    private static String user;
+    private static String password;
 
     /**
-     * Static initializer block that sets up the HikariCP connection pool.
+     * Static initializer block that sets up the HikariCP connection pools.
      * Loads database credentials from environment variables (.env file) and configures
-     * the connection pool with optimal settings for performance and resource management.
+     * the connection pools with optimal settings for performance and resource management.
      * This block executes once when the class is first loaded.
      *
      * Configuration includes:
-     * - Maximum pool size: 10 connections
+     * - Maximum pool size: 6 connections for writes, 3 for reads and 1 for analytics, or 10, 10 and 3
+     *   with a read replica; overridden by the optional DB_WRITE_POOL_SIZE, DB_READ_POOL_SIZE and
+     *   DB_ANALYTICS_POOL_SIZE
+     * - Minimum idle connections: 1 per pool, overridden by the optional DB_POOL_MIN_IDLE
      * - Idle timeout: 30 seconds
      * - Leak detection threshold: 20 seconds
+     * - Optional DB_READ_URL, DB_READ_USER and DB_READ_PASSWORD for a read replica
+     * - Optional READ_YOUR_WRITES_MS, how long reads stay on the primary after a write
+     * - Optional WRITE_QUERY_TIMEOUT_S, READ_QUERY_TIMEOUT_S and ANALYTICS_QUERY_TIMEOUT_S,
+     *   the query timeout of each intent in seconds, 0 for none (defaults: none, 15 and 120)
      *
      * @throws Exception If database connection fails or environment variables are missing.
      */
@@ -32,50 +82,201 @@ public class DatabaseManager {
         try {
             Dotenv dotenv = Dotenv.load();
 
-            String dbUrl = dotenv.get("DB_URL");
-            String user = dotenv.get("DB_USER");
-            String password = dotenv.get("DB_PASSWORD");
+            dbUrl = dotenv.get("DB_URL");
+            user = dotenv.get("DB_USER");
+            password = dotenv.get("DB_PASSWORD");
+
+            String readUrl = dotenv.get("DB_READ_URL");
+            readReplica = readUrl != null && !readUrl.isBlank();
+            String readUser = readReplica ? dotenv.get("DB_READ_USER", user) : user;
+            String readPassword = readReplica ? dotenv.get("DB_READ_PASSWORD", password) : password;
+            if (!readReplica) {
+                readUrl = dbUrl;
+            }
 
-            HikariConfig config = new HikariConfig();
-            config.setJdbcUrl(dbUrl);
-            config.setUsername(user);
-            config.setPassword(password);
+            poolSizes.put(QueryIntent.WRITE, Integer.parseInt(dotenv.get("DB_WRITE_POOL_SIZE",
+                    String.valueOf(readReplica ? MAXIMUM_POOL_SIZE : SHARED_WRITE_POOL_SIZE))));
+            poolSizes.put(QueryIntent.READ, Integer.parseInt(dotenv.get("DB_READ_POOL_SIZE",
+                    String.valueOf(readReplica ? READ_POOL_SIZE : SHARED_READ_POOL_SIZE))));
+            poolSizes.put(QueryIntent.ANALYTICS, Integer.parseInt(dotenv.get("DB_ANALYTICS_POOL_SIZE",
+                    String.valueOf(readReplica ? ANALYTICS_POOL_SIZE : SHARED_ANALYTICS_POOL_SIZE))));
+            int minimumIdle = Integer.parseInt(dotenv.get("DB_POOL_MIN_IDLE", String.valueOf(MINIMUM_IDLE)));
 
-            config.setMaximumPoolSize(10);
-            config.setIdleTimeout(30000);
-            config.setLeakDetectionThreshold(20000);
+            dataSource = new HikariDataSource(createPoolConfig("write-pool", dbUrl, user, password,
+                    poolSizes.get(QueryIntent.WRITE), minimumIdle));
+            HikariConfig readConfig = createPoolConfig("read-pool", readUrl, readUser, readPassword,
+                    poolSizes.get(QueryIntent.READ), minimumIdle);
+            readConfig.setReadOnly(true);
+            readDataSource = new HikariDataSource(readConfig);
+            HikariConfig analyticsConfig = createPoolConfig("analytics-pool", readUrl, readUser, readPassword,
+                    poolSizes.get(QueryIntent.ANALYTICS), minimumIdle);
+            analyticsConfig.setReadOnly(true);
+            analyticsDataSource = new HikariDataSource(analyticsConfig);
 
-            dataSource = new HikariDataSource(config);
+            for (QueryIntent intent : QueryIntent.values()) {
+                String timeout = dotenv.get(intent.name() + "_QUERY_TIMEOUT_S");
+                if (timeout != null) {
+                    queryTimeoutSeconds.put(intent, Integer.parseInt(timeout));
+                }
+            }
 
-            System.out.println("[INFO] Connection pool initialized.");
+            String readYourWritesMs = dotenv.get("READ_YOUR_WRITES_MS");
+            if (readYourWritesMs != null) {
+                readYourWritesMillis = Long.parseLong(readYourWritesMs);
+            }
+
+            String slowQueryMs = dotenv.get("SLOW_QUERY_MS");
+            if (slowQueryMs != null) {
+                SqlMetrics.getInstance().setSlowQueryThresholdMillis(Long.parseLong(slowQueryMs));
+            }
+
+            LOGGER.info("Connection pools initialized with {} connections, reads served by the {}.",
+                    poolSizes, readReplica ? "read replica" : "primary");
 
         } catch (Exception e) {
-            System.out.println("[ERROR] Unable to connect to database:  " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Unable to connect to database", e);
         }
     }
 
+    private static HikariConfig createPoolConfig(String poolName, String url, String username, String secret,
+                                                 int poolSize, int minimumIdle) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(secret);
+
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(Math.min(minimumIdle, poolSize));
+        config.setIdleTimeout(30000);
+        config.setLeakDetectionThreshold(20000);
+        // start even if the database is down, connections are retried on use
+        config.setInitializationFailTimeout(-1);
+        return config;
+    }
+
     /**
-     * Retrieves a database connection from the HikariCP connection pool.
+     * Retrieves a database connection from the write pool.
      * The connection should be closed after use to return it to the pool.
+     * Statements executed on it are timed and reported to {@link SqlMetrics}.
      *
      * @return A Connection object from the pool.
-     * @throws SQLException If unable to obtain a connection from the pool.
+     * @throws SQLException If unable to obtain a connection from the pool, or if the pool could not be created.
      */
     public static Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+        return getConnection(QueryIntent.WRITE);
+    }
+
+    /**
+     * Retrieves a database connection for the given intent.
+     * Reads are served by the read pool, unless a read replica is configured and this application
+     * wrote within the read-your-writes window, in which case they are served by the primary.
+     * Analytics are served by the analytics pool.
+     * The connection should be closed after use to return it to the pool.
+     * Statements executed on it are timed and reported to {@link SqlMetrics} and get the query timeout
+     * of the intent; reads and analytics are also cancelled when the screen that started them is left.
+     *
+     * @param intent Whether the connection is used only for reading.
+     * @return A Connection object from the pool.
+     * @throws SQLException If unable to obtain a connection from the pool, or if the pool could not be created.
+     */
+    public static Connection getConnection(QueryIntent intent) throws SQLException {
+        QueryScope scope = intent != QueryIntent.WRITE ? QueryScope.current() : null;
+        if (scope != null) {
+            // do not take a connection for work whose screen is already gone
+            scope.checkNotCancelled();
+        }
+        boolean write = intent == QueryIntent.WRITE;
+        boolean primary = write || (intent == QueryIntent.READ && readReplica && wroteRecently());
+        HikariDataSource pool = primary ? dataSource : intent == QueryIntent.ANALYTICS ? analyticsDataSource : readDataSource;
+        if (pool == null) {
+            SQLException error = new SQLNonTransientConnectionException("Connection pool is not initialized", "08001");
+            DatabaseErrors.record(error);
+            throw error;
+        }
+        long started = System.nanoTime();
+        Connection connection;
+        try {
+            connection = pool.getConnection();
+        } catch (SQLException e) {
+            DatabaseErrors.record(e);
+            throw e;
+        }
+        // a write connection marks the write when it is returned, i.e. after its work was committed;
+        // a read routed to the primary does not, or polling reads would keep the window open forever
+        return InstrumentedConnection.wrap(connection, System.nanoTime() - started, queryTimeoutSeconds.get(intent),
+                write ? DatabaseManager::recordWrite : null, intent != QueryIntent.WRITE);
+    }
+
+    private static boolean wroteRecently() {
+        return System.currentTimeMillis() - lastWriteMillis < readYourWritesMillis;
+    }
+
+    private static void recordWrite() {
+        lastWriteMillis = System.currentTimeMillis();
     }
 
     /**
-     * Closes the HikariCP connection pool and releases all database resources.
+     * Retrieves the maximum number of connections in the pool of the given intent.
+     * Used to bound the number of concurrent database tasks, so tasks never queue inside the pool.
+     *
+     * @param intent The intent the pool serves.
+     * @return The maximum pool size.
+     */
+    public static int getMaximumPoolSize(QueryIntent intent) {
+        return poolSizes.getOrDefault(intent, 1);
+    }
+
+    /**
+     * Checks whether reads are served by a read replica rather than the primary database.
+     *
+     * @return true if DB_READ_URL is configured, false otherwise.
+     */
+    public static boolean hasReadReplica() {
+        return readReplica;
+    }
+
+    /**
+     * Opens a dedicated connection outside of the connection pool.
+     * Used for long-lived sessions such as LISTEN, which would otherwise hold a pooled
+     * connection forever and trigger leak detection. The caller is responsible for closing it.
+     * The connection is not instrumented.
+     *
+     * @return A new Connection object that is not managed by the pool.
+     * @throws SQLException If unable to open the connection.
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
+        return DriverManager.getConnection(dbUrl, user, password);
+    }
+
+    /**
+     * Installs a metrics tracker on the running connection pools, e.g. to measure pool wait times.
+     * HikariCP only allows this once per pool.
+     *
+     * @param factory The factory creating the pools' metrics trackers.
+     */
+    public static void setMetricsTrackerFactory(MetricsTrackerFactory factory) {
+        dataSource.setMetricsTrackerFactory(factory);
+        readDataSource.setMetricsTrackerFactory(factory);
+        analyticsDataSource.setMetricsTrackerFactory(factory);
+    }
+
+    /**
+     * Closes the HikariCP connection pools and releases all database resources.
      * Should be called during application shutdown to properly clean up connections.
      *
-     * @throws SQLException If an error occurs while closing the connection pool.
+     * @throws SQLException If an error occurs while closing the connection pools.
      */
     public static void closeDataSource() throws SQLException {
+        if (analyticsDataSource != null) {
+            analyticsDataSource.close();
+        }
+        if (readDataSource != null) {
+            readDataSource.close();
+        }
         if (dataSource != null) {
             dataSource.close();
-            System.out.println("[INFO] Connection pool closed.");
+            LOGGER.info("Connection pools closed.");
         }
     }
 }
@@ -0,0 +1,220 @@
+package com.oop.stockflow.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Dynamic proxy around a pooled connection that times every statement it executes.
+ * Statements and result sets created through the connection are proxied as well, so execution
+ * latency, errors and row counts are reported to {@link SqlMetrics} under the statement's SQL.
+ * The time spent acquiring the connection from the pool is attributed to the first statement run on it.
+ * An optional callback runs when the connection is closed after it executed a statement.
+ * Statements get the query timeout of the connection's intent. Statements of read connections register
+ * with the {@link QueryScope} bound to the executing thread, so they are cancelled when the screen that
+ * started them is left; writes are never cancelled by navigation.
+ * Every SQLException raised through the proxies is recorded in {@link DatabaseErrors} before it is rethrown.
+ * All other calls, including {@code unwrap}, go straight to the pooled connection.
+ */
+final class InstrumentedConnection implements InvocationHandler {
+    private static final String BATCH_SQL = "<batch>";
+
+    private final Connection delegate;
+    private final long acquireNanos;
+    private final int queryTimeoutSeconds;
+    private final Runnable onUsedClose;
+    private final boolean cancellable;
+    private final SqlMetrics metrics = SqlMetrics.getInstance();
+    private boolean acquireRecorded;
+
+    private InstrumentedConnection(Connection delegate, long acquireNanos, int queryTimeoutSeconds, Runnable onUsedClose,
+                                   boolean cancellable) {
+        this.delegate = delegate;
+        this.acquireNanos = acquireNanos;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+        this.onUsedClose = onUsedClose;
+        this.cancellable = cancellable;
+    }
+
+    /**
+     * Wraps a pooled connection.
+     *
+     * @param connection The connection obtained from the pool.
+     * @param acquireNanos The time spent waiting for it.
+     * @param queryTimeoutSeconds The query timeout of its statements in seconds, 0 for none.
+     * @param onUsedClose Runs when the connection is closed after executing a statement, or null.
+     * @param cancellable Whether its statements are cancelled with the scope of the screen that started them.
+     * @return The instrumented connection.
+     */
+    static Connection wrap(Connection connection, long acquireNanos, int queryTimeoutSeconds, Runnable onUsedClose,
+                           boolean cancellable) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new InstrumentedConnection(connection, acquireNanos, queryTimeoutSeconds, onUsedClose, cancellable));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "prepareStatement":
+                return proxy(PreparedStatement.class, new StatementHandler(withTimeout((Statement) call(delegate, method, args)), (String) args[0]));
+            case "createStatement":
+                return proxy(Statement.class, new StatementHandler(withTimeout((Statement) call(delegate, method, args)), null));
+            case "close":
+                Object closed = call(delegate, method, args);
+                // acquireRecorded is set by the first statement executed on the connection
+                if (onUsedClose != null && acquireRecorded) {
+                    onUsedClose.run();
+                }
+                return closed;
+            default:
+                return call(delegate, method, args);
+        }
+    }
+
+    private Statement withTimeout(Statement statement) throws SQLException {
+        if (queryTimeoutSeconds > 0) {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+        }
+        return statement;
+    }
+
+    private QueryScope currentScope() {
+        return cancellable ? QueryScope.current() : null;
+    }
+
+    private void attributeAcquire(StatementStats stats) {
+        if (!acquireRecorded) {
+            acquireRecorded = true;
+            stats.recordAcquire(acquireNanos);
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException error) {
+                DatabaseErrors.record(error);
+            }
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Times the executions of a statement.
+     */
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private StatementStats lastStats;
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getResultSet":
+                    ResultSet resultSet = (ResultSet) call(statement, method, args);
+                    return resultSet == null || lastStats == null ? resultSet : countRows(resultSet, lastStats, currentScope());
+                default:
+                    if (!name.startsWith("execute")) {
+                        return call(statement, method, args);
+                    }
+                    return execute(method, args);
+            }
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            if (sql == null) {
+                sql = BATCH_SQL;
+            }
+            StatementStats stats = metrics.statsFor(sql);
+            attributeAcquire(stats);
+            lastStats = stats;
+
+            QueryScope scope = currentScope();
+            if (scope != null) {
+                scope.register(statement);
+            }
+            long started = System.nanoTime();
+            boolean success = false;
+            try {
+                Object result = call(statement, method, args);
+                success = true;
+                return countResult(result, stats, scope);
+            } finally {
+                metrics.recordExecution(stats, sql, System.nanoTime() - started, success);
+                if (scope != null) {
+                    scope.deregister(statement);
+                }
+            }
+        }
+
+        private Object countResult(Object result, StatementStats stats, QueryScope scope) throws Throwable {
+            if (result instanceof ResultSet resultSet) {
+                return countRows(resultSet, stats, scope);
+            } else if (result instanceof Integer count) {
+                stats.recordRows(Math.max(count, 0));
+            } else if (result instanceof Long count) {
+                stats.recordRows(Math.max(count, 0));
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    stats.recordRows(Math.max(count, 0));
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    stats.recordRows(Math.max(count, 0));
+                }
+            } else if (Boolean.FALSE.equals(result)) {
+                stats.recordRows(Math.max(statement.getUpdateCount(), 0));
+            }
+            return result;
+        }
+    }
+
+    private static ResultSet countRows(ResultSet resultSet, StatementStats stats, QueryScope scope) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "next":
+                    if (scope != null) {
+                        // streamed results fetch further rows here, stop them once the screen is left
+                        scope.checkNotCancelled();
+                    }
+                    Object hasRow = call(resultSet, method, args);
+                    if (Boolean.TRUE.equals(hasRow)) {
+                        stats.recordRows(1);
+                    }
+                    return hasRow;
+                default:
+                    return call(resultSet, method, args);
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.oop.stockflow.db;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets, in the style of HdrHistogram.
+ * Values below 32 ns get one bucket each; above that, every power of two is split into 16 linear
+ * buckets, so any recorded value is reported within about 6% of its true value.
+ * Recording is a single atomic increment and never blocks, so it can sit on every statement execution.
+ */
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records one value.
+     *
+     * @param nanos The latency in nanoseconds; negative values are recorded as zero.
+     */
+    void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+    }
+
+    /**
+     * Returns the value at a percentile of the recorded values.
+     * Reads are not atomic across buckets, which is fine for monitoring while recording continues.
+     *
+     * @param percentile The percentile between 0 and 100.
+     * @return The upper bound of the bucket containing the percentile, or 0 if nothing was recorded.
+     */
+    long percentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + mantissa;
+    }
+
+    private static long lowerBound(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        int mantissa = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + mantissa) << shift;
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket + 1 < BUCKETS ? lowerBound(bucket + 1) - 1 : Long.MAX_VALUE;
+    }
+}
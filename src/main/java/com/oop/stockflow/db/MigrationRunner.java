@@ -0,0 +1,251 @@
+package com.oop.stockflow.db;
+
+import com.oop.stockflow.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned SQL migrations shipped with the application.
+ * Implements singleton pattern to ensure only one instance migrates the database.
+ *
+ * Migrations are listed in order in {@code db/migration/migrations.txt} and named {@code V<version>__<description>.sql}.
+ * Every applied migration is recorded in the 'schema_migrations' table with a SHA-256 checksum; a changed
+ * checksum of an applied migration stops the run, so edits must always go into a new migration.
+ * Each migration runs in its own transaction, and an advisory lock serializes clients starting at the same time.
+ */
+public class MigrationRunner {
+    private static final Logger LOGGER = Logger.getLogger(MigrationRunner.class);
+
+    private static final String MIGRATION_PATH = "/com/oop/stockflow/db/migration/";
+    private static final String INDEX_FILE = "migrations.txt";
+    private static final long MIGRATION_LOCK_KEY = 0x4d49475241544cL;
+    private static final Pattern MIGRATION_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private static MigrationRunner instance;
+
+    /**
+     * A migration script loaded from the classpath.
+     */
+    private record Migration(int version, String description, String script, String checksum) {
+    }
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private MigrationRunner() {
+    }
+
+    /**
+     * Returns the singleton instance of the MigrationRunner.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton MigrationRunner instance.
+     */
+    public static synchronized MigrationRunner getInstance() {
+        if (instance == null) {
+            instance = new MigrationRunner();
+        }
+        return instance;
+    }
+
+    /**
+     * Brings the database schema up to date by applying every pending migration.
+     *
+     * @return true if the schema is up to date, false if a migration failed or an applied migration was modified.
+     */
+    public boolean migrate() {
+        List<Migration> migrations;
+        try {
+            migrations = loadMigrations();
+        } catch (IOException e) {
+            LOGGER.error("Failed to load migrations", e);
+            return false;
+        }
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            lock(conn);
+            try {
+                createHistoryTable(conn);
+                Map<Integer, String> applied = loadAppliedChecksums(conn);
+                if (applied.isEmpty() && schemaExists(conn)) {
+                    baseline(conn, migrations.get(0));
+                    applied.put(migrations.get(0).version(), migrations.get(0).checksum());
+                }
+
+                for (Migration migration : migrations) {
+                    String checksum = applied.get(migration.version());
+                    if (checksum == null) {
+                        apply(conn, migration);
+                    } else if (!checksum.equals(migration.checksum())) {
+                        LOGGER.error("Migration V{} was modified after it was applied.", migration.version());
+                        return false;
+                    }
+                }
+                return true;
+            } finally {
+                unlock(conn);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Database migration failed", e);
+            return false;
+        }
+    }
+
+    /**
+     * Runs one migration and records it in the same transaction.
+     */
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(migration.script());
+            record(conn, migration);
+            conn.commit();
+            LOGGER.info("Applied migration V{} {}.", migration.version(), migration.description());
+        } catch (SQLException e) {
+            conn.rollback();
+            LOGGER.error("Migration V{} {} failed.", migration.version(), migration.description());
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Records the initial migration without running it, for databases created before migrations were tracked.
+     * V1 is the schema those databases started from; they may have picked up some of the later schema changes
+     * by hand, so the migrations up to the partitioning of transactions check what exists before changing it.
+     */
+    private void baseline(Connection conn, Migration migration) throws SQLException {
+        record(conn, migration);
+        LOGGER.info("Existing schema found, recorded V{} as baseline.", migration.version());
+    }
+
+    private void record(Connection conn, Migration migration) throws SQLException {
+        String sql = "INSERT INTO schema_migrations (version, description, checksum) VALUES (?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.version());
+            stmt.setString(2, migration.description());
+            stmt.setString(3, migration.checksum());
+            stmt.executeUpdate();
+        }
+    }
+
+    private void createHistoryTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                    "version INTEGER PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "checksum CHAR(64) NOT NULL, " +
+                    "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private Map<Integer, String> loadAppliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private boolean schemaExists(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT to_regclass('public.products') IS NOT NULL")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    /**
+     * Loads the migrations listed in the index file, in order.
+     *
+     * @throws IOException If the index or a migration cannot be read, or a name or version is invalid.
+     */
+    private List<Migration> loadMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        int previousVersion = 0;
+        for (String name : readResource(INDEX_FILE).split("\\R")) {
+            name = name.trim();
+            if (name.isEmpty() || name.startsWith("#")) {
+                continue;
+            }
+            Matcher matcher = MIGRATION_NAME.matcher(name);
+            if (!matcher.matches()) {
+                throw new IOException("Invalid migration name " + name);
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            if (version <= previousVersion) {
+                throw new IOException("Migration " + name + " is out of order");
+            }
+            previousVersion = version;
+
+            String script = readResource(name);
+            migrations.add(new Migration(version, matcher.group(2).replace('_', ' '), script, checksum(script)));
+        }
+        if (migrations.isEmpty()) {
+            throw new IOException("No migrations listed in " + INDEX_FILE);
+        }
+        return migrations;
+    }
+
+    private String readResource(String name) throws IOException {
+        InputStream in = MigrationRunner.class.getResourceAsStream(MIGRATION_PATH + name);
+        if (in == null) {
+            throw new IOException("Missing migration resource " + name);
+        }
+        StringBuilder content = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                content.append(line).append('\n');
+            }
+        }
+        return content.toString();
+    }
+
+    /**
+     * Computes the checksum over normalized line endings, so a checkout with CRLF does not count as a modification.
+     */
+    private static String checksum(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void lock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_advisory_lock(?)")) {
+            stmt.setLong(1, MIGRATION_LOCK_KEY);
+            stmt.execute();
+        }
+    }
+
+    private void unlock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            stmt.setLong(1, MIGRATION_LOCK_KEY);
+            stmt.execute();
+        }
+    }
+}
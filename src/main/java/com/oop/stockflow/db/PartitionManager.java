@@ -0,0 +1,222 @@
+package com.oop.stockflow.db;
+
+import com.oop.stockflow.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manages the monthly range partitions of the 'transactions' table.
+ * Implements singleton pattern to ensure only one instance manages the partition layout.
+ *
+ * Every month is stored in its own partition named {@code transactions_pYYYY_MM}, so queries filtering
+ * on a recent date range only touch the current partitions. Partitions are created ahead of time;
+ * rows whose month has no partition land in {@code transactions_default} and are moved into the
+ * partition when it is created. Indexes and triggers are defined on the parent table and are
+ * applied to every attached partition by PostgreSQL.
+ */
+public class PartitionManager {
+    private static final Logger LOGGER = Logger.getLogger(PartitionManager.class);
+
+    public static final String PARENT_TABLE = "transactions";
+    public static final String DEFAULT_PARTITION = "transactions_default";
+    private static final int MONTHS_AHEAD = 3;
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_p(\\d{4})_(\\d{2})");
+
+    private static PartitionManager instance;
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private PartitionManager() {
+    }
+
+    /**
+     * Returns the singleton instance of the PartitionManager.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton PartitionManager instance.
+     */
+    public static synchronized PartitionManager getInstance() {
+        if (instance == null) {
+            instance = new PartitionManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the name of the partition holding the given month.
+     *
+     * @param month The month.
+     * @return The partition table name.
+     */
+    public static String partitionName(YearMonth month) {
+        return String.format("transactions_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Creates the partitions of the current month and the next months if they do not exist yet.
+     *
+     * @return The number of partitions created, or -1 if an error occurs.
+     */
+    public int ensureUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            return ensurePartitions(conn, current, current.plusMonths(MONTHS_AHEAD));
+        } catch (SQLException e) {
+            LOGGER.error("Failed to create upcoming transaction partitions", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Creates the partitions of every month in a range if they do not exist yet.
+     *
+     * @param conn The connection to use; it is left in auto-commit mode.
+     * @param from The first month.
+     * @param to The last month, inclusive.
+     * @return The number of partitions created.
+     * @throws SQLException If a partition cannot be created.
+     */
+    public int ensurePartitions(Connection conn, YearMonth from, YearMonth to) throws SQLException {
+        List<YearMonth> existing = listPartitions(conn);
+        int created = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            if (!existing.contains(month)) {
+                createPartition(conn, month, null);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Lists the months that currently have an attached partition.
+     *
+     * @param conn The connection to use.
+     * @return The months in ascending order.
+     * @throws SQLException If a database access error occurs.
+     */
+    public List<YearMonth> listPartitions(Connection conn) throws SQLException {
+        String sql = "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = ?::regclass ORDER BY c.relname";
+
+        List<YearMonth> months = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, PARENT_TABLE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Matcher matcher = PARTITION_NAME.matcher(rs.getString("relname"));
+                    if (matcher.matches()) {
+                        months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+                    }
+                }
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Creates and attaches the partition of a month in one transaction.
+     * The partition is built as a standalone table first, so rows loaded into it do not fire the
+     * row triggers of the parent; rows of the month waiting in the default partition are moved over
+     * the same way. Attaching then clones the parent's indexes and triggers onto it.
+     *
+     * @param conn The connection to use; it is left in auto-commit mode.
+     * @param month The month of the partition.
+     * @param loader Fills the standalone table before it is attached, or null to create an empty partition.
+     * @throws SQLException If the partition cannot be created; nothing is changed in that case.
+     */
+    public void createPartition(Connection conn, YearMonth month, PartitionLoader loader) throws SQLException {
+        String name = partitionName(month);
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE " + name + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            if (loader != null) {
+                loader.load(conn, name);
+            }
+            moveRowsFromDefault(conn, name, from, to);
+            stmt.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + name +
+                    " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            conn.commit();
+            LOGGER.info("Attached transaction partition {}.", name);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Detaches the partition of a month, turning it into a standalone table.
+     * Takes an exclusive lock on the transactions table until the caller's transaction ends, so the
+     * caller should do nothing slow between detaching and committing.
+     *
+     * @param conn The connection to use, with auto-commit disabled.
+     * @param month The month of the partition.
+     * @return The name of the detached table.
+     * @throws SQLException If the partition cannot be detached.
+     */
+    public String detachPartition(Connection conn, YearMonth month) throws SQLException {
+        String name = partitionName(month);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name);
+        }
+        return name;
+    }
+
+    /**
+     * Moves rows of a month waiting in the default partition into a standalone table.
+     * User triggers of the default partition are disabled inside the transaction, so the move
+     * does not publish delete notifications or touch product quantities.
+     */
+    private void moveRowsFromDefault(Connection conn, String name, Timestamp from, Timestamp to) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + DEFAULT_PARTITION + " DISABLE TRIGGER USER");
+        }
+
+        String sql = "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE date >= ? AND date < ? RETURNING *) " +
+                "INSERT INTO " + name + " SELECT * FROM moved";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, from);
+            stmt.setTimestamp(2, to);
+            int moved = stmt.executeUpdate();
+            if (moved > 0) {
+                LOGGER.info("Moved {} transactions from the default partition into {}.", moved, name);
+            }
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + DEFAULT_PARTITION + " ENABLE TRIGGER USER");
+        }
+    }
+
+    /**
+     * Fills a standalone partition table before it is attached.
+     */
+    @FunctionalInterface
+    public interface PartitionLoader {
+        /**
+         * Loads rows into the table.
+         *
+         * @param conn The connection, inside the transaction creating the partition.
+         * @param table The name of the standalone table.
+         * @throws SQLException If the rows cannot be loaded.
+         */
+        void load(Connection conn, String table) throws SQLException;
+    }
+}
@@ -0,0 +1,25 @@
+package com.oop.stockflow.db;
+
+/**
+ * Enumeration of what a connection is used for, so {@link DatabaseManager} can route it to a pool.
+ */
+public enum QueryIntent {
+    /**
+     * Queries that only read, such as listings, counts and dashboard aggregates.
+     * Served by the read pool, which may point at a read replica.
+     */
+    READ,
+
+    /**
+     * Slow reads over long histories, such as demand forecasts, ledger replays and charts.
+     * Served by a small pool of their own next to the read pool, so they never take the
+     * connections of interactive reads. They may lag behind this application's own writes.
+     */
+    ANALYTICS,
+
+    /**
+     * Inserts, updates, deletes and reads that must see the latest committed state.
+     * Always served by the write pool on the primary database.
+     */
+    WRITE
+}
@@ -0,0 +1,171 @@
+package com.oop.stockflow.db;
+
+import com.oop.stockflow.logging.Logger;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cancellation scope of the database work started by one screen.
+ * {@link com.oop.stockflow.app.StageManager} enters a new scope on every navigation, which cancels the
+ * scope of the previous screen: statements still running in it are cancelled with {@link Statement#cancel()},
+ * and queued work that has not started yet fails before taking a connection.
+ *
+ * {@link DatabaseExecutor} captures the active scope when a read or analytics task is submitted and binds
+ * it to the worker thread while the task runs, so the statements the task runs on read connections register
+ * with the screen that started it. Writes never belong to a scope: a write the user started completes even
+ * if they navigate away before it finishes.
+ */
+public final class QueryScope {
+    private static final Logger LOGGER = Logger.getLogger(QueryScope.class);
+
+    /**
+     * SQLState PostgreSQL reports for a cancelled statement.
+     */
+    public static final String QUERY_CANCELED_STATE = "57014";
+
+    private static final ThreadLocal<QueryScope> bound = new ThreadLocal<>();
+    private static volatile QueryScope active = new QueryScope("startup");
+
+    private final String name;
+    private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    private QueryScope(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Retrieves the scope of the screen currently shown.
+     *
+     * @return The active scope.
+     */
+    public static QueryScope active() {
+        return active;
+    }
+
+    /**
+     * Enters a new scope for a screen, cancelling the work of the previous one.
+     *
+     * @param name The name of the screen, used in logs.
+     * @return The new active scope.
+     */
+    public static synchronized QueryScope enter(String name) {
+        QueryScope previous = active;
+        active = new QueryScope(name);
+        previous.cancel();
+        return active;
+    }
+
+    /**
+     * Retrieves the scope bound to the current thread.
+     *
+     * @return The bound scope, or null if the current thread runs no scoped work.
+     */
+    static QueryScope current() {
+        return bound.get();
+    }
+
+    /**
+     * Runs a task with this scope bound to the current thread.
+     *
+     * @param <T> The type of the task result.
+     * @param task The task to run.
+     * @return The task result.
+     */
+    <T> T run(Supplier<T> task) {
+        QueryScope outer = bound.get();
+        bound.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (outer == null) {
+                bound.remove();
+            } else {
+                bound.set(outer);
+            }
+        }
+    }
+
+    /**
+     * Registers a statement that is about to execute.
+     *
+     * @param statement The statement.
+     * @throws SQLException If the scope was already cancelled.
+     */
+    void register(Statement statement) throws SQLException {
+        checkNotCancelled();
+        running.add(statement);
+        // cancel() may have run between the check and the add and missed the statement
+        if (cancelled) {
+            running.remove(statement);
+            throw cancelledException();
+        }
+    }
+
+    /**
+     * Deregisters a statement that finished executing.
+     *
+     * @param statement The statement.
+     */
+    void deregister(Statement statement) {
+        running.remove(statement);
+    }
+
+    /**
+     * Throws if the scope was cancelled, so work stops between statements and between fetched rows.
+     *
+     * @throws SQLException If the scope was cancelled.
+     */
+    void checkNotCancelled() throws SQLException {
+        if (cancelled) {
+            throw cancelledException();
+        }
+    }
+
+    /**
+     * Checks whether the scope was cancelled.
+     *
+     * @return true if the screen of the scope was left, false otherwise.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels every statement running in the scope. Work started in the scope afterwards fails immediately.
+     * Cancelling a statement opens a connection to the server, so it happens on a virtual thread and
+     * navigation never waits for it.
+     */
+    public void cancel() {
+        cancelled = true;
+        if (!running.isEmpty()) {
+            Thread.ofVirtual().name("query-cancel").start(this::cancelRunning);
+        }
+    }
+
+    private void cancelRunning() {
+        int count = 0;
+        for (Statement statement : running) {
+            try {
+                statement.cancel();
+                count++;
+            } catch (SQLException e) {
+                LOGGER.warn("Failed to cancel a statement of {}", name, e);
+            }
+        }
+        running.clear();
+        if (count > 0) {
+            LOGGER.info("Cancelled {} running statements of {}", count, name);
+        }
+    }
+
+    private SQLException cancelledException() {
+        SQLException error = new SQLException("Query cancelled, " + name + " was left", QUERY_CANCELED_STATE);
+        DatabaseErrors.record(error);
+        return error;
+    }
+}
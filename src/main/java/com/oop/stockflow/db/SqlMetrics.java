@@ -0,0 +1,154 @@
+package com.oop.stockflow.db;
+
+import com.oop.stockflow.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Collects latency, row count and pool acquire statistics per normalized SQL statement.
+ * Implements singleton pattern so every pooled connection reports into the same registry.
+ *
+ * Statements are normalized by replacing literals with placeholders and collapsing whitespace, so
+ * statements built with inline values are grouped together. Enum literals with a cast, such as
+ * {@code 'inbound'::transaction_type}, are kept because they distinguish otherwise identical queries.
+ * Executions slower than the slow query threshold are logged with their normalized SQL.
+ */
+public class SqlMetrics {
+    private static final Logger LOGGER = Logger.getLogger(SqlMetrics.class);
+
+    private static final long DEFAULT_SLOW_QUERY_MS = 200;
+    private static final int MAX_CACHED_NORMALIZATIONS = 4096;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'(?!::)");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static SqlMetrics instance;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, String> normalizedSql = new ConcurrentHashMap<>();
+    private volatile long slowQueryNanos = DEFAULT_SLOW_QUERY_MS * 1_000_000L;
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private SqlMetrics() {
+    }
+
+    /**
+     * Returns the singleton instance of the SqlMetrics.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton SqlMetrics instance.
+     */
+    public static synchronized SqlMetrics getInstance() {
+        if (instance == null) {
+            instance = new SqlMetrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Sets the latency above which an execution is written to the slow query log.
+     *
+     * @param millis The threshold in milliseconds.
+     */
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowQueryNanos = millis * 1_000_000L;
+    }
+
+    /**
+     * Returns the statements with the highest total execution time.
+     *
+     * @param limit The maximum number of statements to return.
+     * @return Snapshots of the top statements, highest total time first.
+     */
+    public List<StatementSnapshot> topByTotalTime(int limit) {
+        List<StatementStats> ranked = new ArrayList<>(statements.values());
+        ranked.sort(Comparator.comparingLong(StatementStats::getTotalNanos).reversed());
+
+        List<StatementSnapshot> top = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, ranked.size()); i++) {
+            top.add(ranked.get(i).snapshot());
+        }
+        return top;
+    }
+
+    /**
+     * Formats the statements with the highest total execution time as a text table.
+     *
+     * @param limit The maximum number of statements to include.
+     * @return The formatted table.
+     */
+    public String formatTopByTotalTime(int limit) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%10s %8s %7s %10s %9s %9s %9s %9s %10s  %s%n",
+                "total ms", "count", "errors", "rows", "p50 ms", "p95 ms", "p99 ms", "max ms", "acquire ms", "statement"));
+        for (StatementSnapshot statement : topByTotalTime(limit)) {
+            table.append(String.format(Locale.ROOT, "%10.1f %8d %7d %10d %9.2f %9.2f %9.2f %9.2f %10.2f  %s%n",
+                    millis(statement.getTotalNanos()), statement.getExecutions(), statement.getErrors(), statement.getRows(),
+                    millis(statement.getP50Nanos()), millis(statement.getP95Nanos()), millis(statement.getP99Nanos()),
+                    millis(statement.getMaxNanos()), millis(statement.getMeanAcquireNanos()), statement.getSql()));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Discards all collected statistics.
+     */
+    public void reset() {
+        statements.clear();
+    }
+
+    /**
+     * Retrieves the statistics of a statement, creating them on first use.
+     *
+     * @param sql The SQL text as executed.
+     * @return The statistics of the normalized statement.
+     */
+    StatementStats statsFor(String sql) {
+        String normalized = normalize(sql);
+        return statements.computeIfAbsent(normalized, StatementStats::new);
+    }
+
+    /**
+     * Records one execution and writes it to the slow query log if it exceeded the threshold.
+     *
+     * @param stats The statistics of the statement.
+     * @param sql The SQL text as executed.
+     * @param nanos The execution latency.
+     * @param success Whether the execution completed without an exception.
+     */
+    void recordExecution(StatementStats stats, String sql, long nanos, boolean success) {
+        stats.recordExecution(nanos, success);
+        if (nanos >= slowQueryNanos) {
+            LOGGER.warn("Slow query ({} ms): {}", nanos / 1_000_000, normalize(sql));
+        }
+    }
+
+    private String normalize(String sql) {
+        String normalized = normalizedSql.get(sql);
+        if (normalized != null) {
+            return normalized;
+        }
+        normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("(...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+
+        // statements with inline values would otherwise grow the cache without bound
+        if (normalizedSql.size() < MAX_CACHED_NORMALIZATIONS) {
+            normalizedSql.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
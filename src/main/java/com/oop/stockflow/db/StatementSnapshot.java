@@ -0,0 +1,146 @@
+package com.oop.stockflow.db;
+
+/**
+ * Immutable snapshot of the execution statistics of one normalized SQL statement.
+ * Latencies are in nanoseconds; percentiles are accurate to about 6%.
+ */
+public class StatementSnapshot {
+    private final String sql;
+    private final long executions;
+    private final long errors;
+    private final long rows;
+    private final long totalNanos;
+    private final long p50Nanos;
+    private final long p95Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+    private final long meanAcquireNanos;
+
+    /**
+     * Constructs a StatementSnapshot.
+     *
+     * @param sql The normalized SQL text.
+     * @param executions The number of executions.
+     * @param errors The number of executions that threw an exception.
+     * @param rows The total number of rows returned or affected.
+     * @param totalNanos The total execution time.
+     * @param p50Nanos The median execution time.
+     * @param p95Nanos The 95th percentile execution time.
+     * @param p99Nanos The 99th percentile execution time.
+     * @param maxNanos The maximum execution time.
+     * @param meanAcquireNanos The mean pool acquire time of the connections the statement opened.
+     */
+    public StatementSnapshot(String sql, long executions, long errors, long rows, long totalNanos,
+                             long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos, long meanAcquireNanos) {
+        this.sql = sql;
+        this.executions = executions;
+        this.errors = errors;
+        this.rows = rows;
+        this.totalNanos = totalNanos;
+        this.p50Nanos = p50Nanos;
+        this.p95Nanos = p95Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+        this.meanAcquireNanos = meanAcquireNanos;
+    }
+
+    /**
+     * Retrieves the normalized SQL text.
+     *
+     * @return The SQL text with literals replaced by placeholders.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Retrieves the number of executions.
+     *
+     * @return The execution count.
+     */
+    public long getExecutions() {
+        return executions;
+    }
+
+    /**
+     * Retrieves the number of executions that threw an exception.
+     *
+     * @return The error count.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Retrieves the total number of rows returned by queries or affected by updates.
+     *
+     * @return The row count.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Retrieves the total execution time.
+     *
+     * @return The total time in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Retrieves the mean execution time.
+     *
+     * @return The mean time in nanoseconds, or 0 if never executed.
+     */
+    public long getMeanNanos() {
+        return executions == 0 ? 0 : totalNanos / executions;
+    }
+
+    /**
+     * Retrieves the median execution time.
+     *
+     * @return The median in nanoseconds.
+     */
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    /**
+     * Retrieves the 95th percentile execution time.
+     *
+     * @return The 95th percentile in nanoseconds.
+     */
+    public long getP95Nanos() {
+        return p95Nanos;
+    }
+
+    /**
+     * Retrieves the 99th percentile execution time.
+     *
+     * @return The 99th percentile in nanoseconds.
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * Retrieves the maximum execution time.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Retrieves the mean time spent waiting for a pooled connection, attributed to the first
+     * statement executed on each connection.
+     *
+     * @return The mean acquire time in nanoseconds, or 0 if the statement never opened a connection.
+     */
+    public long getMeanAcquireNanos() {
+        return meanAcquireNanos;
+    }
+}
@@ -0,0 +1,86 @@
+package com.oop.stockflow.db;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the execution statistics of one normalized SQL statement.
+ * All counters are lock-free, so concurrent executions never contend on a lock.
+ */
+class StatementStats {
+    private final String sql;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * Constructs the statistics of a statement.
+     *
+     * @param sql The normalized SQL text.
+     */
+    StatementStats(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * Records one execution.
+     *
+     * @param nanos The execution latency.
+     * @param success Whether the execution completed without an exception.
+     */
+    void recordExecution(long nanos, boolean success) {
+        executions.increment();
+        if (!success) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        histogram.record(nanos);
+    }
+
+    /**
+     * Records rows returned or affected by an execution.
+     *
+     * @param count The number of rows.
+     */
+    void recordRows(long count) {
+        rows.add(count);
+    }
+
+    /**
+     * Records the time spent waiting for the pooled connection the statement ran on.
+     *
+     * @param nanos The pool acquire time.
+     */
+    void recordAcquire(long nanos) {
+        acquisitions.increment();
+        acquireNanos.add(nanos);
+    }
+
+    /**
+     * Retrieves the total execution time, used to rank statements.
+     *
+     * @return The total execution time in nanoseconds.
+     */
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Creates an immutable snapshot of the current statistics.
+     *
+     * @return The snapshot.
+     */
+    StatementSnapshot snapshot() {
+        long count = executions.sum();
+        long acquired = acquisitions.sum();
+        return new StatementSnapshot(sql, count, errors.sum(), rows.sum(), totalNanos.sum(),
+                histogram.percentile(50), histogram.percentile(95), histogram.percentile(99), maxNanos.get(),
+                acquired == 0 ? 0 : acquireNanos.sum() / acquired);
+    }
+}
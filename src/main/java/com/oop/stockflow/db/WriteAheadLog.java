@@ -0,0 +1,240 @@
+package com.oop.stockflow.db;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable append-only record log in a memory-mapped file, consumed in order by a single reader.
+ *
+ * Each record is written as {@code [length][generation][crc][payload]}. The header holds the
+ * current generation and the offset up to which records have been consumed. Once every record is
+ * consumed the log starts over at the beginning with a new generation, so records left over from
+ * an earlier generation, and records torn by a crash, are recognized and ignored when the file is opened.
+ *
+ * {@link #append(byte[])} returns once the record is on disk. Syncs are batched: the first appender
+ * that finds its record not yet durable syncs everything appended so far, and appenders that arrive
+ * meanwhile are covered by the next sync, so a burst of appends shares a few disk syncs.
+ */
+public class WriteAheadLog implements Closeable {
+    private static final int MAGIC = 0x53465751;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int GENERATION_OFFSET = 8;
+    private static final int CONSUMED_OFFSET = 16;
+    private static final int RECORD_HEADER_SIZE = 12;
+
+    private final FileChannel channel;
+    private final Object syncLock = new Object();
+    private MappedByteBuffer buffer;
+    private int generation;
+    private int consumedOffset;
+    private int writeOffset;
+    private int pendingRecords;
+    // total bytes ever appended and synced, unaffected by the log starting over
+    private long appendedBytes;
+    private volatile long syncedBytes;
+
+    /**
+     * Opens a log file, creating it if it does not exist, and recovers its records.
+     *
+     * @param path The path of the log file.
+     * @param initialCapacity The initial size of the mapping in bytes; the file grows as needed.
+     * @throws IOException If the file cannot be opened or is not a log file.
+     */
+    public WriteAheadLog(Path path, int initialCapacity) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), Math.max(initialCapacity, HEADER_SIZE)));
+
+        int magic = buffer.getInt(0);
+        if (magic == 0) {
+            generation = 1;
+            consumedOffset = HEADER_SIZE;
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            writeHeader();
+        } else if (magic != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            channel.close();
+            throw new IOException("Not a write-ahead log: " + path);
+        } else {
+            generation = buffer.getInt(GENERATION_OFFSET);
+            consumedOffset = (int) buffer.getLong(CONSUMED_OFFSET);
+        }
+        recover();
+    }
+
+    /**
+     * Appends a record and waits until it is on disk.
+     *
+     * @param payload The record to append.
+     * @throws IOException If the log cannot grow to fit the record.
+     */
+    public void append(byte[] payload) throws IOException {
+        long end;
+        synchronized (this) {
+            int size = RECORD_HEADER_SIZE + payload.length;
+            ensureCapacity((long) writeOffset + size);
+
+            // the length is written last, so a record torn by a crash reads as the end of the log
+            buffer.put(writeOffset + RECORD_HEADER_SIZE, payload);
+            buffer.putInt(writeOffset + 4, generation);
+            buffer.putInt(writeOffset + 8, checksum(payload, generation));
+            buffer.putInt(writeOffset, payload.length);
+
+            writeOffset += size;
+            pendingRecords++;
+            appendedBytes += size;
+            end = appendedBytes;
+        }
+        awaitSynced(end);
+    }
+
+    /**
+     * Reads the oldest records that have not been consumed yet, without consuming them.
+     *
+     * @param max The maximum number of records to read.
+     * @return The records, oldest first; empty if every record has been consumed.
+     */
+    public synchronized List<byte[]> peek(int max) {
+        List<byte[]> records = new ArrayList<>();
+        int offset = consumedOffset;
+        while (records.size() < max && offset < writeOffset) {
+            int length = buffer.getInt(offset);
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_SIZE, payload);
+            records.add(payload);
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return records;
+    }
+
+    /**
+     * Marks the oldest records as consumed, so they are not read again, even after a restart.
+     * Starts the log over once every record has been consumed.
+     *
+     * @param count The number of records to consume, as returned by {@link #peek(int)}.
+     */
+    public synchronized void consume(int count) {
+        for (int i = 0; i < count && consumedOffset < writeOffset; i++) {
+            consumedOffset += RECORD_HEADER_SIZE + buffer.getInt(consumedOffset);
+            pendingRecords--;
+        }
+        if (consumedOffset == writeOffset) {
+            // stale records of the old generation are skipped when the file is opened again
+            generation++;
+            consumedOffset = HEADER_SIZE;
+            writeOffset = HEADER_SIZE;
+        }
+        writeHeader();
+    }
+
+    /**
+     * Retrieves the number of records that have not been consumed yet.
+     *
+     * @return The pending record count.
+     */
+    public synchronized int getPendingCount() {
+        return pendingRecords;
+    }
+
+    /**
+     * Syncs the log and closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Waits until at least {@code end} bytes have been synced, syncing itself if no other appender is.
+     */
+    private void awaitSynced(long end) {
+        if (syncedBytes >= end) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedBytes >= end) {
+                // synced by the appender that held the lock before
+                return;
+            }
+            long target;
+            MappedByteBuffer mapped;
+            int length;
+            synchronized (this) {
+                target = appendedBytes;
+                mapped = buffer;
+                length = writeOffset;
+            }
+            mapped.force(0, length);
+            syncedBytes = target;
+        }
+    }
+
+    /**
+     * Finds the end of the valid records and counts those not consumed yet.
+     */
+    private void recover() {
+        int offset = HEADER_SIZE;
+        int pending = 0;
+        while ((long) offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || buffer.getInt(offset + 4) != generation
+                    || (long) offset + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_SIZE, payload);
+            if (buffer.getInt(offset + 8) != checksum(payload, generation)) {
+                break;
+            }
+            if (offset >= consumedOffset) {
+                pending++;
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        writeOffset = offset;
+        consumedOffset = Math.min(Math.max(consumedOffset, HEADER_SIZE), writeOffset);
+        pendingRecords = pending;
+    }
+
+    private void ensureCapacity(long required) throws IOException {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        long capacity = buffer.capacity();
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Write-ahead log is full");
+        }
+        // mapping past the end of the file extends it
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private void writeHeader() {
+        buffer.putInt(GENERATION_OFFSET, generation);
+        buffer.putLong(CONSUMED_OFFSET, consumedOffset);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    private static int checksum(byte[] payload, int generation) {
+        CRC32C crc = new CRC32C();
+        crc.update(generation);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,51 @@
+package com.oop.stockflow.logging;
+
+/**
+ * Represents the severity of a log message, in ascending order.
+ * A logger configured with a level discards every message below it; {@link #OFF} discards all messages.
+ */
+public enum LogLevel {
+    DEBUG("DEBUG"),
+    INFO("INFO"),
+    WARN("WARN"),
+    ERROR("ERROR"),
+    OFF("OFF");
+
+    private final String label;
+
+    /**
+     * Constructs a LogLevel enum constant.
+     *
+     * @param label The label written in front of every message of this level.
+     */
+    LogLevel(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Retrieves the label written in front of every message of this level.
+     *
+     * @return The label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Converts a configuration value to a LogLevel, ignoring case.
+     *
+     * @param value The configured level name.
+     * @param fallback The level returned if the value is null or unknown.
+     * @return The matching LogLevel, or the fallback.
+     */
+    public static LogLevel fromString(String value, LogLevel fallback) {
+        if (value != null) {
+            for (LogLevel level : values()) {
+                if (level.label.equalsIgnoreCase(value.trim())) {
+                    return level;
+                }
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,307 @@
+package com.oop.stockflow.logging;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Owns the asynchronous log: the level threshold, the ring buffer every {@link Logger} writes into
+ * and the daemon thread that drains it into a rolling file.
+ * Implements singleton pattern to ensure only one writer appends to the log files.
+ *
+ * The writer formats and writes events in batches and flushes whenever the buffer runs empty. While the
+ * buffer stays empty it parks until the next message wakes it, so an idle client does not poll and a
+ * message still reaches the file within a few milliseconds. Arguments that are not known to be immutable
+ * are converted to strings on the calling thread, so a message shows them as they were when it was logged.
+ * If the buffer is full, new DEBUG and INFO messages
+ * are dropped and counted, and the number of dropped messages is logged once space is available again;
+ * WARN and ERROR messages wait for a free slot instead.
+ * Remaining messages are written by a shutdown hook when the JVM exits.
+ *
+ * Configured through the optional .env entries {@code LOG_LEVEL} (default INFO), {@code LOG_DIR}
+ * (default {@code logs}), {@code LOG_MAX_FILE_MB} (default 10), {@code LOG_MAX_FILES} (default 5)
+ * and {@code LOG_CONSOLE} (default false, also echoes every line to the console).
+ */
+public class LogManager {
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = 1_000_000_000L;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 2000;
+    private static final String FILE_NAME = "stockflow";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private static LogManager instance;
+
+    private final LogRingBuffer buffer = new LogRingBuffer(BUFFER_CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writerThread;
+    private final boolean console;
+    private volatile LogLevel level;
+    private volatile boolean running = true;
+    private volatile boolean writerIdle;
+
+    // owned by the writer thread
+    private final LogRingBuffer.LogEvent event = new LogRingBuffer.LogEvent();
+    private final StringBuilder line = new StringBuilder(256);
+    private final ZoneId zone = ZoneId.systemDefault();
+    private RollingLogFile file;
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     * Reads the configuration, opens the log file and starts the writer thread.
+     */
+    private LogManager() {
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        this.level = LogLevel.fromString(dotenv.get("LOG_LEVEL"), LogLevel.INFO);
+        this.console = Boolean.parseBoolean(dotenv.get("LOG_CONSOLE", "false"));
+        try {
+            this.file = new RollingLogFile(Paths.get(dotenv.get("LOG_DIR", "logs")), FILE_NAME,
+                    Long.parseLong(dotenv.get("LOG_MAX_FILE_MB", "10")) * 1024 * 1024,
+                    Math.max(1, Integer.parseInt(dotenv.get("LOG_MAX_FILES", "5"))));
+        } catch (IOException e) {
+            System.err.println("[ERROR] Cannot open log file, logging to the console: " + e.getMessage());
+        }
+
+        this.writerThread = new Thread(this::runWriter, "log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "log-shutdown"));
+    }
+
+    /**
+     * Returns the singleton instance of the LogManager.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton LogManager instance.
+     */
+    public static synchronized LogManager getInstance() {
+        if (instance == null) {
+            instance = new LogManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the current level threshold.
+     *
+     * @return The lowest level that is written.
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Changes the level threshold at runtime.
+     *
+     * @param level The lowest level to write, or {@link LogLevel#OFF} to disable logging.
+     */
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * Stops the writer thread after it has written the pending messages and closes the log file.
+     * Called by the shutdown hook; messages logged afterwards are discarded.
+     */
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    boolean isEnabled(LogLevel messageLevel) {
+        return messageLevel.compareTo(level) >= 0 && messageLevel != LogLevel.OFF;
+    }
+
+    void enqueue(LogLevel messageLevel, String logger, String pattern, int argCount, Object arg1, Object arg2, Object arg3) {
+        long timestamp = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+        if (argCount > 0) {
+            arg1 = snapshot(arg1);
+        }
+        if (argCount > 1) {
+            arg2 = snapshot(arg2);
+        }
+        if (argCount > 2) {
+            arg3 = snapshot(arg3);
+        }
+        while (!buffer.offer(messageLevel, timestamp, thread, logger, pattern, argCount, arg1, arg2, arg3)) {
+            if (messageLevel.compareTo(LogLevel.WARN) < 0 || !running) {
+                dropped.increment();
+                return;
+            }
+            // warnings and errors are never dropped, they wait for the writer instead
+            LockSupport.unpark(writerThread);
+            Thread.yield();
+        }
+        if (writerIdle) {
+            writerIdle = false;
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Keeps an argument that cannot change before the writer formats it, and formats any other one now.
+     * Throwables are kept, so their stack trace can be written.
+     */
+    private static Object snapshot(Object arg) {
+        if (arg == null || arg instanceof String || arg instanceof Integer || arg instanceof Long
+                || arg instanceof Boolean || arg instanceof Double || arg instanceof Float || arg instanceof Short
+                || arg instanceof Byte || arg instanceof Character || arg instanceof BigDecimal || arg instanceof BigInteger
+                || arg instanceof Enum || arg instanceof UUID || arg instanceof Throwable
+                || arg.getClass().getPackageName().equals("java.time")) {
+            return arg;
+        }
+        try {
+            return String.valueOf(arg);
+        } catch (RuntimeException e) {
+            return "[toString() failed: " + e + "]";
+        }
+    }
+
+    /**
+     * Main loop of the writer thread: drains the buffer, then flushes and sleeps while it is empty.
+     * The idle flag is raised before the buffer is checked once more, so a message offered meanwhile is
+     * either seen by that check or unparks the writer; the park timeout only bounds a missed wake-up.
+     */
+    private void runWriter() {
+        while (true) {
+            if (!drain()) {
+                if (!running) {
+                    drain();
+                    break;
+                }
+                flush();
+                writerIdle = true;
+                if (!drain() && running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                writerIdle = false;
+            }
+        }
+        flush();
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                System.err.println("[ERROR] Failed to close log file: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes up to one batch of events.
+     *
+     * @return true if at least one event was written.
+     */
+    private boolean drain() {
+        int written = 0;
+        while (written < BATCH_SIZE && buffer.poll(event)) {
+            try {
+                write(event);
+            } catch (RuntimeException e) {
+                // an argument's toString() failed; the writer thread must survive it
+                System.err.println("[ERROR] Failed to format log message: " + e);
+            }
+            written++;
+        }
+
+        long lost = dropped.sumThenReset();
+        if (lost > 0) {
+            event.level = LogLevel.WARN;
+            event.timestamp = System.currentTimeMillis();
+            event.thread = writerThread.getName();
+            event.logger = LogManager.class.getSimpleName();
+            event.pattern = "{} log messages were dropped because the buffer was full";
+            event.argCount = 1;
+            event.args[0] = lost;
+            write(event);
+        }
+        return written > 0;
+    }
+
+    private void write(LogRingBuffer.LogEvent entry) {
+        line.setLength(0);
+        TIMESTAMP.formatTo(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestamp), zone), line);
+        line.append(' ').append(entry.level.getLabel());
+        for (int i = entry.level.getLabel().length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(" [").append(entry.thread).append("] ").append(entry.logger).append(" - ");
+        Throwable thrown = appendMessage(entry);
+        line.append(System.lineSeparator());
+        if (thrown != null) {
+            StringWriter trace = new StringWriter();
+            thrown.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+        entry.args[0] = null;
+        entry.args[1] = null;
+        entry.args[2] = null;
+
+        String text = line.toString();
+        if (console || file == null) {
+            (entry.level.compareTo(LogLevel.WARN) >= 0 ? System.err : System.out).print(text);
+        }
+        if (file != null) {
+            try {
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                file.write(bytes, bytes.length);
+            } catch (IOException e) {
+                System.err.println("[ERROR] Failed to write log file, logging to the console: " + e.getMessage());
+                file = null;
+            }
+        }
+    }
+
+    /**
+     * Appends the message, replacing each {@code {}} with the next argument.
+     *
+     * @return The exception passed as last argument, or null if there is none.
+     */
+    private Throwable appendMessage(LogRingBuffer.LogEvent entry) {
+        String pattern = String.valueOf(entry.pattern);
+        Throwable thrown = entry.argCount > 0 && entry.args[entry.argCount - 1] instanceof Throwable t ? t : null;
+        int formatArgs = thrown != null ? entry.argCount - 1 : entry.argCount;
+
+        int next = 0;
+        int start = 0;
+        int placeholder;
+        while (next < formatArgs && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+            line.append(pattern, start, placeholder).append(entry.args[next++]);
+            start = placeholder + 2;
+        }
+        line.append(pattern, start, pattern.length());
+        return thrown;
+    }
+
+    private void flush() {
+        if (file != null) {
+            try {
+                file.flush();
+            } catch (IOException e) {
+                System.err.println("[ERROR] Failed to flush log file: " + e.getMessage());
+            }
+        }
+    }
+}
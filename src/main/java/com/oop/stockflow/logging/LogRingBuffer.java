@@ -0,0 +1,127 @@
+package com.oop.stockflow.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of log events with preallocated slots, written by any thread and read by the log writer.
+ * Each slot carries a sequence number: a producer claims the slot whose sequence equals the write position
+ * with a single CAS, fills the fields and publishes them by advancing the sequence; the consumer reads a slot
+ * once its sequence shows it was published and hands it back by advancing the sequence one lap further.
+ * When the buffer is full the event is rejected instead of blocking the caller.
+ */
+final class LogRingBuffer {
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicLong writePosition = new AtomicLong();
+    private long readPosition;
+
+    private final LogLevel[] levels;
+    private final long[] timestamps;
+    private final String[] threads;
+    private final String[] loggers;
+    private final String[] patterns;
+    private final int[] argCounts;
+    private final Object[] args;
+
+    /**
+     * Constructs a LogRingBuffer.
+     *
+     * @param capacity The number of slots, rounded up to a power of two.
+     */
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.levels = new LogLevel[size];
+        this.timestamps = new long[size];
+        this.threads = new String[size];
+        this.loggers = new String[size];
+        this.patterns = new String[size];
+        this.argCounts = new int[size];
+        this.args = new Object[size * 3];
+    }
+
+    /**
+     * Adds an event. Safe to call from any thread.
+     *
+     * @return true if the event was added, false if the buffer is full.
+     */
+    boolean offer(LogLevel level, long timestamp, String thread, String logger, String pattern,
+                  int argCount, Object arg1, Object arg2, Object arg3) {
+        long position = writePosition.get();
+        while (true) {
+            int slot = (int) (position & mask);
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (writePosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = writePosition.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = writePosition.get();
+            }
+        }
+
+        int slot = (int) (position & mask);
+        levels[slot] = level;
+        timestamps[slot] = timestamp;
+        threads[slot] = thread;
+        loggers[slot] = logger;
+        patterns[slot] = pattern;
+        argCounts[slot] = argCount;
+        args[slot * 3] = arg1;
+        args[slot * 3 + 1] = arg2;
+        args[slot * 3 + 2] = arg3;
+        sequences.set(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * Moves the oldest event into the given holder and frees its slot. Must only be called by the log writer.
+     *
+     * @param event The holder to fill.
+     * @return true if an event was read, false if the buffer is empty.
+     */
+    boolean poll(LogEvent event) {
+        int slot = (int) (readPosition & mask);
+        if (sequences.get(slot) != readPosition + 1) {
+            return false;
+        }
+
+        event.level = levels[slot];
+        event.timestamp = timestamps[slot];
+        event.thread = threads[slot];
+        event.logger = loggers[slot];
+        event.pattern = patterns[slot];
+        event.argCount = argCounts[slot];
+        for (int i = 0; i < 3; i++) {
+            event.args[i] = args[slot * 3 + i];
+            args[slot * 3 + i] = null;
+        }
+        threads[slot] = null;
+        patterns[slot] = null;
+
+        sequences.set(slot, readPosition + mask + 1);
+        readPosition++;
+        return true;
+    }
+
+    /**
+     * Mutable holder of one event, reused by the log writer for every event it reads.
+     */
+    static final class LogEvent {
+        LogLevel level;
+        long timestamp;
+        String thread;
+        String logger;
+        String pattern;
+        int argCount;
+        final Object[] args = new Object[3];
+    }
+}
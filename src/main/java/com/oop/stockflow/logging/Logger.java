@@ -0,0 +1,230 @@
+package com.oop.stockflow.logging;
+
+/**
+ * Writes log messages of one class to the asynchronous log of {@link LogManager}.
+ * A call only checks the level and copies its arguments into a preallocated ring buffer slot;
+ * formatting and file I/O happen on the log writer thread, so logging never blocks the FX thread.
+ *
+ * Messages are patterns in which every {@code {}} is replaced by the next argument. If the last argument
+ * is a {@link Throwable}, its stack trace is written below the message. Strings, numbers, enums and
+ * java.time values are formatted later on the writer thread; any other argument is converted to a string
+ * during the call, since it could change before the writer gets to it. The fixed-arity overloads avoid
+ * allocating a varargs array, and a disabled level costs a single comparison.
+ *
+ * <pre>{@code
+ * private static final Logger LOGGER = Logger.getLogger(ProductRepository.class);
+ *
+ * LOGGER.error("Failed to update product {}", sku, e);
+ * }</pre>
+ */
+public final class Logger {
+    private final String name;
+    private final LogManager manager;
+
+    private Logger(String name, LogManager manager) {
+        this.name = name;
+        this.manager = manager;
+    }
+
+    /**
+     * Creates the logger of a class, named after its simple name.
+     *
+     * @param type The class writing the messages.
+     * @return The logger.
+     */
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName(), LogManager.getInstance());
+    }
+
+    /**
+     * Retrieves the name written with every message of this logger.
+     *
+     * @return The logger name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks whether DEBUG messages are written, for callers that must compute an argument first.
+     *
+     * @return true if DEBUG is enabled.
+     */
+    public boolean isDebugEnabled() {
+        return manager.isEnabled(LogLevel.DEBUG);
+    }
+
+    /**
+     * Logs a DEBUG message.
+     *
+     * @param message The message.
+     */
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message, 0, null, null, null);
+    }
+
+    /**
+     * Logs a DEBUG message with one argument.
+     *
+     * @param pattern The message pattern.
+     * @param arg The argument.
+     */
+    public void debug(String pattern, Object arg) {
+        log(LogLevel.DEBUG, pattern, 1, arg, null, null);
+    }
+
+    /**
+     * Logs a DEBUG message with two arguments.
+     *
+     * @param pattern The message pattern.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    public void debug(String pattern, Object arg1, Object arg2) {
+        log(LogLevel.DEBUG, pattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Logs a DEBUG message with three arguments.
+     *
+     * @param pattern The message pattern.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     * @param arg3 The third argument.
+     */
+    public void debug(String pattern, Object arg1, Object arg2, Object arg3) {
+        log(LogLevel.DEBUG, pattern, 3, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs an INFO message.
+     *
+     * @param message The message.
+     */
+    public void info(String message) {
+        log(LogLevel.INFO, message, 0, null, null, null);
+    }
+
+    /**
+     * Logs an INFO message with one argument.
+     *
+     * @param pattern The message pattern.
+     * @param arg The argument.
+     */
+    public void info(String pattern, Object arg) {
+        log(LogLevel.INFO, pattern, 1, arg, null, null);
+    }
+
+    /**
+     * Logs an INFO message with two arguments.
+     *
+     * @param pattern The message pattern.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    public void info(String pattern, Object arg1, Object arg2) {
+        log(LogLevel.INFO, pattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Logs an INFO message with three arguments.
+     *
+     * @param pattern The message pattern.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     * @param arg3 The third argument.
+     */
+    public void info(String pattern, Object arg1, Object arg2, Object arg3) {
+        log(LogLevel.INFO, pattern, 3, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a WARN message.
+     *
+     * @param message The message.
+     */
+    public void warn(String message) {
+        log(LogLevel.WARN, message, 0, null, null, null);
+    }
+
+    /**
+     * Logs a WARN message with one argument.
+     *
+     * @param pattern The message pattern.
+     * @param arg The argument.
+     */
+    public void warn(String pattern, Object arg) {
+        log(LogLevel.WARN, pattern, 1, arg, null, null);
+    }
+
+    /**
+     * Logs a WARN message with two arguments.
+     *
+     * @param pattern The message pattern.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    public void warn(String pattern, Object arg1, Object arg2) {
+        log(LogLevel.WARN, pattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Logs a WARN message with three arguments.
+     *
+     * @param pattern The message pattern.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     * @param arg3 The third argument.
+     */
+    public void warn(String pattern, Object arg1, Object arg2, Object arg3) {
+        log(LogLevel.WARN, pattern, 3, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs an ERROR message.
+     *
+     * @param message The message.
+     */
+    public void error(String message) {
+        log(LogLevel.ERROR, message, 0, null, null, null);
+    }
+
+    /**
+     * Logs an ERROR message with one argument, typically the exception that caused it.
+     *
+     * @param pattern The message pattern.
+     * @param arg The argument.
+     */
+    public void error(String pattern, Object arg) {
+        log(LogLevel.ERROR, pattern, 1, arg, null, null);
+    }
+
+    /**
+     * Logs an ERROR message with two arguments.
+     *
+     * @param pattern The message pattern.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    public void error(String pattern, Object arg1, Object arg2) {
+        log(LogLevel.ERROR, pattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Logs an ERROR message with three arguments.
+     *
+     * @param pattern The message pattern.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     * @param arg3 The third argument.
+     */
+    public void error(String pattern, Object arg1, Object arg2, Object arg3) {
+        log(LogLevel.ERROR, pattern, 3, arg1, arg2, arg3);
+    }
+
+    private void log(LogLevel level, String pattern, int argCount, Object arg1, Object arg2, Object arg3) {
+        if (manager.isEnabled(level)) {
+            manager.enqueue(level, name, pattern, argCount, arg1, arg2, arg3);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.oop.stockflow.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Log file that is rolled over when it reaches its size limit.
+ * The active file is {@code <name>.log}; on rollover it becomes {@code <name>.1.log}, older files shift
+ * up by one and the oldest beyond the configured count is deleted. Only used by the log writer thread.
+ */
+final class RollingLogFile {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final String baseName;
+    private final long maxBytes;
+    private final int maxFiles;
+
+    private OutputStream out;
+    private long size;
+
+    /**
+     * Constructs a RollingLogFile and opens the active file for appending.
+     *
+     * @param directory The directory of the log files; created if missing.
+     * @param baseName The file name without extension.
+     * @param maxBytes The size at which the active file is rolled over.
+     * @param maxFiles The number of rolled files kept besides the active one.
+     * @throws IOException If the file cannot be opened.
+     */
+    RollingLogFile(Path directory, String baseName, long maxBytes, int maxFiles) throws IOException {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        Files.createDirectories(directory);
+        open();
+    }
+
+    /**
+     * Appends encoded log lines, rolling over first if they would exceed the size limit.
+     *
+     * @param bytes The encoded lines.
+     * @param length The number of bytes to write.
+     * @throws IOException If writing or rolling over fails.
+     */
+    void write(byte[] bytes, int length) throws IOException {
+        if (size > 0 && size + length > maxBytes) {
+            rollOver();
+        }
+        out.write(bytes, 0, length);
+        size += length;
+    }
+
+    /**
+     * Flushes buffered lines to the file.
+     *
+     * @throws IOException If flushing fails.
+     */
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Flushes and closes the active file.
+     *
+     * @throws IOException If closing fails.
+     */
+    void close() throws IOException {
+        out.close();
+    }
+
+    private void open() throws IOException {
+        Path file = file(0);
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), BUFFER_SIZE);
+        size = Files.size(file);
+    }
+
+    private void rollOver() throws IOException {
+        out.close();
+        Files.deleteIfExists(file(maxFiles));
+        for (int i = maxFiles - 1; i >= 0; i--) {
+            Path source = file(i);
+            if (Files.exists(source)) {
+                Files.move(source, file(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        open();
+    }
+
+    private Path file(int index) {
+        return directory.resolve(index == 0 ? baseName + ".log" : baseName + "." + index + ".log");
+    }
+}
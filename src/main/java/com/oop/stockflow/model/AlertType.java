@@ -0,0 +1,56 @@
+package com.oop.stockflow.model;
+
+/**
+ * Enumeration representing the kinds of stock alerts shown on the warehouse dashboard.
+ * Each alert type carries its display title, icon, and the CSS style class used to render it.
+ */
+public enum AlertType {
+    OUT_OF_STOCK("Out of Stock", "🔴", "notification-danger"),
+    LOW_STOCK("Critical Stock Level", "⚠", "notification-warning"),
+    EXPIRING("Expiration Alert", "📦", "notification-warning"),
+    EXPIRED("Product Expired", "🔴", "notification-danger");
+
+    private final String title;
+    private final String icon;
+    private final String styleClass;
+
+    /**
+     * Constructs an AlertType enum with its display properties.
+     *
+     * @param title The title displayed on the notification.
+     * @param icon The icon displayed next to the notification.
+     * @param styleClass The CSS style class that defines the notification severity.
+     */
+    AlertType(String title, String icon, String styleClass) {
+        this.title = title;
+        this.icon = icon;
+        this.styleClass = styleClass;
+    }
+
+    /**
+     * Retrieves the display title of this alert type.
+     *
+     * @return The notification title.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Retrieves the icon of this alert type.
+     *
+     * @return The notification icon.
+     */
+    public String getIcon() {
+        return icon;
+    }
+
+    /**
+     * Retrieves the CSS style class of this alert type.
+     *
+     * @return The style class (e.g., "notification-danger").
+     */
+    public String getStyleClass() {
+        return styleClass;
+    }
+}
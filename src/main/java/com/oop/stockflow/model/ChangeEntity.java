@@ -0,0 +1,47 @@
+package com.oop.stockflow.model;
+
+/**
+ * Enumeration representing the kinds of database rows that publish change notifications.
+ * Maps Java enum constants to the entity names used in notification payloads.
+ */
+public enum ChangeEntity {
+    PRODUCT("product"),
+    TRANSACTION("transaction");
+
+    private final String dbValue;
+
+    /**
+     * Constructs a ChangeEntity enum with its corresponding payload value.
+     *
+     * @param dbValue The entity name used in notification payloads.
+     */
+    ChangeEntity(String dbValue) {
+        this.dbValue = dbValue;
+    }
+
+    /**
+     * Retrieves the payload value for this entity.
+     *
+     * @return The entity name used in notification payloads.
+     */
+    public String getDbValue() {
+        return dbValue;
+    }
+
+    /**
+     * Converts a payload value to its corresponding ChangeEntity enum.
+     * Case-insensitive matching is performed.
+     *
+     * @param value The payload value to convert.
+     * @return The matching ChangeEntity enum constant.
+     * @throws IllegalArgumentException If the value does not match any known entity.
+     */
+    public static ChangeEntity fromDbValue(String value) {
+        for (ChangeEntity entity : values()) {
+            if (entity.dbValue.equalsIgnoreCase(value)) {
+                return entity;
+            }
+        }
+        throw new IllegalArgumentException("Unknown change entity: " + value);
+    }
+}
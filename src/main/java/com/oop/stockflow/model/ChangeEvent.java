@@ -0,0 +1,105 @@
+package com.oop.stockflow.model;
+
+/**
+ * Represents a single row change published by the database through LISTEN/NOTIFY.
+ * Carries only identifiers, so subscribers fetch exactly the rows they need to update.
+ */
+public class ChangeEvent {
+    private static final String SEPARATOR = "\\|";
+
+    private final ChangeEntity entity;
+    private final String operation;
+    private final long id;
+    private final int warehouseId;
+    private final int userId;
+
+    /**
+     * Constructs a ChangeEvent with all details.
+     *
+     * @param entity The kind of row that changed.
+     * @param operation The database operation: INSERT, UPDATE or DELETE.
+     * @param id The SKU of a product or the ID of a transaction.
+     * @param warehouseId The warehouse the row belongs to, or 0 if it has none.
+     * @param userId The staff member who recorded a transaction, or 0 for products.
+     */
+    public ChangeEvent(ChangeEntity entity, String operation, long id, int warehouseId, int userId) {
+        this.entity = entity;
+        this.operation = operation;
+        this.id = id;
+        this.warehouseId = warehouseId;
+        this.userId = userId;
+    }
+
+    /**
+     * Parses a notification payload of the form {@code entity|operation|id|warehouse_id|user_id}.
+     *
+     * @param payload The payload sent by the database trigger.
+     * @return The parsed ChangeEvent, or null if the payload is malformed.
+     */
+    public static ChangeEvent fromPayload(String payload) {
+        String[] parts = payload.split(SEPARATOR);
+        if (parts.length != 5) {
+            return null;
+        }
+        try {
+            return new ChangeEvent(ChangeEntity.fromDbValue(parts[0]), parts[1], Long.parseLong(parts[2]),
+                    Integer.parseInt(parts[3]), Integer.parseInt(parts[4]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the kind of row that changed.
+     *
+     * @return The changed entity.
+     */
+    public ChangeEntity getEntity() {
+        return entity;
+    }
+
+    /**
+     * Retrieves the database operation that changed the row.
+     *
+     * @return INSERT, UPDATE or DELETE.
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Checks whether the row was deleted.
+     *
+     * @return true if the operation was DELETE, false otherwise.
+     */
+    public boolean isDelete() {
+        return "DELETE".equals(operation);
+    }
+
+    /**
+     * Retrieves the identifier of the changed row.
+     *
+     * @return The SKU of a product or the ID of a transaction.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the warehouse the changed row belongs to.
+     *
+     * @return The warehouse ID, or 0 if the row has none.
+     */
+    public int getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Retrieves the staff member who recorded a changed transaction.
+     *
+     * @return The staff ID, or 0 for products.
+     */
+    public int getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,66 @@
+package com.oop.stockflow.model;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents the rows of a screen that changed since a change cursor.
+ * Rows in the table are always in their current state, so a screen applies the deletions first
+ * and then inserts or replaces the changed rows; a row deleted and written again is in both.
+ *
+ * @param <T> The type of the changed rows.
+ */
+public class ChangeSet<T> {
+    private final List<T> changed;
+    private final Set<Long> deletedIds;
+    private final long cursor;
+
+    /**
+     * Constructs a ChangeSet with all details.
+     *
+     * @param changed The inserted or updated rows, in change order.
+     * @param deletedIds The IDs of the deleted rows.
+     * @param cursor The highest change transaction ID seen, the cursor of the next delta.
+     */
+    public ChangeSet(List<T> changed, Set<Long> deletedIds, long cursor) {
+        this.changed = List.copyOf(changed);
+        this.deletedIds = Set.copyOf(deletedIds);
+        this.cursor = cursor;
+    }
+
+    /**
+     * Retrieves the inserted or updated rows.
+     *
+     * @return An unmodifiable list of rows, in change order.
+     */
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Retrieves the IDs of the deleted rows.
+     *
+     * @return An unmodifiable set of IDs.
+     */
+    public Set<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    /**
+     * Retrieves the highest change transaction ID covered by this change set.
+     *
+     * @return The cursor.
+     */
+    public long getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Checks whether nothing changed.
+     *
+     * @return true if there are neither changed nor deleted rows, false otherwise.
+     */
+    public boolean isEmpty() {
+        return changed.isEmpty() && deletedIds.isEmpty();
+    }
+}
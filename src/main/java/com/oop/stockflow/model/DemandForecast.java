@@ -0,0 +1,76 @@
+package com.oop.stockflow.model;
+
+/**
+ * Represents the fitted demand forecast of a single product SKU.
+ * Holds the forecast demand over the replenishment lead time together with
+ * the recommended safety stock and reorder point derived from it.
+ */
+public class DemandForecast {
+    private final int sku;
+    private final double averageDailyDemand;
+    private final double leadTimeDemand;
+    private final int safetyStock;
+    private final int reorderPoint;
+
+    /**
+     * Constructs a DemandForecast with all details.
+     *
+     * @param sku The SKU of the forecast product.
+     * @param averageDailyDemand The deseasonalized daily demand level at the end of the history.
+     * @param leadTimeDemand The forecast demand over the replenishment lead time.
+     * @param safetyStock The recommended safety stock in units.
+     * @param reorderPoint The recommended reorder point in units.
+     */
+    public DemandForecast(int sku, double averageDailyDemand, double leadTimeDemand, int safetyStock, int reorderPoint) {
+        this.sku = sku;
+        this.averageDailyDemand = averageDailyDemand;
+        this.leadTimeDemand = leadTimeDemand;
+        this.safetyStock = safetyStock;
+        this.reorderPoint = reorderPoint;
+    }
+
+    /**
+     * Retrieves the SKU of the forecast product.
+     *
+     * @return The product SKU.
+     */
+    public int getSku() {
+        return sku;
+    }
+
+    /**
+     * Retrieves the deseasonalized daily demand level at the end of the history.
+     *
+     * @return The average daily demand in units.
+     */
+    public double getAverageDailyDemand() {
+        return averageDailyDemand;
+    }
+
+    /**
+     * Retrieves the forecast demand over the replenishment lead time.
+     *
+     * @return The lead time demand in units.
+     */
+    public double getLeadTimeDemand() {
+        return leadTimeDemand;
+    }
+
+    /**
+     * Retrieves the recommended safety stock.
+     *
+     * @return The safety stock in units.
+     */
+    public int getSafetyStock() {
+        return safetyStock;
+    }
+
+    /**
+     * Retrieves the recommended reorder point.
+     *
+     * @return The reorder point in units.
+     */
+    public int getReorderPoint() {
+        return reorderPoint;
+    }
+}
@@ -101,6 +101,9 @@ public class DryGoodProduct extends Product {
      * @param reorderPoint The inventory level that triggers reordering.
      */
     public void setReorderPoint(int reorderPoint) {
+        if (this.reorderPoint != reorderPoint) {
+            markDirty(ProductColumn.REORDER_POINT);
+        }
         this.reorderPoint = reorderPoint;
     }
 
@@ -110,6 +113,9 @@ public class DryGoodProduct extends Product {
      * @param reorderQuantity The quantity to order when reorder point is reached.
      */
     public void setReorderQuantity(int reorderQuantity) {
+        if (this.reorderQuantity != reorderQuantity) {
+            markDirty(ProductColumn.REORDER_QUANTITY);
+        }
         this.reorderQuantity = reorderQuantity;
     }
 
@@ -119,6 +125,22 @@ public class DryGoodProduct extends Product {
      * @param unitsPerCase The number of units packaged per case.
      */
     public void setUnitsPerCase(int unitsPerCase) {
+        if (this.unitsPerCase != unitsPerCase) {
+            markDirty(ProductColumn.UNITS_PER_CASE);
+        }
         this.unitsPerCase = unitsPerCase;
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates an independent copy of this dry good product, including its version.
+     *
+     * @return A copy of this product.
+     */
+    @Override
+    public DryGoodProduct copy() {
+        DryGoodProduct copy = new DryGoodProduct(sku, name, brand, description, purchasePrice, weightPerUnitKg, volumePerUnitM3,
+                quantity, reorderPoint, reorderQuantity, unitsPerCase, warehouseId);
+        copy.setVersion(version);
+        return copy;
+    }
+}
@@ -1,6 +1,7 @@
 package com.oop.stockflow.model;
 
 import java.math.BigDecimal;
+import java.util.Objects;
 
 /**
  * Represents a Fresh product, extending the base Product class.
@@ -87,6 +88,9 @@ public class FreshProduct extends Product {
      * @param requiredTemp The required temperature in degrees Celsius.
      */
     public void setRequiredTemp(BigDecimal requiredTemp) {
+        if (!Objects.equals(this.requiredTemp, requiredTemp)) {
+            markDirty(ProductColumn.REQUIRED_TEMP);
+        }
         this.requiredTemp = requiredTemp;
     }
 
@@ -96,6 +100,22 @@ public class FreshProduct extends Product {
      * @param daysToAlertBeforeExpiry The alert threshold in days before expiry.
      */
     public void setDaysToAlertBeforeExpiry(int daysToAlertBeforeExpiry) {
+        if (this.daysToAlertBeforeExpiry != daysToAlertBeforeExpiry) {
+            markDirty(ProductColumn.DAYS_TO_ALERT_BEFORE_EXPIRY);
+        }
         this.daysToAlertBeforeExpiry = daysToAlertBeforeExpiry;
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates an independent copy of this fresh product, including its version.
+     *
+     * @return A copy of this product.
+     */
+    @Override
+    public FreshProduct copy() {
+        FreshProduct copy = new FreshProduct(sku, name, brand, description, purchasePrice, weightPerUnitKg, volumePerUnitM3,
+                quantity, requiredTemp, daysToAlertBeforeExpiry, warehouseId);
+        copy.setVersion(version);
+        return copy;
+    }
+}
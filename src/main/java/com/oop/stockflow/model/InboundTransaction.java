@@ -1,5 +1,6 @@
 package com.oop.stockflow.model;
 
+import java.time.LocalDate;
 import java.util.Date;
 
 /**
@@ -7,6 +8,7 @@ import java.util.Date;
  * Extends the base Transaction class to handle incoming inventory movements.
  */
 public class InboundTransaction extends Transaction {
+    private LocalDate expiryDate;
 
     /**
      * Constructs an InboundTransaction with all transaction details.
@@ -31,4 +33,23 @@ public class InboundTransaction extends Transaction {
         this.sku = sku;
         this.type = type;
     }
+
+    /**
+     * Retrieves the expiry date of the received lot.
+     * Only recorded for fresh products; dry goods have no expiry.
+     *
+     * @return The expiry date of the lot, or null if none was recorded.
+     */
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    /**
+     * Sets the expiry date of the received lot.
+     *
+     * @param expiryDate The expiry date of the lot, or null if not applicable.
+     */
+    public void setExpiryDate(LocalDate expiryDate) {
+        this.expiryDate = expiryDate;
+    }
 }
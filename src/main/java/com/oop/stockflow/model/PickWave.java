@@ -0,0 +1,91 @@
+package com.oop.stockflow.model;
+
+import java.util.List;
+
+/**
+ * Represents a pick wave: the pending outbound transactions of a warehouse that share a shipping
+ * method and a destination, so they can be picked and shipped together.
+ * Totals are derived from the per-unit weight and volume of the products.
+ */
+public class PickWave {
+    private final ShippingType shippingType;
+    private final String destinationAddress;
+    private final List<OutboundTransaction> transactions;
+    private final int totalQuantity;
+    private final double totalWeightKg;
+    private final double totalVolumeM3;
+
+    /**
+     * Constructs a PickWave with all details.
+     *
+     * @param shippingType The shipping method shared by the transactions.
+     * @param destinationAddress The destination shared by the transactions, as entered on the oldest of them.
+     * @param transactions The pending outbound transactions of the wave, oldest first.
+     * @param totalQuantity The total number of units to pick.
+     * @param totalWeightKg The total weight of the units in kilograms.
+     * @param totalVolumeM3 The total volume of the units in cubic meters.
+     */
+    public PickWave(ShippingType shippingType, String destinationAddress, List<OutboundTransaction> transactions,
+                    int totalQuantity, double totalWeightKg, double totalVolumeM3) {
+        this.shippingType = shippingType;
+        this.destinationAddress = destinationAddress;
+        this.transactions = List.copyOf(transactions);
+        this.totalQuantity = totalQuantity;
+        this.totalWeightKg = totalWeightKg;
+        this.totalVolumeM3 = totalVolumeM3;
+    }
+
+    /**
+     * Retrieves the shipping method of the wave.
+     *
+     * @return The shipping method.
+     */
+    public ShippingType getShippingType() {
+        return shippingType;
+    }
+
+    /**
+     * Retrieves the destination of the wave.
+     *
+     * @return The destination address.
+     */
+    public String getDestinationAddress() {
+        return destinationAddress;
+    }
+
+    /**
+     * Retrieves the transactions of the wave.
+     *
+     * @return An unmodifiable list of transactions, oldest first.
+     */
+    public List<OutboundTransaction> getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * Retrieves the total number of units to pick.
+     *
+     * @return The total quantity.
+     */
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    /**
+     * Retrieves the total weight of the wave.
+     *
+     * @return The total weight in kilograms.
+     */
+    public double getTotalWeightKg() {
+        return totalWeightKg;
+    }
+
+    /**
+     * Retrieves the total volume of the wave.
+     *
+     * @return The total volume in cubic meters.
+     */
+    public double getTotalVolumeM3() {
+        return totalVolumeM3;
+    }
+}
@@ -1,6 +1,8 @@
 package com.oop.stockflow.model;
 
 import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Objects;
 
 /**
  * Abstract base class representing a product in the inventory.
@@ -18,6 +20,8 @@ public abstract class Product {
     protected int quantity;
     protected ProductType productType;
     protected int warehouseId;
+    protected int version;
+    private final EnumSet<ProductColumn> dirtyColumns = EnumSet.noneOf(ProductColumn.class);
 
     /**
      * Constructs a Product with all details including SKU.
@@ -161,6 +165,16 @@ public abstract class Product {
         return productType;
     }
 
+    /**
+     * Retrieves the version of this product as loaded from the database.
+     * The version is incremented by every update, so a stale copy can be detected.
+     *
+     * @return The row version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     // setter
     /**
      * Sets the warehouse ID where this product is stored.
@@ -186,6 +200,9 @@ public abstract class Product {
      * @param name The product name.
      */
     public void setName(String name) {
+        if (!Objects.equals(this.name, name)) {
+            markDirty(ProductColumn.NAME);
+        }
         this.name = name;
     }
 
@@ -195,6 +212,9 @@ public abstract class Product {
      * @param brand The product brand.
      */
     public void setBrand(String brand) {
+        if (!Objects.equals(this.brand, brand)) {
+            markDirty(ProductColumn.BRAND);
+        }
         this.brand = brand;
     }
 
@@ -204,6 +224,9 @@ public abstract class Product {
      * @param description The product description.
      */
     public void setDescription(String description) {
+        if (!Objects.equals(this.description, description)) {
+            markDirty(ProductColumn.DESCRIPTION);
+        }
         this.description = description;
     }
 
@@ -213,6 +236,9 @@ public abstract class Product {
      * @param purchasePrice The purchase price.
      */
     public void setPurchasePrice(BigDecimal purchasePrice) {
+        if (!Objects.equals(this.purchasePrice, purchasePrice)) {
+            markDirty(ProductColumn.PURCHASE_PRICE);
+        }
         this.purchasePrice = purchasePrice;
     }
 
@@ -222,6 +248,9 @@ public abstract class Product {
      * @param weightPerUnitKg The weight in kilograms.
      */
     public void setWeightPerUnitKg(double weightPerUnitKg) {
+        if (Double.compare(this.weightPerUnitKg, weightPerUnitKg) != 0) {
+            markDirty(ProductColumn.WEIGHT_PER_UNIT_KG);
+        }
         this.weightPerUnitKg = weightPerUnitKg;
     }
 
@@ -231,6 +260,9 @@ public abstract class Product {
      * @param volumePerUnitM3 The volume in cubic meters.
      */
     public void setVolumePerUnitM3(double volumePerUnitM3) {
+        if (Double.compare(this.volumePerUnitM3, volumePerUnitM3) != 0) {
+            markDirty(ProductColumn.VOLUME_PER_UNIT_M3);
+        }
         this.volumePerUnitM3 = volumePerUnitM3;
     }
 
@@ -252,6 +284,49 @@ public abstract class Product {
         this.productType = productType;
     }
 
+    /**
+     * Sets the version of this product as loaded from the database.
+     *
+     * @param version The row version.
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Retrieves the columns modified through setters since the product was loaded or last saved.
+     *
+     * @return A copy of the set of modified columns.
+     */
+    public EnumSet<ProductColumn> getDirtyColumns() {
+        return EnumSet.copyOf(dirtyColumns);
+    }
+
+    /**
+     * Marks all fields as saved. Called after the product was written to the database.
+     */
+    public void markClean() {
+        dirtyColumns.clear();
+    }
+
+    /**
+     * Records that a column was modified and has to be written by the next update.
+     *
+     * @param column The modified column.
+     */
+    protected void markDirty(ProductColumn column) {
+        dirtyColumns.add(column);
+    }
+
+    /**
+     * Creates an independent copy of this product, including its version.
+     * The copy has no modified columns.
+     * Used to keep the originally loaded state while the product is being edited.
+     *
+     * @return A copy of this product.
+     */
+    public abstract Product copy();
+
     /**
      * Returns a string representation of this product.
      * Format: "name (sku)"
@@ -0,0 +1,39 @@
+package com.oop.stockflow.model;
+
+/**
+ * Enumeration of the editable columns of the 'products' table.
+ * Used to track which fields of a product were modified, so updates only write those columns.
+ */
+public enum ProductColumn {
+    NAME("name"),
+    BRAND("brand"),
+    DESCRIPTION("description"),
+    PURCHASE_PRICE("purchase_price"),
+    WEIGHT_PER_UNIT_KG("weight_per_unit_kg"),
+    VOLUME_PER_UNIT_M3("volume_per_unit_m3"),
+    REORDER_POINT("reorder_point"),
+    REORDER_QUANTITY("reorder_quantity"),
+    UNITS_PER_CASE("units_per_case"),
+    REQUIRED_TEMP("required_temp"),
+    DAYS_TO_ALERT_BEFORE_EXPIRY("days_to_alert_before_expiry");
+
+    private final String dbValue;
+
+    /**
+     * Constructs a ProductColumn enum with its corresponding column name.
+     *
+     * @param dbValue The name of the column in the database.
+     */
+    ProductColumn(String dbValue) {
+        this.dbValue = dbValue;
+    }
+
+    /**
+     * Retrieves the column name in the database.
+     *
+     * @return The column name.
+     */
+    public String getDbValue() {
+        return dbValue;
+    }
+}
@@ -0,0 +1,108 @@
+package com.oop.stockflow.model;
+
+/**
+ * Represents a suggested purchase order for a dry good product that has reached its reorder point.
+ * The suggested quantity is always a whole number of cases.
+ */
+public class ReplenishmentSuggestion {
+    private final int sku;
+    private final String productName;
+    private final int warehouseId;
+    private final int quantity;
+    private final int reorderPoint;
+    private final int unitsPerCase;
+    private final int suggestedQuantity;
+
+    /**
+     * Constructs a ReplenishmentSuggestion with all details.
+     *
+     * @param sku The SKU of the product to reorder.
+     * @param productName The name of the product.
+     * @param warehouseId The warehouse where the product is stored.
+     * @param quantity The current quantity in stock.
+     * @param reorderPoint The inventory level that triggers reordering.
+     * @param unitsPerCase The number of units in one case.
+     * @param suggestedQuantity The suggested order quantity in units, rounded up to whole cases.
+     */
+    public ReplenishmentSuggestion(int sku, String productName, int warehouseId, int quantity, int reorderPoint, int unitsPerCase, int suggestedQuantity) {
+        this.sku = sku;
+        this.productName = productName;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+        this.reorderPoint = reorderPoint;
+        this.unitsPerCase = unitsPerCase;
+        this.suggestedQuantity = suggestedQuantity;
+    }
+
+    /**
+     * Retrieves the SKU of the product to reorder.
+     *
+     * @return The product SKU.
+     */
+    public int getSku() {
+        return sku;
+    }
+
+    /**
+     * Retrieves the name of the product to reorder.
+     *
+     * @return The product name.
+     */
+    public String getProductName() {
+        return productName;
+    }
+
+    /**
+     * Retrieves the warehouse ID where the product is stored.
+     *
+     * @return The warehouse identifier.
+     */
+    public int getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Retrieves the quantity in stock at the time of the evaluation.
+     *
+     * @return The current quantity in stock.
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Retrieves the reorder point of the product.
+     *
+     * @return The reorder point.
+     */
+    public int getReorderPoint() {
+        return reorderPoint;
+    }
+
+    /**
+     * Retrieves the number of units in one case.
+     *
+     * @return The units per case.
+     */
+    public int getUnitsPerCase() {
+        return unitsPerCase;
+    }
+
+    /**
+     * Retrieves the suggested order quantity in units.
+     *
+     * @return The suggested order quantity, a multiple of the units per case.
+     */
+    public int getSuggestedQuantity() {
+        return suggestedQuantity;
+    }
+
+    /**
+     * Retrieves the suggested order quantity expressed in cases.
+     *
+     * @return The number of cases to order.
+     */
+    public int getSuggestedCases() {
+        return unitsPerCase > 0 ? suggestedQuantity / unitsPerCase : suggestedQuantity;
+    }
+}
@@ -0,0 +1,128 @@
+package com.oop.stockflow.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Represents a single stock notification for a warehouse, such as a product
+ * falling below its reorder point or a fresh lot approaching its expiry date.
+ * Alerts are identified by a key so that repeated evaluations of the same
+ * condition replace the existing alert instead of duplicating it.
+ */
+public class StockAlert {
+    private final String key;
+    private final AlertType type;
+    private final int sku;
+    private final String productName;
+    private final int quantity;
+    private final LocalDate expiryDate;
+    private final LocalDateTime raisedAt;
+
+    /**
+     * Constructs a StockAlert with all details.
+     *
+     * @param key The deduplication key of the alert.
+     * @param type The type of the alert.
+     * @param sku The SKU of the product the alert refers to.
+     * @param productName The name of the product.
+     * @param quantity The product quantity at the time the alert was raised.
+     * @param expiryDate The expiry date of the lot, or null for stock level alerts.
+     * @param raisedAt The time the alert was raised.
+     */
+    public StockAlert(String key, AlertType type, int sku, String productName, int quantity, LocalDate expiryDate, LocalDateTime raisedAt) {
+        this.key = key;
+        this.type = type;
+        this.sku = sku;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.expiryDate = expiryDate;
+        this.raisedAt = raisedAt;
+    }
+
+    /**
+     * Builds the human-readable message of the alert.
+     * Expiry messages are computed against the current date so they stay accurate over time.
+     *
+     * @return The notification message.
+     */
+    public String getMessage() {
+        switch (type) {
+            case OUT_OF_STOCK:
+                return productName + " is out of stock";
+            case LOW_STOCK:
+                return productName + " has only " + quantity + " units left";
+            case EXPIRING:
+                long days = ChronoUnit.DAYS.between(LocalDate.now(), expiryDate);
+                return days == 0 ? productName + " expires today" : productName + " expires in " + days + " days";
+            case EXPIRED:
+                return productName + " expired on " + expiryDate;
+            default:
+                return productName;
+        }
+    }
+
+    // getter
+    /**
+     * Retrieves the deduplication key of this alert.
+     *
+     * @return The alert key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Retrieves the type of this alert.
+     *
+     * @return The AlertType of this alert.
+     */
+    public AlertType getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the SKU of the product this alert refers to.
+     *
+     * @return The product SKU.
+     */
+    public int getSku() {
+        return sku;
+    }
+
+    /**
+     * Retrieves the name of the product this alert refers to.
+     *
+     * @return The product name.
+     */
+    public String getProductName() {
+        return productName;
+    }
+
+    /**
+     * Retrieves the product quantity at the time the alert was raised.
+     *
+     * @return The product quantity.
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Retrieves the expiry date of the lot this alert refers to.
+     *
+     * @return The expiry date, or null for stock level alerts.
+     */
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    /**
+     * Retrieves the time this alert was raised.
+     *
+     * @return The time the alert was raised.
+     */
+    public LocalDateTime getRaisedAt() {
+        return raisedAt;
+    }
+}
@@ -0,0 +1,100 @@
+package com.oop.stockflow.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single change in the stock of a product, as recorded in the append-only stock event log.
+ */
+public class StockEvent {
+    private final long id;
+    private final int sku;
+    private final int warehouseId;
+    private final int delta;
+    private final int quantityAfter;
+    private final StockEventSource source;
+    private final LocalDateTime occurredAt;
+
+    /**
+     * Constructs a StockEvent.
+     *
+     * @param id The ID of the event.
+     * @param sku The SKU of the product.
+     * @param warehouseId The warehouse the product belonged to, or 0 if it had none.
+     * @param delta The change in quantity.
+     * @param quantityAfter The stock of the product after the change.
+     * @param source What caused the change.
+     * @param occurredAt When the change happened.
+     */
+    public StockEvent(long id, int sku, int warehouseId, int delta, int quantityAfter, StockEventSource source, LocalDateTime occurredAt) {
+        this.id = id;
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.delta = delta;
+        this.quantityAfter = quantityAfter;
+        this.source = source;
+        this.occurredAt = occurredAt;
+    }
+
+    /**
+     * Retrieves the ID of the event.
+     *
+     * @return The event ID.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the SKU of the product.
+     *
+     * @return The product SKU.
+     */
+    public int getSku() {
+        return sku;
+    }
+
+    /**
+     * Retrieves the warehouse the product belonged to when the change happened.
+     *
+     * @return The warehouse ID, or 0 if the product had none.
+     */
+    public int getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Retrieves the change in quantity, negative for stock that left.
+     *
+     * @return The quantity delta.
+     */
+    public int getDelta() {
+        return delta;
+    }
+
+    /**
+     * Retrieves the stock of the product after the change.
+     *
+     * @return The quantity after the change.
+     */
+    public int getQuantityAfter() {
+        return quantityAfter;
+    }
+
+    /**
+     * Retrieves what caused the change.
+     *
+     * @return The event source.
+     */
+    public StockEventSource getSource() {
+        return source;
+    }
+
+    /**
+     * Retrieves when the change happened.
+     *
+     * @return The time of the change.
+     */
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
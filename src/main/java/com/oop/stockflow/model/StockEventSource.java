@@ -0,0 +1,49 @@
+package com.oop.stockflow.model;
+
+/**
+ * Enumeration representing what caused a change in the stock of a product.
+ * Maps Java enum constants to database string values of the stock event log.
+ */
+public enum StockEventSource {
+    INITIAL("initial"),
+    TRANSACTION("transaction"),
+    ADJUSTMENT("adjustment"),
+    REMOVAL("removal");
+
+    private final String dbValue;
+
+    /**
+     * Constructs a StockEventSource enum with its corresponding database value.
+     *
+     * @param dbValue The string value stored in the database for this source.
+     */
+    StockEventSource(String dbValue) {
+        this.dbValue = dbValue;
+    }
+
+    /**
+     * Retrieves the database string value for this source.
+     *
+     * @return The database representation of this source.
+     */
+    public String getDbValue() {
+        return dbValue;
+    }
+
+    /**
+     * Converts a database string value to its corresponding StockEventSource enum.
+     * Case-insensitive matching is performed.
+     *
+     * @param value The database string value to convert.
+     * @return The matching StockEventSource enum constant.
+     * @throws IllegalArgumentException If the value does not match any known source.
+     */
+    public static StockEventSource fromDbValue(String value) {
+        for (StockEventSource source : values()) {
+            if (source.dbValue.equalsIgnoreCase(value)) {
+                return source;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stock event source: " + value);
+    }
+}
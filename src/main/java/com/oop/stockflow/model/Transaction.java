@@ -1,5 +1,6 @@
 package com.oop.stockflow.model;
 
+import java.math.BigDecimal;
 import java.util.Date;
 
 /**
@@ -11,6 +12,8 @@ public abstract class Transaction {
     protected int id;
     protected int sku;
     protected int staffId;
+    protected int warehouseId;
+    protected BigDecimal unitCost;
     protected Date date;
     protected int quantity;
     protected TransactionType type;
@@ -113,6 +116,43 @@ public abstract class Transaction {
         this.staffId = staffId;
     }
 
+    /**
+     * Retrieves the ID of the warehouse the product belonged to when this transaction was recorded.
+     *
+     * @return The warehouse ID, or 0 if unknown.
+     */
+    public int getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the ID of the warehouse the product belonged to when this transaction was recorded.
+     *
+     * @param warehouseId The warehouse ID.
+     */
+    public void setWarehouseId(int warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Retrieves the purchase price per unit recorded when this transaction was created.
+     * Only inbound transactions carry a unit cost.
+     *
+     * @return The unit cost, or null if none was recorded.
+     */
+    public BigDecimal getUnitCost() {
+        return unitCost;
+    }
+
+    /**
+     * Sets the purchase price per unit recorded when this transaction was created.
+     *
+     * @param unitCost The unit cost, or null.
+     */
+    public void setUnitCost(BigDecimal unitCost) {
+        this.unitCost = unitCost;
+    }
+
     /**
      * Retrieves the date and time when this transaction occurred.
      *
@@ -6,7 +6,8 @@ package com.oop.stockflow.model;
  */
 public enum TransactionType {
     INBOUND("inbound"),
-    OUTBOUND("outbound");
+    OUTBOUND("outbound"),
+    TRANSFER("transfer");
 
     private final String dbValue;
 
@@ -0,0 +1,68 @@
+package com.oop.stockflow.model;
+
+import java.util.Date;
+
+/**
+ * Represents a transfer of stock from one warehouse to another warehouse of the same manager.
+ * Extends the base Transaction class: the inherited SKU and warehouse are those of the source product,
+ * and the stock is received by the product of the same name in the destination warehouse.
+ */
+public class TransferTransaction extends Transaction {
+    private int destinationSku;
+    private int destinationWarehouseId;
+
+    /**
+     * Constructs a TransferTransaction with all transaction details.
+     * Used when loading existing transfers from the database.
+     *
+     * @param id The unique transaction identifier.
+     * @param sku The stock keeping unit of the source product.
+     * @param staffId The ID of the staff member processing the transaction.
+     * @param quantity The quantity of items being transferred.
+     * @param date The date and time of the transaction.
+     * @param shippingType The shipping method used between the warehouses.
+     * @param status The current status of the transaction.
+     * @param destinationSku The stock keeping unit of the receiving product.
+     * @param destinationWarehouseId The ID of the receiving warehouse.
+     */
+    public TransferTransaction(int id, int sku, int staffId, int quantity, Date date, ShippingType shippingType, TransactionStatus status, int destinationSku, int destinationWarehouseId) {
+        this.id = id;
+        this.shippingType = shippingType;
+        this.status = status;
+        this.quantity = quantity;
+        this.date = date;
+        this.staffId = staffId;
+        this.sku = sku;
+        this.destinationSku = destinationSku;
+        this.destinationWarehouseId = destinationWarehouseId;
+        this.type = TransactionType.TRANSFER;
+    }
+
+    /**
+     * Retrieves the SKU of the product receiving the stock.
+     *
+     * @return The destination SKU, or 0 if that product was deleted.
+     */
+    public int getDestinationSku() {
+        return destinationSku;
+    }
+
+    /**
+     * Retrieves the ID of the warehouse receiving the stock.
+     *
+     * @return The destination warehouse ID, or 0 if that warehouse was deleted.
+     */
+    public int getDestinationWarehouseId() {
+        return destinationWarehouseId;
+    }
+
+    /**
+     * Checks whether the stock of this transfer is received by the given warehouse.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return true if the warehouse is the destination, false if it is the source or unrelated.
+     */
+    public boolean isReceivedBy(int warehouseId) {
+        return destinationWarehouseId == warehouseId;
+    }
+}
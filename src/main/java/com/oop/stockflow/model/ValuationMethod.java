@@ -0,0 +1,15 @@
+package com.oop.stockflow.model;
+
+/**
+ * Enumeration representing the cost flow assumptions used to value stock on hand.
+ */
+public enum ValuationMethod {
+    /**
+     * Every unit on hand carries the running average cost of all units received.
+     */
+    WEIGHTED_AVERAGE,
+    /**
+     * Shipments consume the oldest receipts first, so stock on hand carries the cost of the newest receipts.
+     */
+    FIFO
+}
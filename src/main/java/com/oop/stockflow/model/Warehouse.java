@@ -1,5 +1,8 @@
 package com.oop.stockflow.model;
 
+import java.util.EnumSet;
+import java.util.Objects;
+
 /**
  * Represents a warehouse facility in the system.
  * Contains location details, capacity constraints, operational status, and assigned manager information.
@@ -15,6 +18,7 @@ public class Warehouse {
     private double maxCapacityVolume;
     private double maxCapacityWeight;
     private int manager_id;
+    private final EnumSet<WarehouseColumn> dirtyColumns = EnumSet.noneOf(WarehouseColumn.class);
 
     /**
      * Constructs a Warehouse with all specified details.
@@ -59,6 +63,9 @@ public class Warehouse {
      * @param status The WarehouseStatus enum (e.g., ACTIVE, INACTIVE).
      */
     public void setStatus(WarehouseStatus status) {
+        if (this.status != status) {
+            markDirty(WarehouseColumn.STATUS);
+        }
         this.status = status;
     }
 
@@ -77,6 +84,9 @@ public class Warehouse {
      * @param postalCode The postal code.
      */
     public void setPostalCode(String postalCode) {
+        if (!Objects.equals(this.postalCode, postalCode)) {
+            markDirty(WarehouseColumn.POSTAL_CODE);
+        }
         this.postalCode = postalCode;
     }
 
@@ -95,6 +105,9 @@ public class Warehouse {
      * @param state The state name.
      */
     public void setState(String state) {
+        if (!Objects.equals(this.state, state)) {
+            markDirty(WarehouseColumn.STATE);
+        }
         this.state = state;
     }
 
@@ -113,6 +126,9 @@ public class Warehouse {
      * @param city The city name.
      */
     public void setCity(String city) {
+        if (!Objects.equals(this.city, city)) {
+            markDirty(WarehouseColumn.CITY);
+        }
         this.city = city;
     }
 
@@ -176,6 +192,9 @@ public class Warehouse {
      * @param name The warehouse name.
      */
     public void setName(String name) {
+        if (!Objects.equals(this.name, name)) {
+            markDirty(WarehouseColumn.NAME);
+        }
         this.name = name;
     }
 
@@ -194,6 +213,9 @@ public class Warehouse {
      * @param address The street address.
      */
     public void setAddress(String address) {
+        if (!Objects.equals(this.address, address)) {
+            markDirty(WarehouseColumn.ADDRESS);
+        }
         this.address = address;
     }
 
@@ -203,6 +225,9 @@ public class Warehouse {
      * @param maxCapacityVolume The maximum capacity in cubic meters.
      */
     public void setMaxCapacityVolume(double maxCapacityVolume) {
+        if (Double.compare(this.maxCapacityVolume, maxCapacityVolume) != 0) {
+            markDirty(WarehouseColumn.MAX_CAPACITY_VOLUME_M3);
+        }
         this.maxCapacityVolume = maxCapacityVolume;
     }
 
@@ -212,6 +237,9 @@ public class Warehouse {
      * @param maxCapacityWeight The maximum capacity in kilograms.
      */
     public void setMaxCapacityWeight(double maxCapacityWeight) {
+        if (Double.compare(this.maxCapacityWeight, maxCapacityWeight) != 0) {
+            markDirty(WarehouseColumn.MAX_CAPACITY_WEIGHT_KG);
+        }
         this.maxCapacityWeight = maxCapacityWeight;
     }
 
@@ -223,4 +251,29 @@ public class Warehouse {
     public void setManager_id(int manager_id) {
         this.manager_id = manager_id;
     }
+
+    /**
+     * Retrieves the columns modified through setters since the warehouse was loaded or last saved.
+     *
+     * @return A copy of the set of modified columns.
+     */
+    public EnumSet<WarehouseColumn> getDirtyColumns() {
+        return EnumSet.copyOf(dirtyColumns);
+    }
+
+    /**
+     * Marks all fields as saved. Called after the warehouse was written to the database.
+     */
+    public void markClean() {
+        dirtyColumns.clear();
+    }
+
+    /**
+     * Records that a column was modified and has to be written by the next update.
+     *
+     * @param column The modified column.
+     */
+    private void markDirty(WarehouseColumn column) {
+        dirtyColumns.add(column);
+    }
 }
@@ -0,0 +1,48 @@
+package com.oop.stockflow.model;
+
+/**
+ * Enumeration of the editable columns of the 'warehouses' table.
+ * Used to track which fields of a warehouse were modified, so updates only write those columns.
+ */
+public enum WarehouseColumn {
+    NAME("name", "?"),
+    ADDRESS("address", "?"),
+    CITY("city", "?"),
+    STATE("state", "?"),
+    POSTAL_CODE("postal_code", "?"),
+    MAX_CAPACITY_VOLUME_M3("max_capacity_volume_m3", "?"),
+    MAX_CAPACITY_WEIGHT_KG("max_capacity_weight_kg", "?"),
+    STATUS("status", "?::warehouse_status");
+
+    private final String dbValue;
+    private final String placeholder;
+
+    /**
+     * Constructs a WarehouseColumn enum with its corresponding column name.
+     *
+     * @param dbValue The name of the column in the database.
+     * @param placeholder The parameter placeholder, including a cast for enum typed columns.
+     */
+    WarehouseColumn(String dbValue, String placeholder) {
+        this.dbValue = dbValue;
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Retrieves the column name in the database.
+     *
+     * @return The column name.
+     */
+    public String getDbValue() {
+        return dbValue;
+    }
+
+    /**
+     * Retrieves the parameter placeholder used when writing this column.
+     *
+     * @return The placeholder, e.g. "?" or "?::warehouse_status".
+     */
+    public String getPlaceholder() {
+        return placeholder;
+    }
+}
@@ -0,0 +1,65 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.model.AuthenticatedUser;
+import com.oop.stockflow.model.UserType;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade of {@link AuthRepository}.
+ * Implements singleton pattern to ensure only one facade wraps the authentication repository.
+ * Failures complete the returned futures exceptionally with a {@link RepositoryException}.
+ */
+public class AsyncAuthRepository extends AsyncRepository {
+    private static AsyncAuthRepository instance;
+    private final AuthRepository repository = AuthRepository.getInstance();
+
+    private AsyncAuthRepository() {
+    }
+
+    /**
+     * Returns the singleton instance of the AsyncAuthRepository.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton AsyncAuthRepository instance.
+     */
+    public static synchronized AsyncAuthRepository getInstance() {
+        if (instance == null) {
+            instance = new AsyncAuthRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Authenticates a manager or staff member, see {@link AuthRepository#login(String, String)}.
+     *
+     * @param email The user's email address.
+     * @param password The user's plain-text password.
+     * @return A future completed with the authenticated user, or an empty Optional if the credentials are invalid.
+     */
+    public CompletableFuture<Optional<AuthenticatedUser>> login(String email, String password) {
+        return find(() -> repository.login(email, password));
+    }
+
+    /**
+     * Saves a session for a user, see {@link AuthRepository#saveSession(long, UserType)}.
+     *
+     * @param userId The ID of the user.
+     * @param userType The type of the user.
+     * @return A future completed when the session was saved.
+     */
+    public CompletableFuture<Void> saveSession(long userId, UserType userType) {
+        return write("save session of user " + userId, () -> repository.saveSession(userId, userType));
+    }
+
+    /**
+     * Deletes the session of a user, see {@link AuthRepository#deleteSession(long)}.
+     *
+     * @param userId The ID of the user.
+     * @return A future completed when the session was deleted.
+     */
+    public CompletableFuture<Void> deleteSession(long userId) {
+        return write("delete session of user " + userId, () -> repository.deleteSession(userId));
+    }
+}
@@ -0,0 +1,203 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.model.DemandForecast;
+import com.oop.stockflow.model.DryGoodProduct;
+import com.oop.stockflow.model.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade of {@link ProductRepository}.
+ * Implements singleton pattern to ensure only one facade wraps the product repository.
+ * Failures complete the returned futures exceptionally with a {@link RepositoryException}.
+ */
+public class AsyncProductRepository extends AsyncRepository {
+    private static AsyncProductRepository instance;
+    private final ProductRepository repository = ProductRepository.getInstance();
+
+    private AsyncProductRepository() {
+    }
+
+    /**
+     * Returns the singleton instance of the AsyncProductRepository.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton AsyncProductRepository instance.
+     */
+    public static synchronized AsyncProductRepository getInstance() {
+        if (instance == null) {
+            instance = new AsyncProductRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Adds a new product, see {@link ProductRepository#addProduct(Product)}.
+     *
+     * @param product The product to add.
+     * @return A future completed when the product was added.
+     */
+    public CompletableFuture<Void> addProduct(Product product) {
+        return write("add product " + product.getName(), () -> repository.addProduct(product));
+    }
+
+    /**
+     * Retrieves all products of a warehouse, see {@link ProductRepository#getAllProductsByWarehouseId(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the products.
+     */
+    public CompletableFuture<List<Product>> getAllProductsByWarehouseId(int warehouseId) {
+        return supply(() -> repository.getAllProductsByWarehouseId(warehouseId));
+    }
+
+    /**
+     * Counts the products of a warehouse, see {@link ProductRepository#countProductsByWarehouseId(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countProductsByWarehouseId(int warehouseId) {
+        return count("count products of warehouse " + warehouseId, () -> repository.countProductsByWarehouseId(warehouseId));
+    }
+
+    /**
+     * Counts the products of a manager, see {@link ProductRepository#countProductsByManagerId(int)}.
+     *
+     * @param managerId The ID of the manager.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countProductsByManagerId(int managerId) {
+        return count("count products of manager " + managerId, () -> repository.countProductsByManagerId(managerId));
+    }
+
+    /**
+     * Counts the low stock products of a warehouse, see {@link ProductRepository#countLowStockByWarehouseId(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countLowStockByWarehouseId(int warehouseId) {
+        return count("count low stock of warehouse " + warehouseId, () -> repository.countLowStockByWarehouseId(warehouseId));
+    }
+
+    /**
+     * Retrieves the low stock products of a warehouse, see {@link ProductRepository#getLowStockProductsByWarehouseId(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the products.
+     */
+    public CompletableFuture<List<Product>> getLowStockProductsByWarehouseId(int warehouseId) {
+        return supply(() -> repository.getLowStockProductsByWarehouseId(warehouseId));
+    }
+
+    /**
+     * Retrieves the reorder candidates of a manager, see {@link ProductRepository#getReorderCandidatesByManagerId(int)}.
+     *
+     * @param managerId The ID of the manager.
+     * @return A future completed with the products.
+     */
+    public CompletableFuture<List<DryGoodProduct>> getReorderCandidatesByManagerId(int managerId) {
+        return supply(QueryIntent.ANALYTICS, () -> repository.getReorderCandidatesByManagerId(managerId));
+    }
+
+    /**
+     * Counts the in stock products of a warehouse, see {@link ProductRepository#countInStock(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countInStock(int warehouseId) {
+        return count("count in stock of warehouse " + warehouseId, () -> repository.countInStock(warehouseId));
+    }
+
+    /**
+     * Counts the out of stock products of a warehouse, see {@link ProductRepository#countOutStock(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countOutStock(int warehouseId) {
+        return count("count out of stock of warehouse " + warehouseId, () -> repository.countOutStock(warehouseId));
+    }
+
+    /**
+     * Retrieves a product by its SKU, see {@link ProductRepository#getProductBySku(int)}.
+     *
+     * @param sku The SKU of the product.
+     * @return A future completed with the product, or an empty Optional if not found.
+     */
+    public CompletableFuture<Optional<Product>> getProductBySku(int sku) {
+        return find(() -> repository.getProductBySku(sku));
+    }
+
+    /**
+     * Retrieves several products by their SKUs, see {@link ProductRepository#getProductsBySkus(Collection)}.
+     *
+     * @param skus The SKUs of the products.
+     * @return A future completed with the products found.
+     */
+    public CompletableFuture<List<Product>> getProductsBySkus(Collection<Integer> skus) {
+        return supply(() -> repository.getProductsBySkus(skus));
+    }
+
+    /**
+     * Updates a product, see {@link ProductRepository#updateProduct(Product)}.
+     *
+     * @param product The product with the updated data and the version it was loaded with.
+     * @return A future completed with UPDATED, CONFLICT or NOT_FOUND, or exceptionally if a database error occurs.
+     */
+    public CompletableFuture<ProductUpdateResult> updateProduct(Product product) {
+        return supply(QueryIntent.WRITE, () -> {
+            ProductUpdateResult result = repository.updateProduct(product);
+            if (result == ProductUpdateResult.FAILED) {
+                throw failure("update product " + product.getSku());
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Writes forecasted reorder points back, see {@link ProductRepository#updateForecastedReorderPoints(Collection)}.
+     *
+     * @param forecasts The forecasts to apply.
+     * @return A future completed with the number of products updated.
+     */
+    public CompletableFuture<Integer> updateForecastedReorderPoints(Collection<DemandForecast> forecasts) {
+        return count(QueryIntent.WRITE, "update forecasted reorder points", () -> repository.updateForecastedReorderPoints(forecasts));
+    }
+
+    /**
+     * Retrieves the name of a product, see {@link ProductRepository#getProductNameBySku(int)}.
+     *
+     * @param sku The SKU of the product.
+     * @return A future completed with the name, or an empty Optional if not found.
+     */
+    public CompletableFuture<Optional<String>> getProductNameBySku(int sku) {
+        return find(() -> repository.getProductNameBySku(sku));
+    }
+
+    /**
+     * Retrieves the brand of a product, see {@link ProductRepository#getProductBrandBySku(int)}.
+     *
+     * @param sku The SKU of the product.
+     * @return A future completed with the brand, or an empty Optional if not found.
+     */
+    public CompletableFuture<Optional<String>> getProductBrandBySku(int sku) {
+        return find(() -> repository.getProductBrandBySku(sku));
+    }
+
+    /**
+     * Deletes a product, see {@link ProductRepository#deleteProduct(int)}.
+     *
+     * @param sku The SKU of the product.
+     * @return A future completed when the product was deleted.
+     */
+    public CompletableFuture<Void> deleteProduct(int sku) {
+        return write("delete product " + sku, () -> repository.deleteProduct(sku));
+    }
+}
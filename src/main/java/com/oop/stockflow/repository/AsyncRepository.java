@@ -0,0 +1,137 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.db.DatabaseErrors;
+import com.oop.stockflow.db.DatabaseExecutor;
+import com.oop.stockflow.db.QueryIntent;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Base class of the asynchronous repository facades.
+ * Runs blocking repository calls on the {@link DatabaseExecutor} and turns their sentinel
+ * return values into typed results: failed writes and failed counts complete the future
+ * exceptionally with a {@link RepositoryException}, and lookups complete with an {@link Optional}.
+ * Reads and lookups that hit a database error, which the blocking repositories swallow and answer with
+ * an empty list or null, fail as well, so "no rows" is never confused with a failed query.
+ * The SQLException recorded in {@link DatabaseErrors} during the call becomes the cause of the failure.
+ * Writes are scheduled against the write pool, everything else against the read pool.
+ */
+abstract class AsyncRepository {
+
+    /**
+     * Runs a call whose result is returned as-is.
+     *
+     * @param <T> The type of the result.
+     * @param call The blocking repository call.
+     * @return A future completed with the result of the call.
+     */
+    protected <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return supply(QueryIntent.READ, call);
+    }
+
+    /**
+     * Runs a call whose result is returned as-is, scheduled against the pool of the given intent.
+     *
+     * @param <T> The type of the result.
+     * @param intent Whether the call only reads.
+     * @param call The blocking repository call.
+     * @return A future completed with the result of the call.
+     */
+    protected <T> CompletableFuture<T> supply(QueryIntent intent, Supplier<T> call) {
+        return DatabaseExecutor.supplyAsync(intent, () -> checked("read", call));
+    }
+
+    /**
+     * Runs a lookup that returns null when nothing was found.
+     *
+     * @param <T> The type of the result.
+     * @param call The blocking repository call.
+     * @return A future completed with the result, or an empty Optional if nothing was found.
+     */
+    protected <T> CompletableFuture<Optional<T>> find(Supplier<T> call) {
+        return DatabaseExecutor.supplyAsync(QueryIntent.READ, () -> Optional.ofNullable(checked("lookup", call)));
+    }
+
+    /**
+     * Runs a count that returns a negative value on failure.
+     *
+     * @param operation A short description of the count, used in the failure.
+     * @param call The blocking repository call.
+     * @return A future completed with the count, or exceptionally with a RepositoryException.
+     */
+    protected CompletableFuture<Integer> count(String operation, IntSupplier call) {
+        return count(QueryIntent.READ, operation, call);
+    }
+
+    /**
+     * Runs a count that returns a negative value on failure, scheduled against the pool of the given intent.
+     * Used for writes that return the number of rows they changed.
+     *
+     * @param intent Whether the call only reads.
+     * @param operation A short description of the count, used in the failure.
+     * @param call The blocking repository call.
+     * @return A future completed with the count, or exceptionally with a RepositoryException.
+     */
+    protected CompletableFuture<Integer> count(QueryIntent intent, String operation, IntSupplier call) {
+        return DatabaseExecutor.supplyAsync(intent, () -> {
+            DatabaseErrors.clear();
+            int count = call.getAsInt();
+            if (count < 0) {
+                throw failure(operation);
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Runs a write that returns false on failure.
+     *
+     * @param operation A short description of the write, used in the failure.
+     * @param call The blocking repository call.
+     * @return A future completed when the write succeeded, or exceptionally with a RepositoryException.
+     */
+    protected CompletableFuture<Void> write(String operation, BooleanSupplier call) {
+        return DatabaseExecutor.supplyAsync(QueryIntent.WRITE, () -> {
+            DatabaseErrors.clear();
+            if (!call.getAsBoolean()) {
+                throw failure(operation);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Creates the failure of a call that returned a sentinel value, with the database error it swallowed as cause.
+     * Must be called on the thread that ran the call.
+     *
+     * @param operation A short description of the failed call.
+     * @return The exception to throw.
+     */
+    protected static RepositoryException failure(String operation) {
+        return new RepositoryException(operation, DatabaseErrors.take());
+    }
+
+    /**
+     * Runs a call and fails if it hit a database error, whatever it returned.
+     *
+     * @param <T> The type of the result.
+     * @param operation A short description of the call, used in the failure.
+     * @param call The blocking repository call.
+     * @return The result of the call.
+     * @throws RepositoryException If a database error was raised during the call.
+     */
+    private static <T> T checked(String operation, Supplier<T> call) {
+        DatabaseErrors.clear();
+        T result = call.get();
+        SQLException error = DatabaseErrors.take();
+        if (error != null) {
+            throw new RepositoryException(operation, error);
+        }
+        return result;
+    }
+}
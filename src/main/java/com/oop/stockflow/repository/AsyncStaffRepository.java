@@ -0,0 +1,109 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.model.Staff;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade of {@link StaffRepository}.
+ * Implements singleton pattern to ensure only one facade wraps the staff repository.
+ * Failures complete the returned futures exceptionally with a {@link RepositoryException}.
+ */
+public class AsyncStaffRepository extends AsyncRepository {
+    private static AsyncStaffRepository instance;
+    private final StaffRepository repository = StaffRepository.getInstance();
+
+    private AsyncStaffRepository() {
+    }
+
+    /**
+     * Returns the singleton instance of the AsyncStaffRepository.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton AsyncStaffRepository instance.
+     */
+    public static synchronized AsyncStaffRepository getInstance() {
+        if (instance == null) {
+            instance = new AsyncStaffRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a staff member, see {@link StaffRepository#createStaff(String, String, String, int)}.
+     *
+     * @param name The full name of the staff member.
+     * @param email The unique email address.
+     * @param password The plain-text password.
+     * @param warehouseId The ID of the warehouse the staff member belongs to.
+     * @return A future completed when the staff member was created.
+     */
+    public CompletableFuture<Void> createStaff(String name, String email, String password, int warehouseId) {
+        return write("create staff " + email, () -> repository.createStaff(name, email, password, warehouseId));
+    }
+
+    /**
+     * Retrieves the staff members of a warehouse, see {@link StaffRepository#getStaffByWarehouse(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the staff members.
+     */
+    public CompletableFuture<List<Staff>> getStaffByWarehouse(int warehouseId) {
+        return supply(() -> repository.getStaffByWarehouse(warehouseId));
+    }
+
+    /**
+     * Retrieves a staff member by ID, see {@link StaffRepository#getStaffById(int)}.
+     *
+     * @param staffId The ID of the staff member.
+     * @return A future completed with the staff member, or an empty Optional if not found.
+     */
+    public CompletableFuture<Optional<Staff>> getStaffById(int staffId) {
+        return find(() -> repository.getStaffById(staffId));
+    }
+
+    /**
+     * Counts the staff members of a warehouse, see {@link StaffRepository#countStaffByWarehouseId(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countStaffByWarehouseId(int warehouseId) {
+        return count("count staff of warehouse " + warehouseId, () -> repository.countStaffByWarehouseId(warehouseId));
+    }
+
+    /**
+     * Counts the staff members of a manager, see {@link StaffRepository#countAllStaffByManagerId(int)}.
+     *
+     * @param managerId The ID of the manager.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countAllStaffByManagerId(int managerId) {
+        return count("count staff of manager " + managerId, () -> repository.countAllStaffByManagerId(managerId));
+    }
+
+    /**
+     * Updates a staff member, see {@link StaffRepository#updateStaffDetails(int, String, String, String)}.
+     *
+     * @param staffId The ID of the staff member.
+     * @param newName The new name, or null to keep it.
+     * @param newEmail The new email, or null to keep it.
+     * @param newPlainTextPassword The new password, or null to keep it.
+     * @return A future completed when the staff member was updated.
+     */
+    public CompletableFuture<Void> updateStaffDetails(int staffId, String newName, String newEmail, String newPlainTextPassword) {
+        return write("update staff " + staffId, () -> repository.updateStaffDetails(staffId, newName, newEmail, newPlainTextPassword));
+    }
+
+    /**
+     * Deletes a staff member, see {@link StaffRepository#deleteStaff(int)}.
+     *
+     * @param staffId The ID of the staff member.
+     * @return A future completed when the staff member was deleted.
+     */
+    public CompletableFuture<Void> deleteStaff(int staffId) {
+        return write("delete staff " + staffId, () -> repository.deleteStaff(staffId));
+    }
+}
@@ -0,0 +1,163 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.model.InboundTransaction;
+import com.oop.stockflow.model.ShippingType;
+import com.oop.stockflow.model.Transaction;
+import com.oop.stockflow.model.TransactionStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade of {@link TransactionRepository}.
+ * Implements singleton pattern to ensure only one facade wraps the transaction repository.
+ * Failures complete the returned futures exceptionally with a {@link RepositoryException}.
+ */
+public class AsyncTransactionRepository extends AsyncRepository {
+    private static AsyncTransactionRepository instance;
+    private final TransactionRepository repository = TransactionRepository.getInstance();
+
+    private AsyncTransactionRepository() {
+    }
+
+    /**
+     * Returns the singleton instance of the AsyncTransactionRepository.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton AsyncTransactionRepository instance.
+     */
+    public static synchronized AsyncTransactionRepository getInstance() {
+        if (instance == null) {
+            instance = new AsyncTransactionRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Creates an inbound transaction once per request ID, see {@link TransactionRepository#createInboundTransaction(UUID, int, Timestamp, ShippingType, int, int, TransactionStatus, LocalDate)}.
+     *
+     * @param requestId The ID of this submission, repeated when it is retried.
+     * @param staffId The ID of the staff member recording the transaction.
+     * @param date The date of the transaction.
+     * @param shippingMethod The shipping method.
+     * @param productSku The SKU of the received product.
+     * @param quantity The received quantity.
+     * @param initialStatus The initial status.
+     * @param expiryDate The expiry date of the received lot, or null.
+     * @return A future completed when the transaction was created.
+     */
+    public CompletableFuture<Void> createInboundTransaction(UUID requestId, int staffId, Timestamp date, ShippingType shippingMethod, int productSku, int quantity, TransactionStatus initialStatus, LocalDate expiryDate) {
+        return write("create inbound transaction for SKU " + productSku,
+                () -> repository.createInboundTransaction(requestId, staffId, date, shippingMethod, productSku, quantity, initialStatus, expiryDate));
+    }
+
+    /**
+     * Creates an outbound transaction once per request ID, see {@link TransactionRepository#createOutboundTransaction(UUID, int, Timestamp, String, ShippingType, int, int, TransactionStatus)}.
+     *
+     * @param requestId The ID of this submission, repeated when it is retried.
+     * @param staffId The ID of the staff member recording the transaction.
+     * @param date The date of the transaction.
+     * @param destinationAddress The destination address.
+     * @param shippingMethod The shipping method.
+     * @param quantity The shipped quantity.
+     * @param productSku The SKU of the shipped product.
+     * @param initialStatus The initial status.
+     * @return A future completed when the transaction was created.
+     */
+    public CompletableFuture<Void> createOutboundTransaction(UUID requestId, int staffId, Timestamp date, String destinationAddress, ShippingType shippingMethod, int quantity, int productSku, TransactionStatus initialStatus) {
+        return write("create outbound transaction for SKU " + productSku,
+                () -> repository.createOutboundTransaction(requestId, staffId, date, destinationAddress, shippingMethod, quantity, productSku, initialStatus));
+    }
+
+    /**
+     * Retrieves the transactions of a staff member, see {@link TransactionRepository#getAllTransactionsByStaffId(int)}.
+     *
+     * @param staffId The ID of the staff member.
+     * @return A future completed with the transactions, newest first.
+     */
+    public CompletableFuture<List<Transaction>> getAllTransactionsByStaffId(int staffId) {
+        return supply(() -> repository.getAllTransactionsByStaffId(staffId));
+    }
+
+    /**
+     * Retrieves a transaction by its ID, see {@link TransactionRepository#getTransactionById(long)}.
+     *
+     * @param transactionId The ID of the transaction.
+     * @return A future completed with the transaction, or an empty Optional if not found.
+     */
+    public CompletableFuture<Optional<Transaction>> getTransactionById(long transactionId) {
+        return find(() -> repository.getTransactionById(transactionId));
+    }
+
+    /**
+     * Counts today's outbound transactions of a warehouse, see {@link TransactionRepository#countTodayOutboundTransaction(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countTodayOutboundTransaction(int warehouseId) {
+        return count("count today's outbound of warehouse " + warehouseId, () -> repository.countTodayOutboundTransaction(warehouseId));
+    }
+
+    /**
+     * Counts today's inbound transactions of a warehouse, see {@link TransactionRepository#countTodayInboundTransaction(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countTodayInboundTransaction(int warehouseId) {
+        return count("count today's inbound of warehouse " + warehouseId, () -> repository.countTodayInboundTransaction(warehouseId));
+    }
+
+    /**
+     * Updates the status of a transaction, see {@link TransactionRepository#updateTransactionStatus(long, TransactionStatus)}.
+     *
+     * @param transactionId The ID of the transaction.
+     * @param newStatus The new status.
+     * @return A future completed when the status was updated.
+     */
+    public CompletableFuture<Void> updateTransactionStatus(long transactionId, TransactionStatus newStatus) {
+        return write("update status of transaction " + transactionId, () -> repository.updateTransactionStatus(transactionId, newStatus));
+    }
+
+    /**
+     * Retrieves one page of the transactions of a warehouse, see {@link TransactionRepository#getTransactionsByWarehouse(int, TransactionFilter, Transaction, int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @param filter The status, type and date criteria.
+     * @param after The last transaction of the previous page, or null for the first page.
+     * @param pageSize The maximum number of transactions to return.
+     * @return A future completed with the page, newest first.
+     */
+    public CompletableFuture<List<Transaction>> getTransactionsByWarehouse(int warehouseId, TransactionFilter filter, Transaction after, int pageSize) {
+        return supply(() -> repository.getTransactionsByWarehouse(warehouseId, filter, after, pageSize));
+    }
+
+    /**
+     * Retrieves the tracked expiry lots of a warehouse, see {@link TransactionRepository#getExpiryLotsByWarehouseId(int, int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @param expiredLookbackDays How many days already expired lots are still returned.
+     * @return A future completed with the lots.
+     */
+    public CompletableFuture<List<InboundTransaction>> getExpiryLotsByWarehouseId(int warehouseId, int expiredLookbackDays) {
+        return supply(() -> repository.getExpiryLotsByWarehouseId(warehouseId, expiredLookbackDays));
+    }
+
+    /**
+     * Retrieves the daily outbound counts of a warehouse, see {@link TransactionRepository#getOutboundTransactionCounts(int, int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @param days The number of days to include.
+     * @return A future completed with the counts per day.
+     */
+    public CompletableFuture<Map<LocalDate, Integer>> getOutboundTransactionCounts(int warehouseId, int days) {
+        return supply(QueryIntent.ANALYTICS, () -> repository.getOutboundTransactionCounts(warehouseId, days));
+    }
+}
@@ -0,0 +1,93 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.model.Warehouse;
+import com.oop.stockflow.model.WarehouseStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade of {@link WarehouseRepository}.
+ * Implements singleton pattern to ensure only one facade wraps the warehouse repository.
+ * Failures complete the returned futures exceptionally with a {@link RepositoryException}.
+ */
+public class AsyncWarehouseRepository extends AsyncRepository {
+    private static AsyncWarehouseRepository instance;
+    private final WarehouseRepository repository = WarehouseRepository.getInstance();
+
+    private AsyncWarehouseRepository() {
+    }
+
+    /**
+     * Returns the singleton instance of the AsyncWarehouseRepository.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton AsyncWarehouseRepository instance.
+     */
+    public static synchronized AsyncWarehouseRepository getInstance() {
+        if (instance == null) {
+            instance = new AsyncWarehouseRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Inserts a new warehouse, see {@link WarehouseRepository#insertWarehouse(String, String, String, String, String, double, double, WarehouseStatus, int)}.
+     *
+     * @param name The warehouse name.
+     * @param address The street address.
+     * @param city The city.
+     * @param state The state or province.
+     * @param postalCode The postal code.
+     * @param storageCapacityKg The maximum weight capacity in kilograms.
+     * @param storageCapacityM3 The maximum volume capacity in cubic meters.
+     * @param status The initial status.
+     * @param managerId The ID of the owning manager.
+     * @return A future completed when the warehouse was inserted.
+     */
+    public CompletableFuture<Void> insertWarehouse(String name, String address, String city, String state, String postalCode, double storageCapacityKg, double storageCapacityM3, WarehouseStatus status, int managerId) {
+        return write("insert warehouse " + name,
+                () -> repository.insertWarehouse(name, address, city, state, postalCode, storageCapacityKg, storageCapacityM3, status, managerId));
+    }
+
+    /**
+     * Updates the modified fields of a warehouse, see {@link WarehouseRepository#updateWarehouse(Warehouse)}.
+     *
+     * @param warehouse The warehouse holding the modified fields.
+     * @return A future completed when the warehouse was updated.
+     */
+    public CompletableFuture<Void> updateWarehouse(Warehouse warehouse) {
+        return write("update warehouse " + warehouse.getId(), () -> repository.updateWarehouse(warehouse));
+    }
+
+    /**
+     * Retrieves a warehouse by its ID, see {@link WarehouseRepository#getWarehouseById(int)}.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A future completed with the warehouse, or an empty Optional if not found.
+     */
+    public CompletableFuture<Optional<Warehouse>> getWarehouseById(int warehouseId) {
+        return find(() -> repository.getWarehouseById(warehouseId));
+    }
+
+    /**
+     * Retrieves all warehouses of a manager, see {@link WarehouseRepository#getAllWarehousesByManagerId(int)}.
+     *
+     * @param managerId The ID of the manager.
+     * @return A future completed with the warehouses.
+     */
+    public CompletableFuture<List<Warehouse>> getAllWarehousesByManagerId(int managerId) {
+        return supply(() -> repository.getAllWarehousesByManagerId(managerId));
+    }
+
+    /**
+     * Counts the warehouses of a manager, see {@link WarehouseRepository#countWarehouseByManagerId(int)}.
+     *
+     * @param managerId The ID of the manager.
+     * @return A future completed with the count.
+     */
+    public CompletableFuture<Integer> countWarehouseByManagerId(int managerId) {
+        return count("count warehouses of manager " + managerId, () -> repository.countWarehouseByManagerId(managerId));
+    }
+}
@@ -1,6 +1,7 @@
 package com.oop.stockflow.repository;
 
 import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.AuthenticatedUser;
 import com.oop.stockflow.model.TransactionType;
 import com.oop.stockflow.model.UserType;
@@ -10,6 +11,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.UUID;
 
 /**
@@ -18,6 +20,13 @@ import java.util.UUID;
  * Provides methods for user login, session management, and password validation using BCrypt.
  */
 public class AuthRepository {
+    private static final Logger LOGGER = Logger.getLogger(AuthRepository.class);
+
+    // statements whose plans QueryPlanCheck explains through HotQuery
+    static final String MANAGER_BY_EMAIL_SQL = "SELECT id, name, password FROM managers WHERE email = ?";
+    static final String STAFF_BY_EMAIL_SQL = "SELECT id, name, password FROM staff WHERE email = ?";
+    static final String DELETE_SESSIONS_SQL = "DELETE FROM sessions WHERE user_id = ?";
+
     private static AuthRepository instance;
 
     /**
@@ -51,8 +60,7 @@ public class AuthRepository {
      * or {@code null} if authentication fails (invalid email, wrong password, or database error).
      */
     public AuthenticatedUser login(String email, String password) {
-        String managerQuery = "SELECT id, name, password FROM managers WHERE email = ?";
-        try (PreparedStatement managerStmt = DatabaseManager.getConnection().prepareStatement(managerQuery)) {
+        try (PreparedStatement managerStmt = DatabaseManager.getConnection().prepareStatement(MANAGER_BY_EMAIL_SQL)) {
             managerStmt.setString(1, email);
             ResultSet managerResult = managerStmt.executeQuery();
 
@@ -60,12 +68,11 @@ public class AuthRepository {
                 return validateAndCreateUser(managerResult, password, UserType.MANAGER);
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed querying for manager: " + e.getMessage());
+            LOGGER.error("Failed querying for manager", e);
             return null;
         }
 
-        String staffQuery = "SELECT id, name, password FROM staff WHERE email = ?";
-        try (PreparedStatement staffStmt = DatabaseManager.getConnection().prepareStatement(staffQuery)) {
+        try (PreparedStatement staffStmt = DatabaseManager.getConnection().prepareStatement(STAFF_BY_EMAIL_SQL)) {
             staffStmt.setString(1, email);
             ResultSet staffResult = staffStmt.executeQuery();
 
@@ -73,7 +80,7 @@ public class AuthRepository {
                 return validateAndCreateUser(staffResult, password, UserType.STAFF);
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed querying for staff: " + e.getMessage());
+            LOGGER.error("Failed querying for staff", e);
             return null;
         }
 
@@ -120,8 +127,7 @@ public class AuthRepository {
             stmt.setString(3, token);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed to save session: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to save session", e);
             return false;
         }
     }
@@ -134,16 +140,53 @@ public class AuthRepository {
      * @return true if the session was successfully deleted (one or more rows affected), false otherwise (e.g., no session found or a database error occurred).
      */
     public boolean deleteSession(long userId) { // Parameter changed to long userId
-        String query = "DELETE FROM sessions WHERE user_id = ?";
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(DELETE_SESSIONS_SQL)) {
             stmt.setLong(1, userId);
             // executeUpdate returns the number of rows affected
             return stmt.executeUpdate() > 0; // Returns true if at least one session was deleted
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed to delete session for user ID " + userId + ": " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to delete session for user ID {}", userId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Marks the sessions of a user as still in use, so they are not swept as idle.
+     *
+     * @param userId The ID of the user (Manager or Staff).
+     * @param userType The type of the user (MANAGER or STAFF).
+     * @return true if a session of the user was found and updated, false otherwise.
+     */
+    public boolean touchSession(long userId, UserType userType) {
+        String query = "UPDATE sessions SET last_seen_at = CURRENT_TIMESTAMP WHERE user_id = ? AND user_type = ?::user_role";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setLong(1, userId);
+            stmt.setString(2, userType.getDbValue());
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            LOGGER.error("Failed to touch session for user ID {}", userId, e);
             return false;
         }
     }
+
+    /**
+     * Deletes every session that has not been touched for longer than the idle timeout,
+     * e.g. sessions of clients that crashed or lost power before logging out.
+     *
+     * @param idleTimeout How long a session may go without a heartbeat.
+     * @return The number of sessions deleted, or -1 if a database error occurred.
+     */
+    public int deleteIdleSessions(Duration idleTimeout) {
+        String query = "DELETE FROM sessions WHERE last_seen_at < CURRENT_TIMESTAMP - make_interval(secs => ?)";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setLong(1, idleTimeout.getSeconds());
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            LOGGER.error("Failed to delete idle sessions", e);
+            return -1;
+        }
+    }
 }
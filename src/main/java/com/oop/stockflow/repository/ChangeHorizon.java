@@ -0,0 +1,36 @@
+package com.oop.stockflow.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads the change horizon: the ID of the oldest transaction still running when the query starts.
+ * Every change stamped with a lower transaction ID has committed or rolled back, so a change cursor
+ * kept below the horizon never passes a change that commits later, however long its transaction ran.
+ * A transaction left open holds the horizon back; its changes and the ones after it are delayed, never lost.
+ */
+final class ChangeHorizon {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private ChangeHorizon() {
+    }
+
+    /**
+     * Reads the change horizon on a connection, before the delta queries that it bounds.
+     *
+     * @param conn The connection the delta is read on.
+     * @return The horizon, an upper bound (exclusive) for the change transaction IDs of a delta.
+     * @throws SQLException If the query fails.
+     */
+    static long read(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT change_horizon()");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
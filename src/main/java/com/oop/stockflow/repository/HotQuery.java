@@ -0,0 +1,104 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.model.TransactionStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A statement run on every visit of a screen, with sample parameters, as checked by the query plan check.
+ * The statements are the ones the repositories execute, so a change to a repository query is checked as written.
+ */
+public final class HotQuery {
+    private static final int SAMPLE_PAGE_SIZE = 50;
+    private static final int SAMPLE_CHART_DAYS = 7;
+    private static final int SAMPLE_EXPIRED_LOOKBACK_DAYS = 30;
+
+    private final String name;
+    private final String sql;
+    private final Object[] parameters;
+
+    private HotQuery(String name, String sql, Object... parameters) {
+        this.name = name;
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Lists the hot statements of the repositories, bound to the given sample rows.
+     *
+     * @param managerId The ID of a manager.
+     * @param managerEmail The email of that manager.
+     * @param warehouseId The ID of a warehouse of that manager.
+     * @param staffId The ID of a staff member of that warehouse.
+     * @param staffEmail The email of that staff member.
+     * @param sku The SKU of a product of that warehouse.
+     * @param transactionId The ID of a transaction recorded by that staff member.
+     * @return The statements, in repository order.
+     */
+    public static List<HotQuery> all(int managerId, String managerEmail, int warehouseId, int staffId, String staffEmail,
+                                     int sku, long transactionId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String committed = TransactionStatus.COMMITTED.getDbValue();
+        String committedPage = " AND status = ?::transaction_status AND (date, id) < (?, ?)";
+        return List.of(
+                new HotQuery("AuthRepository.login (manager)", AuthRepository.MANAGER_BY_EMAIL_SQL, managerEmail),
+                new HotQuery("AuthRepository.login (staff)", AuthRepository.STAFF_BY_EMAIL_SQL, staffEmail),
+                new HotQuery("AuthRepository.deleteSession", AuthRepository.DELETE_SESSIONS_SQL, (long) staffId),
+
+                new HotQuery("WarehouseRepository.getAllWarehousesByManagerId", WarehouseRepository.WAREHOUSES_BY_MANAGER_SQL, managerId),
+                new HotQuery("StaffRepository.getStaffByWarehouse", StaffRepository.STAFF_BY_WAREHOUSE_SQL, warehouseId),
+                new HotQuery("StaffRepository.countAllStaffByManagerId", StaffRepository.COUNT_STAFF_BY_MANAGER_SQL, managerId),
+
+                new HotQuery("ProductRepository.getAllProductsByWarehouseId", ProductRepository.PRODUCTS_BY_WAREHOUSE_SQL, warehouseId),
+                new HotQuery("ProductRepository.countProductsByWarehouseId", ProductRepository.COUNT_PRODUCTS_BY_WAREHOUSE_SQL, warehouseId),
+                new HotQuery("ProductRepository.countProductsByManagerId", ProductRepository.COUNT_PRODUCTS_BY_MANAGER_SQL, managerId),
+                new HotQuery("ProductRepository.countLowStockByWarehouseId", ProductRepository.COUNT_LOW_STOCK_SQL, warehouseId),
+                new HotQuery("ProductRepository.getReorderCandidatesByManagerId", ProductRepository.REORDER_CANDIDATES_SQL, managerId),
+                new HotQuery("ProductRepository.getProductBySku", ProductRepository.PRODUCT_BY_SKU_SQL, sku),
+
+                new HotQuery("TransactionRepository.getAllTransactionsByStaffId", TransactionRepository.TRANSACTIONS_BY_STAFF_SQL, staffId),
+                new HotQuery("TransactionRepository.getTransactionById", TransactionRepository.TRANSACTION_BY_ID_SQL, transactionId),
+                new HotQuery("TransactionRepository.countTodayOutboundTransaction", TransactionRepository.COUNT_TODAY_OUTBOUND_SQL, warehouseId),
+                new HotQuery("TransactionRepository.getOutboundTransactionCounts", TransactionRepository.OUTBOUND_COUNTS_SQL,
+                        warehouseId, SAMPLE_CHART_DAYS - 1, TransactionRepository.OUTBOUND_ROLLUP,
+                        warehouseId, SAMPLE_CHART_DAYS - 1, TransactionRepository.OUTBOUND_ROLLUP),
+                new HotQuery("TransactionRepository.getExpiryLotsByWarehouseId", TransactionRepository.EXPIRY_LOTS_SQL,
+                        warehouseId, SAMPLE_EXPIRED_LOOKBACK_DAYS),
+                new HotQuery("TransactionRepository.getTransactionsByWarehouse", TransactionRepository.warehousePageSql(committedPage),
+                        warehouseId, committed, now, transactionId, SAMPLE_PAGE_SIZE,
+                        warehouseId, committed, now, transactionId, SAMPLE_PAGE_SIZE,
+                        SAMPLE_PAGE_SIZE),
+
+                new HotQuery("StockEventRepository.getQuantityAt", StockEventRepository.QUANTITY_AT_SQL, sku, now)
+        );
+    }
+
+    /**
+     * Retrieves the name of the repository method that runs the statement.
+     *
+     * @return The method name, qualified with its repository.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the statement as the repository prepares it.
+     *
+     * @return The SQL statement.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Retrieves the sample parameters of the statement, in binding order.
+     *
+     * @return A copy of the parameters.
+     */
+    public Object[] getParameters() {
+        return parameters.clone();
+    }
+}
@@ -1,16 +1,23 @@
 package com.oop.stockflow.repository;
 
 import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.logging.Logger;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Repository class for handling manager-related database operations.
- * Provides methods for manager registration and data persistence.
+ * Provides methods for manager registration, data persistence and listing managers for background jobs.
  */
 public class ManagerRepository {
+    private static final Logger LOGGER = Logger.getLogger(ManagerRepository.class);
+
     /**
      * Registers a new manager in the database.
      * Note: This method currently stores the password as plain text.
@@ -36,8 +43,30 @@ public class ManagerRepository {
             int rows = stmt.executeUpdate();
             return rows > 0;
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed to register manager: " + e.getMessage());
+            LOGGER.error("Failed to register manager", e);
             return false;
         }
     }
+
+    /**
+     * Retrieves the IDs of all registered managers.
+     *
+     * @return A list of manager IDs in ascending order, or an empty list if there are none or an error occurs.
+     */
+    public List<Integer> getAllManagerIds() {
+        List<Integer> ids = new ArrayList<>();
+        String sql = "SELECT id FROM managers ORDER BY id";
+
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                ids.add(rs.getInt("id"));
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to list managers", e);
+        }
+        return ids;
+    }
 }
@@ -0,0 +1,367 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.db.WriteAheadLog;
+import com.oop.stockflow.logging.Logger;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps transaction creations that could not reach the database in a local write-ahead log and
+ * replays them once the database is reachable again.
+ * Implements singleton pattern to ensure only one instance owns the queue file.
+ *
+ * A queued transaction is on disk before {@link TransactionRepository} reports it as saved, so it
+ * survives a crash or a restart of the application. A background thread retries every few seconds
+ * while transactions are pending and replays them in the order they were queued, in batches that
+ * are each inserted in one database transaction. A batch the database rejects for another reason
+ * than connectivity is replayed one transaction at a time, and transactions that still fail, such
+ * as an outbound transaction that no longer has enough stock, are moved to a dead-letter file with
+ * the reason of the rejection, where the staff screens show them until a user retries or discards them. Every queued
+ * transaction keeps the request ID of its submission, so a batch that committed but was not marked
+ * as replayed before a crash inserts nothing when it is replayed again.
+ *
+ * Configured through the optional .env entries {@code OFFLINE_QUEUE_FILE}
+ * (default {@code queue/transactions.wal}) and {@code OFFLINE_REJECTED_FILE} (default {@code queue/rejected.wal}).
+ */
+public class OfflineTransactionQueue {
+    private static final Logger LOGGER = Logger.getLogger(OfflineTransactionQueue.class);
+
+    private static final int INITIAL_FILE_SIZE = 1024 * 1024;
+    private static final int REPLAY_BATCH_SIZE = 200;
+    private static final long RETRY_DELAY_MS = 5000;
+    private static final int MAX_REASON_LENGTH = 500;
+
+    private static OfflineTransactionQueue instance;
+
+    private final TransactionRepository transactionRepository = TransactionRepository.getInstance();
+    private final WriteAheadLog log;
+    private final WriteAheadLog rejectedLog;
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     * Opens the queue and dead-letter files and starts replaying transactions left over from an earlier session.
+     */
+    private OfflineTransactionQueue() {
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        Path file = Paths.get(dotenv.get("OFFLINE_QUEUE_FILE", "queue/transactions.wal"));
+        Path rejectedFile = Paths.get(dotenv.get("OFFLINE_REJECTED_FILE", "queue/rejected.wal"));
+
+        WriteAheadLog openedRejected = null;
+        try {
+            openedRejected = new WriteAheadLog(rejectedFile, INITIAL_FILE_SIZE);
+            if (openedRejected.getPendingCount() > 0) {
+                LOGGER.warn("Found {} rejected queued transactions waiting for review.", openedRejected.getPendingCount());
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to open dead-letter file {}, rejected transactions stay queued", rejectedFile, e);
+        }
+        this.rejectedLog = openedRejected;
+
+        WriteAheadLog opened = null;
+        try {
+            opened = new WriteAheadLog(file, INITIAL_FILE_SIZE);
+            if (opened.getPendingCount() > 0) {
+                LOGGER.info("Found {} queued transactions from an earlier session.", opened.getPendingCount());
+            }
+            Thread replayThread = new Thread(this::runReplay, "offline-queue-replay");
+            replayThread.setDaemon(true);
+            replayThread.start();
+        } catch (IOException e) {
+            LOGGER.error("Unable to open offline queue {}, transactions cannot be queued", file, e);
+        }
+        this.log = opened;
+    }
+
+    /**
+     * Returns the singleton instance of the OfflineTransactionQueue.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton OfflineTransactionQueue instance.
+     */
+    public static synchronized OfflineTransactionQueue getInstance() {
+        if (instance == null) {
+            instance = new OfflineTransactionQueue();
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the number of queued transactions that have not reached the database yet.
+     *
+     * @return The pending transaction count.
+     */
+    public int getPendingCount() {
+        return log != null ? log.getPendingCount() : 0;
+    }
+
+    /**
+     * Retrieves the number of queued transactions the database rejected, waiting for a user to retry or discard them.
+     *
+     * @return The rejected transaction count.
+     */
+    public int getRejectedCount() {
+        return rejectedLog != null ? rejectedLog.getPendingCount() : 0;
+    }
+
+    /**
+     * Lists the queued transactions the database rejected, oldest first.
+     *
+     * @return The rejected transactions, or an empty list if there are none.
+     */
+    public List<RejectedTransaction> getRejected() {
+        List<RejectedTransaction> rejected = new ArrayList<>();
+        if (rejectedLog == null) {
+            return rejected;
+        }
+        for (byte[] entry : rejectedLog.peek(Integer.MAX_VALUE)) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry))) {
+                LocalDateTime rejectedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.systemDefault());
+                String reason = in.readUTF();
+                QueuedTransaction transaction = QueuedTransaction.decode(in.readAllBytes());
+                rejected.add(new RejectedTransaction(transaction, reason, rejectedAt));
+            } catch (IOException e) {
+                rejected.add(new RejectedTransaction(null, "Unreadable dead-letter entry", null));
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Queues the oldest rejected transactions again, e.g. once the missing stock has been received.
+     * Each is moved back to the queue before it leaves the dead-letter file, so none is lost by a crash.
+     *
+     * @param count The number of rejected transactions to retry, as listed by {@link #getRejected()}.
+     * @return true if they were queued again, false if an error occurs.
+     */
+    public boolean retryRejected(int count) {
+        if (log == null || rejectedLog == null) {
+            return false;
+        }
+        try {
+            for (byte[] entry : rejectedLog.peek(count)) {
+                try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry))) {
+                    in.readLong();
+                    in.readUTF();
+                    log.append(in.readAllBytes());
+                }
+                rejectedLog.consume(1);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to queue rejected transactions again", e);
+            return false;
+        }
+        synchronized (this) {
+            notifyAll();
+        }
+        return true;
+    }
+
+    /**
+     * Discards the oldest rejected transactions for good.
+     *
+     * @param count The number of rejected transactions to discard, as listed by {@link #getRejected()}.
+     */
+    public void discardRejected(int count) {
+        if (rejectedLog != null) {
+            LOGGER.warn("Discarding {} rejected queued transactions.", Math.min(count, rejectedLog.getPendingCount()));
+            rejectedLog.consume(count);
+        }
+    }
+
+    /**
+     * Checks whether a database error means the database could not be reached, as opposed to the
+     * database rejecting the statement.
+     *
+     * @param e The error to check.
+     * @return true if the connection failed or the server is not available, false otherwise.
+     */
+    static boolean isConnectivityFailure(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            // class 08 is a connection exception, 57P an unavailable or shutting down server
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && (sqlException.getSQLState().startsWith("08") || sqlException.getSQLState().startsWith("57P"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a transaction to the queue and waits until it is on disk.
+     *
+     * @param transaction The transaction to queue.
+     * @return true if the transaction was queued, false if the queue is not available.
+     */
+    boolean enqueue(QueuedTransaction transaction) {
+        if (log == null) {
+            LOGGER.error("Database unreachable and offline queue not available, {} transaction for SKU {} is lost",
+                    transaction.getType().getDbValue(), transaction.getProductSku());
+            return false;
+        }
+        try {
+            // not synchronized, so concurrent appends share a disk sync
+            log.append(transaction.encode());
+        } catch (IOException e) {
+            LOGGER.error("Failed to queue {} transaction for SKU {}", transaction.getType().getDbValue(), transaction.getProductSku(), e);
+            return false;
+        }
+        LOGGER.warn("Database unreachable, queued {} transaction {} for SKU {}",
+                transaction.getType().getDbValue(), transaction.getRequestId(), transaction.getProductSku());
+
+        synchronized (this) {
+            notifyAll();
+        }
+        return true;
+    }
+
+    /**
+     * Waits for queued transactions and replays them, retrying after a delay while the database is unreachable.
+     */
+    private void runReplay() {
+        while (true) {
+            try {
+                synchronized (this) {
+                    while (log.getPendingCount() == 0) {
+                        wait();
+                    }
+                }
+                Thread.sleep(RETRY_DELAY_MS);
+                replayPending();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replays queued transactions until the queue is empty or the database is unreachable.
+     */
+    private void replayPending() {
+        int replayed = 0;
+        while (true) {
+            List<byte[]> records = log.peek(REPLAY_BATCH_SIZE);
+            if (records.isEmpty()) {
+                break;
+            }
+
+            List<QueuedTransaction> batch = new ArrayList<>(records.size());
+            for (byte[] record : records) {
+                QueuedTransaction transaction = QueuedTransaction.decode(record);
+                if (transaction != null) {
+                    batch.add(transaction);
+                }
+            }
+
+            if (batch.size() == records.size()) {
+                try {
+                    replayed += transactionRepository.insertQueued(batch);
+                    log.consume(records.size());
+                    continue;
+                } catch (SQLException e) {
+                    if (isConnectivityFailure(e)) {
+                        LOGGER.debug("Database still unreachable, {} transactions remain queued", log.getPendingCount());
+                        break;
+                    }
+                    LOGGER.warn("Queued batch rejected, replaying its transactions one by one", e);
+                }
+            }
+
+            int single = replayOneByOne(records);
+            if (single < 0) {
+                break;
+            }
+            replayed += single;
+        }
+
+        if (replayed > 0) {
+            LOGGER.info("Replayed {} queued transactions, {} remain queued.", replayed, log.getPendingCount());
+        }
+    }
+
+    /**
+     * Replays records one transaction at a time, moving those the database rejects to the dead-letter file.
+     *
+     * @return The number of transactions inserted, or -1 if the database became unreachable or a
+     *         rejected transaction could not be moved to the dead-letter file.
+     */
+    private int replayOneByOne(List<byte[]> records) {
+        int replayed = 0;
+        for (byte[] record : records) {
+            QueuedTransaction transaction = QueuedTransaction.decode(record);
+            if (transaction == null) {
+                LOGGER.error("Queued transaction is unreadable, moving it to the dead-letter file");
+                if (!reject(record, "Unreadable queue record")) {
+                    return -1;
+                }
+            } else {
+                try {
+                    replayed += transactionRepository.insertQueued(List.of(transaction));
+                } catch (SQLException e) {
+                    if (isConnectivityFailure(e)) {
+                        return -1;
+                    }
+                    LOGGER.error("Queued transaction {} for SKU {} rejected, moving it to the dead-letter file",
+                            transaction.getRequestId(), transaction.getProductSku(), e);
+                    if (!reject(record, e.getMessage())) {
+                        return -1;
+                    }
+                }
+            }
+            log.consume(1);
+        }
+        return replayed;
+    }
+
+    /**
+     * Appends a rejected record with its reason to the dead-letter file and waits until it is on disk.
+     *
+     * @return true if the record was stored, false if it has to stay in the queue.
+     */
+    private boolean reject(byte[] record, String reason) {
+        if (rejectedLog == null) {
+            LOGGER.error("Dead-letter file not available, rejected transaction stays queued");
+            return false;
+        }
+        String message = reason != null ? reason : "Rejected by the database";
+        if (message.length() > MAX_REASON_LENGTH) {
+            message = message.substring(0, MAX_REASON_LENGTH);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(record.length + message.length() + 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(System.currentTimeMillis());
+            out.writeUTF(message);
+            out.write(record);
+        } catch (IOException e) {
+            // writing to memory does not fail
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            rejectedLog.append(bytes.toByteArray());
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Failed to write the dead-letter file, rejected transaction stays queued", e);
+            return false;
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package com.oop.stockflow.repository;
 
 import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.logging.Logger;
+import com.oop.stockflow.model.ChangeSet;
+import com.oop.stockflow.model.DemandForecast;
 import com.oop.stockflow.model.DryGoodProduct;
 import com.oop.stockflow.model.FreshProduct;
 import com.oop.stockflow.model.Product;
+import com.oop.stockflow.model.ProductColumn;
 import com.oop.stockflow.model.ProductType;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Repository class for handling product-related database operations.
@@ -18,8 +30,38 @@ import java.util.List;
  * CRUD operations, inventory queries, and warehouse-specific product management.
  */
 public class ProductRepository {
+    private static final Logger LOGGER = Logger.getLogger(ProductRepository.class);
+
+    // statements whose plans QueryPlanCheck explains through HotQuery
+    static final String PRODUCTS_BY_WAREHOUSE_SQL = "SELECT sku, name, brand, description, purchase_price, weight_per_unit_kg, " +
+            "volume_per_unit_m3, quantity, product_type, reorder_point, reorder_quantity, " +
+            "units_per_case, required_temp, days_to_alert_before_expiry, warehouse_id, version " +
+            "FROM products WHERE warehouse_id = ? ORDER BY name";
+    static final String COUNT_PRODUCTS_BY_WAREHOUSE_SQL = "SELECT COUNT(*) FROM products WHERE warehouse_id = ?";
+    static final String COUNT_PRODUCTS_BY_MANAGER_SQL = "SELECT COUNT(p.sku) " +
+            "FROM products p " +
+            "JOIN warehouses w ON p.warehouse_id = w.id " +
+            "WHERE w.manager_id = ?";
+    static final String COUNT_LOW_STOCK_SQL = "SELECT COUNT(*) FROM products " +
+            "WHERE warehouse_id = ? " +
+            "AND (product_type = 'dry good'::product_type AND quantity < reorder_point)";
+    static final String REORDER_CANDIDATES_SQL = "SELECT p.sku, p.name, p.brand, p.description, p.purchase_price, p.weight_per_unit_kg, " +
+            "p.volume_per_unit_m3, p.quantity, p.product_type, p.reorder_point, p.reorder_quantity, " +
+            "p.units_per_case, p.required_temp, p.days_to_alert_before_expiry, p.warehouse_id, p.version " +
+            "FROM products p " +
+            "JOIN warehouses w ON p.warehouse_id = w.id " +
+            "WHERE w.manager_id = ? " +
+            "AND p.product_type = 'dry good'::product_type " +
+            "AND p.quantity <= p.reorder_point";
+    static final String PRODUCT_BY_SKU_SQL = "SELECT sku, name, brand, description, purchase_price, weight_per_unit_kg, " +
+            "volume_per_unit_m3, quantity, product_type, reorder_point, reorder_quantity, " +
+            "units_per_case, required_temp, days_to_alert_before_expiry, warehouse_id, version " +
+            "FROM products WHERE sku = ?";
+
     private static ProductRepository instance;
 
+    private final Map<EnumSet<ProductColumn>, String> updateSqlCache = new ConcurrentHashMap<>();
+
     /**
      * Private constructor to prevent direct instantiation.
      * Ensures only one instance can be created through getInstance().
@@ -86,7 +128,7 @@ public class ProductRepository {
                 stmt.setBigDecimal(12, fresh.getRequiredTemp());  // Index 12
                 stmt.setInt(13, fresh.getDaysToAlertBeforeExpiry()); // Index 13
             } else {
-                System.err.println("[ERROR] Unknown product subclass type during addProduct.");
+                LOGGER.error("Unknown product subclass type during addProduct.");
                 return false;
             }
 
@@ -96,10 +138,7 @@ public class ProductRepository {
 
         } catch (SQLException e) {
             // Updated error message to be safe with potentially null SKU
-            System.err.println("[ERROR] Failed to add product " + product.getName() +
-                    " (SKU: " + (product.getSku() != null ? product.getSku() : "New") + "): " +
-                    e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to add product {} (SKU: {})", product.getName(), (product.getSku() != null ? product.getSku() : "New"), e);
             return false;
         }
     }
@@ -112,13 +151,9 @@ public class ProductRepository {
      */
     public List<Product> getAllProductsByWarehouseId(int warehouseId) {
         List<Product> products = new ArrayList<>();
-        String sql = "SELECT sku, name, brand, description, purchase_price, weight_per_unit_kg, " +
-                "volume_per_unit_m3, quantity, product_type, reorder_point, reorder_quantity, " +
-                "units_per_case, required_temp, days_to_alert_before_expiry, warehouse_id " +
-                "FROM products WHERE warehouse_id = ? ORDER BY name";
 
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(PRODUCTS_BY_WAREHOUSE_SQL)) {
 
             stmt.setInt(1, warehouseId);
 
@@ -131,12 +166,97 @@ public class ProductRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] "  + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to fetch products of warehouse {}", warehouseId, e);
         }
         return products;
     }
 
+    /**
+     * Retrieves the change cursor of the products of a warehouse: the transaction ID of the latest
+     * insert, update or deletion below the change horizon. Every transaction below the horizon has
+     * finished, so no change can later commit below the cursor. Both maxima are read from the end of
+     * an index, so the query costs the same however many products the warehouse holds.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return The cursor, 0 if nothing changed since change tracking began, or -1 if an error occurs.
+     */
+    public long getProductChangeCursor(int warehouseId) {
+        String sql = "SELECT GREATEST(" +
+                "COALESCE((SELECT MAX(change_xid) FROM products WHERE warehouse_id = ? AND change_xid < change_horizon()), 0), " +
+                "COALESCE((SELECT MAX(change_xid) FROM change_tombstones " +
+                "WHERE entity = 'product' AND warehouse_id = ? AND change_xid < change_horizon()), 0))";
+
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, warehouseId);
+            stmt.setInt(2, warehouseId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to read the product change cursor of warehouse {}", warehouseId, e);
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the products of a warehouse that were inserted, updated or deleted after a change cursor.
+     * The delta is bounded by the change horizon read first, so both queries stop at the same point
+     * and a change committing later is left for the next delta.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @param cursor The cursor returned by {@link #getProductChangeCursor(int)} or by a previous change set.
+     * @return The changed products and the SKUs of the deleted ones, or null if an error occurs.
+     */
+    public ChangeSet<Product> getProductChangesByWarehouseId(int warehouseId, long cursor) {
+        String changedSql = "SELECT sku, name, brand, description, purchase_price, weight_per_unit_kg, " +
+                "volume_per_unit_m3, quantity, product_type, reorder_point, reorder_quantity, " +
+                "units_per_case, required_temp, days_to_alert_before_expiry, warehouse_id, version, change_xid " +
+                "FROM products WHERE warehouse_id = ? AND change_xid > ? AND change_xid < ? ORDER BY change_seq";
+        String deletedSql = "SELECT id, change_xid FROM change_tombstones " +
+                "WHERE entity = 'product' AND warehouse_id = ? AND change_xid > ? AND change_xid < ?";
+
+        List<Product> changed = new ArrayList<>();
+        Set<Long> deleted = new HashSet<>();
+        long latest = cursor;
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ)) {
+            long horizon = ChangeHorizon.read(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(changedSql)) {
+                stmt.setInt(1, warehouseId);
+                stmt.setLong(2, cursor);
+                stmt.setLong(3, horizon);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        latest = Math.max(latest, rs.getLong("change_xid"));
+                        Product product = mapResultSetToProduct(rs);
+                        if (product != null) {
+                            changed.add(product);
+                        }
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(deletedSql)) {
+                stmt.setInt(1, warehouseId);
+                stmt.setLong(2, cursor);
+                stmt.setLong(3, horizon);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        deleted.add(rs.getLong("id"));
+                        latest = Math.max(latest, rs.getLong("change_xid"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch product changes of warehouse {} since {}", warehouseId, cursor, e);
+            return null;
+        }
+        return new ChangeSet<>(changed, deleted, latest);
+    }
+
     /**
      * Retrieves all products belonging to a specific warehouse from the database, ordered by name.
      *
@@ -144,9 +264,8 @@ public class ProductRepository {
      * @return A List of Product objects (instantiated as DryGoodProduct or FreshProduct), or an empty list if none found or an error occurs.
      */
     public int countProductsByWarehouseId(int warehouseId) {
-        String sql = "SELECT COUNT(*) FROM products WHERE warehouse_id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(COUNT_PRODUCTS_BY_WAREHOUSE_SQL)) {
 
             stmt.setInt(1, warehouseId);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -155,8 +274,7 @@ public class ProductRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count products of warehouse {}", warehouseId, e);
         }
         return -1;
     }
@@ -169,13 +287,8 @@ public class ProductRepository {
      * @return The total aggregated count of products, or -1 if an error occurs.
      */
     public int countProductsByManagerId(int managerId) {
-        String sql = "SELECT COUNT(p.sku) " +
-                "FROM products p " +
-                "JOIN warehouses w ON p.warehouse_id = w.id " +
-                "WHERE w.manager_id = ?";
-
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(COUNT_PRODUCTS_BY_MANAGER_SQL)) {
             stmt.setInt(1, managerId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -184,8 +297,7 @@ public class ProductRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed to count products by manager ID " + managerId + ": " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count products by manager ID {}", managerId, e);
         }
 
         return -1;
@@ -198,12 +310,8 @@ public class ProductRepository {
      * @return The count of low stock products, or -1 if an error occurs.
      */
     public int countLowStockByWarehouseId(int warehouseId) {
-        String sql = "SELECT COUNT(*) FROM products " +
-                "WHERE warehouse_id = ? " +
-                "AND (product_type = 'dry good'::product_type AND quantity < reorder_point)";
-
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(COUNT_LOW_STOCK_SQL)) {
 
             stmt.setInt(1, warehouseId);
 
@@ -213,12 +321,75 @@ public class ProductRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count low stock products of warehouse {}", warehouseId, e);
         }
         return -1;
     }
 
+    /**
+     * Retrieves the dry good products of a specific warehouse whose quantity is at or below their reorder point,
+     * the products that need reordering.
+     * The filter is applied in the database so only the affected rows are transferred.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A List of low stock DryGoodProduct objects, or an empty list if none found or an error occurs.
+     */
+    public List<Product> getLowStockProductsByWarehouseId(int warehouseId) {
+        List<Product> products = new ArrayList<>();
+        String sql = "SELECT sku, name, brand, description, purchase_price, weight_per_unit_kg, " +
+                "volume_per_unit_m3, quantity, product_type, reorder_point, reorder_quantity, " +
+                "units_per_case, required_temp, days_to_alert_before_expiry, warehouse_id, version " +
+                "FROM products " +
+                "WHERE warehouse_id = ? " +
+                "AND (product_type = 'dry good'::product_type AND quantity <= reorder_point)";
+
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, warehouseId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Product product = mapResultSetToProduct(rs);
+                    if (product != null) {
+                        products.add(product);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch low stock products for warehouse {}", warehouseId, e);
+        }
+        return products;
+    }
+
+    /**
+     * Retrieves the dry good products at or below their reorder point across all warehouses
+     * owned by a specific manager, in a single query. Uses the same predicate as the stock alerts.
+     *
+     * @param managerId The ID of the manager.
+     * @return A List of DryGoodProduct objects that need reordering, or an empty list if none found or an error occurs.
+     */
+    public List<DryGoodProduct> getReorderCandidatesByManagerId(int managerId) {
+        List<DryGoodProduct> products = new ArrayList<>();
+
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(REORDER_CANDIDATES_SQL)) {
+
+            stmt.setInt(1, managerId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (mapResultSetToProduct(rs) instanceof DryGoodProduct dryGood) {
+                        products.add(dryGood);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch reorder candidates for manager ID {}", managerId, e);
+        }
+        return products;
+    }
+
     /**
      * Counts the number of products considered "in stock" in a specific warehouse.
      *
@@ -230,7 +401,7 @@ public class ProductRepository {
                 "WHERE warehouse_id = ? " +
                 "AND (product_type = 'dry good'::product_type AND quantity >= reorder_point)";
 
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, warehouseId);
@@ -241,8 +412,7 @@ public class ProductRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count in-stock products of warehouse {}", warehouseId, e);
         }
         return -1;
     }
@@ -258,7 +428,7 @@ public class ProductRepository {
                 "WHERE warehouse_id = ? " +
                 "AND (product_type = 'dry good'::product_type AND quantity = 0)";
 
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, warehouseId);
@@ -269,8 +439,7 @@ public class ProductRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count out-of-stock products of warehouse {}", warehouseId, e);
         }
         return -1;
     }
@@ -283,13 +452,8 @@ public class ProductRepository {
      * @return The Product object (DryGoodProduct or FreshProduct) if found, otherwise null.
      */
     public Product getProductBySku(int sku) {
-        String sql = "SELECT sku, name, brand, description, purchase_price, weight_per_unit_kg, " +
-                "volume_per_unit_m3, quantity, product_type, reorder_point, reorder_quantity, " +
-                "units_per_case, required_temp, days_to_alert_before_expiry, warehouse_id " +
-                "FROM products WHERE sku = ?";
-
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(PRODUCT_BY_SKU_SQL)) {
 
             stmt.setInt(1, sku);
 
@@ -299,66 +463,219 @@ public class ProductRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed to fetch product by SKU " + sku + ": " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to fetch product by SKU {}", sku, e);
         }
         return null;
     }
 
     /**
-     * Updates an existing product's details (all fields except SKU).
+     * Retrieves several products by their SKUs in a single query.
      *
-     * @param product The Product object containing the updated data.
-     * @return true if update was successful, false otherwise.
+     * @param skus The SKUs of the products to retrieve.
+     * @return A List of the products found (DryGoodProduct or FreshProduct), or an empty list if none found or an error occurs.
      */
-    public boolean updateProduct(Product product) {
-        String sql = "UPDATE products SET name = ?, brand = ?, description = ?, purchase_price = ?, " +
-                "weight_per_unit_kg = ?, volume_per_unit_m3 = ?, quantity = ?, product_type = ?::product_type, " +
-                // Dry Good specific
-                "reorder_point = ?, reorder_quantity = ?, units_per_case = ?, " +
-                // Fresh specific
-                "required_temp = ?, days_to_alert_before_expiry = ? " +
-                "WHERE sku = ?"; // Update based on SKU
+    public List<Product> getProductsBySkus(Collection<Integer> skus) {
+        List<Product> products = new ArrayList<>();
+        if (skus.isEmpty()) {
+            return products;
+        }
+
+        String sql = "SELECT sku, name, brand, description, purchase_price, weight_per_unit_kg, " +
+                "volume_per_unit_m3, quantity, product_type, reorder_point, reorder_quantity, " +
+                "units_per_case, required_temp, days_to_alert_before_expiry, warehouse_id, version " +
+                "FROM products WHERE sku = ANY(?)";
 
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            // Set common fields
-            stmt.setString(1, product.getName());
-            stmt.setString(2, product.getBrand());
-            stmt.setString(3, product.getDescription());
-            stmt.setBigDecimal(4, product.getPurchasePrice());
-            stmt.setDouble(5, product.getWeightPerUnitKg());
-            stmt.setDouble(6, product.getVolumePerUnitM3());
-            stmt.setInt(7, product.getQuantity());
-            stmt.setString(8, product.getProductType().getDbValue());
+            stmt.setArray(1, conn.createArrayOf("integer", skus.toArray()));
 
-            // Set specific fields based on type
-            if (product instanceof DryGoodProduct dryGood) {
-                stmt.setInt(9, dryGood.getReorderPoint());
-                stmt.setInt(10, dryGood.getReorderQuantity());
-                stmt.setInt(11, dryGood.getUnitsPerCase());
-                stmt.setNull(12, Types.NUMERIC);
-                stmt.setNull(13, Types.INTEGER);
-            } else if (product instanceof FreshProduct fresh) {
-                stmt.setNull(9, Types.INTEGER);
-                stmt.setNull(10, Types.INTEGER);
-                stmt.setNull(11, Types.INTEGER);
-                stmt.setBigDecimal(12, fresh.getRequiredTemp());
-                stmt.setInt(13, fresh.getDaysToAlertBeforeExpiry());
-            } else {
-                System.err.println("[ERROR] Unknown product subclass type during updateProduct.");
-                return false;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Product product = mapResultSetToProduct(rs);
+                    if (product != null) {
+                        products.add(product);
+                    }
+                }
             }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch products by SKUs", e);
+        }
+        return products;
+    }
 
-            stmt.setInt(14, product.getSku());
+    /**
+     * Updates an existing product's catalog details if nobody else has updated it since it was loaded.
+     * Only the columns modified through the product's setters are written, so editing one field does not
+     * rewrite the whole row. The update only applies when the row still has the version of the given
+     * product, and increments it. The quantity is never written here; it is owned by the transaction
+     * trigger, so an edit made from a stale copy cannot undo stock movements committed in the meantime.
+     *
+     * @param product The Product object containing the updated data and the version it was loaded with.
+     * @return UPDATED on success or if nothing was modified (the product's version is incremented and its
+     * fields are marked clean), CONFLICT if the row has a newer version, NOT_FOUND if the product no longer
+     * exists, or FAILED if an error occurs.
+     */
+    public ProductUpdateResult updateProduct(Product product) {
+        EnumSet<ProductColumn> columns = product.getDirtyColumns();
+        if (columns.isEmpty()) {
+            return ProductUpdateResult.UPDATED;
+        }
+        String sql = updateSqlCache.computeIfAbsent(columns, ProductRepository::buildUpdateSql);
 
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (ProductColumn column : columns) {
+                bindColumn(stmt, index++, column, product);
+            }
+            stmt.setInt(index++, product.getSku());
+            stmt.setInt(index, product.getVersion());
+
+            if (stmt.executeUpdate() > 0) {
+                product.setVersion(product.getVersion() + 1);
+                product.markClean();
+                return ProductUpdateResult.UPDATED;
+            }
+            return getProductVersion(conn, product.getSku()) < 0 ? ProductUpdateResult.NOT_FOUND : ProductUpdateResult.CONFLICT;
+
+        } catch (SQLException | IllegalArgumentException e) {
+            LOGGER.error("Failed to update product SKU {}", product.getSku(), e);
+            return ProductUpdateResult.FAILED;
+        }
+    }
+
+    /**
+     * Builds the versioned UPDATE statement writing exactly the given columns.
+     * The statement text is cached per column set, so the driver's per-connection
+     * prepared statement cache can reuse the server-side statement.
+     *
+     * @param columns The columns to write, in enum order.
+     * @return The SQL statement.
+     */
+    private static String buildUpdateSql(EnumSet<ProductColumn> columns) {
+        StringJoiner assignments = new StringJoiner(", ", "UPDATE products SET ", ", version = version + 1 WHERE sku = ? AND version = ?");
+        for (ProductColumn column : columns) {
+            assignments.add(column.getDbValue() + " = ?");
+        }
+        return assignments.toString();
+    }
+
+    /**
+     * Binds the value of one modified column of a product.
+     *
+     * @param stmt The statement to bind to.
+     * @param index The parameter index.
+     * @param column The column to bind.
+     * @param product The product holding the value.
+     * @throws SQLException If the parameter cannot be set.
+     * @throws IllegalArgumentException If the column does not belong to the product's type.
+     */
+    private void bindColumn(PreparedStatement stmt, int index, ProductColumn column, Product product) throws SQLException {
+        switch (column) {
+            case NAME:
+                stmt.setString(index, product.getName());
+                return;
+            case BRAND:
+                stmt.setString(index, product.getBrand());
+                return;
+            case DESCRIPTION:
+                stmt.setString(index, product.getDescription());
+                return;
+            case PURCHASE_PRICE:
+                stmt.setBigDecimal(index, product.getPurchasePrice());
+                return;
+            case WEIGHT_PER_UNIT_KG:
+                stmt.setDouble(index, product.getWeightPerUnitKg());
+                return;
+            case VOLUME_PER_UNIT_M3:
+                stmt.setDouble(index, product.getVolumePerUnitM3());
+                return;
+            default:
+                break;
+        }
+
+        if (product instanceof DryGoodProduct dryGood) {
+            switch (column) {
+                case REORDER_POINT:
+                    stmt.setInt(index, dryGood.getReorderPoint());
+                    return;
+                case REORDER_QUANTITY:
+                    stmt.setInt(index, dryGood.getReorderQuantity());
+                    return;
+                case UNITS_PER_CASE:
+                    stmt.setInt(index, dryGood.getUnitsPerCase());
+                    return;
+                default:
+                    break;
+            }
+        } else if (product instanceof FreshProduct fresh) {
+            switch (column) {
+                case REQUIRED_TEMP:
+                    stmt.setBigDecimal(index, fresh.getRequiredTemp());
+                    return;
+                case DAYS_TO_ALERT_BEFORE_EXPIRY:
+                    stmt.setInt(index, fresh.getDaysToAlertBeforeExpiry());
+                    return;
+                default:
+                    break;
+            }
+        }
+        throw new IllegalArgumentException("Column " + column.getDbValue() + " does not belong to product type " + product.getProductType());
+    }
+
+    /**
+     * Reads the current version of a product on an open connection.
+     *
+     * @param conn The connection to use.
+     * @param sku The SKU of the product.
+     * @return The current version, or -1 if the product does not exist.
+     * @throws SQLException If a database access error occurs.
+     */
+    private int getProductVersion(Connection conn, int sku) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT version FROM products WHERE sku = ?")) {
+            stmt.setInt(1, sku);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
 
+    /**
+     * Writes forecasted reorder points and safety stock back to their dry good products in one batch.
+     * Fresh products are never touched.
+     *
+     * @param forecasts The forecasts to apply.
+     * @return The number of products updated, or -1 if an error occurs.
+     */
+    public int updateForecastedReorderPoints(Collection<DemandForecast> forecasts) {
+        String sql = "UPDATE products SET reorder_point = ?, safety_stock = ?, version = version + 1 " +
+                "WHERE sku = ? AND product_type = 'dry good'::product_type";
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            int updated = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (DemandForecast forecast : forecasts) {
+                    stmt.setInt(1, forecast.getReorderPoint());
+                    stmt.setInt(2, forecast.getSafetyStock());
+                    stmt.setInt(3, forecast.getSku());
+                    stmt.addBatch();
+                }
+                for (int count : stmt.executeBatch()) {
+                    updated += Math.max(count, 0);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            return updated;
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed to update product SKU " + product.getSku() + ": " + e.getMessage());
-            e.printStackTrace();
-            return false;
+            LOGGER.error("Failed to update forecasted reorder points", e);
+            return -1;
         }
     }
 
@@ -379,12 +696,13 @@ public class ProductRepository {
         double weight = rs.getDouble("weight_per_unit_kg");
         double volume = rs.getDouble("volume_per_unit_m3");
         int quantity = rs.getInt("quantity");
+        int version = rs.getInt("version");
         String typeString = rs.getString("product_type");
 
         ProductType type = ProductType.fromDbValue(typeString);
 
         if (type == null) {
-            System.err.println("Warning: Unknown product type '" + typeString + "' for SKU " + sku);
+            LOGGER.warn("Unknown product type '{}' for SKU {}", typeString, sku);
             return null;
         }
 
@@ -392,13 +710,17 @@ public class ProductRepository {
             int reorderPoint = rs.getInt("reorder_point");
             int reorderQuantity = rs.getInt("reorder_quantity");
             int unitsPerCase = rs.getInt("units_per_case");
-            return new DryGoodProduct(sku, name, brand, description, purchasePrice, weight, volume,
+            DryGoodProduct product = new DryGoodProduct(sku, name, brand, description, purchasePrice, weight, volume,
                     quantity, reorderPoint, reorderQuantity, unitsPerCase, warehouseId);
+            product.setVersion(version);
+            return product;
         } else if (type == ProductType.FRESH) {
             BigDecimal requiredTemp = rs.getBigDecimal("required_temp");
             int daysAlert = rs.getInt("days_to_alert_before_expiry");
-            return new FreshProduct(sku, name, brand, description, purchasePrice, weight, volume,
+            FreshProduct product = new FreshProduct(sku, name, brand, description, purchasePrice, weight, volume,
                     quantity, requiredTemp, daysAlert, warehouseId);
+            product.setVersion(version);
+            return product;
         } else {
             return null;
         }
@@ -412,7 +734,7 @@ public class ProductRepository {
      */
     public String getProductNameBySku(int sku) {
         String sql = "SELECT name FROM products WHERE sku = ?";
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, sku);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -421,7 +743,7 @@ public class ProductRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
+            LOGGER.error("Failed to fetch product name by SKU {}", sku, e);
         }
         return null;
     }
@@ -434,7 +756,7 @@ public class ProductRepository {
      */
     public String getProductBrandBySku(int sku) {
         String sql = "SELECT brand FROM products WHERE sku = ?";
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, sku);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -443,7 +765,7 @@ public class ProductRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
+            LOGGER.error("Failed to fetch product brand by SKU {}", sku, e);
         }
         return null;
     }
@@ -465,8 +787,7 @@ public class ProductRepository {
             stmt.setInt(1, sku);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to delete product SKU {}", sku, e);
             return false;
         }
     }
@@ -0,0 +1,15 @@
+package com.oop.stockflow.repository;
+
+/**
+ * Enumeration representing the outcome of a versioned product update.
+ */
+public enum ProductUpdateResult {
+    /** The update was applied and the version incremented. */
+    UPDATED,
+    /** Someone else updated the product since it was loaded; nothing was written. */
+    CONFLICT,
+    /** The product no longer exists. */
+    NOT_FOUND,
+    /** A database error occurred. */
+    FAILED
+}
@@ -0,0 +1,218 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.model.ShippingType;
+import com.oop.stockflow.model.TransactionStatus;
+import com.oop.stockflow.model.TransactionType;
+
+import java.io.*;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A transaction creation that could not reach the database, as stored in the offline queue.
+ * Holds the arguments of {@link TransactionRepository#createInboundTransaction} or
+ * {@link TransactionRepository#createOutboundTransaction} together with their request ID, so a
+ * replay of a transaction that already reached the database inserts nothing.
+ */
+class QueuedTransaction {
+    private static final int FORMAT_VERSION = 1;
+
+    private final UUID requestId;
+    private final TransactionType type;
+    private final int staffId;
+    private final Timestamp date;
+    private final ShippingType shippingMethod;
+    private final int productSku;
+    private final int quantity;
+    private final TransactionStatus status;
+    private final LocalDate expiryDate;
+    private final String destinationAddress;
+
+    private QueuedTransaction(UUID requestId, TransactionType type, int staffId, Timestamp date, ShippingType shippingMethod,
+                              int productSku, int quantity, TransactionStatus status, LocalDate expiryDate, String destinationAddress) {
+        this.requestId = requestId;
+        this.type = type;
+        this.staffId = staffId;
+        this.date = date;
+        this.shippingMethod = shippingMethod;
+        this.productSku = productSku;
+        this.quantity = quantity;
+        this.status = status;
+        this.expiryDate = expiryDate;
+        this.destinationAddress = destinationAddress;
+    }
+
+    /**
+     * Creates a queued inbound transaction.
+     */
+    static QueuedTransaction inbound(UUID requestId, int staffId, Timestamp date, ShippingType shippingMethod, int productSku, int quantity,
+                                     TransactionStatus status, LocalDate expiryDate) {
+        return new QueuedTransaction(requestId, TransactionType.INBOUND, staffId, date, shippingMethod,
+                productSku, quantity, status, expiryDate, null);
+    }
+
+    /**
+     * Creates a queued outbound transaction.
+     */
+    static QueuedTransaction outbound(UUID requestId, int staffId, Timestamp date, String destinationAddress, ShippingType shippingMethod,
+                                      int quantity, int productSku, TransactionStatus status) {
+        return new QueuedTransaction(requestId, TransactionType.OUTBOUND, staffId, date, shippingMethod,
+                productSku, quantity, status, null, destinationAddress);
+    }
+
+    /**
+     * Retrieves the ID identifying this write.
+     *
+     * @return The request ID.
+     */
+    UUID getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Retrieves the type of the transaction.
+     *
+     * @return The transaction type.
+     */
+    TransactionType getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the ID of the staff member who created the transaction.
+     *
+     * @return The staff ID.
+     */
+    int getStaffId() {
+        return staffId;
+    }
+
+    /**
+     * Retrieves the timestamp of the transaction.
+     *
+     * @return The transaction date.
+     */
+    Timestamp getDate() {
+        return date;
+    }
+
+    /**
+     * Retrieves the shipping method.
+     *
+     * @return The shipping method.
+     */
+    ShippingType getShippingMethod() {
+        return shippingMethod;
+    }
+
+    /**
+     * Retrieves the SKU of the product.
+     *
+     * @return The product SKU.
+     */
+    int getProductSku() {
+        return productSku;
+    }
+
+    /**
+     * Retrieves the quantity of the product.
+     *
+     * @return The quantity.
+     */
+    int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Retrieves the initial status of the transaction.
+     *
+     * @return The initial status.
+     */
+    TransactionStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Retrieves the expiry date of an inbound lot.
+     *
+     * @return The expiry date, or null if not applicable.
+     */
+    LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    /**
+     * Retrieves the destination address of an outbound transaction.
+     *
+     * @return The destination address, or null for inbound transactions.
+     */
+    String getDestinationAddress() {
+        return destinationAddress;
+    }
+
+    /**
+     * Serializes the transaction into a queue record. Enums are stored by their database value,
+     * so records survive a reordering of the enum constants.
+     *
+     * @return The encoded record.
+     */
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(requestId.getMostSignificantBits());
+            out.writeLong(requestId.getLeastSignificantBits());
+            out.writeUTF(type.getDbValue());
+            out.writeInt(staffId);
+            out.writeLong(date.getTime());
+            out.writeInt(date.getNanos());
+            out.writeUTF(shippingMethod.getDbValue());
+            out.writeInt(productSku);
+            out.writeInt(quantity);
+            out.writeUTF(status.getDbValue());
+            out.writeLong(expiryDate != null ? expiryDate.toEpochDay() : Long.MIN_VALUE);
+            out.writeBoolean(destinationAddress != null);
+            if (destinationAddress != null) {
+                out.writeUTF(destinationAddress);
+            }
+        } catch (IOException e) {
+            // writing to memory does not fail
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes a queue record.
+     *
+     * @param record The encoded record.
+     * @return The queued transaction, or null if the record is not readable.
+     */
+    static QueuedTransaction decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            UUID requestId = new UUID(in.readLong(), in.readLong());
+            TransactionType type = TransactionType.fromDbValue(in.readUTF());
+            int staffId = in.readInt();
+            Timestamp date = new Timestamp(in.readLong());
+            date.setNanos(in.readInt());
+            ShippingType shippingMethod = ShippingType.fromDbValue(in.readUTF());
+            int productSku = in.readInt();
+            int quantity = in.readInt();
+            TransactionStatus status = TransactionStatus.fromDbValue(in.readUTF());
+            long expiryDay = in.readLong();
+            String destinationAddress = in.readBoolean() ? in.readUTF() : null;
+
+            if (type == null || shippingMethod == null || status == null) {
+                return null;
+            }
+            return new QueuedTransaction(requestId, type, staffId, date, shippingMethod, productSku, quantity, status,
+                    expiryDay != Long.MIN_VALUE ? LocalDate.ofEpochDay(expiryDay) : null, destinationAddress);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.model.TransactionType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A queued transaction the database refused when it was replayed, kept in the dead-letter file of the
+ * {@link OfflineTransactionQueue} until a user retries or discards it.
+ */
+public class RejectedTransaction {
+    private final UUID requestId;
+    private final TransactionType type;
+    private final int productSku;
+    private final int quantity;
+    private final Timestamp date;
+    private final String reason;
+    private final LocalDateTime rejectedAt;
+
+    /**
+     * Constructs a RejectedTransaction.
+     *
+     * @param transaction The rejected transaction, or null if its queue record was unreadable.
+     * @param reason The error the database reported.
+     * @param rejectedAt The time the transaction was rejected, or null if it is not known.
+     */
+    RejectedTransaction(QueuedTransaction transaction, String reason, LocalDateTime rejectedAt) {
+        this.requestId = transaction != null ? transaction.getRequestId() : null;
+        this.type = transaction != null ? transaction.getType() : null;
+        this.productSku = transaction != null ? transaction.getProductSku() : 0;
+        this.quantity = transaction != null ? transaction.getQuantity() : 0;
+        this.date = transaction != null ? transaction.getDate() : null;
+        this.reason = reason;
+        this.rejectedAt = rejectedAt;
+    }
+
+    /**
+     * Retrieves the request ID of the submission.
+     *
+     * @return The request ID, or null if the queue record was unreadable.
+     */
+    public UUID getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Retrieves the type of the transaction.
+     *
+     * @return The transaction type, or null if the queue record was unreadable.
+     */
+    public TransactionType getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the SKU of the product.
+     *
+     * @return The product SKU, or 0 if the queue record was unreadable.
+     */
+    public int getProductSku() {
+        return productSku;
+    }
+
+    /**
+     * Retrieves the quantity of the product.
+     *
+     * @return The quantity, or 0 if the queue record was unreadable.
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Retrieves the date the transaction was recorded for.
+     *
+     * @return The transaction date, or null if the queue record was unreadable.
+     */
+    public Timestamp getDate() {
+        return date;
+    }
+
+    /**
+     * Retrieves the error the database reported.
+     *
+     * @return The rejection reason.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Retrieves the time the transaction was rejected.
+     *
+     * @return The rejection time, or null if the dead-letter entry was unreadable.
+     */
+    public LocalDateTime getRejectedAt() {
+        return rejectedAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.oop.stockflow.repository;
+
+/**
+ * Thrown by the asynchronous repositories when a repository operation fails.
+ * Replaces the sentinel values (false, null, -1, empty lists) returned by the blocking repositories,
+ * and carries the SQLException the repository logged and swallowed as its cause when there was one.
+ */
+public class RepositoryException extends RuntimeException {
+    private final String operation;
+
+    /**
+     * Constructs a RepositoryException for a failed operation.
+     *
+     * @param operation A short description of the failed operation.
+     */
+    public RepositoryException(String operation) {
+        this(operation, null);
+    }
+
+    /**
+     * Constructs a RepositoryException for a failed operation with the database error that caused it.
+     *
+     * @param operation A short description of the failed operation.
+     * @param cause The error the repository swallowed, or null if it is not known.
+     */
+    public RepositoryException(String operation, Throwable cause) {
+        super("Repository operation failed: " + operation, cause);
+        this.operation = operation;
+    }
+
+    /**
+     * Retrieves the description of the failed operation.
+     *
+     * @return The failed operation.
+     */
+    public String getOperation() {
+        return operation;
+    }
+}
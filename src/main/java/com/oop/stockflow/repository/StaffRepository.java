@@ -1,6 +1,8 @@
 package com.oop.stockflow.repository;
 
 import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.Staff;
 import org.mindrot.jbcrypt.BCrypt;
 
@@ -18,6 +20,15 @@ import java.util.List;
  * and password management with BCrypt encryption.
  */
 public class StaffRepository {
+    private static final Logger LOGGER = Logger.getLogger(StaffRepository.class);
+
+    // statements whose plans QueryPlanCheck explains through HotQuery
+    static final String STAFF_BY_WAREHOUSE_SQL = "SELECT id, name, email, warehouse_id FROM staff WHERE warehouse_id = ?";
+    static final String COUNT_STAFF_BY_MANAGER_SQL = "SELECT COUNT(s.id) " +
+            "FROM staff s " +
+            "JOIN warehouses w ON s.warehouse_id = w.id " +
+            "WHERE w.manager_id = ?";
+
     private static StaffRepository instance;
 
     private StaffRepository() {}
@@ -62,8 +73,7 @@ public class StaffRepository {
 
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to create staff {}", email, e);
             return false;
         }
     }
@@ -77,10 +87,9 @@ public class StaffRepository {
      */
     public List<Staff> getStaffByWarehouse(int warehouseId) {
         List<Staff> staffList = new ArrayList<>();
-        String sql = "SELECT id, name, email, warehouse_id FROM staff WHERE warehouse_id = ?";
 
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(STAFF_BY_WAREHOUSE_SQL)) {
 
             stmt.setInt(1, warehouseId);
 
@@ -96,8 +105,7 @@ public class StaffRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to fetch staff of warehouse {}", warehouseId, e);
         }
         return staffList;
     }
@@ -112,7 +120,7 @@ public class StaffRepository {
     public Staff getStaffById(int staffId) {
         String sql = "SELECT id, name, email, password, warehouse_id FROM staff WHERE id = ?";
 
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, staffId);
@@ -128,8 +136,7 @@ public class StaffRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to fetch staff ID {}", staffId, e);
         }
         return null;
     }
@@ -142,7 +149,7 @@ public class StaffRepository {
      */
     public int countStaffByWarehouseId(int warehouseId) {
         String sql = "SELECT COUNT(*) FROM staff WHERE warehouse_id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, warehouseId);
@@ -152,8 +159,7 @@ public class StaffRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count staff of warehouse {}", warehouseId, e);
         }
         return -1;
     }
@@ -168,13 +174,8 @@ public class StaffRepository {
      * or -1 if an error occurs.
      */
     public int countAllStaffByManagerId(int managerId) {
-        String sql = "SELECT COUNT(s.id) " +
-                "FROM staff s " +
-                "JOIN warehouses w ON s.warehouse_id = w.id " +
-                "WHERE w.manager_id = ?";
-
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(COUNT_STAFF_BY_MANAGER_SQL)) {
             stmt.setInt(1, managerId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -182,8 +183,7 @@ public class StaffRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed to count all staff by manager ID " + managerId + ": " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count all staff by manager ID {}", managerId, e);
         }
         return -1;
     }
@@ -233,7 +233,7 @@ public class StaffRepository {
 
         // check if no update required
         if (params.isEmpty()) {
-            System.out.println("[INFO] Tidak ada field yang diupdate untuk staff ID: " + staffId);
+            LOGGER.debug("Tidak ada field yang diupdate untuk staff ID: {}", staffId);
             return true;
         }
 
@@ -242,7 +242,7 @@ public class StaffRepository {
         params.add(staffId);
 
         String finalSql = sqlBuilder.toString();
-        System.out.println("[INFO] Executing SQL: " + finalSql);
+        LOGGER.debug("Executing SQL: {}", finalSql);
 
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(finalSql)) {
@@ -255,8 +255,7 @@ public class StaffRepository {
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to update staff ID {}", staffId, e);
             return false;
         }
     }
@@ -278,8 +277,7 @@ public class StaffRepository {
             stmt.setInt(1, staffId);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to delete staff ID {}", staffId, e);
             return false;
         }
     }
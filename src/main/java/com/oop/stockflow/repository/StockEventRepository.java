@@ -0,0 +1,254 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.logging.Logger;
+import com.oop.stockflow.model.StockEvent;
+import com.oop.stockflow.model.StockEventSource;
+
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository class (Data Access Object) for the append-only stock event log and its snapshots.
+ * Implements singleton pattern to ensure only one instance manages stock history data.
+ *
+ * Events are written by a database trigger whenever {@code products.quantity} changes, so every
+ * transaction commit and every manual edit is recorded without cooperation from the application.
+ * The stock of a SKU at any moment is the quantity after its latest event before that moment, a
+ * single index probe. The stock of a warehouse starts from its nearest earlier snapshot and only
+ * replays the events recorded since, so the work is bounded by the snapshot interval.
+ */
+public class StockEventRepository {
+    private static final Logger LOGGER = Logger.getLogger(StockEventRepository.class);
+
+    // statements whose plans QueryPlanCheck explains through HotQuery
+    static final String QUANTITY_AT_SQL = "SELECT quantity_after FROM stock_events WHERE sku = ? AND occurred_at <= ? " +
+            "ORDER BY occurred_at DESC, id DESC LIMIT 1";
+
+    // stock of every product of a warehouse at a moment: the latest event of each SKU changed
+    // since the nearest snapshot, and the snapshot quantity of the others
+    private static final String STOCK_AT_SQL = "WITH base AS (" +
+            "SELECT id, taken_at FROM stock_snapshots WHERE warehouse_id = ? AND taken_at <= ? " +
+            "ORDER BY taken_at DESC LIMIT 1), " +
+            "changed AS (" +
+            "SELECT DISTINCT ON (sku) sku, quantity_after AS quantity FROM stock_events " +
+            "WHERE warehouse_id = ? AND occurred_at > COALESCE((SELECT taken_at FROM base), '-infinity'::timestamp) " +
+            "AND occurred_at <= ? " +
+            "ORDER BY sku, occurred_at DESC, id DESC) " +
+            "SELECT sku, quantity FROM (" +
+            "SELECT sku, quantity FROM changed " +
+            "UNION ALL " +
+            "SELECT i.sku, i.quantity FROM stock_snapshot_items i " +
+            "WHERE i.snapshot_id = (SELECT id FROM base) " +
+            "AND NOT EXISTS (SELECT 1 FROM changed c WHERE c.sku = i.sku)" +
+            ") stock WHERE quantity <> 0";
+
+    private static StockEventRepository instance;
+
+    private StockEventRepository() {
+    }
+
+    /**
+     * Returns the singleton instance of the StockEventRepository.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton StockEventRepository instance.
+     */
+    public static StockEventRepository getInstance() {
+        if (instance == null) {
+            instance = new StockEventRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the stock of a product at a past moment.
+     *
+     * @param sku The SKU of the product.
+     * @param at The moment to reconstruct.
+     * @return The stock at that moment, 0 if the product had no recorded stock yet, or -1 if an error occurs.
+     */
+    public int getQuantityAt(int sku, LocalDateTime at) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(QUANTITY_AT_SQL)) {
+
+            stmt.setInt(1, sku);
+            stmt.setTimestamp(2, Timestamp.valueOf(at));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to reconstruct stock of SKU {} at {}", sku, at, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Retrieves the stock of every product of a warehouse at a past moment.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @param at The moment to reconstruct.
+     * @return The stock by SKU, without products that had no stock, or null if an error occurs.
+     */
+    public Map<Integer, Integer> getWarehouseStockAt(int warehouseId, LocalDateTime at) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(STOCK_AT_SQL)) {
+
+            Timestamp moment = Timestamp.valueOf(at);
+            stmt.setInt(1, warehouseId);
+            stmt.setTimestamp(2, moment);
+            stmt.setInt(3, warehouseId);
+            stmt.setTimestamp(4, moment);
+
+            Map<Integer, Integer> stock = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    stock.put(rs.getInt("sku"), rs.getInt("quantity"));
+                }
+            }
+            return stock;
+        } catch (SQLException e) {
+            LOGGER.error("Failed to reconstruct stock of warehouse {} at {}", warehouseId, at, e);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the stock events of a product within a time range, oldest first.
+     *
+     * @param sku The SKU of the product.
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, inclusive.
+     * @return A list of events, or an empty list if there are none or an error occurs.
+     */
+    public List<StockEvent> getEventsBySku(int sku, LocalDateTime from, LocalDateTime to) {
+        String sql = "SELECT id, sku, warehouse_id, delta, quantity_after, source, occurred_at FROM stock_events " +
+                "WHERE sku = ? AND occurred_at >= ? AND occurred_at <= ? ORDER BY occurred_at, id";
+        List<StockEvent> events = new ArrayList<>();
+
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, sku);
+            stmt.setTimestamp(2, Timestamp.valueOf(from));
+            stmt.setTimestamp(3, Timestamp.valueOf(to));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(new StockEvent(
+                            rs.getLong("id"),
+                            rs.getInt("sku"),
+                            rs.getInt("warehouse_id"),
+                            rs.getInt("delta"),
+                            rs.getInt("quantity_after"),
+                            StockEventSource.fromDbValue(rs.getString("source")),
+                            rs.getTimestamp("occurred_at").toLocalDateTime()));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch stock events of SKU {}", sku, e);
+        }
+        return events;
+    }
+
+    /**
+     * Takes a snapshot of the stock of a warehouse. The snapshot is taken as of {@code settle} ago, so
+     * events of transactions still in flight, which become visible after their timestamp, are not missed.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @param settle How far in the past the snapshot is taken.
+     * @return The ID of the snapshot, or -1 if an error occurs.
+     */
+    public long createSnapshot(int warehouseId, Duration settle) {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            return createSnapshot(conn, warehouseId, snapshotMoment(conn, settle));
+        } catch (SQLException e) {
+            LOGGER.error("Failed to snapshot stock of warehouse {}", warehouseId, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Takes a snapshot of every warehouse that recorded at least {@code minEvents} events since its last
+     * snapshot, which keeps the number of events replayed by a point-in-time query bounded.
+     *
+     * @param minEvents The number of events after which a warehouse is due for a snapshot.
+     * @param settle How far in the past the snapshots are taken.
+     * @return The number of snapshots taken, or -1 if an error occurs.
+     */
+    public int createDueSnapshots(int minEvents, Duration settle) {
+        // counting stops at minEvents, so a busy warehouse does not scan all of its events
+        String sql = "SELECT w.id FROM warehouses w " +
+                "WHERE (SELECT COUNT(*) FROM (SELECT 1 FROM stock_events e WHERE e.warehouse_id = w.id " +
+                "AND e.occurred_at > COALESCE((SELECT MAX(s.taken_at) FROM stock_snapshots s WHERE s.warehouse_id = w.id), " +
+                "'-infinity'::timestamp) AND e.occurred_at <= ? LIMIT ?) recent) >= ?";
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            Timestamp moment = snapshotMoment(conn, settle);
+            List<Integer> due = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setTimestamp(1, moment);
+                stmt.setInt(2, minEvents);
+                stmt.setInt(3, minEvents);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        due.add(rs.getInt(1));
+                    }
+                }
+            }
+
+            int taken = 0;
+            for (int warehouseId : due) {
+                createSnapshot(conn, warehouseId, moment);
+                taken++;
+            }
+            return taken;
+        } catch (SQLException e) {
+            LOGGER.error("Failed to take due stock snapshots", e);
+            return -1;
+        }
+    }
+
+    private long createSnapshot(Connection conn, int warehouseId, Timestamp moment) throws SQLException {
+        String sql = "WITH snapshot AS (" +
+                "INSERT INTO stock_snapshots (warehouse_id, taken_at) VALUES (?, ?) RETURNING id), " +
+                "items AS (" +
+                "INSERT INTO stock_snapshot_items (snapshot_id, sku, quantity) " +
+                "SELECT (SELECT id FROM snapshot), sku, quantity FROM (" + STOCK_AT_SQL + ") stock) " +
+                "SELECT id FROM snapshot";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, warehouseId);
+            stmt.setTimestamp(2, moment);
+            stmt.setInt(3, warehouseId);
+            stmt.setTimestamp(4, moment);
+            stmt.setInt(5, warehouseId);
+            stmt.setTimestamp(6, moment);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Reads the moment to snapshot from the database clock, which also stamps the events.
+     */
+    private Timestamp snapshotMoment(Connection conn, Duration settle) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT LOCALTIMESTAMP - make_interval(secs => ?)")) {
+            stmt.setLong(1, settle.getSeconds());
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getTimestamp(1);
+            }
+        }
+    }
+}
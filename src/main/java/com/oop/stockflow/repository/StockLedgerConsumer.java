@@ -0,0 +1,28 @@
+package com.oop.stockflow.repository;
+
+/**
+ * Receives the stock ledger streamed by {@link TransactionRepository#streamStockLedgerByManagerId},
+ * one product at a time. Each product is announced with its current state, followed by its
+ * committed movements in the order they happened. Amounts are in cents.
+ */
+public interface StockLedgerConsumer {
+    /**
+     * Called once per product, before any of its movements.
+     *
+     * @param sku The SKU of the product.
+     * @param warehouseId The warehouse the product belongs to.
+     * @param quantity The current stock of the product.
+     * @param purchasePriceCents The current purchase price of the product, in cents.
+     */
+    void product(int sku, int warehouseId, int quantity, long purchasePriceCents);
+
+    /**
+     * Called for each committed movement of the product announced last.
+     *
+     * @param transactionId The ID of the transaction.
+     * @param inbound true for a receipt, false for a shipment.
+     * @param quantity The quantity moved.
+     * @param unitCostCents The cost per unit recorded on the transaction, in cents.
+     */
+    void movement(int transactionId, boolean inbound, int quantity, long unitCostCents);
+}
@@ -0,0 +1,19 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.model.Transaction;
+
+/**
+ * Listener notified by {@link TransactionRepository} whenever a transaction reaches
+ * the COMMITTED status, either on creation or through a status update.
+ * Used by services that maintain derived state incrementally instead of rescanning the database.
+ */
+@FunctionalInterface
+public interface TransactionCommitListener {
+    /**
+     * Called after a transaction has been committed to the database.
+     * The product quantity has already been adjusted by the database trigger at this point.
+     *
+     * @param transaction The committed transaction.
+     */
+    void onTransactionCommitted(Transaction transaction);
+}
@@ -0,0 +1,78 @@
+package com.oop.stockflow.repository;
+
+import com.oop.stockflow.model.Transaction;
+import com.oop.stockflow.model.TransactionStatus;
+import com.oop.stockflow.model.TransactionType;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria of {@link TransactionRepository#getTransactionsByWarehouse(int, TransactionFilter, Transaction, int)}.
+ * Every criterion left null matches all transactions.
+ */
+public class TransactionFilter {
+    private final TransactionStatus status;
+    private final TransactionType type;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a TransactionFilter.
+     *
+     * @param status The required status, or null for any status.
+     * @param type The required type, or null for any type.
+     * @param from The first day to include, or null for no lower bound.
+     * @param to The last day to include, or null for no upper bound.
+     */
+    public TransactionFilter(TransactionStatus status, TransactionType type, LocalDate from, LocalDate to) {
+        this.status = status;
+        this.type = type;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Creates a filter that matches every transaction.
+     *
+     * @return The empty filter.
+     */
+    public static TransactionFilter all() {
+        return new TransactionFilter(null, null, null, null);
+    }
+
+    /**
+     * Retrieves the required status.
+     *
+     * @return The status, or null for any status.
+     */
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Retrieves the required type.
+     *
+     * @return The type, or null for any type.
+     */
+    public TransactionType getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the first day to include.
+     *
+     * @return The first day, or null for no lower bound.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Retrieves the last day to include.
+     *
+     * @return The last day, or null for no upper bound.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+}
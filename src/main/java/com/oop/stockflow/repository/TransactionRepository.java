@@ -1,23 +1,104 @@
 package com.oop.stockflow.repository;
 
 import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.db.PartitionManager;
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.*;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 
 /**
  * Repository class for handling transaction-related database operations.
  * Implements singleton pattern to ensure only one instance manages transaction data.
- * Supports operations for both InboundTransaction and OutboundTransaction types including
+ * Supports operations for InboundTransaction, OutboundTransaction and TransferTransaction types including
  * creation, retrieval, status updates, and analytics for warehouse inventory movements.
  */
 public class TransactionRepository {
+    private static final Logger LOGGER = Logger.getLogger(TransactionRepository.class);
+
+    /**
+     * Number of days before the rollup watermark that every rollup run counts again, and that
+     * {@link #getOutboundTransactionCounts(int, int)} always counts live, so transactions replayed late
+     * with their original date show up immediately.
+     */
+    public static final int ROLLUP_RECOUNT_DAYS = 7;
+
+    private static final int HISTORY_FETCH_SIZE = 10_000;
+    private static final String TRANSACTION_COLUMNS = "id, user_id, date, transaction_type, destination_address, shipping_method, " +
+            "product_sku, quantity, status, expiry_date, warehouse_id, unit_cost, destination_product_sku, destination_warehouse_id";
+    // a repeated request ID inserts nothing and returns no row, see V11__transaction_request_id.sql
+    private static final String ON_DUPLICATE_REQUEST = " ON CONFLICT (request_id, date) DO NOTHING RETURNING " + TRANSACTION_COLUMNS;
+    // the warehouse and the current purchase price are copied from the product
+    private static final String INBOUND_INSERT_SQL = "INSERT INTO transactions (request_id, user_id, date, transaction_type, destination_address, shipping_method, product_sku, quantity, status, expiry_date, warehouse_id, unit_cost) " +
+            "SELECT ?, ?, ?, 'inbound'::transaction_type, NULL, ?::shipping_method, sku, ?, ?::transaction_status, ?, warehouse_id, purchase_price " +
+            "FROM products WHERE sku = ?" + ON_DUPLICATE_REQUEST;
+    private static final String OUTBOUND_INSERT_SQL = "INSERT INTO transactions (request_id, user_id, date, transaction_type, destination_address, shipping_method, quantity, product_sku, status, warehouse_id) " +
+            "VALUES (?, ?, ?, 'outbound'::transaction_type, ?, ?::shipping_method, ?, ?, ?::transaction_status, (SELECT warehouse_id FROM products WHERE sku = ?))" + ON_DUPLICATE_REQUEST;
+    // the source warehouse and the current purchase price are copied from the source product
+    private static final String TRANSFER_INSERT_SQL = "INSERT INTO transactions (request_id, user_id, date, transaction_type, shipping_method, product_sku, quantity, status, warehouse_id, unit_cost, destination_product_sku, destination_warehouse_id) " +
+            "SELECT ?, ?, ?, 'transfer'::transaction_type, ?::shipping_method, sku, ?, ?::transaction_status, warehouse_id, purchase_price, ?, ? " +
+            "FROM products WHERE sku = ?" + ON_DUPLICATE_REQUEST;
+    // the receiving product is the product of the destination warehouse with the same name, brand and type;
+    // no row means the destination is not another warehouse of the same manager
+    private static final String DESTINATION_PRODUCT_SQL = "SELECT d.sku FROM products s " +
+            "JOIN warehouses sw ON sw.id = s.warehouse_id " +
+            "JOIN warehouses dw ON dw.id = ? AND dw.id <> sw.id AND dw.manager_id = sw.manager_id " +
+            "LEFT JOIN products d ON d.warehouse_id = dw.id AND d.name = s.name " +
+            "AND d.brand IS NOT DISTINCT FROM s.brand AND d.product_type IS NOT DISTINCT FROM s.product_type " +
+            "WHERE s.sku = ? ORDER BY d.sku LIMIT 1";
+    // first key of the advisory lock serializing the creation of receiving products, the second is the warehouse ID
+    private static final int TRANSFER_LOCK_CLASS = 0x5346;
+    static final String OUTBOUND_ROLLUP = "daily_outbound_counts";
+
+    // statements whose plans QueryPlanCheck explains through HotQuery
+    static final String TRANSACTIONS_BY_STAFF_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE user_id = ? ORDER BY date DESC";
+    static final String TRANSACTION_BY_ID_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE id = ?";
+    static final String COUNT_TODAY_OUTBOUND_SQL = "SELECT COUNT(*) FROM transactions " + "WHERE warehouse_id = ? " + "AND transaction_type IN ('outbound'::transaction_type, 'transfer'::transaction_type) " + "AND date >= CURRENT_DATE " + "AND date < CURRENT_DATE + interval '1 day'";
+    static final String EXPIRY_LOTS_SQL = "SELECT t.id, t.user_id, t.date, t.transaction_type, t.destination_address, t.shipping_method, " +
+            "t.product_sku, t.quantity, t.status, t.expiry_date, t.warehouse_id, t.unit_cost, " +
+            "t.destination_product_sku, t.destination_warehouse_id " +
+            "FROM transactions t " +
+            "JOIN products p ON t.product_sku = p.sku " +
+            "WHERE t.warehouse_id = ? " +
+            "AND p.quantity > 0 " +
+            "AND t.transaction_type = 'inbound'::transaction_type " +
+            "AND t.status = 'committed'::transaction_status " +
+            "AND t.expiry_date >= CURRENT_DATE - ? " +
+            "ORDER BY t.expiry_date";
+    // the rollup is only trusted for days the rollup job will not count again
+    private static final String OUTBOUND_WATERMARK = "LEAST(COALESCE((SELECT rolled_through FROM rollup_watermarks WHERE name = ?), '-infinity'::date), " +
+            "CURRENT_DATE - " + ROLLUP_RECOUNT_DAYS + ")";
+    static final String OUTBOUND_COUNTS_SQL = "SELECT day AS transaction_day, transaction_count " +
+            "FROM daily_outbound_counts " +
+            "WHERE warehouse_id = ? " +
+            "AND day >= CURRENT_DATE - ? " +
+            "AND day <= " + OUTBOUND_WATERMARK + " " +
+            "UNION ALL " +
+            "SELECT DATE(date) AS transaction_day, COUNT(*) AS transaction_count " +
+            "FROM transactions " +
+            "WHERE warehouse_id = ? " +
+            "AND transaction_type IN ('outbound'::transaction_type, 'transfer'::transaction_type) " +
+            "AND date >= GREATEST(CURRENT_DATE - ?, " + OUTBOUND_WATERMARK + " + 1) " +
+            "AND date < (CURRENT_DATE + '1 day'::interval) " +
+            "GROUP BY transaction_day";
+
     private static TransactionRepository instance;
+    private final List<TransactionCommitListener> commitListeners = new CopyOnWriteArrayList<>();
 
     private TransactionRepository() {
     }
@@ -35,6 +116,24 @@ public class TransactionRepository {
         return instance;
     }
 
+    /**
+     * Registers a listener that is notified whenever a transaction is committed.
+     *
+     * @param listener The listener to register.
+     */
+    public void addCommitListener(TransactionCommitListener listener) {
+        commitListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a previously registered commit listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeCommitListener(TransactionCommitListener listener) {
+        commitListeners.remove(listener);
+    }
+
     /**
      * Creates a new inbound transaction in the database.
      * Inbound transactions represent incoming inventory shipments to the warehouse.
@@ -45,24 +144,68 @@ public class TransactionRepository {
      * @param productSku The SKU (integer ID) of the product being received.
      * @param quantity The quantity of the product being received.
      * @param initialStatus The initial {@link TransactionStatus} (e.g., PENDING, COMMITTED).
-     * @return {@code true} if the transaction was created successfully, {@code false} otherwise.
+     * @return {@code true} if the transaction was created, or queued in the {@link OfflineTransactionQueue} because
+     * the database is unreachable; {@code false} otherwise.
      */
     public boolean createInboundTransaction(int staffId, Timestamp date, ShippingType shippingMethod, int productSku, int quantity, TransactionStatus initialStatus) {
-        String sql = "INSERT INTO transactions (user_id, date, transaction_type, destination_address, shipping_method, product_sku, quantity, status) " + "VALUES (?, ?, 'inbound'::transaction_type, NULL, ?::shipping_method, ?, ?, ?::transaction_status)";
+        return createInboundTransaction(staffId, date, shippingMethod, productSku, quantity, initialStatus, null);
+    }
 
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Creates a new inbound transaction in the database, recording the expiry date of the received lot.
+     * The expiry date is only meaningful for fresh products and is used for expiry alerts.
+     *
+     * @param staffId The ID of the staff member creating the transaction.
+     * @param date The timestamp of the transaction.
+     * @param shippingMethod The {@link ShippingType} enum value for the shipping method.
+     * @param productSku The SKU (integer ID) of the product being received.
+     * @param quantity The quantity of the product being received.
+     * @param initialStatus The initial {@link TransactionStatus} (e.g., PENDING, COMMITTED).
+     * @param expiryDate The expiry date of the received lot, or null if not applicable.
+     * @return {@code true} if the transaction was created, or queued in the {@link OfflineTransactionQueue} because
+     * the database is unreachable; {@code false} otherwise.
+     */
+    public boolean createInboundTransaction(int staffId, Timestamp date, ShippingType shippingMethod, int productSku, int quantity, TransactionStatus initialStatus, LocalDate expiryDate) {
+        return createInboundTransaction(UUID.randomUUID(), staffId, date, shippingMethod, productSku, quantity, initialStatus, expiryDate);
+    }
 
-            stmt.setInt(1, staffId);
-            stmt.setTimestamp(2, date);
-            stmt.setString(3, shippingMethod.getDbValue());
-            stmt.setInt(4, productSku);
-            stmt.setInt(5, quantity);
-            stmt.setString(6, initialStatus.getDbValue());
+    /**
+     * Creates a new inbound transaction in the database once per request ID.
+     * Submitting the same request ID again, e.g. when retrying after an error or on a double click,
+     * inserts nothing and reports success, so retries are safe.
+     *
+     * @param requestId The ID generated by the caller for this submission, repeated on retries.
+     * @param staffId The ID of the staff member creating the transaction.
+     * @param date The timestamp of the transaction; retries must repeat it.
+     * @param shippingMethod The {@link ShippingType} enum value for the shipping method.
+     * @param productSku The SKU (integer ID) of the product being received.
+     * @param quantity The quantity of the product being received.
+     * @param initialStatus The initial {@link TransactionStatus} (e.g., PENDING, COMMITTED).
+     * @param expiryDate The expiry date of the received lot, or null if not applicable.
+     * @return {@code true} if the transaction was created, had already been created by an earlier submission, or was
+     * queued in the {@link OfflineTransactionQueue} because the database is unreachable; {@code false} otherwise.
+     */
+    public boolean createInboundTransaction(UUID requestId, int staffId, Timestamp date, ShippingType shippingMethod, int productSku, int quantity, TransactionStatus initialStatus, LocalDate expiryDate) {
+        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(INBOUND_INSERT_SQL)) {
+
+            bindInbound(stmt, requestId, staffId, date, shippingMethod, productSku, quantity, initialStatus, expiryDate);
 
-            return stmt.executeUpdate() > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    if (initialStatus == TransactionStatus.COMMITTED) {
+                        notifyCommitted(mapResultSetToTransaction(rs));
+                    }
+                    return true;
+                }
+            }
+            // nothing inserted: the request was already recorded, or the product does not exist
+            return isRequestRecorded(conn, requestId, date);
         } catch (SQLException e) {
-            System.err.println("[ERROR] Gagal membuat transaksi inbound: " + e.getMessage());
-            e.printStackTrace();
+            if (OfflineTransactionQueue.isConnectivityFailure(e)) {
+                return OfflineTransactionQueue.getInstance().enqueue(
+                        QueuedTransaction.inbound(requestId, staffId, date, shippingMethod, productSku, quantity, initialStatus, expiryDate));
+            }
+            LOGGER.error("Failed to create inbound transaction for staff ID {}", staffId, e);
             return false;
         }
     }
@@ -77,29 +220,377 @@ public class TransactionRepository {
      * @param quantity           The quantity of the product.
      * @param productSku         The SKU (integer ID) of the product.
      * @param initialStatus      The initial {@link TransactionStatus} (e.g., PENDING).
-     * @return {@code true} if the transaction was created successfully, {@code false} otherwise.
+     * @return {@code true} if the transaction was created, or queued in the {@link OfflineTransactionQueue} because
+     * the database is unreachable; {@code false} otherwise.
      */
     public boolean createOutboundTransaction(int staffId, Timestamp date, String destinationAddress, ShippingType shippingMethod, int quantity, int productSku, TransactionStatus initialStatus) {
-        String sql = "INSERT INTO transactions (user_id, date, transaction_type, destination_address, shipping_method, quantity, product_sku, status) " + "VALUES (?, ?, 'outbound'::transaction_type, ?, ?::shipping_method, ?, ?, ?::transaction_status)";
+        return createOutboundTransaction(UUID.randomUUID(), staffId, date, destinationAddress, shippingMethod, quantity, productSku, initialStatus);
+    }
 
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Creates a new outbound transaction in the database once per request ID.
+     * Submitting the same request ID again, e.g. when retrying after an error or on a double click,
+     * inserts nothing and reports success, so retries are safe.
+     *
+     * @param requestId          The ID generated by the caller for this submission, repeated on retries.
+     * @param staffId            The ID of the staff member creating the transaction.
+     * @param date               The timestamp of the transaction; retries must repeat it.
+     * @param destinationAddress The shipping destination address.
+     * @param shippingMethod     The {@link ShippingType} enum value.
+     * @param quantity           The quantity of the product.
+     * @param productSku         The SKU (integer ID) of the product.
+     * @param initialStatus      The initial {@link TransactionStatus} (e.g., PENDING).
+     * @return {@code true} if the transaction was created, had already been created by an earlier submission, or was
+     * queued in the {@link OfflineTransactionQueue} because the database is unreachable; {@code false} otherwise.
+     */
+    public boolean createOutboundTransaction(UUID requestId, int staffId, Timestamp date, String destinationAddress, ShippingType shippingMethod, int quantity, int productSku, TransactionStatus initialStatus) {
+        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(OUTBOUND_INSERT_SQL)) {
 
-            stmt.setInt(1, staffId);
-            stmt.setTimestamp(2, date);
-            stmt.setString(3, destinationAddress);
-            stmt.setString(4, shippingMethod.getDbValue());
-            stmt.setInt(5, quantity);
-            stmt.setInt(6, productSku);
-            stmt.setString(7, initialStatus.getDbValue());
+            bindOutbound(stmt, requestId, staffId, date, destinationAddress, shippingMethod, quantity, productSku, initialStatus);
 
-            return stmt.executeUpdate() > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    if (initialStatus == TransactionStatus.COMMITTED) {
+                        notifyCommitted(mapResultSetToTransaction(rs));
+                    }
+                    return true;
+                }
+            }
+            // nothing inserted: the request was already recorded
+            return isRequestRecorded(conn, requestId, date);
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            if (OfflineTransactionQueue.isConnectivityFailure(e)) {
+                return OfflineTransactionQueue.getInstance().enqueue(
+                        QueuedTransaction.outbound(requestId, staffId, date, destinationAddress, shippingMethod, quantity, productSku, initialStatus));
+            }
+            LOGGER.error("Failed to create outbound transaction for staff ID {}", staffId, e);
             return false;
         }
     }
 
+    /**
+     * Creates one inbound transaction per product in a single database transaction, e.g. for the stock counted
+     * in a scanning session. Every product gets a request ID derived from {@code batchId}, so submitting the same
+     * batch again inserts nothing, and the whole batch is queued in the {@link OfflineTransactionQueue} if the
+     * database is unreachable.
+     *
+     * @param batchId        The ID generated by the caller for this submission, repeated on retries.
+     * @param staffId        The ID of the staff member creating the transactions.
+     * @param date           The timestamp of the transactions; retries must repeat it.
+     * @param shippingMethod The {@link ShippingType} enum value for the shipping method.
+     * @param quantities     The quantity received of each product, by SKU.
+     * @param initialStatus  The initial {@link TransactionStatus} (e.g., PENDING, COMMITTED).
+     * @param expiryDates    The expiry date of the received lot of each fresh product, by SKU; products without an entry have none.
+     * @return {@code true} if the transactions were created, had already been created by an earlier submission, or were
+     * queued; {@code false} if any of them was rejected, in which case none is kept.
+     */
+    public boolean createInboundTransactions(UUID batchId, int staffId, Timestamp date, ShippingType shippingMethod, Map<Integer, Integer> quantities,
+                                             TransactionStatus initialStatus, Map<Integer, LocalDate> expiryDates) {
+        List<QueuedTransaction> batch = new ArrayList<>(quantities.size());
+        quantities.forEach((sku, quantity) -> batch.add(QueuedTransaction.inbound(lineRequestId(batchId, sku), staffId, date, shippingMethod,
+                sku, quantity, initialStatus, expiryDates.get(sku))));
+        return createBatch(batch);
+    }
+
+    /**
+     * Creates one outbound transaction per product in a single database transaction, e.g. for the stock counted
+     * in a scanning session. Every product gets a request ID derived from {@code batchId}, so submitting the same
+     * batch again inserts nothing, and the whole batch is queued in the {@link OfflineTransactionQueue} if the
+     * database is unreachable.
+     *
+     * @param batchId            The ID generated by the caller for this submission, repeated on retries.
+     * @param staffId            The ID of the staff member creating the transactions.
+     * @param date               The timestamp of the transactions; retries must repeat it.
+     * @param destinationAddress The shipping destination address.
+     * @param shippingMethod     The {@link ShippingType} enum value.
+     * @param quantities         The quantity shipped of each product, by SKU.
+     * @param initialStatus      The initial {@link TransactionStatus} (e.g., PENDING).
+     * @return {@code true} if the transactions were created, had already been created by an earlier submission, or were
+     * queued; {@code false} if any of them was rejected, e.g. for insufficient stock, in which case none is kept.
+     */
+    public boolean createOutboundTransactions(UUID batchId, int staffId, Timestamp date, String destinationAddress, ShippingType shippingMethod,
+                                              Map<Integer, Integer> quantities, TransactionStatus initialStatus) {
+        List<QueuedTransaction> batch = new ArrayList<>(quantities.size());
+        quantities.forEach((sku, quantity) -> batch.add(QueuedTransaction.outbound(lineRequestId(batchId, sku), staffId, date, destinationAddress,
+                shippingMethod, quantity, sku, initialStatus)));
+        return createBatch(batch);
+    }
+
+    /**
+     * Inserts a batch of transactions created by the user, queueing all of them if the database is unreachable.
+     */
+    private boolean createBatch(List<QueuedTransaction> batch) {
+        try {
+            insertQueued(batch);
+            return true;
+        } catch (SQLException e) {
+            if (OfflineTransactionQueue.isConnectivityFailure(e)) {
+                OfflineTransactionQueue queue = OfflineTransactionQueue.getInstance();
+                for (QueuedTransaction transaction : batch) {
+                    if (!queue.enqueue(transaction)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            LOGGER.error("Failed to create a batch of {} transactions", batch.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Derives the request ID of one product of a batch, the same on every submission of the batch.
+     */
+    private static UUID lineRequestId(UUID batchId, int sku) {
+        return UUID.nameUUIDFromBytes((batchId + "/" + sku).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a transfer of stock from a product to another warehouse of the same manager, once per request ID.
+     * The stock is received by the product of the destination warehouse with the same name, brand and type,
+     * which is created without stock if the destination warehouse does not carry it yet. Both stock changes
+     * happen in the same database transaction, in SKU order, so concurrent transfers in opposite directions
+     * cannot deadlock (see V12__stock_transfer.sql).
+     * Transfers are not queued while the database is unreachable, since the receiving product cannot be resolved offline.
+     *
+     * @param requestId              The ID generated by the caller for this submission, repeated on retries.
+     * @param staffId                The ID of the staff member creating the transaction.
+     * @param date                   The timestamp of the transaction; retries must repeat it.
+     * @param shippingMethod         The {@link ShippingType} enum value used between the warehouses.
+     * @param productSku             The SKU (integer ID) of the product leaving the source warehouse.
+     * @param destinationWarehouseId The ID of the warehouse receiving the stock.
+     * @param quantity               The quantity of the product to transfer.
+     * @param initialStatus          The initial {@link TransactionStatus} (e.g., PENDING).
+     * @return {@code true} if the transfer was created or had already been created by an earlier submission;
+     * {@code false} if the destination is not another warehouse of the same manager, the stock is insufficient, or an error occurs.
+     */
+    public boolean createTransferTransaction(UUID requestId, int staffId, Timestamp date, ShippingType shippingMethod, int productSku,
+                                             int destinationWarehouseId, int quantity, TransactionStatus initialStatus) {
+        Transaction created = null;
+        boolean recorded;
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int destinationSku = resolveDestinationProduct(conn, productSku, destinationWarehouseId);
+                if (destinationSku == -1) {
+                    conn.rollback();
+                    LOGGER.warn("Warehouse {} cannot receive transfers of SKU {}", destinationWarehouseId, productSku);
+                    return false;
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(TRANSFER_INSERT_SQL)) {
+                    stmt.setObject(1, requestId);
+                    stmt.setInt(2, staffId);
+                    stmt.setTimestamp(3, date);
+                    stmt.setString(4, shippingMethod.getDbValue());
+                    stmt.setInt(5, quantity);
+                    stmt.setString(6, initialStatus.getDbValue());
+                    stmt.setInt(7, destinationSku);
+                    stmt.setInt(8, destinationWarehouseId);
+                    stmt.setInt(9, productSku);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            created = mapResultSetToTransaction(rs);
+                        }
+                    }
+                }
+                // nothing inserted: the request was already recorded, or the product does not exist
+                recorded = created != null || isRequestRecorded(conn, requestId, date);
+                conn.commit();
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to transfer SKU {} to warehouse {}", productSku, destinationWarehouseId, e);
+            return false;
+        }
+
+        if (created != null && initialStatus == TransactionStatus.COMMITTED) {
+            notifyCommitted(created);
+        }
+        return recorded;
+    }
+
+    /**
+     * Finds the product of the destination warehouse receiving a transfer, creating it without stock if needed.
+     * Creation is serialized per destination warehouse by a transaction-scoped advisory lock, taken before any
+     * product row is locked, so concurrent first transfers of a product create a single receiving product.
+     *
+     * @return The SKU of the receiving product, or -1 if the destination is not another warehouse of the same manager.
+     */
+    private int resolveDestinationProduct(Connection conn, int productSku, int destinationWarehouseId) throws SQLException {
+        int destinationSku = findDestinationProduct(conn, productSku, destinationWarehouseId);
+        if (destinationSku != 0) {
+            return destinationSku;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_advisory_xact_lock(?, ?)")) {
+            stmt.setInt(1, TRANSFER_LOCK_CLASS);
+            stmt.setInt(2, destinationWarehouseId);
+            stmt.execute();
+        }
+        destinationSku = findDestinationProduct(conn, productSku, destinationWarehouseId);
+        if (destinationSku != 0) {
+            return destinationSku;
+        }
+
+        String sql = "INSERT INTO products (name, brand, description, purchase_price, weight_per_unit_kg, volume_per_unit_m3, quantity, " +
+                "product_type, warehouse_id, reorder_point, reorder_quantity, units_per_case, safety_stock, required_temp, days_to_alert_before_expiry) " +
+                "SELECT name, brand, description, purchase_price, weight_per_unit_kg, volume_per_unit_m3, 0, " +
+                "product_type, ?, reorder_point, reorder_quantity, units_per_case, safety_stock, required_temp, days_to_alert_before_expiry " +
+                "FROM products WHERE sku = ? RETURNING sku";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, destinationWarehouseId);
+            stmt.setInt(2, productSku);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                LOGGER.info("Created SKU {} in warehouse {} to receive transfers of SKU {}", rs.getInt(1), destinationWarehouseId, productSku);
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Looks up the product of the destination warehouse receiving a transfer.
+     *
+     * @return The SKU of the receiving product, 0 if the destination warehouse does not carry the product,
+     * or -1 if the destination is not another warehouse of the same manager.
+     */
+    private int findDestinationProduct(Connection conn, int productSku, int destinationWarehouseId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DESTINATION_PRODUCT_SQL)) {
+            stmt.setInt(1, destinationWarehouseId);
+            stmt.setInt(2, productSku);
+            try (ResultSet rs = stmt.executeQuery()) {
+                // getInt reads a missing receiving product as 0
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
+
+    /**
+     * Inserts transactions replayed from the offline queue, in order and in a single database transaction.
+     * Consecutive transactions of the same type are sent as one JDBC batch. Commit listeners are
+     * notified once the database transaction has committed.
+     *
+     * @param queued The queued transactions, oldest first.
+     * @return The number of transactions inserted; transactions whose request ID was already recorded, e.g. by a
+     * replay that committed but was not marked as done, and inbound transactions of products that no longer exist are skipped.
+     * @throws SQLException If any insert fails, in which case none of them is kept.
+     */
+    int insertQueued(List<QueuedTransaction> queued) throws SQLException {
+        List<Transaction> committed = new ArrayList<>();
+        int inserted = 0;
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int start = 0;
+                while (start < queued.size()) {
+                    int end = start + 1;
+                    while (end < queued.size() && queued.get(end).getType() == queued.get(start).getType()) {
+                        end++;
+                    }
+                    inserted += insertQueuedRun(conn, queued.subList(start, end), committed);
+                    start = end;
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+        }
+
+        committed.forEach(this::notifyCommitted);
+        return inserted;
+    }
+
+    /**
+     * Inserts a run of queued transactions of the same type as one JDBC batch.
+     */
+    private int insertQueuedRun(Connection conn, List<QueuedTransaction> run, List<Transaction> committed) throws SQLException {
+        boolean inbound = run.get(0).getType() == TransactionType.INBOUND;
+        try (PreparedStatement stmt = conn.prepareStatement(inbound ? INBOUND_INSERT_SQL : OUTBOUND_INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (QueuedTransaction transaction : run) {
+                if (inbound) {
+                    bindInbound(stmt, transaction.getRequestId(), transaction.getStaffId(), transaction.getDate(), transaction.getShippingMethod(),
+                            transaction.getProductSku(), transaction.getQuantity(), transaction.getStatus(), transaction.getExpiryDate());
+                } else {
+                    bindOutbound(stmt, transaction.getRequestId(), transaction.getStaffId(), transaction.getDate(), transaction.getDestinationAddress(),
+                            transaction.getShippingMethod(), transaction.getQuantity(), transaction.getProductSku(), transaction.getStatus());
+                }
+                stmt.addBatch();
+            }
+
+            int inserted = 0;
+            stmt.executeBatch();
+            // the driver returns the rows of the RETURNING clause as generated keys
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                while (keys.next()) {
+                    inserted++;
+                    Transaction transaction = mapResultSetToTransaction(keys);
+                    if (transaction != null && transaction.getStatus() == TransactionStatus.COMMITTED) {
+                        committed.add(transaction);
+                    }
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private static void bindInbound(PreparedStatement stmt, UUID requestId, int staffId, Timestamp date, ShippingType shippingMethod, int productSku,
+                                    int quantity, TransactionStatus initialStatus, LocalDate expiryDate) throws SQLException {
+        stmt.setObject(1, requestId);
+        stmt.setInt(2, staffId);
+        stmt.setTimestamp(3, date);
+        stmt.setString(4, shippingMethod.getDbValue());
+        stmt.setInt(5, quantity);
+        stmt.setString(6, initialStatus.getDbValue());
+        stmt.setDate(7, expiryDate != null ? Date.valueOf(expiryDate) : null);
+        stmt.setInt(8, productSku);
+    }
+
+    private static void bindOutbound(PreparedStatement stmt, UUID requestId, int staffId, Timestamp date, String destinationAddress, ShippingType shippingMethod,
+                                     int quantity, int productSku, TransactionStatus initialStatus) throws SQLException {
+        stmt.setObject(1, requestId);
+        stmt.setInt(2, staffId);
+        stmt.setTimestamp(3, date);
+        stmt.setString(4, destinationAddress);
+        stmt.setString(5, shippingMethod.getDbValue());
+        stmt.setInt(6, quantity);
+        stmt.setInt(7, productSku);
+        stmt.setString(8, initialStatus.getDbValue());
+        stmt.setInt(9, productSku);
+    }
+
+    /**
+     * Checks whether a transaction with the given request ID was already recorded.
+     * Only called when an insert returned no row, so the common path needs a single round trip.
+     */
+    private boolean isRequestRecorded(Connection conn, UUID requestId, Timestamp date) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM transactions WHERE request_id = ? AND date = ?")) {
+            stmt.setObject(1, requestId);
+            stmt.setTimestamp(2, date);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    LOGGER.info("Transaction request {} was already recorded", requestId);
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
     /**
      * Retrieves a list of all transactions (Inbound and Outbound) created by a specific staff member.
      * The list is ordered by date in descending order.
@@ -110,9 +601,8 @@ public class TransactionRepository {
      */
     public List<Transaction> getAllTransactionsByStaffId(int staffId) {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT id, user_id, date, transaction_type, destination_address, shipping_method, product_sku, quantity, status " + "FROM transactions WHERE user_id = ? ORDER BY date DESC";
 
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ); PreparedStatement stmt = conn.prepareStatement(TRANSACTIONS_BY_STAFF_SQL)) {
 
             stmt.setInt(1, staffId);
 
@@ -125,22 +615,315 @@ public class TransactionRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to fetch transactions of staff ID {}", staffId, e);
+        }
+        return transactions;
+    }
+
+    /**
+     * Retrieves a single transaction by its ID.
+     *
+     * @param transactionId The ID of the transaction.
+     * @return The InboundTransaction or OutboundTransaction, or null if not found or an error occurs.
+     */
+    public Transaction getTransactionById(long transactionId) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ); PreparedStatement stmt = conn.prepareStatement(TRANSACTION_BY_ID_SQL)) {
+            stmt.setLong(1, transactionId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToTransaction(rs);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch transaction ID {}", transactionId, e);
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the change cursor of the transactions recorded by a staff member: the transaction ID
+     * of the latest insert, update or deletion below the change horizon, so no change can later commit
+     * below the cursor. Both maxima are read from the end of an index, so the query costs the same
+     * however many transactions the staff member recorded.
+     *
+     * @param staffId The ID of the staff member.
+     * @return The cursor, 0 if nothing changed since change tracking began, or -1 if an error occurs.
+     */
+    public long getTransactionChangeCursorByStaffId(int staffId) {
+        String sql = "SELECT GREATEST(" +
+                "COALESCE((SELECT MAX(change_xid) FROM transactions WHERE user_id = ? AND change_xid < change_horizon()), 0), " +
+                "COALESCE((SELECT MAX(change_xid) FROM change_tombstones " +
+                "WHERE entity = 'transaction' AND user_id = ? AND change_xid < change_horizon()), 0))";
+        return readChangeCursor(sql, staffId, 2, "staff ID");
+    }
+
+    /**
+     * Retrieves the change cursor of the transactions sent or received by a warehouse, used to tell
+     * whether its dashboard counters are stale. Deletions are not tracked here, they only happen when
+     * a product is removed, which moves the product cursor.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return The cursor, 0 if nothing changed since change tracking began, or -1 if an error occurs.
+     */
+    public long getTransactionChangeCursorByWarehouseId(int warehouseId) {
+        String sql = "SELECT GREATEST(" +
+                "COALESCE((SELECT MAX(change_xid) FROM transactions WHERE warehouse_id = ? AND change_xid < change_horizon()), 0), " +
+                "COALESCE((SELECT MAX(change_xid) FROM transactions " +
+                "WHERE destination_warehouse_id = ? AND change_xid < change_horizon()), 0))";
+        return readChangeCursor(sql, warehouseId, 2, "warehouse");
+    }
+
+    private long readChangeCursor(String sql, int ownerId, int parameters, String owner) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 1; i <= parameters; i++) {
+                stmt.setInt(i, ownerId);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to read the transaction change cursor of {} {}", owner, ownerId, e);
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the transactions of a staff member that were inserted, updated or deleted after a change cursor.
+     * The delta is bounded by the change horizon read first, so both queries stop at the same point
+     * and a change committing later is left for the next delta.
+     *
+     * @param staffId The ID of the staff member.
+     * @param cursor The cursor returned by {@link #getTransactionChangeCursorByStaffId(int)} or by a previous change set.
+     * @return The changed transactions and the IDs of the deleted ones, or null if an error occurs.
+     */
+    public ChangeSet<Transaction> getTransactionChangesByStaffId(int staffId, long cursor) {
+        String changedSql = "SELECT " + TRANSACTION_COLUMNS + ", change_xid FROM transactions " +
+                "WHERE user_id = ? AND change_xid > ? AND change_xid < ? ORDER BY change_seq";
+        String deletedSql = "SELECT id, change_xid FROM change_tombstones " +
+                "WHERE entity = 'transaction' AND user_id = ? AND change_xid > ? AND change_xid < ?";
+
+        List<Transaction> changed = new ArrayList<>();
+        Set<Long> deleted = new HashSet<>();
+        long latest = cursor;
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ)) {
+            long horizon = ChangeHorizon.read(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(changedSql)) {
+                stmt.setInt(1, staffId);
+                stmt.setLong(2, cursor);
+                stmt.setLong(3, horizon);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        latest = Math.max(latest, rs.getLong("change_xid"));
+                        Transaction transaction = mapResultSetToTransaction(rs);
+                        if (transaction != null) {
+                            changed.add(transaction);
+                        }
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(deletedSql)) {
+                stmt.setInt(1, staffId);
+                stmt.setLong(2, cursor);
+                stmt.setLong(3, horizon);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        deleted.add(rs.getLong("id"));
+                        latest = Math.max(latest, rs.getLong("change_xid"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch transaction changes of staff ID {} since {}", staffId, cursor, e);
+            return null;
+        }
+        return new ChangeSet<>(changed, deleted, latest);
+    }
+
+    /**
+     * Retrieves one page of the transactions of a warehouse, newest first, including the transfers it received.
+     * Pages are addressed by the last transaction of the previous page rather than by an offset,
+     * so every page is read straight from the (warehouse_id, date, id) index and the index of received
+     * transfers, however deep it is.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @param filter The status, type and date criteria; use {@link TransactionFilter#all()} for none.
+     * @param after The last transaction of the previous page, or null for the first page.
+     * @param pageSize The maximum number of transactions to return.
+     * @return A list of at most {@code pageSize} transactions; fewer means there is no next page.
+     * Returns an empty list if an error occurs.
+     */
+    public List<Transaction> getTransactionsByWarehouse(int warehouseId, TransactionFilter filter, Transaction after, int pageSize) {
+        List<Transaction> transactions = new ArrayList<>();
+        List<Object> conditionParams = new ArrayList<>();
+        StringBuilder conditions = new StringBuilder();
+
+        if (filter.getStatus() != null) {
+            conditions.append(" AND status = ?::transaction_status");
+            conditionParams.add(filter.getStatus().getDbValue());
+        }
+        if (filter.getType() != null) {
+            conditions.append(" AND transaction_type = ?::transaction_type");
+            conditionParams.add(filter.getType().getDbValue());
+        }
+        if (filter.getFrom() != null) {
+            conditions.append(" AND date >= ?");
+            conditionParams.add(Timestamp.valueOf(filter.getFrom().atStartOfDay()));
+        }
+        if (filter.getTo() != null) {
+            conditions.append(" AND date < ?");
+            conditionParams.add(Timestamp.valueOf(filter.getTo().plusDays(1).atStartOfDay()));
+        }
+        if (after != null) {
+            // keep the sub-millisecond part of timestamps read from the database
+            Timestamp afterDate = after.getDate() instanceof Timestamp timestamp ? timestamp : new Timestamp(after.getDate().getTime());
+            conditions.append(" AND (date, id) < (?, ?)");
+            conditionParams.add(afterDate);
+            conditionParams.add((long) after.getId());
+        }
+
+        List<Object> params = new ArrayList<>();
+        for (int branch = 0; branch < 2; branch++) {
+            params.add(warehouseId);
+            params.addAll(conditionParams);
+            params.add(pageSize);
+        }
+        params.add(pageSize);
+        String sql = warehousePageSql(conditions.toString());
+
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ); PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Transaction transaction = mapResultSetToTransaction(rs);
+                    if (transaction != null) {
+                        transactions.add(transaction);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch transactions of warehouse {}", warehouseId, e);
         }
         return transactions;
     }
 
+    /**
+     * Builds the statement of a page of warehouse transactions. Its parameters are, for the sent and then the
+     * received branch, the warehouse ID, the parameters of {@code conditions} and the page size, then the page size.
+     *
+     * @param conditions The filter and keyset conditions, each starting with {@code " AND "}.
+     * @return The page statement.
+     */
+    static String warehousePageSql(String conditions) {
+        // each branch reads at most one page from its own index; a warehouse never transfers to itself,
+        // so the branches do not overlap
+        String page = conditions + " ORDER BY date DESC, id DESC LIMIT ?";
+        return "(SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE warehouse_id = ?" + page + ") " +
+                "UNION ALL " +
+                "(SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE destination_warehouse_id = ?" + page + ") " +
+                "ORDER BY date DESC, id DESC LIMIT ?";
+    }
+
+    /**
+     * Retrieves the pending outbound transactions of a warehouse, oldest first, for wave planning.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A list of pending {@link OutboundTransaction}, or an empty list if none found or an error occurs.
+     */
+    public List<OutboundTransaction> getPendingOutboundTransactionsByWarehouseId(int warehouseId) {
+        List<OutboundTransaction> transactions = new ArrayList<>();
+        String sql = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions " +
+                "WHERE warehouse_id = ? " +
+                "AND transaction_type = 'outbound'::transaction_type " +
+                "AND status = 'pending'::transaction_status " +
+                "ORDER BY date, id";
+
+        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, warehouseId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (mapResultSetToTransaction(rs) instanceof OutboundTransaction outbound) {
+                        transactions.add(outbound);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch pending outbound transactions of warehouse {}", warehouseId, e);
+        }
+        return transactions;
+    }
+
+    /**
+     * Commits a set of pending transactions of a warehouse with a single statement, e.g. all transactions of a pick wave.
+     * The statement is atomic: if the stock of any product is insufficient, none of the transactions is committed.
+     * Transactions that are no longer pending, e.g. committed from another machine meanwhile, are left unchanged.
+     * The products are locked in SKU order first, since the statement itself updates them in no particular
+     * order and two overlapping waves committed at the same time could otherwise deadlock.
+     *
+     * @param warehouseId The ID of the warehouse owning the transactions.
+     * @param transactionIds The IDs of the transactions to commit.
+     * @return The number of transactions committed, or -1 if an error occurs.
+     */
+    public int commitPendingTransactions(int warehouseId, List<Integer> transactionIds) {
+        String lockSql = "SELECT sku FROM products WHERE sku IN (" +
+                "SELECT product_sku FROM transactions WHERE warehouse_id = ? AND id = ANY (?)) " +
+                "ORDER BY sku FOR NO KEY UPDATE";
+        String sql = "UPDATE transactions SET status = 'committed'::transaction_status " +
+                "WHERE warehouse_id = ? AND id = ANY (?) AND status = 'pending'::transaction_status " +
+                "RETURNING " + TRANSACTION_COLUMNS;
+        List<Transaction> committed = new ArrayList<>();
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement lock = conn.prepareStatement(lockSql); PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Array ids = conn.createArrayOf("bigint", transactionIds.stream().map(Integer::longValue).toArray());
+                lock.setInt(1, warehouseId);
+                lock.setArray(2, ids);
+                lock.executeQuery().close();
+
+                stmt.setInt(1, warehouseId);
+                stmt.setArray(2, ids);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        committed.add(mapResultSetToTransaction(rs));
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to commit {} transactions of warehouse {}", transactionIds.size(), warehouseId, e);
+            return -1;
+        }
+
+        committed.forEach(this::notifyCommitted);
+        return committed.size();
+    }
+
     /**
      * Counts the number of outbound transactions recorded today (since 00:00) in a specific warehouse.
+     * Transfers sent to another warehouse count as outbound.
      *
      * @param warehouseId The ID of the warehouse whose outbound transactions to count.
      * @return The total count of today's outbound transactions, or -1 if an error occurs.
      */
     public int countTodayOutboundTransaction(int warehouseId) {
-        String sql = "SELECT COUNT(t.*) FROM transactions t " + "JOIN products p ON t.product_sku = p.sku " + "WHERE t.transaction_type = 'outbound'::transaction_type " + "AND t.date >= CURRENT_DATE " + "AND t.date < CURRENT_DATE + interval '1 day' " + "AND p.warehouse_id = ?";
-
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ); PreparedStatement stmt = conn.prepareStatement(COUNT_TODAY_OUTBOUND_SQL)) {
             stmt.setInt(1, warehouseId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -148,23 +931,25 @@ public class TransactionRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count today's outbound transactions of warehouse {}", warehouseId, e);
         }
         return -1;
     }
 
     /**
      * Counts the number of inbound transactions recorded today (since 00:00) in a specific warehouse.
+     * Transfers received from another warehouse count as inbound.
      *
      * @param warehouseId The ID of the warehouse whose inbound transactions to count.
      * @return The total count of today's inbound transactions, or -1 if an error occurs.
      */
     public int countTodayInboundTransaction(int warehouseId) {
-        String sql = "SELECT COUNT(t.*) FROM transactions t " + "JOIN products p ON t.product_sku = p.sku " + "WHERE t.transaction_type = 'inbound'::transaction_type " + "AND t.date >= CURRENT_DATE " + "AND t.date < CURRENT_DATE + interval '1 day' " + "AND p.warehouse_id = ?";
+        String sql = "SELECT (SELECT COUNT(*) FROM transactions " + "WHERE warehouse_id = ? " + "AND transaction_type = 'inbound'::transaction_type " + "AND date >= CURRENT_DATE " + "AND date < CURRENT_DATE + interval '1 day') " +
+                "+ (SELECT COUNT(*) FROM transactions " + "WHERE destination_warehouse_id = ? " + "AND date >= CURRENT_DATE " + "AND date < CURRENT_DATE + interval '1 day')";
 
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ); PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, warehouseId);
+            stmt.setInt(2, warehouseId);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -172,8 +957,7 @@ public class TransactionRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count today's inbound transactions of warehouse {}", warehouseId, e);
         }
         return -1;
     }
@@ -186,27 +970,212 @@ public class TransactionRepository {
      * @return {@code true} if the status was updated successfully, {@code false} otherwise.
      */
     public boolean updateTransactionStatus(long transactionId, TransactionStatus newStatus) {
-        String sql = "UPDATE transactions SET status = ?::transaction_status WHERE id = ?";
+        String sql = "UPDATE transactions SET status = ?::transaction_status WHERE id = ? " +
+                "RETURNING " + TRANSACTION_COLUMNS;
 
         try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, newStatus.getDbValue());
             stmt.setLong(2, transactionId);
 
-            return stmt.executeUpdate() > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                if (newStatus == TransactionStatus.COMMITTED) {
+                    Transaction transaction = mapResultSetToTransaction(rs);
+                    if (transaction != null) {
+                        notifyCommitted(transaction);
+                    }
+                }
+                return true;
+            }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to update status of transaction ID {}", transactionId, e);
             return false;
         }
     }
 
+    /**
+     * Retrieves the committed inbound lots with a recorded expiry date for a specific warehouse.
+     * Only lots of products that still have stock are returned, and lots that expired more than
+     * {@code expiredLookbackDays} days ago are skipped.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @param expiredLookbackDays How many days back already expired lots are still reported.
+     * @return A list of {@link InboundTransaction} with their expiry dates, or an empty list if none found or an error occurs.
+     */
+    public List<InboundTransaction> getExpiryLotsByWarehouseId(int warehouseId, int expiredLookbackDays) {
+        List<InboundTransaction> lots = new ArrayList<>();
+
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ); PreparedStatement stmt = conn.prepareStatement(EXPIRY_LOTS_SQL)) {
+            stmt.setInt(1, warehouseId);
+            stmt.setInt(2, expiredLookbackDays);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (mapResultSetToTransaction(rs) instanceof InboundTransaction lot) {
+                        lots.add(lot);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch expiry lots for warehouse {}", warehouseId, e);
+        }
+        return lots;
+    }
+
+    /**
+     * Streams the committed outbound demand of every dry good product owned by a manager,
+     * one SKU at a time. Quantities are summed per calendar day and days without demand are zero,
+     * so each series has one entry per day from {@code since} up to and including today.
+     * Rows are fetched through a server-side cursor, so the full history is never held in memory.
+     *
+     * @param managerId The ID of the manager.
+     * @param since The first day of the history.
+     * @param consumer Receives the SKU and its daily demand series, in SKU order.
+     * @return The number of SKUs streamed, or -1 if an error occurs.
+     */
+    public int streamDailyOutboundDemandByManagerId(int managerId, LocalDate since, BiConsumer<Integer, int[]> consumer) {
+        int days = (int) ChronoUnit.DAYS.between(since, LocalDate.now()) + 1;
+        String sql = "SELECT t.product_sku, t.date::date AS day, SUM(t.quantity) AS demand " +
+                "FROM transactions t " +
+                "JOIN products p ON t.product_sku = p.sku " +
+                "JOIN warehouses w ON p.warehouse_id = w.id " +
+                "WHERE w.manager_id = ? " +
+                "AND p.product_type = 'dry good'::product_type " +
+                "AND t.transaction_type = 'outbound'::transaction_type " +
+                "AND t.status = 'committed'::transaction_status " +
+                "AND t.date >= ? " +
+                "GROUP BY t.product_sku, t.date::date " +
+                "ORDER BY t.product_sku, day";
+
+        int streamed = 0;
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.ANALYTICS)) {
+            // the driver only uses a cursor outside of auto-commit mode
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setFetchSize(HISTORY_FETCH_SIZE);
+                stmt.setInt(1, managerId);
+                stmt.setTimestamp(2, Timestamp.valueOf(since.atStartOfDay()));
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    int currentSku = -1;
+                    int[] series = null;
+                    while (rs.next()) {
+                        int sku = rs.getInt("product_sku");
+                        if (sku != currentSku) {
+                            if (series != null) {
+                                consumer.accept(currentSku, series);
+                                streamed++;
+                            }
+                            currentSku = sku;
+                            series = new int[days];
+                        }
+                        int day = (int) ChronoUnit.DAYS.between(since, rs.getDate("day").toLocalDate());
+                        if (day >= 0 && day < days) {
+                            series[day] = rs.getInt("demand");
+                        }
+                    }
+                    if (series != null) {
+                        consumer.accept(currentSku, series);
+                        streamed++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to stream outbound demand for manager ID {}", managerId, e);
+            return -1;
+        }
+        return streamed;
+    }
+
+    /**
+     * Streams the stock ledger of every product owned by a manager, one SKU at a time.
+     * Each product is followed by its committed movements in date order; a transfer is a movement out of
+     * its source product and into its receiving product, and transactions recorded before unit costs were
+     * stored are costed at the product's current purchase price.
+     * Rows are fetched through a server-side cursor, so the full history is never held in memory.
+     *
+     * @param managerId The ID of the manager.
+     * @param consumer Receives the products and their movements, in SKU order.
+     * @return The number of products streamed, or -1 if an error occurs.
+     */
+    public int streamStockLedgerByManagerId(int managerId, StockLedgerConsumer consumer) {
+        String sql = "SELECT p.sku, p.warehouse_id, p.quantity AS stock, " +
+                "(COALESCE(p.purchase_price, 0) * 100)::bigint AS price_cents, " +
+                "t.id, t.inbound, t.quantity, " +
+                "(COALESCE(t.unit_cost, p.purchase_price, 0) * 100)::bigint AS cost_cents " +
+                "FROM products p " +
+                "JOIN warehouses w ON p.warehouse_id = w.id " +
+                "LEFT JOIN (" +
+                "SELECT id, date, product_sku AS sku, transaction_type = 'inbound'::transaction_type AS inbound, quantity, unit_cost " +
+                "FROM transactions WHERE status = 'committed'::transaction_status " +
+                "UNION ALL " +
+                "SELECT id, date, destination_product_sku, TRUE, quantity, unit_cost " +
+                "FROM transactions WHERE status = 'committed'::transaction_status AND destination_product_sku IS NOT NULL" +
+                ") t ON t.sku = p.sku " +
+                "WHERE w.manager_id = ? " +
+                "ORDER BY p.sku, t.date, t.id";
+
+        int streamed = 0;
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.ANALYTICS)) {
+            // the driver only uses a cursor outside of auto-commit mode
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setFetchSize(HISTORY_FETCH_SIZE);
+                stmt.setInt(1, managerId);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    int currentSku = -1;
+                    while (rs.next()) {
+                        int sku = rs.getInt("sku");
+                        if (sku != currentSku) {
+                            consumer.product(sku, rs.getInt("warehouse_id"), rs.getInt("stock"), rs.getLong("price_cents"));
+                            currentSku = sku;
+                            streamed++;
+                        }
+                        int transactionId = rs.getInt("id");
+                        if (!rs.wasNull()) {
+                            consumer.movement(transactionId, rs.getBoolean("inbound"), rs.getInt("quantity"), rs.getLong("cost_cents"));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to stream stock ledger for manager ID {}", managerId, e);
+            return -1;
+        }
+        return streamed;
+    }
+
+    /**
+     * Notifies all registered commit listeners about a committed transaction.
+     * A failing listener is logged and does not prevent the others from being notified.
+     *
+     * @param transaction The committed transaction.
+     */
+    private void notifyCommitted(Transaction transaction) {
+        if (transaction == null) {
+            return;
+        }
+        for (TransactionCommitListener listener : commitListeners) {
+            try {
+                listener.onTransactionCommitted(transaction);
+            } catch (RuntimeException e) {
+                LOGGER.error("Commit listener failed for transaction ID {}", transaction.getId(), e);
+            }
+        }
+    }
+
     /**
      * Helper method to map a row from a ResultSet to the correct Transaction subclass
-     * ({@link InboundTransaction} or {@link OutboundTransaction}) based on the 'transaction_type' column.
+     * ({@link InboundTransaction}, {@link OutboundTransaction} or {@link TransferTransaction}) based on the 'transaction_type' column.
      *
      * @param rs The ResultSet, positioned at the row to map.
-     * @return A {@code Transaction} object (as {@code InboundTransaction} or {@code OutboundTransaction}),
+     * @return A {@code Transaction} object (as {@code InboundTransaction}, {@code OutboundTransaction} or {@code TransferTransaction}),
      * or {@code null} if the type is unknown or enum values are invalid.
      * @throws SQLException If an error occurs while reading from the ResultSet.
      */
@@ -220,28 +1189,48 @@ public class TransactionRepository {
         int productSku = rs.getInt("product_sku");
         int quantity = rs.getInt("quantity");
         String statusString = rs.getString("status");
+        int warehouseId = rs.getInt("warehouse_id");
+        BigDecimal unitCost = rs.getBigDecimal("unit_cost");
 
         TransactionType type = TransactionType.fromDbValue(typeString);
         ShippingType shippingType = ShippingType.fromDbValue(shippingString);
         TransactionStatus status = TransactionStatus.fromDbValue(statusString);
 
         if (type == null || shippingType == null || status == null) {
-            System.err.println("Warning: Invalid enum value found for transaction ID " + id);
+            LOGGER.warn("Invalid enum value found for transaction ID {}", id);
             return null;
         }
 
         if (type == TransactionType.INBOUND) {
-            return new InboundTransaction(id, productSku, staffId, quantity, date, shippingType, status, TransactionType.INBOUND);
+            InboundTransaction inbound = new InboundTransaction(id, productSku, staffId, quantity, date, shippingType, status, TransactionType.INBOUND);
+            Date expiryDate = rs.getDate("expiry_date");
+            inbound.setExpiryDate(expiryDate != null ? expiryDate.toLocalDate() : null);
+            inbound.setWarehouseId(warehouseId);
+            inbound.setUnitCost(unitCost);
+            return inbound;
         } else if (type == TransactionType.OUTBOUND) {
-            return new OutboundTransaction(id, productSku, staffId, quantity, date, shippingType, status, destAddress, TransactionType.OUTBOUND);
+            OutboundTransaction outbound = new OutboundTransaction(id, productSku, staffId, quantity, date, shippingType, status, destAddress, TransactionType.OUTBOUND);
+            outbound.setWarehouseId(warehouseId);
+            outbound.setUnitCost(unitCost);
+            return outbound;
+        } else if (type == TransactionType.TRANSFER) {
+            TransferTransaction transfer = new TransferTransaction(id, productSku, staffId, quantity, date, shippingType, status,
+                    rs.getInt("destination_product_sku"), rs.getInt("destination_warehouse_id"));
+            transfer.setWarehouseId(warehouseId);
+            transfer.setUnitCost(unitCost);
+            return transfer;
         } else {
-            System.err.println("Warning: Unknown transaction type found in DB: " + typeString);
+            LOGGER.warn("Unknown transaction type found in DB: {}", typeString);
             return null;
         }
     }
 
     /**
      * Gets the outbound transaction counts for a warehouse over the last N days.
+     * Transfers sent to another warehouse count as outbound.
+     * Days up to the rollup watermark are read from the daily rollup, later days are counted from the transactions,
+     * so the counts are complete whether or not the rollup job ran. The last {@link #ROLLUP_RECOUNT_DAYS} days are
+     * always counted live, since transactions queued offline or backdated land there after they were rolled up.
      *
      * @param warehouseId The ID of the warehouse.
      * @param days The total number of days to retrieve (e.g., 7 for the last 7 days).
@@ -260,20 +1249,15 @@ public class TransactionRepository {
             dailyCounts.put(date, 0);
         }
 
-        String sql = "SELECT DATE(t.date) AS transaction_day, COUNT(t.*) AS transaction_count " +
-                "FROM transactions t " +
-                "JOIN products p ON t.product_sku = p.sku " +
-                "WHERE t.transaction_type = 'outbound'::transaction_type " +
-                "AND p.warehouse_id = ? " +
-                "AND t.date >= (CURRENT_DATE - (? || ' days')::interval) " +
-                "AND t.date < (CURRENT_DATE + '1 day'::interval) " +
-                "GROUP BY transaction_day";
-
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(OUTBOUND_COUNTS_SQL)) {
 
             stmt.setInt(1, warehouseId);
             stmt.setInt(2, days - 1);
+            stmt.setString(3, OUTBOUND_ROLLUP);
+            stmt.setInt(4, warehouseId);
+            stmt.setInt(5, days - 1);
+            stmt.setString(6, OUTBOUND_ROLLUP);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -283,10 +1267,84 @@ public class TransactionRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count outbound transactions of warehouse {}", warehouseId, e);
         }
 
         return dailyCounts;
     }
+
+    /**
+     * Rolls the daily outbound counts of every warehouse up to yesterday into daily_outbound_counts and moves
+     * the watermark to yesterday. The first run backfills the online history; later runs recount the days
+     * after the watermark plus {@code recountDays} days before it, which picks up transactions replayed late
+     * by offline clients with their original date. Archived months keep the counts rolled up before archiving:
+     * nothing before the oldest attached partition is deleted or counted again.
+     *
+     * @param recountDays The number of already rolled up days to count again.
+     * @return The number of rollup rows written, or -1 if an error occurs.
+     */
+    public int rollupDailyOutboundCounts(int recountDays) {
+        String watermarkSql = "SELECT rolled_through FROM rollup_watermarks WHERE name = ? FOR UPDATE";
+        String deleteSql = "DELETE FROM daily_outbound_counts WHERE day >= COALESCE(?, '-infinity'::date) AND day < CURRENT_DATE";
+        String insertSql = "INSERT INTO daily_outbound_counts (warehouse_id, day, transaction_count) " +
+                "SELECT warehouse_id, DATE(date), COUNT(*) " +
+                "FROM transactions " +
+                "WHERE warehouse_id IS NOT NULL " +
+                "AND transaction_type IN ('outbound'::transaction_type, 'transfer'::transaction_type) " +
+                "AND date >= COALESCE(?, '-infinity'::date) " +
+                "AND date < CURRENT_DATE " +
+                "GROUP BY warehouse_id, DATE(date)";
+        String moveSql = "INSERT INTO rollup_watermarks (name, rolled_through) VALUES (?, CURRENT_DATE - 1) " +
+                "ON CONFLICT (name) DO UPDATE SET rolled_through = EXCLUDED.rolled_through";
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // the row lock also serializes manual runs with the scheduled one
+                Date from = null;
+                try (PreparedStatement stmt = conn.prepareStatement(watermarkSql)) {
+                    stmt.setString(1, OUTBOUND_ROLLUP);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            from = Date.valueOf(rs.getDate(1).toLocalDate().minusDays(recountDays - 1L));
+                        }
+                    }
+                }
+                List<YearMonth> online = PartitionManager.getInstance().listPartitions(conn);
+                if (!online.isEmpty()) {
+                    Date onlineFrom = Date.valueOf(online.get(0).atDay(1));
+                    if (from == null || from.before(onlineFrom)) {
+                        from = onlineFrom;
+                    }
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+                    stmt.setDate(1, from);
+                    stmt.executeUpdate();
+                }
+                int rows;
+                try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                    stmt.setDate(1, from);
+                    rows = stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(moveSql)) {
+                    stmt.setString(1, OUTBOUND_ROLLUP);
+                    stmt.executeUpdate();
+                }
+
+                conn.commit();
+                return rows;
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to roll up daily outbound counts", e);
+            return -1;
+        }
+    }
 }
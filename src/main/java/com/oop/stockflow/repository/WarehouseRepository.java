@@ -1,12 +1,19 @@
 package com.oop.stockflow.repository;
 
 import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.db.QueryIntent;
+import com.oop.stockflow.logging.Logger;
 import com.oop.stockflow.model.Warehouse;
+import com.oop.stockflow.model.WarehouseColumn;
 import com.oop.stockflow.model.WarehouseStatus;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Repository class (Data Access Object) for handling all persistence operations
@@ -16,8 +23,15 @@ import java.util.List;
  * manages database access for warehouse data.
  */
 public class WarehouseRepository {
+    private static final Logger LOGGER = Logger.getLogger(WarehouseRepository.class);
+
+    // statements whose plans QueryPlanCheck explains through HotQuery
+    static final String WAREHOUSES_BY_MANAGER_SQL = "SELECT * FROM warehouses WHERE manager_id = ?";
+
     private static WarehouseRepository instance;
 
+    private final Map<EnumSet<WarehouseColumn>, String> updateSqlCache = new ConcurrentHashMap<>();
+
     private WarehouseRepository() {
     }
 
@@ -51,7 +65,8 @@ public class WarehouseRepository {
     public boolean insertWarehouse(String name, String address, String city, String state, String postalCode, double storageCapacityKgField, double storageCapacityM3Field, WarehouseStatus status, int manager_id) {
         String sql = "INSERT INTO warehouses (name, address, city, state, postal_code, max_capacity_volume_m3, max_capacity_weight_kg, status, manager_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?::warehouse_status, ?)";
 
-        try (PreparedStatement stmt = DatabaseManager.getConnection().prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, name);
             stmt.setString(2, address);
             stmt.setString(3, city);
@@ -64,61 +79,101 @@ public class WarehouseRepository {
 
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.out.println("[ERROR] Failed to insert warehouse: " + e.getMessage());
+            LOGGER.error("Failed to insert warehouse", e);
             return false;
         }
     }
 
     /**
      * Updates the details of an existing warehouse in the database.
-     * The warehouse to update is identified by its unique ID.
+     * Only the columns modified through the warehouse's setters are written, so changing the status
+     * does not rewrite the address. The warehouse to update is identified by its unique ID.
      *
-     * @param warehouseId       The unique identifier (ID) of the warehouse to update.
-     * @param name              The new name for the warehouse.
-     * @param address           The new full street address for the warehouse.
-     * @param city              The new city where the warehouse is located.
-     * @param state             The new state or province where the warehouse is located.
-     * @param postalCode        The new postal code for the warehouse address.
-     * @param storageCapacityKg The updated maximum storage capacity in kilograms (can be 0 if not applicable).
-     * @param storageCapacityM3 The updated maximum storage capacity in cubic meters (can be 0 if not applicable).
-     * @param status            The new status of the warehouse (e.g., ACTIVE, INACTIVE, MAINTENANCE).
-     * @return {@code true} if the warehouse record was successfully updated (at least one row affected),
+     * @param warehouse The warehouse holding the modified fields.
+     * @return {@code true} if the warehouse record was successfully updated or nothing was modified,
      * {@code false} otherwise (e.g., warehouse ID not found or a database error occurred).
      */
-    public boolean updateWarehouse(int warehouseId, String name, String address, String city, String state, String postalCode, double storageCapacityKg, double storageCapacityM3, WarehouseStatus status) {
-        System.out.println("receiver double " + storageCapacityKg + " " + storageCapacityM3);
-        String sql = "UPDATE warehouses SET " +
-                "name = ?, " +
-                "address = ?, " +
-                "city = ?, " +
-                "state = ?, " +
-                "postal_code = ?, " +
-                "max_capacity_volume_m3 = ?, " +
-                "max_capacity_weight_kg = ?, " +
-                "status = ?::warehouse_status " +
-                "WHERE id = ?";
+    public boolean updateWarehouse(Warehouse warehouse) {
+        EnumSet<WarehouseColumn> columns = warehouse.getDirtyColumns();
+        if (columns.isEmpty()) {
+            return true;
+        }
+        String sql = updateSqlCache.computeIfAbsent(columns, WarehouseRepository::buildUpdateSql);
 
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setString(1, name);
-            stmt.setString(2, address);
-            stmt.setString(3, city);
-            stmt.setString(4, state);
-            stmt.setString(5, postalCode);
-            stmt.setDouble(6, storageCapacityM3);
-            stmt.setDouble(7, storageCapacityKg);
-            stmt.setString(8, status.getDbVal());
-            stmt.setInt(9, warehouseId);
+            int index = 1;
+            for (WarehouseColumn column : columns) {
+                bindColumn(stmt, index++, column, warehouse);
+            }
+            stmt.setInt(index, warehouse.getId());
 
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                warehouse.markClean();
+                return true;
+            }
+            return false;
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to update warehouse ID {}", warehouse.getId(), e);
             return false;
         }
     }
 
+    /**
+     * Builds the UPDATE statement writing exactly the given columns.
+     * The statement text is cached per column set, so the driver's per-connection
+     * prepared statement cache can reuse the server-side statement.
+     *
+     * @param columns The columns to write, in enum order.
+     * @return The SQL statement.
+     */
+    private static String buildUpdateSql(EnumSet<WarehouseColumn> columns) {
+        StringJoiner assignments = new StringJoiner(", ", "UPDATE warehouses SET ", " WHERE id = ?");
+        for (WarehouseColumn column : columns) {
+            assignments.add(column.getDbValue() + " = " + column.getPlaceholder());
+        }
+        return assignments.toString();
+    }
+
+    /**
+     * Binds the value of one modified column of a warehouse.
+     *
+     * @param stmt The statement to bind to.
+     * @param index The parameter index.
+     * @param column The column to bind.
+     * @param warehouse The warehouse holding the value.
+     * @throws SQLException If the parameter cannot be set.
+     */
+    private void bindColumn(PreparedStatement stmt, int index, WarehouseColumn column, Warehouse warehouse) throws SQLException {
+        switch (column) {
+            case NAME:
+                stmt.setString(index, warehouse.getName());
+                break;
+            case ADDRESS:
+                stmt.setString(index, warehouse.getAddress());
+                break;
+            case CITY:
+                stmt.setString(index, warehouse.getCity());
+                break;
+            case STATE:
+                stmt.setString(index, warehouse.getState());
+                break;
+            case POSTAL_CODE:
+                stmt.setString(index, warehouse.getPostalCode());
+                break;
+            case MAX_CAPACITY_VOLUME_M3:
+                stmt.setDouble(index, warehouse.getMaxCapacityVolume());
+                break;
+            case MAX_CAPACITY_WEIGHT_KG:
+                stmt.setDouble(index, warehouse.getMaxCapacityWeight());
+                break;
+            case STATUS:
+                stmt.setString(index, warehouse.getStatus().getDbVal());
+                break;
+        }
+    }
+
     /**
      * Retrieves a single Warehouse object from the database based on its ID.
      *
@@ -130,7 +185,7 @@ public class WarehouseRepository {
 
         Warehouse warehouse = null;
 
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ); PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, warehouseId);
 
@@ -152,12 +207,11 @@ public class WarehouseRepository {
 
                     warehouse = new Warehouse(id, name, city, state, postalCode, address, maxCapacityVolume, maxCapacityWeight, statusStr, managerId);
                 } else {
-                    System.out.println("[INFO] No warehouse found with ID: " + warehouseId);
+                    LOGGER.debug("No warehouse found with ID: {}", warehouseId);
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed to fetch warehouse by ID " + warehouseId + ": " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to fetch warehouse by ID {}", warehouseId, e);
         }
 
         return warehouse;
@@ -171,9 +225,8 @@ public class WarehouseRepository {
      */
     public List<Warehouse> getAllWarehousesByManagerId(int managerId) {
         List<Warehouse> warehouses = new ArrayList<>();
-        String query = "SELECT * FROM warehouses WHERE manager_id = ?";
 
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ); PreparedStatement stmt = conn.prepareStatement(WAREHOUSES_BY_MANAGER_SQL)) {
             stmt.setInt(1, managerId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -184,8 +237,7 @@ public class WarehouseRepository {
             }
 
         } catch (SQLException e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to fetch warehouses of manager ID {}", managerId, e);
         }
 
         return warehouses;
@@ -201,7 +253,7 @@ public class WarehouseRepository {
     public int countWarehouseByManagerId(int managerId) {
         String query = "SELECT COUNT(*) FROM warehouses WHERE manager_id = ?";
 
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getConnection(QueryIntent.READ); PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, managerId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -210,8 +262,7 @@ public class WarehouseRepository {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] Failed to count warehouses by managerId " + managerId + ": " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to count warehouses by managerId {}", managerId, e);
         }
 
         return 0;
@@ -0,0 +1,17 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.model.ChangeEvent;
+
+/**
+ * Callback for rows changed by any client connected to the database.
+ * Listeners are invoked on the notification thread, so UI code must hand off to the JavaFX thread.
+ */
+@FunctionalInterface
+public interface ChangeEventListener {
+    /**
+     * Called once for every change notification received from the database.
+     *
+     * @param event The changed row.
+     */
+    void onChange(ChangeEvent event);
+}
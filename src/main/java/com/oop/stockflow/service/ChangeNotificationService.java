@@ -0,0 +1,166 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.logging.Logger;
+import com.oop.stockflow.model.ChangeEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Receives row change notifications published by the database triggers and fans them out to subscribers.
+ * Implements singleton pattern so every client holds exactly one LISTEN connection.
+ *
+ * The listener thread is started on the first subscription and keeps a dedicated connection outside
+ * of the pool. Screen subscriptions are dropped on every navigation, so controllers only receive
+ * events while they are displayed; service subscriptions live for the whole session.
+ */
+public class ChangeNotificationService {
+    private static final Logger LOGGER = Logger.getLogger(ChangeNotificationService.class);
+
+    public static final String CHANNEL = "stockflow_changes";
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final int RECONNECT_DELAY_MS = 5000;
+
+    private static ChangeNotificationService instance;
+
+    private final List<ChangeEventListener> serviceListeners = new CopyOnWriteArrayList<>();
+    private final List<ChangeEventListener> screenListeners = new CopyOnWriteArrayList<>();
+    private Thread listenerThread;
+    private volatile boolean running;
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private ChangeNotificationService() {
+    }
+
+    /**
+     * Returns the singleton instance of the ChangeNotificationService.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton ChangeNotificationService instance.
+     */
+    public static synchronized ChangeNotificationService getInstance() {
+        if (instance == null) {
+            instance = new ChangeNotificationService();
+        }
+        return instance;
+    }
+
+    /**
+     * Subscribes a long-lived listener, such as a service that keeps derived state.
+     *
+     * @param listener The listener to notify about every change.
+     */
+    public void subscribe(ChangeEventListener listener) {
+        serviceListeners.add(listener);
+        start();
+    }
+
+    /**
+     * Subscribes a listener of the currently displayed screen.
+     * The subscription ends with the next navigation, see {@link #clearScreenListeners()}.
+     *
+     * @param listener The listener to notify about every change.
+     */
+    public void subscribeScreen(ChangeEventListener listener) {
+        screenListeners.add(listener);
+        start();
+    }
+
+    /**
+     * Removes every screen subscription. Called by the stage manager before a new screen is loaded.
+     */
+    public void clearScreenListeners() {
+        screenListeners.clear();
+    }
+
+    /**
+     * Stops the listener thread and closes its connection.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread = null;
+        }
+    }
+
+    /**
+     * Starts the listener thread if it is not running yet.
+     */
+    private synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "change-notification-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    /**
+     * Listens on the notification channel until stopped, reconnecting after connection failures.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection conn = DatabaseManager.openDedicatedConnection();
+                 Statement stmt = conn.createStatement()) {
+
+                stmt.execute("LISTEN " + CHANNEL);
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                LOGGER.info("Listening for changes on channel {}.", CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                LOGGER.error("Change notification connection lost", e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses a payload and hands the event to every subscriber.
+     * A failing listener is logged and does not prevent the others from being notified.
+     *
+     * @param payload The notification payload.
+     */
+    private void dispatch(String payload) {
+        ChangeEvent event = ChangeEvent.fromPayload(payload);
+        if (event == null) {
+            LOGGER.error("Ignoring malformed change notification: {}", payload);
+            return;
+        }
+
+        for (List<ChangeEventListener> listeners : List.of(serviceListeners, screenListeners)) {
+            for (ChangeEventListener listener : listeners) {
+                try {
+                    listener.onChange(event);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Change listener failed", e);
+                }
+            }
+        }
+    }
+}
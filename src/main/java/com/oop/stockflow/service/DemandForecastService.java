@@ -0,0 +1,218 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.model.DemandForecast;
+import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.TransactionRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Forecasts per-SKU demand from committed outbound history and derives reorder points from it.
+ * Implements singleton pattern to ensure only one forecasting engine exists.
+ *
+ * Each SKU is fitted with additive exponential smoothing with weekly seasonality. The history is
+ * streamed from the database one SKU at a time and fitted in batches on the fork/join pool while
+ * the next rows are still being read, so the full history is never held in memory at once.
+ */
+public class DemandForecastService {
+    private static final int HISTORY_DAYS = 730;
+    private static final int SEASON_LENGTH = 7;
+    private static final int LEAD_TIME_DAYS = 7;
+    private static final double LEVEL_SMOOTHING = 0.2;
+    private static final double SEASONAL_SMOOTHING = 0.1;
+    // one-sided z-score of a 95% cycle service level
+    private static final double SERVICE_LEVEL_Z = 1.65;
+    private static final int BATCH_SIZE = 2048;
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private static DemandForecastService instance;
+
+    private final TransactionRepository transactionRepository = TransactionRepository.getInstance();
+    private final ProductRepository productRepository = ProductRepository.getInstance();
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private DemandForecastService() {
+    }
+
+    /**
+     * Returns the singleton instance of the DemandForecastService.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton DemandForecastService instance.
+     */
+    public static synchronized DemandForecastService getInstance() {
+        if (instance == null) {
+            instance = new DemandForecastService();
+        }
+        return instance;
+    }
+
+    /**
+     * Forecasts every dry good product owned by a manager that has outbound history.
+     *
+     * @param managerId The ID of the manager.
+     * @return The forecasts in SKU order, or an empty list if there is no history or an error occurs.
+     */
+    public List<DemandForecast> forecast(int managerId) {
+        List<ForecastBatch> batches = new ArrayList<>();
+        ForecastBatch[] current = {new ForecastBatch(BATCH_SIZE)};
+
+        int streamed = transactionRepository.streamDailyOutboundDemandByManagerId(managerId,
+                LocalDate.now().minusDays(HISTORY_DAYS), (sku, demand) -> {
+                    ForecastBatch batch = current[0];
+                    batch.add(sku, demand);
+                    if (batch.isFull()) {
+                        batch.fork(pool);
+                        batches.add(batch);
+                        current[0] = new ForecastBatch(BATCH_SIZE);
+                    }
+                });
+
+        if (current[0].size > 0) {
+            current[0].fork(pool);
+            batches.add(current[0]);
+        }
+
+        List<DemandForecast> forecasts = new ArrayList<>(Math.max(streamed, 0));
+        for (ForecastBatch batch : batches) {
+            batch.join(forecasts);
+        }
+        return streamed < 0 ? new ArrayList<>() : forecasts;
+    }
+
+    /**
+     * Forecasts every dry good product owned by a manager and writes the recommended
+     * reorder points and safety stock back to the products.
+     *
+     * @param managerId The ID of the manager.
+     * @return The number of products updated, or -1 if an error occurs.
+     */
+    public int applyForecast(int managerId) {
+        List<DemandForecast> forecasts = forecast(managerId);
+        if (forecasts.isEmpty()) {
+            return 0;
+        }
+        return productRepository.updateForecastedReorderPoints(forecasts);
+    }
+
+    /**
+     * Fits additive exponential smoothing with weekly seasonality to a daily demand series
+     * and derives the lead time demand, safety stock and reorder point from the fitted model.
+     * Safety stock covers the one-step forecast error over the lead time at the configured service level.
+     *
+     * @param sku The SKU of the product.
+     * @param demand The daily demand, oldest day first.
+     * @param leadTimeDays The replenishment lead time in days.
+     * @return The fitted forecast.
+     */
+    public static DemandForecast fit(int sku, int[] demand, int leadTimeDays) {
+        int days = demand.length;
+        int warmUp = Math.min(days, SEASON_LENGTH);
+        double[] seasonal = new double[SEASON_LENGTH];
+
+        double level = 0;
+        for (int t = 0; t < warmUp; t++) {
+            level += demand[t];
+        }
+        level = warmUp > 0 ? level / warmUp : 0;
+        for (int t = 0; t < warmUp; t++) {
+            seasonal[t] = demand[t] - level;
+        }
+
+        double squaredErrors = 0;
+        for (int t = warmUp; t < days; t++) {
+            int season = t % SEASON_LENGTH;
+            double error = demand[t] - (level + seasonal[season]);
+            squaredErrors += error * error;
+
+            level = LEVEL_SMOOTHING * (demand[t] - seasonal[season]) + (1 - LEVEL_SMOOTHING) * level;
+            seasonal[season] = SEASONAL_SMOOTHING * (demand[t] - level) + (1 - SEASONAL_SMOOTHING) * seasonal[season];
+        }
+        int residuals = days - warmUp;
+        double sigma = residuals > 0 ? Math.sqrt(squaredErrors / residuals) : 0;
+
+        double leadTimeDemand = 0;
+        for (int h = 0; h < leadTimeDays; h++) {
+            leadTimeDemand += Math.max(0, level + seasonal[(days + h) % SEASON_LENGTH]);
+        }
+
+        int safetyStock = (int) Math.ceil(SERVICE_LEVEL_Z * sigma * Math.sqrt(leadTimeDays));
+        int reorderPoint = (int) Math.ceil(leadTimeDemand) + safetyStock;
+        return new DemandForecast(sku, Math.max(0, level), leadTimeDemand, safetyStock, reorderPoint);
+    }
+
+    /**
+     * A batch of streamed SKU series that is fitted on the fork/join pool.
+     */
+    private static class ForecastBatch {
+        private final int[] skus;
+        private final int[][] series;
+        private final DemandForecast[] results;
+        private int size;
+        private ForkJoinTask<Void> task;
+
+        private ForecastBatch(int capacity) {
+            this.skus = new int[capacity];
+            this.series = new int[capacity][];
+            this.results = new DemandForecast[capacity];
+        }
+
+        private void add(int sku, int[] demand) {
+            skus[size] = sku;
+            series[size] = demand;
+            size++;
+        }
+
+        private boolean isFull() {
+            return size == skus.length;
+        }
+
+        private void fork(ForkJoinPool pool) {
+            task = pool.submit(new FitTask(this, 0, size));
+        }
+
+        private void join(List<DemandForecast> forecasts) {
+            task.join();
+            for (int i = 0; i < size; i++) {
+                forecasts.add(results[i]);
+            }
+        }
+    }
+
+    /**
+     * Fits a range of a batch, splitting it in half until the range is small enough to fit sequentially.
+     */
+    private static class FitTask extends RecursiveAction {
+        private final ForecastBatch batch;
+        private final int from;
+        private final int to;
+
+        private FitTask(ForecastBatch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    batch.results[i] = fit(batch.skus[i], batch.series[i], LEAD_TIME_DAYS);
+                    // the series is no longer needed once fitted
+                    batch.series[i] = null;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FitTask(batch, from, middle), new FitTask(batch, middle, to));
+        }
+    }
+}
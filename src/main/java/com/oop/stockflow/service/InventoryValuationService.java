@@ -0,0 +1,600 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.db.DatabaseExecutor;
+import com.oop.stockflow.logging.Logger;
+import com.oop.stockflow.model.*;
+import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.StockLedgerConsumer;
+import com.oop.stockflow.repository.TransactionRepository;
+import com.oop.stockflow.repository.WarehouseRepository;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values the stock on hand of every warehouse of a manager, by weighted average cost and by FIFO cost.
+ * Implements singleton pattern to ensure only one valuation is kept per manager.
+ *
+ * The valuation of a manager is built once by replaying the committed transactions of their products,
+ * then every committed transaction updates only the affected SKU and the running warehouse and manager
+ * totals, so reading a stock value is O(1). Changes reported while the history is replayed are held back
+ * and applied once it is done; the most recent replayed transactions are remembered as applied, so a
+ * late report of one of them is not counted twice. Amounts are kept as long cents on the hot path and only
+ * converted to BigDecimal when read. Stock whose history has been archived is reconciled against the
+ * current product quantity and valued at the product's purchase price.
+ */
+public class InventoryValuationService {
+    private static final Logger LOGGER = Logger.getLogger(InventoryValuationService.class);
+    private static final int APPLIED_TRANSACTIONS_PER_MANAGER = 1_000;
+    private static final String INSERT_OPERATION = "INSERT";
+
+    private static InventoryValuationService instance;
+
+    private final ProductRepository productRepository = ProductRepository.getInstance();
+    private final TransactionRepository transactionRepository = TransactionRepository.getInstance();
+    private final WarehouseRepository warehouseRepository = WarehouseRepository.getInstance();
+    private final Map<Integer, ManagerValuation> valuationsByManager = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> managerByWarehouse = new ConcurrentHashMap<>();
+    private final ProductLookup productLookup = new ProductLookup();
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     * Subscribes to committed transactions and to changes made by other clients so valuations are kept up to date.
+     */
+    private InventoryValuationService() {
+        transactionRepository.addCommitListener(this::onTransactionCommitted);
+        ChangeNotificationService.getInstance().subscribe(this::onChange);
+    }
+
+    /**
+     * Returns the singleton instance of the InventoryValuationService.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton InventoryValuationService instance.
+     */
+    public static synchronized InventoryValuationService getInstance() {
+        if (instance == null) {
+            instance = new InventoryValuationService();
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the value of the stock on hand of a warehouse.
+     * Builds the valuation of the warehouse's manager on first use.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @param method The cost flow assumption to value the stock with.
+     * @return The stock value, or null if the valuation could not be loaded.
+     */
+    public BigDecimal getWarehouseValue(int warehouseId, ValuationMethod method) {
+        ManagerValuation valuation = load(managerOf(warehouseId));
+        return valuation != null ? toAmount(valuation.warehouseValue(warehouseId, method)) : null;
+    }
+
+    /**
+     * Retrieves the value of the stock on hand of every warehouse owned by a manager.
+     * Builds the valuation of the manager on first use.
+     *
+     * @param managerId The ID of the manager.
+     * @param method The cost flow assumption to value the stock with.
+     * @return The stock value, or null if the valuation could not be loaded.
+     */
+    public BigDecimal getManagerValue(int managerId, ValuationMethod method) {
+        ManagerValuation valuation = load(managerId);
+        return valuation != null ? toAmount(valuation.totalValue(method)) : null;
+    }
+
+    /**
+     * Retrieves the weighted average cost per unit of a product.
+     * Never loads a valuation, so it is safe to call from the UI thread.
+     *
+     * @param sku The SKU of the product.
+     * @return The average unit cost, or null if the product has no stock or its valuation has not been loaded yet.
+     */
+    public BigDecimal getAverageUnitCost(int sku) {
+        for (ManagerValuation valuation : valuationsByManager.values()) {
+            long cents = valuation.averageUnitCost(sku);
+            if (cents >= 0) {
+                return toAmount(cents);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Discards and rebuilds the valuation of a manager from the database.
+     *
+     * @param managerId The ID of the manager.
+     * @return true if the valuation was rebuilt, false if an error occurs.
+     */
+    public boolean reload(int managerId) {
+        valuationsByManager.remove(managerId);
+        return load(managerId) != null;
+    }
+
+    /**
+     * Retrieves the valuation of a manager, replaying their stock ledger if it is not loaded yet.
+     * The valuation is registered before the replay starts, so changes reported meanwhile are held
+     * back by it instead of being lost; other readers wait until the replay is done.
+     *
+     * @param managerId The ID of the manager.
+     * @return The valuation, or null if the manager is unknown or the ledger could not be read.
+     */
+    private ManagerValuation load(int managerId) {
+        if (managerId <= 0) {
+            return null;
+        }
+        ManagerValuation valuation = valuationsByManager.computeIfAbsent(managerId, id -> new ManagerValuation());
+        synchronized (valuation.loadLock) {
+            if (!valuation.isLoaded()) {
+                // lets commit listeners route transactions of these warehouses without a query
+                for (Warehouse warehouse : warehouseRepository.getAllWarehousesByManagerId(managerId)) {
+                    managerByWarehouse.put(warehouse.getId(), managerId);
+                }
+                LedgerReplay replay = new LedgerReplay(valuation);
+                if (transactionRepository.streamStockLedgerByManagerId(managerId, replay) < 0) {
+                    valuationsByManager.remove(managerId, valuation);
+                    return null;
+                }
+                replay.finish();
+                valuation.finishLoading(replay.recentTransactionIds());
+            }
+        }
+        return valuation;
+    }
+
+    /**
+     * Resolves the manager that owns a warehouse. Warehouses never change owner, so the result is cached.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return The ID of the manager, or 0 if the warehouse does not exist.
+     */
+    private int managerOf(int warehouseId) {
+        if (warehouseId <= 0) {
+            return 0;
+        }
+        Integer managerId = managerByWarehouse.get(warehouseId);
+        if (managerId == null) {
+            Warehouse warehouse = warehouseRepository.getWarehouseById(warehouseId);
+            if (warehouse == null) {
+                return 0;
+            }
+            managerId = warehouse.getManager_id();
+            managerByWarehouse.put(warehouseId, managerId);
+        }
+        return managerId;
+    }
+
+    /**
+     * Handles a committed transaction by moving the stock of the affected product.
+     * A transfer moves stock out of its source product and into its receiving product.
+     * Transactions of managers whose valuation has not been loaded yet are ignored. Commit listeners run on
+     * the committing thread, usually the JavaFX thread, so nothing here queries the database there.
+     *
+     * @param transaction The committed transaction.
+     */
+    private void onTransactionCommitted(Transaction transaction) {
+        if (valuationsByManager.isEmpty()) {
+            return;
+        }
+        Integer managerId = managerByWarehouse.get(transaction.getWarehouseId());
+        if (managerId == null) {
+            // a warehouse created after its manager's valuation was loaded, its owner is read in the background
+            DatabaseExecutor.supplyAsync(() -> managerOf(transaction.getWarehouseId()))
+                    .thenAccept(owner -> applyCommitted(owner, transaction));
+            return;
+        }
+        applyCommitted(managerId, transaction);
+    }
+
+    private void applyCommitted(int managerId, Transaction transaction) {
+        ManagerValuation valuation = valuationsByManager.get(managerId);
+        if (valuation == null) {
+            return;
+        }
+
+        if (transaction instanceof TransferTransaction transfer) {
+            applyTransfer(valuation, transfer);
+            return;
+        }
+
+        boolean inbound = transaction.getType() == TransactionType.INBOUND;
+        long unitCostCents = unitCostCents(transaction);
+        valuation.whenLoaded(() -> valuation.apply(transaction.getId(), transaction.getSku(), transaction.getWarehouseId(),
+                inbound, transaction.getQuantity(), unitCostCents));
+    }
+
+    /**
+     * Applies a committed transfer. The receiving product may have been created by the transfer, in which
+     * case its creation is reported as well and may be handled first; its quantity is therefore brought to
+     * the current stock rather than increased, so the transfer is counted once either way. That stock is
+     * read off the committing thread and applied when it arrives.
+     */
+    private void applyTransfer(ManagerValuation valuation, TransferTransaction transfer) {
+        long unitCostCents = unitCostCents(transfer);
+        valuation.whenLoaded(() -> valuation.applyTransfer(transfer.getId(), transfer.getSku(), transfer.getWarehouseId(),
+                transfer.getQuantity()));
+        productLookup.lookup(transfer.getDestinationSku(), destination -> {
+            if (destination != null) {
+                valuation.whenLoaded(() -> valuation.receiveTransfer(transfer.getSku(), destination.getSku(),
+                        destination.getWarehouseId(), destination.getQuantity(), unitCostCents));
+            }
+        });
+    }
+
+    /**
+     * Retrieves the unit cost recorded on a transaction. Every transaction written since unit costs are
+     * recorded carries one; older ones fall back to the price last known for the SKU, without a query.
+     *
+     * @return The unit cost in cents, or -1 if the transaction has none.
+     */
+    private static long unitCostCents(Transaction transaction) {
+        return transaction.getUnitCost() != null ? toCents(transaction.getUnitCost()) : -1;
+    }
+
+    /**
+     * Handles a row changed by any client, so valuations also follow writes made on other machines.
+     * Changes of managers whose valuation has not been loaded yet are ignored.
+     *
+     * @param event The changed row.
+     */
+    private void onChange(ChangeEvent event) {
+        if (valuationsByManager.isEmpty()) {
+            return;
+        }
+        int managerId = managerOf(event.getWarehouseId());
+        ManagerValuation valuation = valuationsByManager.get(managerId);
+        if (valuation == null) {
+            return;
+        }
+
+        if (event.getEntity() == ChangeEntity.PRODUCT) {
+            if (event.isDelete()) {
+                valuation.whenLoaded(() -> valuation.removeProduct((int) event.getId()));
+            } else if (INSERT_OPERATION.equals(event.getOperation())) {
+                // opening stock of a new product, later stock changes arrive as transactions
+                Product product = productRepository.getProductBySku((int) event.getId());
+                if (product != null) {
+                    valuation.whenLoaded(() -> valuation.reconcile(product.getSku(), product.getWarehouseId(),
+                            product.getQuantity(), toCents(product.getPurchasePrice())));
+                }
+            }
+        } else if (event.getEntity() == ChangeEntity.TRANSACTION) {
+            Transaction transaction = event.isDelete() ? null : transactionRepository.getTransactionById(event.getId());
+            if (transaction == null || transaction.getStatus() == TransactionStatus.VOIDED) {
+                // a removed or voided movement cannot be undone on the FIFO layers, rebuild on next read
+                valuationsByManager.remove(managerId, valuation);
+            } else if (transaction.getStatus() == TransactionStatus.COMMITTED) {
+                onTransactionCommitted(transaction);
+            }
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).longValue() : 0;
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Multiplies two amounts, saturating instead of wrapping around on overflow.
+     */
+    private static long multiply(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            LOGGER.warn("Stock value overflow multiplying {} by {}", a, b);
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Computes {@code a * b / c}, falling back to BigInteger only if the product does not fit in a long.
+     */
+    private static long multiplyDivide(long a, long b, long c) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return low / c;
+        }
+        return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).divide(BigInteger.valueOf(c)).longValue();
+    }
+
+    /**
+     * Feeds a streamed stock ledger into a valuation, reconciling each product once all of its movements are replayed.
+     * Keeps the IDs of the most recent replayed transactions, the only ones whose report can still be on its way.
+     */
+    private static class LedgerReplay implements StockLedgerConsumer {
+        private final ManagerValuation valuation;
+        private final PriorityQueue<Integer> recentIds = new PriorityQueue<>();
+        private int sku = -1;
+        private int warehouseId;
+        private int quantity;
+        private long purchasePriceCents;
+
+        private LedgerReplay(ManagerValuation valuation) {
+            this.valuation = valuation;
+        }
+
+        @Override
+        public void product(int sku, int warehouseId, int quantity, long purchasePriceCents) {
+            finish();
+            this.sku = sku;
+            this.warehouseId = warehouseId;
+            this.quantity = quantity;
+            this.purchasePriceCents = purchasePriceCents;
+        }
+
+        @Override
+        public void movement(int transactionId, boolean inbound, int quantity, long unitCostCents) {
+            valuation.replay(sku, warehouseId, inbound, quantity, unitCostCents);
+            if (recentIds.size() < APPLIED_TRANSACTIONS_PER_MANAGER) {
+                recentIds.add(transactionId);
+            } else if (transactionId > recentIds.peek()) {
+                recentIds.poll();
+                recentIds.add(transactionId);
+            }
+        }
+
+        /**
+         * @return The IDs of the most recent replayed transactions, in ascending order.
+         */
+        private List<Integer> recentTransactionIds() {
+            List<Integer> ids = new ArrayList<>(recentIds);
+            ids.sort(null);
+            return ids;
+        }
+
+        /**
+         * Reconciles the product announced last with its current quantity.
+         */
+        private void finish() {
+            if (sku >= 0) {
+                valuation.reconcile(sku, warehouseId, quantity, purchasePriceCents);
+            }
+        }
+    }
+
+    /**
+     * Running cost of a single SKU, valued by both methods at once.
+     */
+    private static class SkuCost {
+        private final int warehouseId;
+        private final ArrayDeque<long[]> layers = new ArrayDeque<>();
+        // the price units of unknown cost are valued at, the purchase price when the SKU was last reconciled
+        private long purchasePriceCents;
+        private long quantity;
+        private long averageValue;
+        private long fifoValue;
+
+        private SkuCost(int warehouseId) {
+            this.warehouseId = warehouseId;
+        }
+
+        /**
+         * Receives units at a cost, as the newest layer or, for stock older than the known history, as the oldest.
+         */
+        private void receive(long units, long unitCostCents, boolean oldest) {
+            if (units <= 0) {
+                return;
+            }
+            long value = multiply(units, unitCostCents);
+            quantity += units;
+            averageValue += value;
+            fifoValue += value;
+
+            long[] adjacent = oldest ? layers.peekFirst() : layers.peekLast();
+            if (adjacent != null && adjacent[1] == unitCostCents) {
+                adjacent[0] += units;
+            } else if (oldest) {
+                layers.addFirst(new long[]{units, unitCostCents});
+            } else {
+                layers.addLast(new long[]{units, unitCostCents});
+            }
+        }
+
+        /**
+         * Issues units, at the average cost and from the oldest FIFO layers.
+         * Issuing more than is on hand empties the SKU.
+         */
+        private void issue(long units) {
+            long issued = Math.min(units, quantity);
+            if (issued <= 0) {
+                return;
+            }
+            if (issued == quantity) {
+                averageValue = 0;
+            } else {
+                averageValue -= multiplyDivide(averageValue, issued, quantity);
+            }
+            quantity -= issued;
+
+            long remaining = issued;
+            while (remaining > 0 && !layers.isEmpty()) {
+                long[] layer = layers.peekFirst();
+                long taken = Math.min(layer[0], remaining);
+                fifoValue -= multiply(taken, layer[1]);
+                layer[0] -= taken;
+                remaining -= taken;
+                if (layer[0] == 0) {
+                    layers.pollFirst();
+                }
+            }
+            if (quantity == 0) {
+                fifoValue = 0;
+            }
+        }
+    }
+
+    /**
+     * Valuation of every SKU of a single manager, with running totals per warehouse and for the manager.
+     * Package-private, with the methods that move stock, so its arithmetic can be tested without a database.
+     */
+    static class ManagerValuation {
+        private final Map<Integer, SkuCost> skus = new HashMap<>();
+        private final Map<Integer, long[]> warehouseTotals = new HashMap<>();
+        private final LinkedHashMap<Integer, Boolean> appliedTransactions = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+                return size() > APPLIED_TRANSACTIONS_PER_MANAGER;
+            }
+        };
+        private final Object loadLock = new Object();
+        private final List<Runnable> pendingChanges = new ArrayList<>();
+        private boolean loaded;
+        private long averageTotal;
+        private long fifoTotal;
+
+        private synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        /**
+         * Applies a live change now, or once the replay is done if it is still running.
+         */
+        private synchronized void whenLoaded(Runnable change) {
+            if (loaded) {
+                change.run();
+            } else {
+                pendingChanges.add(change);
+            }
+        }
+
+        /**
+         * Marks the replayed transactions as applied, then applies the changes held back during the replay.
+         */
+        synchronized void finishLoading(List<Integer> replayedTransactionIds) {
+            for (Integer transactionId : replayedTransactionIds) {
+                appliedTransactions.put(transactionId, Boolean.TRUE);
+            }
+            loaded = true;
+            for (Runnable change : pendingChanges) {
+                change.run();
+            }
+            pendingChanges.clear();
+        }
+
+        /**
+         * Applies a live committed movement once, even if it is reported by both the local commit and the change notification.
+         * An inbound movement without a unit cost (-1) is valued at the price last known for the SKU.
+         */
+        synchronized void apply(int transactionId, int sku, int warehouseId, boolean inbound, int quantity, long unitCostCents) {
+            if (appliedTransactions.put(transactionId, Boolean.TRUE) != null) {
+                return;
+            }
+            replay(sku, warehouseId, inbound, quantity, inbound ? knownUnitCost(sku, unitCostCents) : 0);
+        }
+
+        /**
+         * Applies a live committed transfer once by issuing the stock of the source SKU.
+         */
+        synchronized void applyTransfer(int transactionId, int sku, int warehouseId, int quantity) {
+            if (appliedTransactions.put(transactionId, Boolean.TRUE) != null) {
+                return;
+            }
+            replay(sku, warehouseId, false, quantity, 0);
+        }
+
+        /**
+         * Brings the receiving product of a transfer to its current stock at the transfer's unit cost,
+         * or at the price last known for the source SKU if the transfer has none (-1). Bringing a
+         * quantity to the current stock is idempotent, so a transfer reported twice is still counted once.
+         */
+        synchronized void receiveTransfer(int sourceSku, int sku, int warehouseId, int quantity, long unitCostCents) {
+            reconcile(sku, warehouseId, quantity, knownUnitCost(sourceSku, unitCostCents));
+        }
+
+        private long knownUnitCost(int sku, long unitCostCents) {
+            if (unitCostCents >= 0) {
+                return unitCostCents;
+            }
+            SkuCost cost = skus.get(sku);
+            return cost != null ? cost.purchasePriceCents : 0;
+        }
+
+        /**
+         * Applies a committed movement.
+         */
+        synchronized void replay(int sku, int warehouseId, boolean inbound, int quantity, long unitCostCents) {
+            SkuCost cost = skus.computeIfAbsent(sku, key -> new SkuCost(warehouseId));
+            long averageBefore = cost.averageValue;
+            long fifoBefore = cost.fifoValue;
+            if (inbound) {
+                cost.receive(quantity, unitCostCents, false);
+            } else {
+                cost.issue(quantity);
+            }
+            addToTotals(cost.warehouseId, cost.averageValue - averageBefore, cost.fifoValue - fifoBefore);
+        }
+
+        /**
+         * Brings the quantity of a SKU to its current stock. Missing units, e.g. from archived
+         * history, are received as the oldest layer at the given price; surplus units are issued.
+         */
+        synchronized void reconcile(int sku, int warehouseId, int quantity, long purchasePriceCents) {
+            SkuCost cost = skus.computeIfAbsent(sku, key -> new SkuCost(warehouseId));
+            cost.purchasePriceCents = purchasePriceCents;
+            long averageBefore = cost.averageValue;
+            long fifoBefore = cost.fifoValue;
+            long difference = quantity - cost.quantity;
+            if (difference > 0) {
+                cost.receive(difference, purchasePriceCents, true);
+            } else if (difference < 0) {
+                cost.issue(-difference);
+            }
+            addToTotals(cost.warehouseId, cost.averageValue - averageBefore, cost.fifoValue - fifoBefore);
+        }
+
+        synchronized void removeProduct(int sku) {
+            SkuCost cost = skus.remove(sku);
+            if (cost != null) {
+                addToTotals(cost.warehouseId, -cost.averageValue, -cost.fifoValue);
+            }
+        }
+
+        synchronized long warehouseValue(int warehouseId, ValuationMethod method) {
+            long[] totals = warehouseTotals.get(warehouseId);
+            if (totals == null) {
+                return 0;
+            }
+            return method == ValuationMethod.FIFO ? totals[1] : totals[0];
+        }
+
+        synchronized long totalValue(ValuationMethod method) {
+            return method == ValuationMethod.FIFO ? fifoTotal : averageTotal;
+        }
+
+        /**
+         * @return The average unit cost of a SKU in cents, or -1 if the SKU is unknown or out of stock or the replay is running.
+         */
+        synchronized long averageUnitCost(int sku) {
+            SkuCost cost = skus.get(sku);
+            if (!loaded || cost == null || cost.quantity <= 0) {
+                return -1;
+            }
+            return cost.averageValue / cost.quantity;
+        }
+
+        private void addToTotals(int warehouseId, long averageDelta, long fifoDelta) {
+            if (averageDelta == 0 && fifoDelta == 0) {
+                return;
+            }
+            long[] totals = warehouseTotals.computeIfAbsent(warehouseId, key -> new long[2]);
+            totals[0] += averageDelta;
+            totals[1] += fifoDelta;
+            averageTotal += averageDelta;
+            fifoTotal += fifoDelta;
+        }
+    }
+}
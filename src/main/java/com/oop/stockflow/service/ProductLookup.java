@@ -0,0 +1,53 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.db.DatabaseExecutor;
+import com.oop.stockflow.logging.Logger;
+import com.oop.stockflow.model.Product;
+import com.oop.stockflow.repository.ProductRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Reads the current state of products for the commit listeners of a service.
+ * Commit listeners run on the thread that committed, usually the JavaFX thread of a transaction screen,
+ * so the read is handed to {@link DatabaseExecutor} and its result applied on the executor thread when it
+ * arrives. The read uses the write pool: it must see the commit that triggered it, which a replica may not
+ * have yet, and it is never cancelled by leaving the screen. When a SKU is looked up again before an earlier
+ * read arrived, only the latest read is applied, so a slow read never overwrites a newer state.
+ */
+final class ProductLookup {
+    private static final Logger LOGGER = Logger.getLogger(ProductLookup.class);
+
+    private final ProductRepository productRepository = ProductRepository.getInstance();
+    private final AtomicLong tickets = new AtomicLong();
+    private final Map<Integer, Long> latestTickets = new ConcurrentHashMap<>();
+
+    /**
+     * Reads a product in the background and applies it once read, unless a later lookup of the SKU superseded it.
+     *
+     * @param sku The SKU of the product.
+     * @param apply Receives the product, or null if it no longer exists; called on the executor thread.
+     */
+    void lookup(int sku, Consumer<Product> apply) {
+        long ticket = tickets.incrementAndGet();
+        latestTickets.put(sku, ticket);
+        DatabaseExecutor.supplyAsync(() -> productRepository.getProductBySku(sku))
+                .whenComplete((product, error) -> {
+                    if (!latestTickets.remove(sku, ticket)) {
+                        return;
+                    }
+                    if (error != null) {
+                        LOGGER.error("Failed to read product SKU {} after a commit", sku, error);
+                        return;
+                    }
+                    try {
+                        apply.accept(product);
+                    } catch (RuntimeException e) {
+                        LOGGER.error("Failed to apply product SKU {} after a commit", sku, e);
+                    }
+                });
+    }
+}
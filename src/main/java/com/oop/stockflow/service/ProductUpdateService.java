@@ -0,0 +1,177 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.model.DryGoodProduct;
+import com.oop.stockflow.model.FreshProduct;
+import com.oop.stockflow.model.Product;
+import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.ProductUpdateResult;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies product edits with optimistic concurrency control.
+ * Implements singleton pattern to ensure only one instance coordinates product edits.
+ *
+ * When the versioned update reports a conflict, the current row is reloaded and the edit is merged
+ * into it field by field: fields the user changed win, fields only changed concurrently are kept.
+ * The update is then retried against the new version. Only when the user and someone else changed
+ * the same field to different values is the conflict reported back.
+ */
+public class ProductUpdateService {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static ProductUpdateService instance;
+
+    private final ProductRepository productRepository = ProductRepository.getInstance();
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private ProductUpdateService() {
+    }
+
+    /**
+     * Returns the singleton instance of the ProductUpdateService.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton ProductUpdateService instance.
+     */
+    public static synchronized ProductUpdateService getInstance() {
+        if (instance == null) {
+            instance = new ProductUpdateService();
+        }
+        return instance;
+    }
+
+    /**
+     * Updates a product, merging with concurrent updates where possible.
+     * On success the edited product holds the saved state and version.
+     *
+     * @param original The product as it was loaded before editing.
+     * @param edited The edited product, carrying the version of the original.
+     * @return UPDATED on success, CONFLICT if the same field was changed concurrently,
+     * NOT_FOUND if the product was deleted, or FAILED if an error occurs.
+     */
+    public ProductUpdateResult update(Product original, Product edited) {
+        Product base = original;
+        Product attempt = edited;
+
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            ProductUpdateResult result = productRepository.updateProduct(attempt);
+            if (result != ProductUpdateResult.CONFLICT) {
+                if (result == ProductUpdateResult.UPDATED && attempt != edited) {
+                    copyInto(attempt, edited);
+                    edited.markClean();
+                }
+                return result;
+            }
+
+            Product current = productRepository.getProductBySku(edited.getSku());
+            if (current == null) {
+                return ProductUpdateResult.NOT_FOUND;
+            }
+            Product merged = merge(base, edited, current);
+            if (merged == null) {
+                return ProductUpdateResult.CONFLICT;
+            }
+            base = current;
+            attempt = merged;
+        }
+        return ProductUpdateResult.CONFLICT;
+    }
+
+    /**
+     * Three-way merges an edit into the current state of a product.
+     * Only the fields taken from the edit are marked modified on the result, so the retried
+     * update writes just those columns.
+     *
+     * @param base The state the edit started from.
+     * @param mine The edited state.
+     * @param theirs The current state in the database.
+     * @return The merged product carrying the current version, or null if both sides changed the same field differently.
+     */
+    public static Product merge(Product base, Product mine, Product theirs) {
+        if (base.getProductType() != theirs.getProductType() || mine.getProductType() != theirs.getProductType()) {
+            return null;
+        }
+
+        Product merged = theirs.copy();
+        boolean clean = mergeField(base, mine, theirs, Product::getName, merged::setName)
+                & mergeField(base, mine, theirs, Product::getBrand, merged::setBrand)
+                & mergeField(base, mine, theirs, Product::getDescription, merged::setDescription)
+                & mergeField(base, mine, theirs, Product::getPurchasePrice, merged::setPurchasePrice)
+                & mergeField(base, mine, theirs, Product::getWeightPerUnitKg, merged::setWeightPerUnitKg)
+                & mergeField(base, mine, theirs, Product::getVolumePerUnitM3, merged::setVolumePerUnitM3);
+
+        if (merged instanceof DryGoodProduct dryGood) {
+            clean &= mergeField((DryGoodProduct) base, (DryGoodProduct) mine, (DryGoodProduct) theirs,
+                    DryGoodProduct::getReorderPoint, dryGood::setReorderPoint)
+                    & mergeField((DryGoodProduct) base, (DryGoodProduct) mine, (DryGoodProduct) theirs,
+                    DryGoodProduct::getReorderQuantity, dryGood::setReorderQuantity)
+                    & mergeField((DryGoodProduct) base, (DryGoodProduct) mine, (DryGoodProduct) theirs,
+                    DryGoodProduct::getUnitsPerCase, dryGood::setUnitsPerCase);
+        } else if (merged instanceof FreshProduct fresh) {
+            clean &= mergeField((FreshProduct) base, (FreshProduct) mine, (FreshProduct) theirs,
+                    FreshProduct::getRequiredTemp, fresh::setRequiredTemp)
+                    & mergeField((FreshProduct) base, (FreshProduct) mine, (FreshProduct) theirs,
+                    FreshProduct::getDaysToAlertBeforeExpiry, fresh::setDaysToAlertBeforeExpiry);
+        }
+        return clean ? merged : null;
+    }
+
+    /**
+     * Merges one field: a field the user changed is applied, unless it was also changed concurrently to another value.
+     *
+     * @return false if the field conflicts, true otherwise.
+     */
+    private static <P, T> boolean mergeField(P base, P mine, P theirs, Function<P, T> getter, Consumer<T> setter) {
+        T baseValue = getter.apply(base);
+        T mineValue = getter.apply(mine);
+        T theirsValue = getter.apply(theirs);
+
+        if (same(baseValue, mineValue)) {
+            return true;
+        }
+        if (!same(baseValue, theirsValue) && !same(mineValue, theirsValue)) {
+            return false;
+        }
+        setter.accept(mineValue);
+        return true;
+    }
+
+    /**
+     * Compares two field values, ignoring the scale of decimal values typed by the user.
+     */
+    private static boolean same(Object a, Object b) {
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) {
+            return x.compareTo(y) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    /**
+     * Copies the saved state of a merged product back into the product the caller holds.
+     */
+    private static void copyInto(Product source, Product target) {
+        target.setName(source.getName());
+        target.setBrand(source.getBrand());
+        target.setDescription(source.getDescription());
+        target.setPurchasePrice(source.getPurchasePrice());
+        target.setWeightPerUnitKg(source.getWeightPerUnitKg());
+        target.setVolumePerUnitM3(source.getVolumePerUnitM3());
+        target.setQuantity(source.getQuantity());
+        target.setVersion(source.getVersion());
+
+        if (source instanceof DryGoodProduct from && target instanceof DryGoodProduct to) {
+            to.setReorderPoint(from.getReorderPoint());
+            to.setReorderQuantity(from.getReorderQuantity());
+            to.setUnitsPerCase(from.getUnitsPerCase());
+        } else if (source instanceof FreshProduct from && target instanceof FreshProduct to) {
+            to.setRequiredTemp(from.getRequiredTemp());
+            to.setDaysToAlertBeforeExpiry(from.getDaysToAlertBeforeExpiry());
+        }
+    }
+}
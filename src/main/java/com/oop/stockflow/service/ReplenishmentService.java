@@ -0,0 +1,179 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.model.DryGoodProduct;
+import com.oop.stockflow.model.ReplenishmentSuggestion;
+import com.oop.stockflow.model.Transaction;
+import com.oop.stockflow.model.Warehouse;
+import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.TransactionRepository;
+import com.oop.stockflow.repository.WarehouseRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Plans replenishment orders for dry good products across all warehouses of a manager.
+ * Implements singleton pattern to ensure only one plan is kept per manager.
+ *
+ * A full run loads every SKU at or below its reorder point with one set-based query and
+ * computes the suggestions in a parallel in-memory pass. Afterwards, each committed transaction
+ * re-evaluates only the affected SKU, so the cached plan stays current without re-running the query.
+ */
+public class ReplenishmentService {
+    private static final Comparator<ReplenishmentSuggestion> MOST_URGENT_FIRST =
+            Comparator.comparingDouble(ReplenishmentService::coverage)
+                    .thenComparingInt(ReplenishmentSuggestion::getSku);
+
+    private static ReplenishmentService instance;
+
+    private final ProductRepository productRepository = ProductRepository.getInstance();
+    private final WarehouseRepository warehouseRepository = WarehouseRepository.getInstance();
+    private final ProductLookup productLookup = new ProductLookup();
+    private final Map<Integer, ManagerPlan> plansByManager = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     * Subscribes to committed transactions so cached plans are updated incrementally.
+     */
+    private ReplenishmentService() {
+        TransactionRepository.getInstance().addCommitListener(this::onTransactionCommitted);
+    }
+
+    /**
+     * Returns the singleton instance of the ReplenishmentService.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton ReplenishmentService instance.
+     */
+    public static synchronized ReplenishmentService getInstance() {
+        if (instance == null) {
+            instance = new ReplenishmentService();
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the replenishment plan of a manager, running a full plan on first use.
+     *
+     * @param managerId The ID of the manager.
+     * @return The suggestions, most urgent first.
+     */
+    public List<ReplenishmentSuggestion> getPlan(int managerId) {
+        ManagerPlan plan = plansByManager.get(managerId);
+        if (plan == null) {
+            return runPlan(managerId);
+        }
+        return plan.sorted();
+    }
+
+    /**
+     * Runs a full replenishment plan for every warehouse owned by a manager and caches the result.
+     *
+     * @param managerId The ID of the manager.
+     * @return The suggestions, most urgent first.
+     */
+    public List<ReplenishmentSuggestion> runPlan(int managerId) {
+        Set<Integer> warehouseIds = warehouseRepository.getAllWarehousesByManagerId(managerId).stream()
+                .map(Warehouse::getId)
+                .collect(Collectors.toSet());
+
+        Map<Integer, ReplenishmentSuggestion> suggestions = productRepository.getReorderCandidatesByManagerId(managerId)
+                .parallelStream()
+                .map(ReplenishmentService::suggest)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toConcurrentMap(ReplenishmentSuggestion::getSku, suggestion -> suggestion));
+
+        ManagerPlan plan = new ManagerPlan(warehouseIds, suggestions);
+        plansByManager.put(managerId, plan);
+        return plan.sorted();
+    }
+
+    /**
+     * Computes the order quantity needed to bring a product at or below its reorder point back above it,
+     * rounded up to whole cases. At least the configured reorder quantity is ordered.
+     *
+     * @param quantity The current quantity in stock.
+     * @param reorderPoint The inventory level that triggers reordering.
+     * @param reorderQuantity The configured quantity to order.
+     * @param unitsPerCase The number of units in one case, or 0 if sold per unit.
+     * @return The suggested order quantity in units, or 0 if no order is needed.
+     */
+    public static int suggestOrderQuantity(int quantity, int reorderPoint, int reorderQuantity, int unitsPerCase) {
+        if (quantity > reorderPoint) {
+            return 0;
+        }
+        int needed = Math.max(reorderQuantity, reorderPoint - quantity + 1);
+        if (unitsPerCase <= 1) {
+            return needed;
+        }
+        int cases = (needed + unitsPerCase - 1) / unitsPerCase;
+        return cases * unitsPerCase;
+    }
+
+    /**
+     * Re-evaluates the SKU of a committed transaction in every cached plan that covers its warehouse,
+     * once its new quantity is read off the committing thread.
+     *
+     * @param transaction The committed transaction.
+     */
+    private void onTransactionCommitted(Transaction transaction) {
+        if (plansByManager.isEmpty()) {
+            return;
+        }
+
+        productLookup.lookup(transaction.getSku(), product -> {
+            if (!(product instanceof DryGoodProduct dryGood)) {
+                return;
+            }
+
+            ReplenishmentSuggestion suggestion = suggest(dryGood);
+            for (ManagerPlan plan : plansByManager.values()) {
+                if (plan.warehouseIds.contains(dryGood.getWarehouseId())) {
+                    plan.update(dryGood.getSku(), suggestion);
+                }
+            }
+        });
+    }
+
+    private static ReplenishmentSuggestion suggest(DryGoodProduct product) {
+        int suggested = suggestOrderQuantity(product.getQuantity(), product.getReorderPoint(),
+                product.getReorderQuantity(), product.getUnitsPerCase());
+        if (suggested == 0) {
+            return null;
+        }
+        return new ReplenishmentSuggestion(product.getSku(), product.getName(), product.getWarehouseId(),
+                product.getQuantity(), product.getReorderPoint(), product.getUnitsPerCase(), suggested);
+    }
+
+    private static double coverage(ReplenishmentSuggestion suggestion) {
+        return suggestion.getReorderPoint() > 0 ? (double) suggestion.getQuantity() / suggestion.getReorderPoint() : 0;
+    }
+
+    /**
+     * Cached plan of a manager, keyed by SKU.
+     */
+    private static class ManagerPlan {
+        private final Set<Integer> warehouseIds;
+        private final Map<Integer, ReplenishmentSuggestion> suggestions;
+
+        private ManagerPlan(Set<Integer> warehouseIds, Map<Integer, ReplenishmentSuggestion> suggestions) {
+            this.warehouseIds = warehouseIds;
+            this.suggestions = suggestions;
+        }
+
+        private void update(int sku, ReplenishmentSuggestion suggestion) {
+            if (suggestion == null) {
+                suggestions.remove(sku);
+            } else {
+                suggestions.put(sku, suggestion);
+            }
+        }
+
+        private List<ReplenishmentSuggestion> sorted() {
+            List<ReplenishmentSuggestion> result = new ArrayList<>(suggestions.values());
+            result.sort(MOST_URGENT_FIRST);
+            return result;
+        }
+    }
+}
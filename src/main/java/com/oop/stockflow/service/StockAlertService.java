@@ -0,0 +1,351 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.model.*;
+import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.TransactionRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the stock notification feed shown on the warehouse dashboard.
+ * Implements singleton pattern to ensure only one alert list exists per warehouse.
+ *
+ * Alerts are evaluated incrementally: each committed transaction re-evaluates only the
+ * affected product (reorder point for dry goods, expiry window for fresh lots), so reading
+ * the feed costs O(alerts) instead of scanning every product of the warehouse. A warehouse
+ * is seeded once from the database the first time its feed is requested.
+ */
+public class StockAlertService {
+    private static final int MAX_ALERTS_PER_WAREHOUSE = 50;
+    private static final int EXPIRED_LOOKBACK_DAYS = 7;
+    private static final String STOCK_KEY_PREFIX = "stock:";
+    private static final String EXPIRY_KEY_PREFIX = "expiry:";
+
+    private static StockAlertService instance;
+
+    private final ProductRepository productRepository = ProductRepository.getInstance();
+    private final TransactionRepository transactionRepository = TransactionRepository.getInstance();
+    private final ProductLookup productLookup = new ProductLookup();
+    private final Map<Integer, WarehouseAlerts> alertsByWarehouse = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     * Subscribes to committed transactions and to changes made by other clients so alerts are kept up to date.
+     */
+    private StockAlertService() {
+        transactionRepository.addCommitListener(this::onTransactionCommitted);
+        ChangeNotificationService.getInstance().subscribe(this::onChange);
+    }
+
+    /**
+     * Returns the singleton instance of the StockAlertService.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton StockAlertService instance.
+     */
+    public static synchronized StockAlertService getInstance() {
+        if (instance == null) {
+            instance = new StockAlertService();
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the current alerts of a warehouse, newest first.
+     * Fresh lots whose alert window has opened since the last call are promoted into the feed first.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return A list of active alerts for the warehouse, or an empty list if there are none.
+     */
+    public List<StockAlert> getAlerts(int warehouseId) {
+        WarehouseAlerts alerts = alertsByWarehouse.computeIfAbsent(warehouseId, this::seedWarehouse);
+        return alerts.snapshot(LocalDate.now());
+    }
+
+    /**
+     * Re-evaluates the alerts of a single product, e.g. after it was edited manually.
+     * Does nothing if the product's warehouse feed has not been loaded yet.
+     *
+     * @param product The product to evaluate.
+     */
+    public void evaluateProduct(Product product) {
+        WarehouseAlerts alerts = alertsByWarehouse.get(product.getWarehouseId());
+        if (alerts != null) {
+            alerts.evaluateStock(product);
+        }
+    }
+
+    /**
+     * Removes every alert of a product, e.g. after the product was deleted.
+     *
+     * @param warehouseId The ID of the warehouse the product belonged to.
+     * @param sku The SKU of the product.
+     */
+    public void removeProduct(int warehouseId, int sku) {
+        WarehouseAlerts alerts = alertsByWarehouse.get(warehouseId);
+        if (alerts != null) {
+            alerts.removeProduct(sku);
+        }
+    }
+
+    /**
+     * Promotes fresh lots whose alert window has opened into the feed of every loaded warehouse, and drops
+     * expired lot alerts older than the lookback window, which a freshly seeded feed would not contain either.
+     * Keeps the feeds of a client that stays open for days in the same shape as after a restart.
+     *
+     * @return The number of warehouse feeds scanned.
+     */
+    public int scanExpiry() {
+        LocalDate today = LocalDate.now();
+        int scanned = 0;
+        for (WarehouseAlerts alerts : alertsByWarehouse.values()) {
+            alerts.promote(today);
+            alerts.dropExpiredBefore(today.minusDays(EXPIRED_LOOKBACK_DAYS));
+            scanned++;
+        }
+        return scanned;
+    }
+
+    /**
+     * Handles a committed transaction by re-evaluating the affected product once its new state is read.
+     *
+     * @param transaction The committed transaction.
+     */
+    private void onTransactionCommitted(Transaction transaction) {
+        if (alertsByWarehouse.isEmpty()) {
+            return;
+        }
+        // the new quantity is read off the committing thread, which is usually the JavaFX thread
+        productLookup.lookup(transaction.getSku(), product -> {
+            if (product == null) {
+                return;
+            }
+
+            WarehouseAlerts alerts = alertsByWarehouse.get(product.getWarehouseId());
+            if (alerts == null) {
+                // not seeded yet, the seed query will pick up the current state
+                return;
+            }
+
+            alerts.evaluateStock(product);
+            if (transaction instanceof InboundTransaction inbound && inbound.getExpiryDate() != null
+                    && product instanceof FreshProduct fresh) {
+                alerts.trackLot(inbound.getId(), fresh, inbound.getExpiryDate());
+            }
+        });
+    }
+
+    /**
+     * Handles a row changed by any client, so alerts also follow writes made on other machines.
+     * Changes of warehouses whose feed has not been loaded yet are ignored.
+     *
+     * @param event The changed row.
+     */
+    private void onChange(ChangeEvent event) {
+        if (!alertsByWarehouse.containsKey(event.getWarehouseId())) {
+            return;
+        }
+
+        if (event.getEntity() == ChangeEntity.PRODUCT) {
+            if (event.isDelete()) {
+                removeProduct(event.getWarehouseId(), (int) event.getId());
+                return;
+            }
+            Product product = productRepository.getProductBySku((int) event.getId());
+            if (product != null) {
+                evaluateProduct(product);
+            }
+        } else if (event.getEntity() == ChangeEntity.TRANSACTION && !event.isDelete()) {
+            Transaction transaction = transactionRepository.getTransactionById(event.getId());
+            if (transaction != null && transaction.getStatus() == TransactionStatus.COMMITTED) {
+                onTransactionCommitted(transaction);
+            }
+        }
+    }
+
+    /**
+     * Builds the initial alert list of a warehouse from the database.
+     * Only low stock products and tracked expiry lots are loaded, never the full product list.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return The seeded alert list.
+     */
+    private WarehouseAlerts seedWarehouse(int warehouseId) {
+        WarehouseAlerts alerts = new WarehouseAlerts();
+
+        for (Product product : productRepository.getLowStockProductsByWarehouseId(warehouseId)) {
+            alerts.evaluateStock(product);
+        }
+
+        List<InboundTransaction> lots = transactionRepository.getExpiryLotsByWarehouseId(warehouseId, EXPIRED_LOOKBACK_DAYS);
+        Set<Integer> skus = lots.stream().map(Transaction::getSku).collect(Collectors.toSet());
+        Map<Integer, Product> products = productRepository.getProductsBySkus(skus).stream()
+                .collect(Collectors.toMap(Product::getSku, product -> product));
+
+        for (InboundTransaction lot : lots) {
+            if (products.get(lot.getSku()) instanceof FreshProduct fresh) {
+                alerts.trackLot(lot.getId(), fresh, lot.getExpiryDate());
+            }
+        }
+        return alerts;
+    }
+
+    /**
+     * A fresh lot whose expiry alert window has not opened yet.
+     */
+    private static class PendingLot {
+        private final int transactionId;
+        private final int sku;
+        private final String productName;
+        private final LocalDate expiryDate;
+        private final LocalDate alertDate;
+
+        private PendingLot(int transactionId, int sku, String productName, LocalDate expiryDate, LocalDate alertDate) {
+            this.transactionId = transactionId;
+            this.sku = sku;
+            this.productName = productName;
+            this.expiryDate = expiryDate;
+            this.alertDate = alertDate;
+        }
+    }
+
+    /**
+     * Bounded, deduplicated alert list of a single warehouse.
+     * Alerts are keyed so re-raising the same condition replaces the old entry,
+     * and the oldest alert is evicted once the bound is reached.
+     */
+    private static class WarehouseAlerts {
+        private final LinkedHashMap<String, StockAlert> alerts = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StockAlert> eldest) {
+                return size() > MAX_ALERTS_PER_WAREHOUSE;
+            }
+        };
+        private final PriorityQueue<PendingLot> pendingLots = new PriorityQueue<>(Comparator.comparing((PendingLot lot) -> lot.alertDate));
+
+        /**
+         * Raises, updates or resolves the stock level alert of a product.
+         *
+         * @param product The product with its current quantity.
+         */
+        private synchronized void evaluateStock(Product product) {
+            String key = STOCK_KEY_PREFIX + product.getSku();
+
+            if (product instanceof DryGoodProduct dryGood) {
+                AlertType type = null;
+                if (dryGood.getQuantity() == 0) {
+                    type = AlertType.OUT_OF_STOCK;
+                } else if (dryGood.getQuantity() <= dryGood.getReorderPoint()) {
+                    // reaching the reorder point is when replenishment suggests an order
+                    type = AlertType.LOW_STOCK;
+                }
+
+                if (type == null) {
+                    alerts.remove(key);
+                    return;
+                }
+
+                StockAlert existing = alerts.get(key);
+                if (existing != null && existing.getType() == type && existing.getQuantity() == dryGood.getQuantity()) {
+                    return;
+                }
+                put(new StockAlert(key, type, dryGood.getSku(), dryGood.getName(), dryGood.getQuantity(), null, LocalDateTime.now()));
+            } else if (product.getQuantity() == 0) {
+                // nothing left on the shelf that could expire
+                removeProduct(product.getSku());
+            }
+        }
+
+        /**
+         * Tracks a fresh lot, raising its expiry alert now or once its alert window opens.
+         *
+         * @param transactionId The ID of the inbound transaction that received the lot.
+         * @param product The fresh product of the lot.
+         * @param expiryDate The expiry date of the lot.
+         */
+        private synchronized void trackLot(int transactionId, FreshProduct product, LocalDate expiryDate) {
+            // the same lot can be reported by the local commit and by the change notification
+            if (alerts.containsKey(EXPIRY_KEY_PREFIX + transactionId)
+                    || pendingLots.stream().anyMatch(lot -> lot.transactionId == transactionId)) {
+                return;
+            }
+            LocalDate alertDate = expiryDate.minusDays(product.getDaysToAlertBeforeExpiry());
+            PendingLot lot = new PendingLot(transactionId, product.getSku(), product.getName(), expiryDate, alertDate);
+            if (alertDate.isAfter(LocalDate.now())) {
+                pendingLots.add(lot);
+            } else {
+                raiseExpiry(lot, LocalDate.now());
+            }
+        }
+
+        /**
+         * Removes all alerts and pending lots of a product.
+         *
+         * @param sku The SKU of the product.
+         */
+        private synchronized void removeProduct(int sku) {
+            alerts.values().removeIf(alert -> alert.getSku() == sku);
+            pendingLots.removeIf(lot -> lot.sku == sku);
+        }
+
+        /**
+         * Promotes due lots and returns the alerts, newest first.
+         *
+         * @param today The current date.
+         * @return A copy of the alert list.
+         */
+        private synchronized List<StockAlert> snapshot(LocalDate today) {
+            promote(today);
+            List<StockAlert> result = new ArrayList<>(alerts.values());
+            Collections.reverse(result);
+            return result;
+        }
+
+        /**
+         * Raises the alerts of lots whose alert window has opened and marks expiring lots past their expiry date as expired.
+         *
+         * @param today The current date.
+         */
+        private synchronized void promote(LocalDate today) {
+            while (!pendingLots.isEmpty() && !pendingLots.peek().alertDate.isAfter(today)) {
+                raiseExpiry(pendingLots.poll(), today);
+            }
+
+            // expiring lots that passed their expiry date since they were raised
+            List<StockAlert> expired = new ArrayList<>();
+            for (StockAlert alert : alerts.values()) {
+                if (alert.getType() == AlertType.EXPIRING && alert.getExpiryDate().isBefore(today)) {
+                    expired.add(alert);
+                }
+            }
+            for (StockAlert alert : expired) {
+                put(new StockAlert(alert.getKey(), AlertType.EXPIRED, alert.getSku(), alert.getProductName(),
+                        alert.getQuantity(), alert.getExpiryDate(), LocalDateTime.now()));
+            }
+        }
+
+        /**
+         * Removes the alerts of lots that expired before a date.
+         *
+         * @param date The oldest expiry date kept.
+         */
+        private synchronized void dropExpiredBefore(LocalDate date) {
+            alerts.values().removeIf(alert -> alert.getType() == AlertType.EXPIRED && alert.getExpiryDate().isBefore(date));
+        }
+
+        private void raiseExpiry(PendingLot lot, LocalDate today) {
+            AlertType type = lot.expiryDate.isBefore(today) ? AlertType.EXPIRED : AlertType.EXPIRING;
+            put(new StockAlert(EXPIRY_KEY_PREFIX + lot.transactionId, type, lot.sku, lot.productName, 0, lot.expiryDate, LocalDateTime.now()));
+        }
+
+        private void put(StockAlert alert) {
+            // remove first so the alert moves to the newest position
+            alerts.remove(alert.getKey());
+            alerts.put(alert.getKey(), alert);
+        }
+    }
+}
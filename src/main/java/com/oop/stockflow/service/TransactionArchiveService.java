@@ -0,0 +1,431 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.db.PartitionManager;
+import com.oop.stockflow.logging.Logger;
+import com.oop.stockflow.repository.StockEventRepository;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the transaction partitions in shape: creates upcoming monthly partitions and moves
+ * partitions older than the retention window out of the database into compressed files on a
+ * shared archive location. Implements singleton pattern to ensure only one instance manages the archive directory.
+ *
+ * Archiving is an explicit operator step, never part of the scheduled maintenance of the clients.
+ * Exporting a month copies its still attached partition to gzipped CSV with a header line, which only
+ * takes the lock of a plain read. Dropping a month blocks writes to its partition, exports it once more
+ * so the file holds exactly the rows being dropped, and only then detaches and drops the partition, so
+ * the exclusive lock on the transactions table is held for the detach and drop alone and never while
+ * the file is written. The table has a default partition, which rules out {@code DETACH ... CONCURRENTLY}.
+ * Restoring loads the file into a standalone table and attaches it again. Neither direction fires row
+ * triggers, so product quantities, which already include the archived movements, are left untouched.
+ *
+ * Maintenance also snapshots the stock of warehouses that recorded many stock events since their last
+ * snapshot, which bounds the replay of point-in-time stock queries, and prunes the change tombstones
+ * of deleted rows once every open screen has polled past them.
+ *
+ * Configured through the .env entries {@code ARCHIVE_DIR}, the absolute path of the shared archive location,
+ * required for exporting, dropping and restoring months,
+ * {@code TRANSACTION_RETENTION_MONTHS} (default 25, which keeps the demand forecast history online),
+ * {@code STOCK_SNAPSHOT_EVENTS} (default 5000 events between snapshots of a warehouse)
+ * and {@code CHANGE_TOMBSTONE_RETENTION_HOURS} (default 24).
+ */
+public class TransactionArchiveService {
+    private static final Logger LOGGER = Logger.getLogger(TransactionArchiveService.class);
+
+    private static final int DEFAULT_RETENTION_MONTHS = 25;
+    private static final int DEFAULT_SNAPSHOT_EVENTS = 5000;
+    private static final int DEFAULT_TOMBSTONE_RETENTION_HOURS = 24;
+    private static final Duration SNAPSHOT_SETTLE = Duration.ofMinutes(5);
+    private static final long MAINTENANCE_LOCK_KEY = 0x53544f434b464c4fL;
+    private static final String FILE_SUFFIX = ".csv.gz";
+    private static final Pattern ARCHIVE_NAME = Pattern.compile("transactions_p(\\d{4})_(\\d{2})\\.csv\\.gz");
+    private static final Pattern COLUMN_NAME = Pattern.compile("[a-z_]+");
+    private static final String LOCK_TIMEOUT = "5s";
+
+    private static TransactionArchiveService instance;
+
+    private final PartitionManager partitionManager = PartitionManager.getInstance();
+    private final StockEventRepository stockEventRepository = StockEventRepository.getInstance();
+    private final Path archiveDirectory;
+    private final int retentionMonths;
+    private final int snapshotEvents;
+    private final Duration tombstoneRetention;
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     * Reads the archive directory and retention window from the environment.
+     * A missing or relative archive directory leaves archiving disabled, since a path local to
+     * one client would scatter the history across machines.
+     */
+    private TransactionArchiveService() {
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        String directory = dotenv.get("ARCHIVE_DIR", "");
+        this.archiveDirectory = directory.isBlank() || !Paths.get(directory).isAbsolute() ? null : Paths.get(directory);
+        this.retentionMonths = Integer.parseInt(dotenv.get("TRANSACTION_RETENTION_MONTHS", String.valueOf(DEFAULT_RETENTION_MONTHS)));
+        this.snapshotEvents = Integer.parseInt(dotenv.get("STOCK_SNAPSHOT_EVENTS", String.valueOf(DEFAULT_SNAPSHOT_EVENTS)));
+        this.tombstoneRetention = Duration.ofHours(Long.parseLong(
+                dotenv.get("CHANGE_TOMBSTONE_RETENTION_HOURS", String.valueOf(DEFAULT_TOMBSTONE_RETENTION_HOURS))));
+    }
+
+    /**
+     * Returns the singleton instance of the TransactionArchiveService.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton TransactionArchiveService instance.
+     */
+    public static synchronized TransactionArchiveService getInstance() {
+        if (instance == null) {
+            instance = new TransactionArchiveService();
+        }
+        return instance;
+    }
+
+    /**
+     * Runs the partition maintenance: creates upcoming partitions and takes due stock snapshots.
+     * Expired partitions are only reported, archiving them is left to {@code ArchiveTool}.
+     * Guarded by an advisory lock, so only one client performs it at a time; other clients skip it.
+     */
+    public void runMaintenance() {
+        try (Connection lockConn = DatabaseManager.getConnection()) {
+            if (!tryLock(lockConn)) {
+                LOGGER.info("Partition maintenance is running on another client, skipping.");
+                return;
+            }
+            try {
+                partitionManager.ensureUpcomingPartitions();
+                List<YearMonth> expired = listExpiredPartitions();
+                if (!expired.isEmpty()) {
+                    LOGGER.warn("{} transaction partitions are past the retention window, oldest {}; archive them with ArchiveTool.",
+                            expired.size(), expired.get(0));
+                }
+                int snapshots = stockEventRepository.createDueSnapshots(snapshotEvents, SNAPSHOT_SETTLE);
+                if (snapshots > 0) {
+                    LOGGER.info("Took {} stock snapshots.", snapshots);
+                }
+            } finally {
+                unlock(lockConn);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Deletes the change tombstones older than the retention window. Auto-refreshing screens poll every few
+     * seconds, so by then every open screen has applied them; a screen opened later loads its rows in full.
+     *
+     * @return The number of tombstones deleted, or -1 if an error occurs.
+     */
+    public int pruneChangeTombstones() {
+        String sql = "DELETE FROM change_tombstones WHERE deleted_at < LOCALTIMESTAMP - make_interval(secs => ?)";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, tombstoneRetention.getSeconds());
+            int deleted = stmt.executeUpdate();
+            if (deleted > 0) {
+                LOGGER.info("Pruned {} change tombstones.", deleted);
+            }
+            return deleted;
+        } catch (SQLException e) {
+            LOGGER.error("Failed to prune change tombstones", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Lists the attached partitions whose month lies entirely before the retention window.
+     *
+     * @return The expired months in ascending order, or an empty list if there are none or an error occurs.
+     */
+    public List<YearMonth> listExpiredPartitions() {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        List<YearMonth> expired = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            for (YearMonth month : partitionManager.listPartitions(conn)) {
+                if (month.isBefore(oldestKept)) {
+                    expired.add(month);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to list transaction partitions", e);
+        }
+        return expired;
+    }
+
+    /**
+     * Exports every partition past the retention window to the archive location, leaving them attached.
+     *
+     * @return The number of partitions exported, or -1 if no archive location is configured.
+     */
+    public int exportExpiredPartitions() {
+        if (!isArchiveConfigured()) {
+            return -1;
+        }
+        int exported = 0;
+        for (YearMonth month : listExpiredPartitions()) {
+            if (export(month) >= 0) {
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    /**
+     * Exports the attached partition of a month to a compressed file, replacing an earlier export.
+     * The copy reads the partition like any query, so transactions keep flowing meanwhile.
+     * The file is written under a temporary name, synced and then moved into place.
+     *
+     * @param month The month to export.
+     * @return The number of transactions exported, or -1 if no archive location is configured or an error occurs.
+     */
+    public long export(YearMonth month) {
+        if (!isArchiveConfigured()) {
+            return -1;
+        }
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (!partitionManager.listPartitions(conn).contains(month)) {
+                LOGGER.error("Transactions of {} have no attached partition.", month);
+                return -1;
+            }
+            long rows = writeArchive(conn, month);
+            LOGGER.info("Exported {} transactions of {} to {}.", rows, month, archiveFile(month));
+            return rows;
+        } catch (SQLException | IOException e) {
+            LOGGER.error("Failed to export transactions of {}", month, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Drops the partition of a month past the retention window after archiving it.
+     * Writes to the partition are blocked while it is exported once more, so the file holds every row
+     * that is dropped; the partition is then detached and dropped in the same transaction. Waiting for
+     * a lock gives up after a few seconds instead of queueing every other query behind it. If anything
+     * fails, the transaction is rolled back and the partition stays attached.
+     *
+     * @param month The month to drop.
+     * @return true if the month was archived and dropped, false otherwise.
+     */
+    public boolean drop(YearMonth month) {
+        if (!isArchiveConfigured()) {
+            return false;
+        }
+        if (!month.isBefore(YearMonth.now().minusMonths(retentionMonths))) {
+            LOGGER.error("Transactions of {} are within the retention window of {} months.", month, retentionMonths);
+            return false;
+        }
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (!partitionManager.listPartitions(conn).contains(month)) {
+                LOGGER.error("Transactions of {} have no attached partition.", month);
+                return false;
+            }
+            conn.setAutoCommit(false);
+            try {
+                String table = PartitionManager.partitionName(month);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+                    stmt.execute("LOCK TABLE " + table + " IN SHARE MODE");
+                }
+                long rows = writeArchive(conn, month);
+
+                partitionManager.detachPartition(conn, month);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("DROP TABLE " + table);
+                }
+                conn.commit();
+                LOGGER.info("Archived {} transactions of {} to {} and dropped the partition.", rows, month, archiveFile(month));
+                return true;
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException | IOException e) {
+            LOGGER.error("Failed to drop transactions of {}", month, e);
+            return false;
+        }
+    }
+
+    /**
+     * Restores an archived month by loading its file into a new partition.
+     * The archive file is kept, so the month can be archived again later.
+     *
+     * @param month The month to restore.
+     * @return true if the month was restored, false if it has no archive or an error occurs.
+     */
+    public boolean restore(YearMonth month) {
+        if (!isArchiveConfigured()) {
+            return false;
+        }
+        Path file = archiveFile(month);
+        if (!Files.exists(file)) {
+            LOGGER.error("No archive found for {} at {}.", month, file);
+            return false;
+        }
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (partitionManager.listPartitions(conn).contains(month)) {
+                LOGGER.error("Transactions of {} are already attached.", month);
+                return false;
+            }
+            String columns = readHeader(file);
+            CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+
+            partitionManager.createPartition(conn, month, (loadConn, table) -> {
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                    long rows = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv, HEADER true)", in);
+                    LOGGER.info("Restored {} transactions of {}.", rows, month);
+                } catch (IOException e) {
+                    throw new SQLException("Cannot read archive " + file, e);
+                }
+                if (!Arrays.asList(columns.split(",")).contains("warehouse_id")) {
+                    backfillWarehouse(loadConn, table);
+                }
+            });
+            return true;
+        } catch (SQLException | IOException e) {
+            LOGGER.error("Failed to restore transactions of {}", month, e);
+            return false;
+        }
+    }
+
+    /**
+     * Lists the months available in the archive directory.
+     *
+     * @return The archived months in ascending order, or an empty list if there are none or no archive location is configured.
+     */
+    public List<YearMonth> listArchives() {
+        List<YearMonth> months = new ArrayList<>();
+        if (!isArchiveConfigured() || !Files.isDirectory(archiveDirectory)) {
+            return months;
+        }
+        try (Stream<Path> files = Files.list(archiveDirectory)) {
+            files.forEach(file -> {
+                Matcher matcher = ARCHIVE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.error("Failed to list transaction archives", e);
+        }
+        months.sort(null);
+        return months;
+    }
+
+    /**
+     * Fills in the warehouse of transactions restored from an archive written before transactions stored it.
+     */
+    private void backfillWarehouse(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE " + table + " t SET warehouse_id = p.warehouse_id FROM products p WHERE p.sku = t.product_sku");
+        }
+    }
+
+    /**
+     * Copies a partition to its archive file through a synced temporary file.
+     */
+    private long writeArchive(Connection conn, YearMonth month) throws SQLException, IOException {
+        String table = PartitionManager.partitionName(month);
+        Path file = archiveFile(month);
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        Files.createDirectories(archiveDirectory);
+        CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+        try {
+            long rows;
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                rows = copyManager.copyOut("COPY " + table + " TO STDOUT WITH (FORMAT csv, HEADER true)", out);
+            }
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } catch (SQLException | IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    private boolean isArchiveConfigured() {
+        if (archiveDirectory == null) {
+            LOGGER.error("ARCHIVE_DIR is not set to an absolute path; point it to the shared archive location.");
+            return false;
+        }
+        return true;
+    }
+
+    private Path archiveFile(YearMonth month) {
+        return archiveDirectory.resolve(PartitionManager.partitionName(month) + FILE_SUFFIX);
+    }
+
+    /**
+     * Reads the column list from the header line of an archive, so files written before a
+     * column was added can still be restored.
+     */
+    private String readHeader(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IOException("Archive " + file + " is empty");
+            }
+            for (String column : header.split(",")) {
+                if (!COLUMN_NAME.matcher(column).matches()) {
+                    throw new IOException("Archive " + file + " has an invalid header");
+                }
+            }
+            return header;
+        }
+    }
+
+    private boolean tryLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            stmt.setLong(1, MAINTENANCE_LOCK_KEY);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            stmt.setLong(1, MAINTENANCE_LOCK_KEY);
+            stmt.execute();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.logging.Logger;
+import com.oop.stockflow.model.OutboundTransaction;
+import com.oop.stockflow.model.PickWave;
+import com.oop.stockflow.model.Product;
+import com.oop.stockflow.model.ShippingType;
+import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.TransactionRepository;
+
+import java.util.*;
+
+/**
+ * Plans pick waves for the pending outbound transactions of a warehouse.
+ * Implements singleton pattern to ensure only one instance plans waves.
+ *
+ * Transactions are grouped by shipping method and normalized destination in a single pass over a
+ * hash map, so planning is linear in the number of pending transactions; product weights and
+ * volumes come from one query for the whole warehouse. A wave is committed with a single statement.
+ */
+public class WavePlanningService {
+    private static final Logger LOGGER = Logger.getLogger(WavePlanningService.class);
+
+    // common abbreviations in addresses, so "Jl. Merdeka 5" and "jalan merdeka 5" share a wave
+    private static final Map<String, String> ADDRESS_ABBREVIATIONS = Map.of(
+            "jl", "jalan",
+            "jln", "jalan",
+            "st", "street",
+            "rd", "road",
+            "ave", "avenue",
+            "no", "nomor");
+
+    private static WavePlanningService instance;
+
+    private final ProductRepository productRepository = ProductRepository.getInstance();
+    private final TransactionRepository transactionRepository = TransactionRepository.getInstance();
+
+    private WavePlanningService() {
+    }
+
+    /**
+     * Returns the singleton instance of the WavePlanningService.
+     * Creates the instance on the first call (lazy initialization).
+     *
+     * @return The singleton WavePlanningService instance.
+     */
+    public static synchronized WavePlanningService getInstance() {
+        if (instance == null) {
+            instance = new WavePlanningService();
+        }
+        return instance;
+    }
+
+    /**
+     * Plans the pick waves of the pending outbound transactions of a warehouse.
+     *
+     * @param warehouseId The ID of the warehouse.
+     * @return The waves, see {@link #plan(List, Map)}.
+     */
+    public List<PickWave> planWaves(int warehouseId) {
+        List<OutboundTransaction> pending = transactionRepository.getPendingOutboundTransactionsByWarehouseId(warehouseId);
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Product> productsBySku = new HashMap<>();
+        for (Product product : productRepository.getAllProductsByWarehouseId(warehouseId)) {
+            productsBySku.put(product.getSku(), product);
+        }
+        return plan(pending, productsBySku);
+    }
+
+    /**
+     * Commits every transaction of a wave at once.
+     *
+     * @param warehouseId The ID of the warehouse the wave was planned for.
+     * @param wave The wave to commit.
+     * @return The number of transactions committed, fewer than the wave holds if some were no longer pending,
+     * or -1 if an error occurs, e.g. insufficient stock for one of them, in which case none is committed.
+     */
+    public int commitWave(int warehouseId, PickWave wave) {
+        List<Integer> ids = new ArrayList<>(wave.getTransactions().size());
+        for (OutboundTransaction transaction : wave.getTransactions()) {
+            ids.add(transaction.getId());
+        }
+        int committed = transactionRepository.commitPendingTransactions(warehouseId, ids);
+        if (committed >= 0) {
+            LOGGER.info("Committed {} of {} transactions of a wave to {}", committed, ids.size(), wave.getDestinationAddress());
+        }
+        return committed;
+    }
+
+    /**
+     * Groups outbound transactions into pick waves by shipping method and normalized destination.
+     * Waves are ordered by shipping method, then by number of transactions, largest first; the transactions
+     * of a wave keep their input order.
+     *
+     * @param transactions The pending outbound transactions, oldest first.
+     * @param productsBySku The products of the transactions, by SKU; transactions of unknown products add no weight or volume.
+     * @return The waves.
+     */
+    public static List<PickWave> plan(List<OutboundTransaction> transactions, Map<Integer, Product> productsBySku) {
+        Map<WaveKey, WaveTotals> waves = new HashMap<>();
+        Map<String, String> normalized = new HashMap<>();
+
+        for (OutboundTransaction transaction : transactions) {
+            String address = transaction.getDestinationAddress() != null ? transaction.getDestinationAddress() : "";
+            // the same address is usually repeated across many lines, normalize it once
+            String destination = normalized.computeIfAbsent(address, WavePlanningService::normalizeDestination);
+            WaveTotals totals = waves.computeIfAbsent(new WaveKey(transaction.getShippingType(), destination),
+                    key -> new WaveTotals(address));
+
+            int quantity = transaction.getQuantity();
+            totals.transactions.add(transaction);
+            totals.quantity += quantity;
+            Product product = productsBySku.get(transaction.getSku());
+            if (product != null) {
+                totals.weightKg += product.getWeightPerUnitKg() * quantity;
+                totals.volumeM3 += product.getVolumePerUnitM3() * quantity;
+            }
+        }
+
+        List<PickWave> plan = new ArrayList<>(waves.size());
+        waves.forEach((key, totals) -> plan.add(new PickWave(key.shippingType(), totals.destinationAddress,
+                totals.transactions, totals.quantity, totals.weightKg, totals.volumeM3)));
+        plan.sort(Comparator.comparing(PickWave::getShippingType)
+                .thenComparing(wave -> wave.getTransactions().size(), Comparator.reverseOrder())
+                .thenComparing(PickWave::getDestinationAddress));
+        return plan;
+    }
+
+    /**
+     * Normalizes an address so that spelling variants of the same destination compare equal:
+     * case, punctuation and spacing are ignored, and common abbreviations are expanded.
+     *
+     * @param address The address as entered.
+     * @return The normalized address.
+     */
+    public static String normalizeDestination(String address) {
+        StringBuilder normalized = new StringBuilder(address.length());
+        for (String word : address.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (!normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            normalized.append(ADDRESS_ABBREVIATIONS.getOrDefault(word, word));
+        }
+        return normalized.toString();
+    }
+
+    private record WaveKey(ShippingType shippingType, String destination) {
+    }
+
+    /**
+     * Running totals of a wave while it is being planned.
+     */
+    private static class WaveTotals {
+        private final String destinationAddress;
+        private final List<OutboundTransaction> transactions = new ArrayList<>();
+        private int quantity;
+        private double weightKg;
+        private double volumeM3;
+
+        private WaveTotals(String destinationAddress) {
+            this.destinationAddress = destinationAddress;
+        }
+    }
+}
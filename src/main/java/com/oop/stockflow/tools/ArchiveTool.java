@@ -0,0 +1,81 @@
+package com.oop.stockflow.tools;
+
+import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.service.TransactionArchiveService;
+
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Command line access to the transaction archive.
+ *
+ * Usage:
+ * <ul>
+ *     <li>{@code ArchiveTool list} lists the archived months.</li>
+ *     <li>{@code ArchiveTool export} exports the months past the retention window, leaving them attached.</li>
+ *     <li>{@code ArchiveTool drop YYYY-MM} archives a month past the retention window and drops its partition.</li>
+ *     <li>{@code ArchiveTool restore YYYY-MM} attaches an archived month again.</li>
+ * </ul>
+ *
+ * All commands need {@code ARCHIVE_DIR} set to the absolute path of the shared archive location.
+ */
+public class ArchiveTool {
+
+    /**
+     * Entry point of the tool.
+     *
+     * @param args The command and its arguments, see the class documentation.
+     */
+    public static void main(String[] args) {
+        TransactionArchiveService archiveService = TransactionArchiveService.getInstance();
+        String command = args.length > 0 ? args[0] : "list";
+        boolean success = true;
+
+        try {
+            switch (command) {
+                case "list":
+                    for (YearMonth month : archiveService.listArchives()) {
+                        System.out.println(month);
+                    }
+                    break;
+                case "export":
+                    success = archiveService.exportExpiredPartitions() >= 0;
+                    break;
+                case "drop":
+                    if (args.length < 2) {
+                        System.err.println("[ERROR] Usage: ArchiveTool drop YYYY-MM");
+                        success = false;
+                        break;
+                    }
+                    success = archiveService.drop(YearMonth.parse(args[1]));
+                    break;
+                case "restore":
+                    if (args.length < 2) {
+                        System.err.println("[ERROR] Usage: ArchiveTool restore YYYY-MM");
+                        success = false;
+                        break;
+                    }
+                    success = archiveService.restore(YearMonth.parse(args[1]));
+                    break;
+                default:
+                    System.err.println("[ERROR] Unknown command " + command + ", expected list, export, drop or restore.");
+                    success = false;
+                    break;
+            }
+        } catch (DateTimeParseException e) {
+            System.err.println("[ERROR] Invalid month " + args[1] + ", expected YYYY-MM.");
+            success = false;
+        } finally {
+            try {
+                DatabaseManager.closeDataSource();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (!success) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.oop.stockflow.tools;
+
+import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.db.MigrationRunner;
+import com.oop.stockflow.db.PartitionManager;
+import com.oop.stockflow.utils.PasswordUtils;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a production-scale synthetic dataset in the configured PostgreSQL database.
+ *
+ * Rows are streamed with COPY using explicit IDs above the current maximum, so the generator
+ * can be run against a database that already contains data. Row triggers are disabled while
+ * loading and product quantities are recomputed from the committed transactions afterwards.
+ * All generated accounts use the email domain {@code stockflow.test} and the password {@code password}.
+ *
+ * Usage: {@code DatasetGenerator [managers] [warehousesPerManager] [staffPerWarehouse] [productsPerWarehouse] [transactions] [seed]}
+ */
+public class DatasetGenerator {
+    public static final String EMAIL_DOMAIN = "@stockflow.test";
+    private static final String PASSWORD = "password";
+    private static final int HISTORY_DAYS = 730;
+    private static final int PENDING_WINDOW_DAYS = 14;
+    private static final int COPY_BUFFER_CHARS = 1 << 20;
+    private static final int PROGRESS_INTERVAL = 1_000_000;
+    private static final String[] CITIES = {"Jakarta", "Surabaya", "Bandung", "Medan", "Semarang", "Makassar", "Yogyakarta", "Denpasar"};
+    private static final String[] SHIPPING_METHODS = {"standard ground", "express air", "sea freight"};
+
+    private final int managers;
+    private final int warehousesPerManager;
+    private final int staffPerWarehouse;
+    private final int productsPerWarehouse;
+    private final long transactions;
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a DatasetGenerator with the scale of the dataset to generate.
+     *
+     * @param managers The number of managers.
+     * @param warehousesPerManager The number of warehouses owned by each manager.
+     * @param staffPerWarehouse The number of staff members per warehouse.
+     * @param productsPerWarehouse The number of products per warehouse.
+     * @param transactions The total number of transactions.
+     * @param seed The random seed, so the same arguments produce the same dataset.
+     */
+    public DatasetGenerator(int managers, int warehousesPerManager, int staffPerWarehouse, int productsPerWarehouse, long transactions, long seed) {
+        this.managers = managers;
+        this.warehousesPerManager = warehousesPerManager;
+        this.staffPerWarehouse = staffPerWarehouse;
+        this.productsPerWarehouse = productsPerWarehouse;
+        this.transactions = transactions;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Entry point of the generator.
+     *
+     * @param args Optional scale arguments, see the class documentation.
+     */
+    public static void main(String[] args) {
+        DatasetGenerator generator = new DatasetGenerator(
+                intArg(args, 0, 20),
+                intArg(args, 1, 5),
+                intArg(args, 2, 10),
+                intArg(args, 3, 2_000),
+                args.length > 4 ? Long.parseLong(args[4]) : 20_000_000L,
+                args.length > 5 ? Long.parseLong(args[5]) : 42L);
+
+        try {
+            generator.generate();
+        } catch (SQLException e) {
+            System.err.println("[ERROR] Dataset generation failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            try {
+                DatabaseManager.closeDataSource();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Generates the full dataset: managers, warehouses, staff, products and transactions.
+     *
+     * @throws SQLException If a database access error occurs.
+     */
+    public void generate() throws SQLException {
+        if (!MigrationRunner.getInstance().migrate()) {
+            throw new SQLException("Database schema is not up to date");
+        }
+        long started = System.nanoTime();
+        int warehouses = managers * warehousesPerManager;
+        int staff = warehouses * staffPerWarehouse;
+        int products = warehouses * productsPerWarehouse;
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            long firstManagerId = nextId(conn, "managers", "id");
+            long firstWarehouseId = nextId(conn, "warehouses", "id");
+            long firstStaffId = nextId(conn, "staff", "id");
+            long firstSku = nextId(conn, "products", "sku");
+            long firstTransactionId = nextId(conn, "transactions", "id");
+
+            // every month of the history needs its partition, otherwise the rows pile up in the default partition
+            PartitionManager.getInstance().ensurePartitions(conn,
+                    YearMonth.from(LocalDate.now().minusDays(HISTORY_DAYS)), YearMonth.now());
+
+            setUserTriggers(conn, false);
+            try {
+                copyManagers(conn, firstManagerId);
+                copyWarehouses(conn, firstWarehouseId, firstManagerId);
+                copyStaff(conn, firstStaffId, firstWarehouseId);
+                boolean[] fresh = copyProducts(conn, firstSku, firstWarehouseId, products);
+                copyTransactions(conn, firstTransactionId, firstSku, firstStaffId, firstWarehouseId, fresh);
+                recomputeQuantities(conn, firstSku, firstSku + products - 1);
+                recordInitialStock(conn, firstSku, firstSku + products - 1);
+            } finally {
+                setUserTriggers(conn, true);
+            }
+
+            resetSequence(conn, "managers", "id");
+            resetSequence(conn, "warehouses", "id");
+            resetSequence(conn, "staff", "id");
+            resetSequence(conn, "products", "sku");
+            resetSequence(conn, "transactions", "id");
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE");
+            }
+        }
+
+        System.out.printf("[INFO] Generated %d managers, %d warehouses, %d staff, %d products and %d transactions in %.1f s.%n",
+                managers, warehouses, staff, products, transactions, (System.nanoTime() - started) / 1e9);
+    }
+
+    private void copyManagers(Connection conn, long firstId) throws SQLException {
+        String hash = PasswordUtils.hashPassword(PASSWORD);
+        try (CsvCopy copy = new CsvCopy(conn, "managers (id, name, email, company, password)")) {
+            for (int i = 0; i < managers; i++) {
+                long id = firstId + i;
+                copy.row(id, "Load Manager " + id, "manager" + id + EMAIL_DOMAIN, "Load Company " + id, hash);
+            }
+        }
+    }
+
+    private void copyWarehouses(Connection conn, long firstId, long firstManagerId) throws SQLException {
+        try (CsvCopy copy = new CsvCopy(conn, "warehouses (id, name, city, state, postal_code, address, status, " +
+                "max_capacity_volume_m3, max_capacity_weight_kg, manager_id)")) {
+            for (int i = 0; i < managers * warehousesPerManager; i++) {
+                long id = firstId + i;
+                String city = CITIES[random.nextInt(CITIES.length)];
+                copy.row(id, "Load Warehouse " + id, city, city, String.valueOf(10000 + random.nextInt(90000)),
+                        "Jl. Gudang No. " + id, "active", 50_000, 1_000_000, firstManagerId + i / warehousesPerManager);
+            }
+        }
+    }
+
+    private void copyStaff(Connection conn, long firstId, long firstWarehouseId) throws SQLException {
+        String hash = PasswordUtils.hashPassword(PASSWORD);
+        try (CsvCopy copy = new CsvCopy(conn, "staff (id, name, email, password, warehouse_id)")) {
+            for (int i = 0; i < managers * warehousesPerManager * staffPerWarehouse; i++) {
+                long id = firstId + i;
+                copy.row(id, "Load Staff " + id, "staff" + id + EMAIL_DOMAIN, hash, firstWarehouseId + i / staffPerWarehouse);
+            }
+        }
+    }
+
+    /**
+     * Copies the products, roughly one in four being fresh.
+     *
+     * @return Whether the product at each offset from the first SKU is fresh.
+     */
+    private boolean[] copyProducts(Connection conn, long firstSku, long firstWarehouseId, int products) throws SQLException {
+        boolean[] fresh = new boolean[products];
+        try (CsvCopy copy = new CsvCopy(conn, "products (sku, name, brand, description, purchase_price, weight_per_unit_kg, " +
+                "volume_per_unit_m3, quantity, product_type, warehouse_id, reorder_point, reorder_quantity, units_per_case, " +
+                "safety_stock, required_temp, days_to_alert_before_expiry)")) {
+            for (int i = 0; i < products; i++) {
+                long sku = firstSku + i;
+                long warehouseId = firstWarehouseId + i / productsPerWarehouse;
+                String price = String.format(Locale.ROOT, "%.2f", 1 + random.nextDouble() * 499);
+                String weight = String.format(Locale.ROOT, "%.3f", 0.1 + random.nextDouble() * 20);
+                String volume = String.format(Locale.ROOT, "%.3f", 0.001 + random.nextDouble() * 0.1);
+                int quantity = random.nextInt(500);
+
+                fresh[i] = random.nextInt(4) == 0;
+                if (fresh[i]) {
+                    copy.row(sku, "Fresh Item " + sku, "Brand " + (sku % 200), "Synthetic fresh product", price, weight,
+                            volume, quantity, "fresh", warehouseId, null, null, null, null,
+                            String.format(Locale.ROOT, "%.2f", 1 + random.nextDouble() * 7), 2 + random.nextInt(5));
+                } else {
+                    int unitsPerCase = 6 * (1 + random.nextInt(8));
+                    copy.row(sku, "Dry Item " + sku, "Brand " + (sku % 200), "Synthetic dry good product", price, weight,
+                            volume, quantity, "dry good", warehouseId, 20 + random.nextInt(200), unitsPerCase * (2 + random.nextInt(10)),
+                            unitsPerCase, 0, null, null);
+                }
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Copies the transaction history. Demand is skewed towards a few popular SKUs per warehouse,
+     * weekends are quieter, inbound receipts are larger than outbound shipments so stock stays positive,
+     * and only recent transactions can still be pending.
+     */
+    private void copyTransactions(Connection conn, long firstId, long firstSku, long firstStaffId, long firstWarehouseId,
+                                  boolean[] fresh) throws SQLException {
+        int warehouses = managers * warehousesPerManager;
+        LocalDateTime historyStart = LocalDate.now().minusDays(HISTORY_DAYS).atStartOfDay();
+        LocalDateTime pendingFrom = LocalDate.now().minusDays(PENDING_WINDOW_DAYS).atStartOfDay();
+
+        try (CsvCopy copy = new CsvCopy(conn, "transactions (id, user_id, date, transaction_type, destination_address, " +
+                "shipping_method, product_sku, quantity, status, expiry_date, warehouse_id)")) {
+            for (long i = 0; i < transactions; i++) {
+                int warehouse = random.nextInt(warehouses);
+                // cubing a uniform value concentrates demand on the first products of the warehouse
+                double skew = random.nextDouble();
+                int productOffset = warehouse * productsPerWarehouse + (int) (skew * skew * skew * productsPerWarehouse);
+                long staffId = firstStaffId + (long) warehouse * staffPerWarehouse + random.nextInt(staffPerWarehouse);
+                LocalDateTime date = randomDate(historyStart);
+
+                boolean inbound = random.nextInt(10) < 4;
+                String status = randomStatus(date.isAfter(pendingFrom));
+                String shipping = SHIPPING_METHODS[random.nextInt(SHIPPING_METHODS.length)];
+
+                if (inbound) {
+                    LocalDate expiry = fresh[productOffset] ? date.toLocalDate().plusDays(5 + random.nextInt(26)) : null;
+                    copy.row(firstId + i, staffId, date, "inbound", null, shipping, firstSku + productOffset,
+                            20 + random.nextInt(181), status, expiry, firstWarehouseId + warehouse);
+                } else {
+                    copy.row(firstId + i, staffId, date, "outbound", "Jl. Pelanggan No. " + random.nextInt(10_000), shipping,
+                            firstSku + productOffset, 1 + random.nextInt(50), status, null, firstWarehouseId + warehouse);
+                }
+
+                if ((i + 1) % PROGRESS_INTERVAL == 0) {
+                    System.out.printf("[INFO] Copied %,d of %,d transactions.%n", i + 1, transactions);
+                }
+            }
+        }
+    }
+
+    private LocalDateTime randomDate(LocalDateTime historyStart) {
+        while (true) {
+            LocalDateTime date = historyStart.plusSeconds(random.nextLong((long) HISTORY_DAYS * 24 * 60 * 60));
+            int dayOfWeek = date.getDayOfWeek().getValue();
+            // weekends carry about 40% of a weekday's volume
+            if (dayOfWeek < 6 || random.nextInt(10) < 4) {
+                return date;
+            }
+        }
+    }
+
+    private String randomStatus(boolean recent) {
+        int roll = random.nextInt(100);
+        if (roll < 3) {
+            return "voided";
+        }
+        if (recent && roll < 30) {
+            return "pending";
+        }
+        return "committed";
+    }
+
+    private void recomputeQuantities(Connection conn, long fromSku, long toSku) throws SQLException {
+        String sql = "UPDATE products p SET quantity = GREATEST(0, p.quantity + d.delta) " +
+                "FROM (SELECT product_sku, SUM(CASE WHEN transaction_type = 'inbound' THEN quantity ELSE -quantity END) AS delta " +
+                "FROM transactions WHERE status = 'committed' AND product_sku BETWEEN " + fromSku + " AND " + toSku + " " +
+                "GROUP BY product_sku) d " +
+                "WHERE p.sku = d.product_sku";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+
+    /**
+     * Starts the stock event log of the generated products at their final quantity,
+     * since the triggers that would have recorded their history were disabled.
+     */
+    private void recordInitialStock(Connection conn, long fromSku, long toSku) throws SQLException {
+        String sql = "INSERT INTO stock_events (sku, warehouse_id, delta, quantity_after, source) " +
+                "SELECT sku, warehouse_id, quantity, quantity, 'initial' FROM products " +
+                "WHERE sku BETWEEN " + fromSku + " AND " + toSku;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+
+    private void setUserTriggers(Connection conn, boolean enabled) throws SQLException {
+        String action = enabled ? "ENABLE" : "DISABLE";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE transactions " + action + " TRIGGER USER");
+            stmt.execute("ALTER TABLE products " + action + " TRIGGER USER");
+        }
+    }
+
+    private long nextId(Connection conn, String table, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void resetSequence(Connection conn, String table, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT setval(pg_get_serial_sequence('" + table + "', '" + column + "'), " +
+                    "(SELECT COALESCE(MAX(" + column + "), 1) FROM " + table + "))");
+        }
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    /**
+     * Streams CSV rows into a table through COPY, flushing the buffer whenever it fills up.
+     */
+    private static class CsvCopy implements AutoCloseable {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+        private CsvCopy(Connection conn, String target) throws SQLException {
+            this.copyIn = conn.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + target + " FROM STDIN WITH (FORMAT csv)");
+        }
+
+        private void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object value = values[i];
+                if (value instanceof String text) {
+                    buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else if (value != null) {
+                    // unquoted empty fields are NULL in CSV format
+                    buffer.append(value);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+    }
+}
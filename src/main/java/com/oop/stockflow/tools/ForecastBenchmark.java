@@ -0,0 +1,86 @@
+package com.oop.stockflow.tools;
+
+import com.oop.stockflow.model.DemandForecast;
+import com.oop.stockflow.service.DemandForecastService;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Measures how long {@link DemandForecastService#fit(int, int[], int)} takes for a manager with many SKUs,
+ * fitting every series once sequentially and once in parallel on the common fork/join pool.
+ * The daily demand series are generated in memory with a weekly pattern and noise, so no database is needed.
+ *
+ * Usage: {@code ForecastBenchmark [skus] [historyDays] [seed]}
+ */
+public class ForecastBenchmark {
+    private static final int LEAD_TIME_DAYS = 7;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 30;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double[] WEEKDAY_FACTORS = {1.0, 0.9, 0.95, 1.1, 1.3, 1.6, 0.6};
+
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args Optional arguments, see the class documentation.
+     */
+    public static void main(String[] args) {
+        int skus = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 730;
+        SplittableRandom random = new SplittableRandom(args.length > 2 ? Long.parseLong(args[2]) : 42L);
+
+        int[][] series = new int[skus][days];
+        for (int sku = 0; sku < skus; sku++) {
+            double base = 1 + random.nextDouble(40);
+            for (int day = 0; day < days; day++) {
+                double expected = base * WEEKDAY_FACTORS[day % WEEKDAY_FACTORS.length];
+                series[sku][day] = Math.max(0, (int) Math.round(expected + random.nextDouble(-0.3, 0.3) * expected));
+            }
+        }
+
+        System.out.printf("%n%-10s %8s %6s %9s %9s %9s %12s%n", "mode", "skus", "days", "p50 ms", "p99 ms", "max ms", "fits/s");
+        report("sequential", skus, days, measure(series, false));
+        report("parallel", skus, days, measure(series, true));
+    }
+
+    private static long[] measure(int[][] series, boolean parallel) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            fitAll(series, parallel);
+        }
+
+        long[] nanos = new long[MEASURED_ROUNDS];
+        long checksum = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long started = System.nanoTime();
+            checksum += fitAll(series, parallel);
+            nanos[i] = System.nanoTime() - started;
+        }
+        // keeps the fits from being optimized away
+        if (checksum == Long.MIN_VALUE) {
+            System.out.println(checksum);
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static long fitAll(int[][] series, boolean parallel) {
+        IntStream skus = IntStream.range(0, series.length);
+        if (parallel) {
+            skus = skus.parallel();
+        }
+        return skus.mapToObj(sku -> DemandForecastService.fit(sku, series[sku], LEAD_TIME_DAYS))
+                .mapToLong(DemandForecast::getReorderPoint)
+                .sum();
+    }
+
+    private static void report(String mode, int skus, int days, long[] nanos) {
+        long p50 = nanos[MEASURED_ROUNDS / 2];
+        System.out.printf("%-10s %8d %6d %9.3f %9.3f %9.3f %12.0f%n", mode, skus, days,
+                p50 / NANOS_PER_MILLI,
+                nanos[(int) Math.ceil(MEASURED_ROUNDS * 0.99) - 1] / NANOS_PER_MILLI,
+                nanos[MEASURED_ROUNDS - 1] / NANOS_PER_MILLI,
+                skus * 1_000_000_000.0 / p50);
+    }
+}
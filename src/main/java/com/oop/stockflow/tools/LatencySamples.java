@@ -0,0 +1,116 @@
+package com.oop.stockflow.tools;
+
+import java.util.Arrays;
+
+/**
+ * Latency and pool wait samples of one operation, recorded by a single thread.
+ * Samples of all threads are merged once the run has finished.
+ */
+public class LatencySamples {
+    private long[] latencies = new long[1024];
+    private long[] poolWaits = new long[1024];
+    private int size;
+    private int errors;
+
+    /**
+     * Records one execution of the operation.
+     *
+     * @param latencyNanos The total latency in nanoseconds.
+     * @param poolWaitNanos The time spent waiting for pooled connections in nanoseconds.
+     * @param success Whether the operation succeeded.
+     */
+    public void record(long latencyNanos, long poolWaitNanos, boolean success) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+            poolWaits = Arrays.copyOf(poolWaits, size * 2);
+        }
+        latencies[size] = latencyNanos;
+        poolWaits[size] = poolWaitNanos;
+        size++;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    /**
+     * Appends the samples of another recorder to this one.
+     *
+     * @param other The samples to merge.
+     */
+    public void merge(LatencySamples other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.latencies[i], other.poolWaits[i], true);
+        }
+        errors += other.errors;
+    }
+
+    /**
+     * Retrieves the number of recorded executions.
+     *
+     * @return The sample count.
+     */
+    public int getCount() {
+        return size;
+    }
+
+    /**
+     * Retrieves the number of failed executions.
+     *
+     * @return The error count.
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Sorts the samples so percentiles can be read. Must be called after the last merge.
+     */
+    public void sort() {
+        Arrays.sort(latencies, 0, size);
+        Arrays.sort(poolWaits, 0, size);
+    }
+
+    /**
+     * Retrieves a latency percentile of the sorted samples.
+     *
+     * @param percentile The percentile between 0 and 100.
+     * @return The latency in nanoseconds, or 0 if there are no samples.
+     */
+    public long latencyPercentile(double percentile) {
+        return percentile(latencies, percentile);
+    }
+
+    /**
+     * Retrieves a pool wait percentile of the sorted samples.
+     *
+     * @param percentile The percentile between 0 and 100.
+     * @return The pool wait in nanoseconds, or 0 if there are no samples.
+     */
+    public long poolWaitPercentile(double percentile) {
+        return percentile(poolWaits, percentile);
+    }
+
+    /**
+     * Retrieves the mean pool wait.
+     *
+     * @return The mean pool wait in nanoseconds, or 0 if there are no samples.
+     */
+    public long meanPoolWait() {
+        if (size == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += poolWaits[i];
+        }
+        return total / size;
+    }
+
+    private long percentile(long[] sorted, double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return sorted[Math.max(0, Math.min(index, size - 1))];
+    }
+}
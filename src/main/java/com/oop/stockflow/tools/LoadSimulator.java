@@ -0,0 +1,280 @@
+package com.oop.stockflow.tools;
+
+import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.db.SqlMetrics;
+import com.oop.stockflow.model.ShippingType;
+import com.oop.stockflow.model.TransactionStatus;
+import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.TransactionRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Drives concurrent simulated staff members through the real repository APIs and reports
+ * throughput, latency percentiles and connection pool wait times per operation, followed by the
+ * statements that took the most database time.
+ * Expects a dataset created by {@link DatasetGenerator}.
+ *
+ * Usage: {@code LoadSimulator [threads] [durationSeconds] [seed]}
+ */
+public class LoadSimulator {
+    private static final int PENDING_PRELOAD = 100_000;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final TransactionRepository transactionRepository = TransactionRepository.getInstance();
+    private final ProductRepository productRepository = ProductRepository.getInstance();
+
+    private final int threads;
+    private final int durationSeconds;
+    private final long seed;
+    private final List<int[]> staffMembers = new ArrayList<>();
+    private final Map<Integer, int[]> skusByWarehouse = new HashMap<>();
+    private final Queue<Long> pendingTransactions = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The operations performed by a simulated staff member, with their relative frequency.
+     */
+    private enum Operation {
+        CREATE_INBOUND(25),
+        CREATE_OUTBOUND(35),
+        UPDATE_STATUS(15),
+        DASHBOARD_STATS(20),
+        STAFF_HISTORY(5);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Constructs a LoadSimulator.
+     *
+     * @param threads The number of concurrent simulated staff members.
+     * @param durationSeconds How long to run the simulation.
+     * @param seed The random seed of the first simulated staff member.
+     */
+    public LoadSimulator(int threads, int durationSeconds, long seed) {
+        this.threads = threads;
+        this.durationSeconds = durationSeconds;
+        this.seed = seed;
+    }
+
+    /**
+     * Entry point of the simulator.
+     *
+     * @param args Optional arguments, see the class documentation.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        LoadSimulator simulator = new LoadSimulator(
+                args.length > 0 ? Integer.parseInt(args[0]) : 32,
+                args.length > 1 ? Integer.parseInt(args[1]) : 60,
+                args.length > 2 ? Long.parseLong(args[2]) : 42L);
+
+        try {
+            simulator.run();
+        } catch (SQLException e) {
+            System.err.println("[ERROR] Load simulation failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            try {
+                DatabaseManager.closeDataSource();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Loads the simulated staff members, runs all workers for the configured duration and prints the report.
+     *
+     * @throws SQLException If the generated dataset cannot be loaded.
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    public void run() throws SQLException, InterruptedException {
+        loadFixtures();
+        if (staffMembers.isEmpty()) {
+            System.err.println("[ERROR] No generated staff found, run DatasetGenerator first.");
+            return;
+        }
+        DatabaseManager.setMetricsTrackerFactory(new PoolWaitTracker());
+
+        List<EnumMap<Operation, LatencySamples>> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + durationSeconds * 1_000_000_000L;
+
+        System.out.printf("[INFO] Running %d simulated staff for %d s.%n", threads, durationSeconds);
+        for (int i = 0; i < threads; i++) {
+            int[] staff = staffMembers.get(i % staffMembers.size());
+            SplittableRandom random = new SplittableRandom(seed + i);
+            Thread worker = new Thread(() -> {
+                try {
+                    results.add(simulateStaff(staff[0], staff[1], random, deadline));
+                } finally {
+                    done.countDown();
+                }
+            }, "load-staff-" + i);
+            worker.start();
+        }
+        done.await();
+
+        report(results);
+    }
+
+    private EnumMap<Operation, LatencySamples> simulateStaff(int staffId, int warehouseId, SplittableRandom random, long deadline) {
+        EnumMap<Operation, LatencySamples> samples = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new LatencySamples());
+        }
+        int[] skus = skusByWarehouse.get(warehouseId);
+        if (skus == null || skus.length == 0) {
+            return samples;
+        }
+
+        while (System.nanoTime() < deadline) {
+            Operation operation = pickOperation(random);
+            PoolWaitTracker.reset();
+            long started = System.nanoTime();
+
+            Boolean success = execute(operation, staffId, warehouseId, skus, random);
+            if (success != null) {
+                samples.get(operation).record(System.nanoTime() - started, PoolWaitTracker.waitNanos(), success);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Executes one operation through the repositories.
+     *
+     * @return Whether the operation succeeded, or null if it was skipped.
+     */
+    private Boolean execute(Operation operation, int staffId, int warehouseId, int[] skus, SplittableRandom random) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        ShippingType shipping = ShippingType.values()[random.nextInt(ShippingType.values().length)];
+        // same skew as the generated history: a few products receive most of the traffic
+        double skew = random.nextDouble();
+        int sku = skus[(int) (skew * skew * skew * skus.length)];
+
+        switch (operation) {
+            case CREATE_INBOUND:
+                return transactionRepository.createInboundTransaction(staffId, now, shipping, sku,
+                        20 + random.nextInt(181), random.nextInt(4) == 0 ? TransactionStatus.PENDING : TransactionStatus.COMMITTED);
+            case CREATE_OUTBOUND:
+                return transactionRepository.createOutboundTransaction(staffId, now, "Jl. Simulasi No. " + random.nextInt(10_000),
+                        shipping, 1 + random.nextInt(10), sku, TransactionStatus.COMMITTED);
+            case UPDATE_STATUS:
+                Long transactionId = pendingTransactions.poll();
+                if (transactionId == null) {
+                    return null;
+                }
+                return transactionRepository.updateTransactionStatus(transactionId,
+                        random.nextInt(10) == 0 ? TransactionStatus.VOIDED : TransactionStatus.COMMITTED);
+            case DASHBOARD_STATS:
+                // the queries WarehouseShowController runs when the dashboard is opened
+                return transactionRepository.countTodayInboundTransaction(warehouseId) >= 0
+                        & transactionRepository.countTodayOutboundTransaction(warehouseId) >= 0
+                        & productRepository.countLowStockByWarehouseId(warehouseId) >= 0
+                        & productRepository.countInStock(warehouseId) >= 0
+                        & productRepository.countOutStock(warehouseId) >= 0
+                        & productRepository.countProductsByWarehouseId(warehouseId) >= 0
+                        & !transactionRepository.getOutboundTransactionCounts(warehouseId, 7).isEmpty();
+            case STAFF_HISTORY:
+                transactionRepository.getAllTransactionsByStaffId(staffId);
+                return true;
+            default:
+                return null;
+        }
+    }
+
+    private Operation pickOperation(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.DASHBOARD_STATS;
+    }
+
+    /**
+     * Loads the generated staff members, the SKUs of their warehouses and a pool of pending transactions.
+     */
+    private void loadFixtures() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT id, warehouse_id FROM staff WHERE email LIKE ? AND warehouse_id IS NOT NULL ORDER BY id")) {
+                stmt.setString(1, "%" + DatasetGenerator.EMAIL_DOMAIN);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        staffMembers.add(new int[]{rs.getInt("id"), rs.getInt("warehouse_id")});
+                    }
+                }
+            }
+
+            Map<Integer, List<Integer>> skus = new HashMap<>();
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT p.sku, p.warehouse_id FROM products p JOIN staff s ON s.warehouse_id = p.warehouse_id " +
+                            "WHERE s.email LIKE ? GROUP BY p.sku, p.warehouse_id ORDER BY p.sku")) {
+                stmt.setString(1, "%" + DatasetGenerator.EMAIL_DOMAIN);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        skus.computeIfAbsent(rs.getInt("warehouse_id"), id -> new ArrayList<>()).add(rs.getInt("sku"));
+                    }
+                }
+            }
+            for (Map.Entry<Integer, List<Integer>> entry : skus.entrySet()) {
+                skusByWarehouse.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT id FROM transactions WHERE status = 'pending'::transaction_status LIMIT ?")) {
+                stmt.setInt(1, PENDING_PRELOAD);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        pendingTransactions.add(rs.getLong("id"));
+                    }
+                }
+            }
+        }
+        System.out.printf("[INFO] Loaded %d staff, %d warehouses and %d pending transactions.%n",
+                staffMembers.size(), skusByWarehouse.size(), pendingTransactions.size());
+    }
+
+    private void report(List<EnumMap<Operation, LatencySamples>> results) {
+        System.out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s %9s %11s %11s%n", "operation", "count", "errors",
+                "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "wait avg ms", "wait p99 ms");
+
+        for (Operation operation : Operation.values()) {
+            LatencySamples merged = new LatencySamples();
+            for (EnumMap<Operation, LatencySamples> result : results) {
+                merged.merge(result.get(operation));
+            }
+            merged.sort();
+
+            System.out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f %11.2f%n",
+                    operation.name().toLowerCase(), merged.getCount(), merged.getErrors(),
+                    merged.getCount() / (double) durationSeconds,
+                    millis(merged.latencyPercentile(50)), millis(merged.latencyPercentile(90)),
+                    millis(merged.latencyPercentile(99)), millis(merged.latencyPercentile(99.9)),
+                    millis(merged.latencyPercentile(100)),
+                    millis(merged.meanPoolWait()), millis(merged.poolWaitPercentile(99)));
+        }
+
+        System.out.printf("%n[INFO] Top statements by total time:%n%s", SqlMetrics.getInstance().formatTopByTotalTime(15));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,40 @@
+package com.oop.stockflow.tools;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Accumulates the time each thread spends waiting for a pooled connection.
+ * Repositories acquire connections on the calling thread, so the wait of a single
+ * repository call can be read by resetting before the call and reading after it.
+ */
+public class PoolWaitTracker implements MetricsTrackerFactory {
+    private static final ThreadLocal<long[]> WAIT_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Resets the accumulated pool wait of the current thread.
+     */
+    public static void reset() {
+        WAIT_NANOS.get()[0] = 0;
+    }
+
+    /**
+     * Retrieves the pool wait accumulated by the current thread since the last reset.
+     *
+     * @return The wait time in nanoseconds.
+     */
+    public static long waitNanos() {
+        return WAIT_NANOS.get()[0];
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                WAIT_NANOS.get()[0] += elapsedAcquiredNanos;
+            }
+        };
+    }
+}
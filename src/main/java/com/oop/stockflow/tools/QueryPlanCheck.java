@@ -0,0 +1,136 @@
+package com.oop.stockflow.tools;
+
+import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.repository.HotQuery;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks with {@code EXPLAIN} that no hot repository query plans a sequential scan over a large table.
+ * The queries are taken from {@link HotQuery}, which hands out the statements the repositories prepare.
+ * Expects a dataset created by {@link DatasetGenerator}, so the planner sees production-like statistics;
+ * tables below {@link #MIN_ROWS} rows are ignored, because scanning them is cheaper than any index.
+ * Exits with status 1 if a query fails the check.
+ *
+ * Usage: {@code QueryPlanCheck}
+ */
+public class QueryPlanCheck {
+    private static final long MIN_ROWS = 10_000;
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    /**
+     * Entry point of the check.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        boolean passed = false;
+        try {
+            passed = new QueryPlanCheck().run();
+        } catch (SQLException e) {
+            System.err.println("[ERROR] Query plan check failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            try {
+                DatabaseManager.closeDataSource();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Explains every hot query with parameters taken from the generated dataset.
+     *
+     * @return true if no query scans a large table sequentially.
+     * @throws SQLException If the dataset cannot be read or a query cannot be explained.
+     */
+    public boolean run() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            long[] sample = loadSample(conn);
+            if (sample == null) {
+                System.err.println("[ERROR] No generated data found, run DatasetGenerator first.");
+                return false;
+            }
+            List<HotQuery> queries = HotQuery.all((int) sample[0], "manager" + sample[0] + DatasetGenerator.EMAIL_DOMAIN,
+                    (int) sample[1], (int) sample[2], "staff" + sample[2] + DatasetGenerator.EMAIL_DOMAIN,
+                    (int) sample[3], sample[4]);
+
+            List<String> failures = new ArrayList<>();
+            for (HotQuery query : queries) {
+                List<String> scans = largeSequentialScans(conn, query.getSql(), query.getParameters());
+                if (scans.isEmpty()) {
+                    System.out.println("[PASS] " + query.getName());
+                } else {
+                    System.out.println("[FAIL] " + query.getName() + "\n       sequential scan on " + String.join(", ", scans));
+                    failures.add(query.getName());
+                }
+            }
+            System.out.printf("%n[INFO] %d of %d queries passed.%n", queries.size() - failures.size(), queries.size());
+            return failures.isEmpty();
+        }
+    }
+
+    /**
+     * Explains a query and returns the large tables it scans sequentially.
+     */
+    private List<String> largeSequentialScans(Connection conn, String sql, Object[] params) throws SQLException {
+        List<String> scans = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Matcher matcher = SEQ_SCAN.matcher(rs.getString(1));
+                    if (matcher.find() && estimatedRows(conn, matcher.group(1)) >= MIN_ROWS) {
+                        scans.add(matcher.group(1));
+                    }
+                }
+            }
+        }
+        return scans;
+    }
+
+    private long estimatedRows(Connection conn, String table) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT reltuples::bigint FROM pg_class WHERE relname = ?")) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Picks a generated manager with its first warehouse, a staff member, a product and a transaction.
+     *
+     * @return The ids {managerId, warehouseId, staffId, sku, transactionId}, or null if there is no generated data.
+     */
+    private long[] loadSample(Connection conn) throws SQLException {
+        String sql = "SELECT w.manager_id, s.warehouse_id, s.id AS staff_id, " +
+                "(SELECT MIN(sku) FROM products WHERE warehouse_id = s.warehouse_id) AS sku, " +
+                "(SELECT MAX(id) FROM transactions WHERE user_id = s.id) AS transaction_id " +
+                "FROM staff s JOIN warehouses w ON w.id = s.warehouse_id " +
+                "WHERE s.email LIKE ? ORDER BY s.id LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, "%" + DatasetGenerator.EMAIL_DOMAIN);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new long[]{rs.getLong("manager_id"), rs.getLong("warehouse_id"), rs.getLong("staff_id"),
+                        rs.getLong("sku"), rs.getLong("transaction_id")};
+            }
+        }
+    }
+}
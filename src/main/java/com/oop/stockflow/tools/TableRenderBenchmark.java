@@ -0,0 +1,286 @@
+package com.oop.stockflow.tools;
+
+import com.oop.stockflow.controller.cell.DateTimeCell;
+import com.oop.stockflow.controller.cell.StatusBadgeCell;
+import com.oop.stockflow.controller.cell.TransactionTypeCell;
+import com.oop.stockflow.model.*;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+import org.kordamp.ikonli.javafx.FontIcon;
+
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the frame times of scrolling a large transaction table, once with the cell implementations
+ * the transaction list used before and once with the reusable cells of {@code controller.cell}.
+ * The table is filled with synthetic rows, so no database is needed. For every pulse the time spent in
+ * CSS and layout, where cells are updated, is recorded next to the interval between frames.
+ *
+ * Usage: {@code TableRenderBenchmark [rows] [rowsPerFrame] [seed]}
+ */
+public class TableRenderBenchmark extends Application {
+    private static final int WARMUP_FRAMES = 120;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final long FRAME_BUDGET_NANOS = 16_666_667;
+    private static final String STYLESHEET = "/com/oop/stockflow/assets/transaction-index.css";
+
+    private final List<Phase> phases = new ArrayList<>();
+    private TableView<Transaction> table;
+    private int rowsPerFrame;
+
+    /**
+     * A set of cell factories to scroll the table with.
+     */
+    private static class Phase {
+        private final String name;
+        private final Runnable install;
+
+        private Phase(String name, Runnable install) {
+            this.name = name;
+            this.install = install;
+        }
+    }
+
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args Optional arguments, see the class documentation.
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        List<String> args = getParameters().getRaw();
+        int rows = args.size() > 0 ? Integer.parseInt(args.get(0)) : 100_000;
+        rowsPerFrame = args.size() > 1 ? Integer.parseInt(args.get(1)) : 25;
+        long seed = args.size() > 2 ? Long.parseLong(args.get(2)) : 42L;
+
+        table = createTable(generateRows(rows, seed));
+        Scene scene = new Scene(table, 1024, 768);
+        scene.getStylesheets().add(getClass().getResource(STYLESHEET).toExternalForm());
+        stage.setScene(scene);
+        stage.setTitle("Table render benchmark");
+        stage.show();
+
+        phases.add(new Phase("legacy cells", this::installLegacyCells));
+        phases.add(new Phase("cached cells", this::installCachedCells));
+
+        System.out.printf("[INFO] Scrolling %d rows, %d rows per frame.%n", rows, rowsPerFrame);
+        System.out.printf("%n%-14s %7s %12s %12s %12s %12s %12s %9s%n",
+                "phase", "frames", "pulse p50", "pulse p99", "pulse max", "frame p50", "frame p99", "> 16.7ms");
+        runPhase(scene, 0);
+    }
+
+    /**
+     * Scrolls the table from top to bottom with the cells of one phase, then starts the next phase.
+     */
+    private void runPhase(Scene scene, int index) {
+        if (index == phases.size()) {
+            Platform.exit();
+            return;
+        }
+        Phase phase = phases.get(index);
+        phase.install.run();
+        table.scrollTo(0);
+
+        LatencySamples pulses = new LatencySamples();
+        LatencySamples frames = new LatencySamples();
+        long[] pulseStart = new long[1];
+        Runnable preLayout = () -> pulseStart[0] = System.nanoTime();
+        Runnable postLayout = () -> {
+            if (pulseStart[0] != 0) {
+                pulses.record(System.nanoTime() - pulseStart[0], 0, true);
+            }
+        };
+
+        new AnimationTimer() {
+            private int frame;
+            private int row;
+            private long lastFrame;
+            private int overBudget;
+
+            @Override
+            public void handle(long now) {
+                frame++;
+                if (frame == WARMUP_FRAMES) {
+                    // measure from here on, cells have been created and styled
+                    scene.addPreLayoutPulseListener(preLayout);
+                    scene.addPostLayoutPulseListener(postLayout);
+                } else if (frame > WARMUP_FRAMES && lastFrame != 0) {
+                    frames.record(now - lastFrame, 0, true);
+                    if (now - lastFrame > FRAME_BUDGET_NANOS) {
+                        overBudget++;
+                    }
+                }
+                lastFrame = now;
+
+                if (frame >= WARMUP_FRAMES) {
+                    row += rowsPerFrame;
+                }
+                if (row >= table.getItems().size()) {
+                    stop();
+                    scene.removePreLayoutPulseListener(preLayout);
+                    scene.removePostLayoutPulseListener(postLayout);
+                    report(phase.name, pulses, frames, overBudget);
+                    runPhase(scene, index + 1);
+                    return;
+                }
+                table.scrollTo(row);
+            }
+        }.start();
+    }
+
+    private void report(String name, LatencySamples pulses, LatencySamples frames, int overBudget) {
+        pulses.sort();
+        frames.sort();
+        System.out.printf("%-14s %7d %10.3fms %10.3fms %10.3fms %10.3fms %10.3fms %9d%n", name, frames.getCount(),
+                millis(pulses.latencyPercentile(50)), millis(pulses.latencyPercentile(99)), millis(pulses.latencyPercentile(100)),
+                millis(frames.latencyPercentile(50)), millis(frames.latencyPercentile(99)), overBudget);
+    }
+
+    private TableView<Transaction> createTable(ObservableList<Transaction> rows) {
+        TableView<Transaction> table = new TableView<>(rows);
+        table.getStyleClass().add("transaction-table-view");
+
+        TableColumn<Transaction, Integer> idColumn = new TableColumn<>("ID");
+        idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
+        TableColumn<Transaction, Integer> quantityColumn = new TableColumn<>("Quantity");
+        quantityColumn.setCellValueFactory(new PropertyValueFactory<>("quantity"));
+        TableColumn<Transaction, Timestamp> dateColumn = new TableColumn<>("Date");
+        dateColumn.setCellValueFactory(new PropertyValueFactory<>("date"));
+        TableColumn<Transaction, TransactionType> typeColumn = new TableColumn<>("Type");
+        typeColumn.setCellValueFactory(new PropertyValueFactory<>("type"));
+        typeColumn.getStyleClass().add("status-column");
+        TableColumn<Transaction, TransactionStatus> statusColumn = new TableColumn<>("Status");
+        statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
+        statusColumn.getStyleClass().add("status-column");
+
+        table.getColumns().add(idColumn);
+        table.getColumns().add(quantityColumn);
+        table.getColumns().add(dateColumn);
+        table.getColumns().add(typeColumn);
+        table.getColumns().add(statusColumn);
+        return table;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> TableColumn<Transaction, T> column(int index) {
+        return (TableColumn<Transaction, T>) table.getColumns().get(index);
+    }
+
+    private void installCachedCells() {
+        this.<Timestamp>column(2).setCellFactory(column -> new DateTimeCell<>());
+        this.<TransactionType>column(3).setCellFactory(column -> new TransactionTypeCell<>());
+        this.<TransactionStatus>column(4).setCellFactory(column -> new StatusBadgeCell<>());
+    }
+
+    /**
+     * Installs cells that render like the transaction list did before the reusable cells:
+     * a new badge label with an inline style and a new icon on every update.
+     */
+    private void installLegacyCells() {
+        Callback<TableColumn<Transaction, Timestamp>, TableCell<Transaction, Timestamp>> dateCells = column -> new TableCell<>() {
+            private final SimpleDateFormat formatter = new SimpleDateFormat("dd MMM yyyy HH:mm");
+
+            @Override
+            protected void updateItem(Timestamp item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : formatter.format(item));
+            }
+        };
+        this.<Timestamp>column(2).setCellFactory(dateCells);
+
+        this.<TransactionType>column(3).setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(TransactionType item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                    setGraphic(null);
+                    setStyle("");
+                } else {
+                    setText(item.getDbValue().substring(0, 1).toUpperCase() + item.getDbValue().substring(1));
+                    FontIcon icon = new FontIcon(item == TransactionType.INBOUND ? "fas-arrow-down" : "fas-arrow-up");
+                    icon.setIconSize(14);
+                    setGraphic(icon);
+                    setStyle(item == TransactionType.INBOUND ? "-fx-text-fill: green;" : "-fx-text-fill: blue;");
+                }
+            }
+        });
+
+        this.<TransactionStatus>column(4).setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(TransactionStatus status, boolean empty) {
+                super.updateItem(status, empty);
+                if (empty || status == null) {
+                    setGraphic(null);
+                    setText(null);
+                    setStyle("");
+                } else {
+                    Label statusLabel = new Label(status.getDbValue().substring(0, 1).toUpperCase() + status.getDbValue().substring(1));
+                    statusLabel.setStyle("-fx-padding: 4 12; -fx-background-radius: 12; -fx-font-size: 12px; -fx-font-weight: 600;"
+                            + legacyStatusColors(status));
+                    statusLabel.setAlignment(Pos.CENTER);
+                    statusLabel.setMaxWidth(Double.MAX_VALUE);
+                    setGraphic(statusLabel);
+                    setText(null);
+                }
+            }
+        });
+    }
+
+    private static String legacyStatusColors(TransactionStatus status) {
+        switch (status) {
+            case COMMITTED:
+                return "-fx-background-color: #d1fae5; -fx-text-fill: #065f46;";
+            case PENDING:
+                return "-fx-background-color: #fef3c7; -fx-text-fill: #92400e;";
+            default:
+                return "-fx-background-color: #fee2e2; -fx-text-fill: #991b1b;";
+        }
+    }
+
+    /**
+     * Generates synthetic transactions with a mix of types and statuses over the last year.
+     */
+    private static ObservableList<Transaction> generateRows(int rows, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        TransactionStatus[] statuses = TransactionStatus.values();
+        long now = System.currentTimeMillis();
+        List<Transaction> transactions = new ArrayList<>(rows);
+        for (int id = 1; id <= rows; id++) {
+            Timestamp date = new Timestamp(now - random.nextLong(365L * 24 * 60 * 60 * 1000));
+            TransactionStatus status = statuses[random.nextInt(statuses.length)];
+            int sku = 1 + random.nextInt(1000);
+            int quantity = 1 + random.nextInt(100);
+            if (random.nextBoolean()) {
+                transactions.add(new InboundTransaction(id, sku, 1, quantity, date, ShippingType.values()[0], status, TransactionType.INBOUND));
+            } else {
+                transactions.add(new OutboundTransaction(id, sku, 1, quantity, date, ShippingType.values()[0], status, "Benchmark Street " + id, TransactionType.OUTBOUND));
+            }
+        }
+        return FXCollections.observableArrayList(transactions);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,217 @@
+package com.oop.stockflow.tools;
+
+import com.oop.stockflow.db.DatabaseManager;
+import com.oop.stockflow.model.DryGoodProduct;
+import com.oop.stockflow.model.Product;
+import com.oop.stockflow.repository.ProductRepository;
+import com.oop.stockflow.repository.ProductUpdateResult;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the WAL volume and latency of full-row product updates against the dirty-field updates
+ * of {@link ProductRepository#updateProduct(Product)}. Each phase changes the reorder point of random
+ * generated dry good products, the way a manager edits one field in the product form.
+ * Expects a dataset created by {@link DatasetGenerator}; WAL bytes are only meaningful on an otherwise idle database.
+ *
+ * Usage: {@code UpdateBenchmark [iterations] [seed]}
+ */
+public class UpdateBenchmark {
+    private static final int PRODUCT_SAMPLE = 1000;
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    // the statement updateProduct used before dirty-field tracking
+    private static final String FULL_ROW_SQL = "UPDATE products SET name = ?, brand = ?, description = ?, purchase_price = ?, " +
+            "weight_per_unit_kg = ?, volume_per_unit_m3 = ?, product_type = ?::product_type, " +
+            "reorder_point = ?, reorder_quantity = ?, units_per_case = ?, " +
+            "required_temp = NULL, days_to_alert_before_expiry = NULL, " +
+            "version = version + 1 " +
+            "WHERE sku = ? AND version = ?";
+
+    private final ProductRepository productRepository = ProductRepository.getInstance();
+
+    private final int iterations;
+    private final SplittableRandom random;
+    private final List<DryGoodProduct> products = new ArrayList<>();
+
+    /**
+     * A way of saving an edited product.
+     */
+    private interface UpdateStrategy {
+        boolean update(DryGoodProduct product) throws SQLException;
+    }
+
+    /**
+     * Constructs an UpdateBenchmark.
+     *
+     * @param iterations The number of updates per phase.
+     * @param seed The random seed used to pick products.
+     */
+    public UpdateBenchmark(int iterations, long seed) {
+        this.iterations = iterations;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args Optional arguments, see the class documentation.
+     */
+    public static void main(String[] args) {
+        UpdateBenchmark benchmark = new UpdateBenchmark(
+                args.length > 0 ? Integer.parseInt(args[0]) : 10_000,
+                args.length > 1 ? Long.parseLong(args[1]) : 42L);
+
+        try {
+            benchmark.run();
+        } catch (SQLException e) {
+            System.err.println("[ERROR] Update benchmark failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            try {
+                DatabaseManager.closeDataSource();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Loads the sample products and runs every phase, printing one report line per phase.
+     *
+     * @throws SQLException If the sample cannot be loaded or the WAL position cannot be read.
+     */
+    public void run() throws SQLException {
+        loadProducts();
+        if (products.isEmpty()) {
+            System.err.println("[ERROR] No generated dry good products found, run DatasetGenerator first.");
+            return;
+        }
+
+        System.out.printf("%n%-14s %9s %7s %12s %9s %9s %9s%n",
+                "phase", "count", "errors", "WAL B/op", "p50 ms", "p99 ms", "max ms");
+        phase("full row", this::updateFullRow, true);
+        phase("dirty fields", this::updateDirtyFields, true);
+        phase("unchanged", this::updateDirtyFields, false);
+    }
+
+    /**
+     * Runs one phase: a warmup, then the measured updates.
+     *
+     * @param name The name printed in the report.
+     * @param strategy How the edited product is saved.
+     * @param modify Whether the reorder point is changed before saving, or the form is saved unchanged.
+     */
+    private void phase(String name, UpdateStrategy strategy, boolean modify) throws SQLException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            execute(strategy, modify);
+        }
+
+        LatencySamples samples = new LatencySamples();
+        long walBefore = currentWalPosition();
+        for (int i = 0; i < iterations; i++) {
+            long started = System.nanoTime();
+            boolean success = execute(strategy, modify);
+            samples.record(System.nanoTime() - started, 0, success);
+        }
+        long walBytes = currentWalPosition() - walBefore;
+        samples.sort();
+
+        System.out.printf("%-14s %9d %7d %12.1f %9.3f %9.3f %9.3f%n",
+                name, samples.getCount(), samples.getErrors(), walBytes / (double) iterations,
+                millis(samples.latencyPercentile(50)), millis(samples.latencyPercentile(99)),
+                millis(samples.latencyPercentile(100)));
+    }
+
+    private boolean execute(UpdateStrategy strategy, boolean modify) {
+        DryGoodProduct product = products.get(random.nextInt(products.size()));
+        if (modify) {
+            product.setReorderPoint(product.getReorderPoint() + 1);
+        }
+        try {
+            return strategy.update(product);
+        } catch (SQLException e) {
+            System.err.println("[ERROR] " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean updateFullRow(DryGoodProduct product) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FULL_ROW_SQL)) {
+            stmt.setString(1, product.getName());
+            stmt.setString(2, product.getBrand());
+            stmt.setString(3, product.getDescription());
+            stmt.setBigDecimal(4, product.getPurchasePrice());
+            stmt.setDouble(5, product.getWeightPerUnitKg());
+            stmt.setDouble(6, product.getVolumePerUnitM3());
+            stmt.setString(7, product.getProductType().getDbValue());
+            stmt.setInt(8, product.getReorderPoint());
+            stmt.setInt(9, product.getReorderQuantity());
+            stmt.setInt(10, product.getUnitsPerCase());
+            stmt.setInt(11, product.getSku());
+            stmt.setInt(12, product.getVersion());
+
+            if (stmt.executeUpdate() > 0) {
+                product.setVersion(product.getVersion() + 1);
+                product.markClean();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private boolean updateDirtyFields(DryGoodProduct product) {
+        return productRepository.updateProduct(product) == ProductUpdateResult.UPDATED;
+    }
+
+    /**
+     * Reads the current WAL insert position in bytes.
+     */
+    private long currentWalPosition() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT pg_wal_lsn_diff(pg_current_wal_insert_lsn(), '0/0')::bigint");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Loads a sample of generated dry good products through the repository, so they carry their version.
+     */
+    private void loadProducts() throws SQLException {
+        List<Integer> skus = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT DISTINCT p.sku FROM products p JOIN staff s ON s.warehouse_id = p.warehouse_id " +
+                             "WHERE s.email LIKE ? AND p.product_type = 'dry good'::product_type ORDER BY p.sku LIMIT ?")) {
+            stmt.setString(1, "%" + DatasetGenerator.EMAIL_DOMAIN);
+            stmt.setInt(2, PRODUCT_SAMPLE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    skus.add(rs.getInt("sku"));
+                }
+            }
+        }
+
+        for (int sku : skus) {
+            if (productRepository.getProductBySku(sku) instanceof DryGoodProduct product) {
+                products.add(product);
+            }
+        }
+        System.out.printf("[INFO] Loaded %d dry good products.%n", products.size());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,73 @@
+package com.oop.stockflow.tools;
+
+import com.oop.stockflow.model.*;
+import com.oop.stockflow.service.WavePlanningService;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Measures how long {@link WavePlanningService#plan(List, Map)} takes for a warehouse with many pending
+ * outbound transactions. The transactions are generated in memory with a few spelling variants of each
+ * destination, so no database is needed.
+ *
+ * Usage: {@code WavePlanningBenchmark [pendingLines] [destinations] [seed]}
+ */
+public class WavePlanningBenchmark {
+    private static final int PRODUCTS = 500;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String[] STREETS = {"Jalan Merdeka", "Jl. Sudirman", "Main Street", "Harbour Rd", "Station Ave"};
+
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args Optional arguments, see the class documentation.
+     */
+    public static void main(String[] args) {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int destinations = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        SplittableRandom random = new SplittableRandom(args.length > 2 ? Long.parseLong(args[2]) : 42L);
+
+        Map<Integer, Product> products = new HashMap<>();
+        for (int sku = 1; sku <= PRODUCTS; sku++) {
+            products.put(sku, new DryGoodProduct(sku, "Product " + sku, "Brand", null, BigDecimal.TEN,
+                    0.1 + random.nextDouble(20), 0.001 + random.nextDouble(0.5), 1000, 0, 0, 1, 1));
+        }
+
+        List<OutboundTransaction> pending = new ArrayList<>(lines);
+        ShippingType[] shippingTypes = ShippingType.values();
+        Timestamp date = new Timestamp(System.currentTimeMillis());
+        for (int id = 1; id <= lines; id++) {
+            int destination = random.nextInt(destinations);
+            String address = STREETS[destination % STREETS.length] + " " + destination + ", City " + (destination % 7);
+            if (random.nextBoolean()) {
+                // the same destination entered with different case, spacing and punctuation
+                address = " " + address.toUpperCase().replace(",", " ;") + ". ";
+            }
+            pending.add(new OutboundTransaction(id, 1 + random.nextInt(PRODUCTS), 1, 1 + random.nextInt(50), date,
+                    shippingTypes[random.nextInt(shippingTypes.length)], TransactionStatus.PENDING, address, TransactionType.OUTBOUND));
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            WavePlanningService.plan(pending, products);
+        }
+
+        long[] nanos = new long[MEASURED_ROUNDS];
+        int waves = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long started = System.nanoTime();
+            waves = WavePlanningService.plan(pending, products).size();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("%n%9s %7s %9s %9s %9s%n", "lines", "waves", "p50 ms", "p99 ms", "max ms");
+        System.out.printf("%9d %7d %9.3f %9.3f %9.3f%n", lines, waves,
+                nanos[MEASURED_ROUNDS / 2] / NANOS_PER_MILLI,
+                nanos[(int) Math.ceil(MEASURED_ROUNDS * 0.99) - 1] / NANOS_PER_MILLI,
+                nanos[MEASURED_ROUNDS - 1] / NANOS_PER_MILLI);
+    }
+}
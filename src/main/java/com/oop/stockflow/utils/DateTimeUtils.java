@@ -1,7 +1,12 @@
 package com.oop.stockflow.utils;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import java.util.Locale;
 
 /**
@@ -9,6 +14,25 @@ import java.util.Locale;
  * on formatting dates for display in the application.
  */
 public class DateTimeUtils {
+    /**
+     * Formatter for the current date in the top bar, e.g. "Wednesday, 29/10/2025".
+     */
+    public static final DateTimeFormatter CURRENT_DATE = DateTimeFormatter.ofPattern("EEEE, dd/MM/yyyy", Locale.ENGLISH);
+
+    /**
+     * Formatter for dates in detail views, e.g. "29 October 2025".
+     */
+    public static final DateTimeFormatter LONG_DATE = DateTimeFormatter.ofPattern("dd MMMM yyyy");
+
+    /**
+     * Formatter for date and time in table cells, e.g. "29 Oct 2025 14:05".
+     */
+    public static final DateTimeFormatter TABLE_DATE_TIME = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm");
+
+    /**
+     * Formatter for day labels on chart axes, e.g. "10/29".
+     */
+    public static final DateTimeFormatter CHART_DAY = DateTimeFormatter.ofPattern("M/d");
 
     /**
      * Retrieves the current system date and formats it into a specific readable string.
@@ -18,8 +42,46 @@ public class DateTimeUtils {
      * @return A formatted String representing the current date.
      */
     public static String getCurrentDate() {
-        LocalDate today = LocalDate.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("EEEE, dd/MM/yyyy", Locale.ENGLISH);
-        return today.format(formatter);
+        return LocalDate.now().format(CURRENT_DATE);
+    }
+
+    /**
+     * Formats a legacy date, such as a {@link java.sql.Timestamp}, in the system time zone.
+     * Unlike {@link java.text.SimpleDateFormat}, the shared formatters are immutable and can be reused freely.
+     *
+     * @param date The date to format, may be null.
+     * @param formatter The formatter to use, e.g. {@link #TABLE_DATE_TIME}.
+     * @return The formatted date, or null if the date is null.
+     */
+    public static String format(Date date, DateTimeFormatter formatter) {
+        if (date == null) {
+            return null;
+        }
+        // java.sql.Date and Time do not support toInstant()
+        return formatter.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), ZoneId.systemDefault()));
+    }
+
+    /**
+     * Formats how long ago a moment happened relative to now.
+     * Examples: "just now", "1 minute ago", "3 hours ago", "2 days ago".
+     *
+     * @param time The moment to describe.
+     * @return A short relative time description.
+     */
+    public static String getRelativeTime(LocalDateTime time) {
+        Duration elapsed = Duration.between(time, LocalDateTime.now());
+        long minutes = elapsed.toMinutes();
+        if (minutes < 1) {
+            return "just now";
+        }
+        if (minutes < 60) {
+            return minutes + (minutes == 1 ? " minute ago" : " minutes ago");
+        }
+        long hours = elapsed.toHours();
+        if (hours < 24) {
+            return hours + (hours == 1 ? " hour ago" : " hours ago");
+        }
+        long days = elapsed.toDays();
+        return days + (days == 1 ? " day ago" : " days ago");
     }
 }
@@ -0,0 +1,83 @@
+package com.oop.stockflow.utils;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/**
+ * Utility class for formatting amounts and physical quantities for display.
+ * The underlying formats are not thread-safe, so each thread keeps its own instances
+ * instead of every view creating new ones.
+ */
+public class FormatUtils {
+    private static final Locale INDONESIA = new Locale("id", "ID");
+    private static final ThreadLocal<NumberFormat> CURRENCY = ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(INDONESIA));
+    private static final ThreadLocal<DecimalFormat> WEIGHT = ThreadLocal.withInitial(() -> new DecimalFormat("#,##0.00 'kg'"));
+    private static final ThreadLocal<DecimalFormat> VOLUME = ThreadLocal.withInitial(() -> new DecimalFormat("#,##0.000 'm³'"));
+    private static final ThreadLocal<DecimalFormat> UNIT_WEIGHT = ThreadLocal.withInitial(() -> new DecimalFormat("#,##0.### 'kg'"));
+    private static final ThreadLocal<DecimalFormat> UNIT_VOLUME = ThreadLocal.withInitial(() -> new DecimalFormat("#,##0.### 'm³'"));
+    private static final ThreadLocal<DecimalFormat> TEMPERATURE = ThreadLocal.withInitial(() -> new DecimalFormat("#,##0.0 '°C'"));
+
+    private FormatUtils() {}
+
+    /**
+     * Formats an amount in Indonesian Rupiah, e.g. "Rp15.000,00".
+     *
+     * @param amount The amount to format.
+     * @return The formatted amount.
+     */
+    public static String formatCurrency(BigDecimal amount) {
+        return CURRENCY.get().format(amount);
+    }
+
+    /**
+     * Formats a weight in kilograms, e.g. "1,250.00 kg".
+     *
+     * @param kilograms The weight to format.
+     * @return The formatted weight.
+     */
+    public static String formatWeight(double kilograms) {
+        return WEIGHT.get().format(kilograms);
+    }
+
+    /**
+     * Formats a volume in cubic meters, e.g. "0.125 m³".
+     *
+     * @param cubicMeters The volume to format.
+     * @return The formatted volume.
+     */
+    public static String formatVolume(double cubicMeters) {
+        return VOLUME.get().format(cubicMeters);
+    }
+
+    /**
+     * Formats the weight of a single unit in kilograms, without trailing zeros, e.g. "0.25 kg".
+     *
+     * @param kilograms The weight to format.
+     * @return The formatted weight.
+     */
+    public static String formatUnitWeight(double kilograms) {
+        return UNIT_WEIGHT.get().format(kilograms);
+    }
+
+    /**
+     * Formats the volume of a single unit in cubic meters, without trailing zeros, e.g. "0.002 m³".
+     *
+     * @param cubicMeters The volume to format.
+     * @return The formatted volume.
+     */
+    public static String formatUnitVolume(double cubicMeters) {
+        return UNIT_VOLUME.get().format(cubicMeters);
+    }
+
+    /**
+     * Formats a temperature in degrees Celsius, e.g. "-18.0 °C".
+     *
+     * @param celsius The temperature to format.
+     * @return The formatted temperature.
+     */
+    public static String formatTemperature(BigDecimal celsius) {
+        return TEMPERATURE.get().format(celsius);
+    }
+}
@@ -8,6 +8,7 @@ module com.oop.stockflow {
     requires jdk.xml.dom;
     requires java.dotenv;
     requires com.zaxxer.hikari;
+    requires org.postgresql.jdbc;
     requires java.desktop;
     requires org.kordamp.ikonli.javafx;
     requires org.kordamp.ikonli.fontawesome5;
@@ -15,4 +16,6 @@ module com.oop.stockflow {
 
     opens com.oop.stockflow to javafx.fxml;
     exports com.oop.stockflow;
+    // lets JavaFX launch the table rendering benchmark
+    exports com.oop.stockflow.tools to javafx.graphics;
 }
\ No newline at end of file
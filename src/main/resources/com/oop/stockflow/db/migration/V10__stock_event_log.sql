@@ -0,0 +1,101 @@
+-- =========================================================
+-- Append-only stock event log with per-warehouse snapshots
+-- =========================================================
+
+CREATE TYPE stock_event_source AS ENUM ('initial', 'transaction', 'adjustment', 'removal');
+
+-- every change of products.quantity, whether caused by a transaction or by a manual edit;
+-- quantity_after is the stock once the change was applied, so the stock at any moment is
+-- the quantity_after of the latest event before it. No foreign keys, history outlives products.
+CREATE TABLE stock_events
+(
+    id             BIGSERIAL PRIMARY KEY,
+    sku            INT                NOT NULL,
+    warehouse_id   BIGINT,
+    delta          INT                NOT NULL,
+    quantity_after INT                NOT NULL,
+    source         stock_event_source NOT NULL,
+    occurred_at    TIMESTAMP          NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX idx_stock_events_sku_time ON stock_events (sku, occurred_at, id);
+CREATE INDEX idx_stock_events_warehouse_time ON stock_events (warehouse_id, occurred_at, id);
+
+-- stock of every product of a warehouse as of taken_at
+CREATE TABLE stock_snapshots
+(
+    id           BIGSERIAL PRIMARY KEY,
+    warehouse_id BIGINT    NOT NULL,
+    taken_at     TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_stock_snapshots_warehouse_time ON stock_snapshots (warehouse_id, taken_at);
+
+CREATE TABLE stock_snapshot_items
+(
+    snapshot_id BIGINT NOT NULL REFERENCES stock_snapshots (id) ON DELETE CASCADE,
+    sku         INT    NOT NULL,
+    quantity    INT    NOT NULL,
+    PRIMARY KEY (snapshot_id, sku)
+);
+
+-- events are never rewritten
+CREATE OR REPLACE FUNCTION reject_stock_event_change()
+    RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION 'stock_events is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_stock_events_append_only
+    BEFORE UPDATE OR DELETE ON stock_events
+    FOR EACH ROW EXECUTE FUNCTION reject_stock_event_change();
+
+-- records quantity changes of products; an update fired from inside the transaction quantity
+-- trigger is attributed to a transaction, any other update to a manual adjustment
+CREATE OR REPLACE FUNCTION record_stock_event()
+    RETURNS TRIGGER AS $$
+DECLARE
+    change_source stock_event_source;
+BEGIN
+    IF (TG_OP = 'INSERT') THEN
+        INSERT INTO stock_events (sku, warehouse_id, delta, quantity_after, source)
+        VALUES (NEW.sku, NEW.warehouse_id, NEW.quantity, NEW.quantity, 'initial');
+        RETURN NEW;
+    END IF;
+
+    IF (TG_OP = 'DELETE') THEN
+        INSERT INTO stock_events (sku, warehouse_id, delta, quantity_after, source)
+        VALUES (OLD.sku, OLD.warehouse_id, -OLD.quantity, 0, 'removal');
+        RETURN OLD;
+    END IF;
+
+    IF OLD.warehouse_id IS DISTINCT FROM NEW.warehouse_id THEN
+        INSERT INTO stock_events (sku, warehouse_id, delta, quantity_after, source)
+        VALUES (OLD.sku, OLD.warehouse_id, -OLD.quantity, 0, 'removal');
+        INSERT INTO stock_events (sku, warehouse_id, delta, quantity_after, source)
+        VALUES (NEW.sku, NEW.warehouse_id, NEW.quantity, NEW.quantity, 'initial');
+        RETURN NEW;
+    END IF;
+
+    change_source := CASE WHEN pg_trigger_depth() > 1 THEN 'transaction' ELSE 'adjustment' END;
+    INSERT INTO stock_events (sku, warehouse_id, delta, quantity_after, source)
+    VALUES (NEW.sku, NEW.warehouse_id, NEW.quantity - OLD.quantity, NEW.quantity, change_source);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_products_stock_event_lifecycle
+    AFTER INSERT OR DELETE ON products
+    FOR EACH ROW EXECUTE FUNCTION record_stock_event();
+
+CREATE TRIGGER trg_products_stock_event_update
+    AFTER UPDATE OF quantity, warehouse_id ON products
+    FOR EACH ROW
+    WHEN (OLD.quantity IS DISTINCT FROM NEW.quantity OR OLD.warehouse_id IS DISTINCT FROM NEW.warehouse_id)
+    EXECUTE FUNCTION record_stock_event();
+
+-- the history before the log existed is unknown, start from the current stock
+INSERT INTO stock_events (sku, warehouse_id, delta, quantity_after, source)
+SELECT sku, warehouse_id, quantity, quantity, 'initial'
+FROM products;
@@ -0,0 +1,11 @@
+-- =========================================================
+-- Client request IDs, so retried submissions insert once
+-- =========================================================
+
+-- generated by the client for every submission and sent again on retries; NULL for rows recorded before
+ALTER TABLE transactions
+    ADD COLUMN request_id UUID NULL;
+
+-- target of ON CONFLICT DO NOTHING on insert; a unique index of a partitioned table has to include
+-- the partition key, which a retry repeats along with the request ID
+CREATE UNIQUE INDEX idx_transactions_request_id ON transactions (request_id, date);
@@ -0,0 +1,96 @@
+-- =========================================================
+-- Stock transfers between warehouses of the same manager
+-- =========================================================
+
+-- runs inside the migration transaction (PostgreSQL 12+); the new value cannot be used in this script,
+-- so the functions below compare it only at run time and the index predicate does not mention it
+ALTER TYPE transaction_type ADD VALUE IF NOT EXISTS 'transfer';
+
+-- a transfer moves stock from its product_sku in warehouse_id to the product of the same name in
+-- destination_warehouse_id; both columns stay NULL for inbound and outbound transactions
+ALTER TABLE transactions
+    ADD COLUMN destination_product_sku INT NULL REFERENCES products (sku)
+        ON UPDATE CASCADE ON DELETE SET NULL,
+    ADD COLUMN destination_warehouse_id BIGINT NULL REFERENCES warehouses (id)
+        ON UPDATE CASCADE ON DELETE SET NULL;
+
+-- transfers received by a warehouse, for its dashboard counts and paged transaction list
+CREATE INDEX idx_transactions_destination_warehouse_date ON transactions (destination_warehouse_id, date, id)
+    INCLUDE (transaction_type, status)
+    WHERE destination_warehouse_id IS NOT NULL;
+
+-- stock movements of a transaction row: one for inbound and outbound, two for a transfer;
+-- none unless the row is committed
+CREATE OR REPLACE FUNCTION transaction_stock_movements(t transactions)
+    RETURNS TABLE (sku INTEGER, delta INTEGER) AS $$
+BEGIN
+    IF t.status IS DISTINCT FROM 'committed' THEN
+        RETURN;
+    END IF;
+
+    IF t.transaction_type = 'inbound' THEN
+        RETURN QUERY SELECT t.product_sku, t.quantity;
+    ELSIF t.transaction_type = 'outbound' THEN
+        RETURN QUERY SELECT t.product_sku, -t.quantity;
+    ELSIF t.transaction_type::text = 'transfer' THEN
+        RETURN QUERY SELECT t.product_sku, -t.quantity
+                     UNION ALL
+                     SELECT t.destination_product_sku, t.quantity;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- replaces the V1 trigger body: applies the movements of the new row and reverts those of the old one.
+-- Products are updated in SKU order, so two transfers in opposite directions lock their products in the
+-- same order and wait for each other instead of deadlocking.
+CREATE OR REPLACE FUNCTION update_product_quantity_v2()
+    RETURNS TRIGGER AS $$
+DECLARE
+    movement RECORD;
+BEGIN
+    FOR movement IN
+        SELECT m.sku, SUM(m.delta)::INTEGER AS delta
+        FROM (SELECT n.sku, n.delta FROM transaction_stock_movements(NEW) n
+              UNION ALL
+              SELECT o.sku, -o.delta FROM transaction_stock_movements(OLD) o WHERE TG_OP = 'UPDATE') m
+        WHERE m.sku IS NOT NULL
+        GROUP BY m.sku
+        HAVING SUM(m.delta) <> 0
+        ORDER BY m.sku
+    LOOP
+        UPDATE products
+        SET quantity = quantity + movement.delta
+        WHERE sku = movement.sku;
+
+        IF movement.delta < 0 AND (SELECT quantity FROM products WHERE sku = movement.sku) < 0 THEN
+            RAISE EXCEPTION 'product quantity (SKU: %) can not be negative after transaction ID %', movement.sku, NEW.id;
+        END IF;
+    END LOOP;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- screens of the receiving warehouse are notified about transfers as well
+CREATE OR REPLACE FUNCTION notify_transaction_change()
+    RETURNS TRIGGER AS $$
+DECLARE
+    changed transactions%ROWTYPE;
+BEGIN
+    IF (TG_OP = 'DELETE') THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    PERFORM pg_notify('stockflow_changes',
+                      'transaction|' || TG_OP || '|' || changed.id || '|' || COALESCE(changed.warehouse_id, 0) || '|' ||
+                      COALESCE(changed.user_id, 0));
+    IF changed.destination_warehouse_id IS NOT NULL THEN
+        PERFORM pg_notify('stockflow_changes',
+                          'transaction|' || TG_OP || '|' || changed.id || '|' || changed.destination_warehouse_id || '|' ||
+                          COALESCE(changed.user_id, 0));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,84 @@
+-- =========================================================
+-- Change cursors for incremental screen refreshes
+-- =========================================================
+
+-- one sequence for every change, so a screen keeps a single number per entity as its cursor
+CREATE SEQUENCE change_seq;
+
+-- 0 for rows written before the migration; a constant default does not rewrite the tables
+ALTER TABLE products
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transactions
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- deleted rows leave a tombstone, so a screen can drop them without reloading;
+-- tombstones are only needed until every open screen has polled past them
+CREATE TABLE change_tombstones
+(
+    change_seq   BIGINT    NOT NULL DEFAULT nextval('change_seq') PRIMARY KEY,
+    entity       TEXT      NOT NULL,
+    id           BIGINT    NOT NULL,
+    warehouse_id BIGINT,
+    user_id      BIGINT,
+    deleted_at   TIMESTAMP NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX idx_change_tombstones_warehouse ON change_tombstones (entity, warehouse_id, change_seq);
+CREATE INDEX idx_change_tombstones_user ON change_tombstones (entity, user_id, change_seq)
+    WHERE user_id IS NOT NULL;
+CREATE INDEX idx_change_tombstones_deleted_at ON change_tombstones (deleted_at);
+
+-- the polled maximum and the delta of a screen are both read from these indexes
+CREATE INDEX idx_products_warehouse_change ON products (warehouse_id, change_seq);
+CREATE INDEX idx_transactions_user_change ON transactions (user_id, change_seq);
+CREATE INDEX idx_transactions_warehouse_change ON transactions (warehouse_id, change_seq);
+CREATE INDEX idx_transactions_destination_warehouse_change ON transactions (destination_warehouse_id, change_seq)
+    WHERE destination_warehouse_id IS NOT NULL;
+
+CREATE OR REPLACE FUNCTION stamp_change_seq()
+    RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_seq := nextval('change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_products_change_seq
+    BEFORE INSERT OR UPDATE ON products
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_seq();
+
+CREATE TRIGGER trg_transactions_change_seq
+    BEFORE INSERT OR UPDATE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_seq();
+
+-- a product moved to another warehouse is a deletion for the warehouse it left
+CREATE OR REPLACE FUNCTION record_product_tombstone()
+    RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO change_tombstones (entity, id, warehouse_id) VALUES ('product', OLD.sku, OLD.warehouse_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_transaction_tombstone()
+    RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO change_tombstones (entity, id, warehouse_id, user_id)
+    VALUES ('transaction', OLD.id, OLD.warehouse_id, OLD.user_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_products_tombstone_delete
+    AFTER DELETE ON products
+    FOR EACH ROW EXECUTE FUNCTION record_product_tombstone();
+
+CREATE TRIGGER trg_products_tombstone_move
+    AFTER UPDATE OF warehouse_id ON products
+    FOR EACH ROW
+    WHEN (OLD.warehouse_id IS DISTINCT FROM NEW.warehouse_id)
+    EXECUTE FUNCTION record_product_tombstone();
+
+CREATE TRIGGER trg_transactions_tombstone_delete
+    AFTER DELETE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION record_transaction_tombstone();
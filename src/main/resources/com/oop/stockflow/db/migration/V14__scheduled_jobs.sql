@@ -0,0 +1,43 @@
+-- =========================================================
+-- Background jobs: run bookkeeping, session expiry and daily rollups
+-- =========================================================
+
+-- one row per exclusive job, written by whichever client ran it last; the slot is the scheduled
+-- time the run was for, so a client that wakes up for a slot another client already ran skips it
+CREATE TABLE scheduled_jobs
+(
+    name             TEXT PRIMARY KEY,
+    last_slot        TIMESTAMP NOT NULL,
+    last_started_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_finished_at TIMESTAMP NULL,
+    last_duration_ms BIGINT    NULL,
+    last_succeeded   BOOLEAN   NULL,
+    run_count        BIGINT    NOT NULL DEFAULT 0,
+    failure_count    BIGINT    NOT NULL DEFAULT 0
+);
+
+-- sessions are kept alive by a heartbeat of the client that opened them and swept once idle;
+-- sessions of earlier versions get the migration time, so they expire after one timeout
+ALTER TABLE sessions
+    ADD COLUMN created_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD COLUMN last_seen_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_sessions_last_seen_at ON sessions (last_seen_at);
+
+-- outbound transactions per warehouse and day, transfers sent included, for the dashboard chart;
+-- days without transactions have no row
+CREATE TABLE daily_outbound_counts
+(
+    warehouse_id      BIGINT NOT NULL REFERENCES warehouses (id)
+        ON UPDATE CASCADE ON DELETE CASCADE,
+    day               DATE   NOT NULL,
+    transaction_count INT    NOT NULL,
+    PRIMARY KEY (warehouse_id, day)
+);
+
+-- the last day a rollup covers; later days are still counted from the transactions
+CREATE TABLE rollup_watermarks
+(
+    name           TEXT PRIMARY KEY,
+    rolled_through DATE NOT NULL
+);
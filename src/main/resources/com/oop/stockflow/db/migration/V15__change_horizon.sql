@@ -0,0 +1,50 @@
+-- =========================================================
+-- Commit-order-safe change cursors
+-- =========================================================
+
+-- change_seq is drawn when a row is written but becomes visible when its transaction commits, so a
+-- long transaction can commit a change below a cursor a screen already polled past. Each change now
+-- also records the ID of the transaction that wrote it; every transaction below the xmin of a snapshot
+-- has finished, so a cursor of transaction IDs that stays below that horizon never skips a change.
+
+-- 0 for rows written before the migration; a constant default does not rewrite the tables
+ALTER TABLE products
+    ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transactions
+    ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE change_tombstones
+    ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE change_tombstones
+    ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id()::text::bigint;
+
+-- the oldest transaction still running in the current snapshot; every change below it is visible or rolled back
+CREATE OR REPLACE FUNCTION change_horizon()
+    RETURNS BIGINT AS $$
+SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint;
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION stamp_change_seq()
+    RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_seq := nextval('change_seq');
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- cursors and deltas are now read by transaction ID
+DROP INDEX IF EXISTS idx_change_tombstones_warehouse;
+DROP INDEX IF EXISTS idx_change_tombstones_user;
+DROP INDEX IF EXISTS idx_products_warehouse_change;
+DROP INDEX IF EXISTS idx_transactions_user_change;
+DROP INDEX IF EXISTS idx_transactions_warehouse_change;
+DROP INDEX IF EXISTS idx_transactions_destination_warehouse_change;
+
+CREATE INDEX idx_change_tombstones_warehouse ON change_tombstones (entity, warehouse_id, change_xid);
+CREATE INDEX idx_change_tombstones_user ON change_tombstones (entity, user_id, change_xid)
+    WHERE user_id IS NOT NULL;
+CREATE INDEX idx_products_warehouse_change ON products (warehouse_id, change_xid);
+CREATE INDEX idx_transactions_user_change ON transactions (user_id, change_xid);
+CREATE INDEX idx_transactions_warehouse_change ON transactions (warehouse_id, change_xid);
+CREATE INDEX idx_transactions_destination_warehouse_change ON transactions (destination_warehouse_id, change_xid)
+    WHERE destination_warehouse_id IS NOT NULL;
@@ -1,21 +1,8 @@
 -- =========================================================
 -- PostgreSQL Database Schema for StockFlow
+-- Applied by MigrationRunner; never edit an applied migration, add a new one instead
 -- =========================================================
 
-DROP TABLE IF EXISTS transactions CASCADE;
-DROP TABLE IF EXISTS products CASCADE;
-DROP TABLE IF EXISTS staff CASCADE;
-DROP TABLE IF EXISTS warehouses CASCADE;
-DROP TABLE IF EXISTS managers CASCADE;
-DROP TABLE IF EXISTS sessions CASCADE;
-DROP TYPE IF EXISTS user_role;
-DROP TYPE IF EXISTS warehouse_status;
-DROP TYPE IF EXISTS product_type;
-DROP TYPE IF EXISTS transaction_type;
-DROP TYPE IF EXISTS transaction_status;
-DROP TYPE IF EXISTS shipping_method;
-DROP TYPE IF EXISTS user_role;
-
 CREATE TYPE user_role AS ENUM ('manager', 'staff');
 
 -- Manager Table
@@ -199,4 +186,4 @@ DROP TRIGGER IF EXISTS transactions_after_insert_update ON transactions;
 CREATE TRIGGER transactions_after_insert_update_v2
     AFTER INSERT OR UPDATE ON transactions
     FOR EACH ROW
-EXECUTE FUNCTION update_product_quantity_v2();
\ No newline at end of file
+EXECUTE FUNCTION update_product_quantity_v2();
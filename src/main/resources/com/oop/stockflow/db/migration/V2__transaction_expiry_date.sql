@@ -0,0 +1,12 @@
+-- =========================================================
+-- Expiry date of received lots, for the stock alert feed
+-- =========================================================
+
+-- databases created from the schema file before migrations were tracked are baselined at V1 and may
+-- already have any of the changes of V2 to V6, so these migrations only add what is missing
+
+-- expiry of the received lot, fresh products only
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS expiry_date DATE NULL;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_expiry ON transactions (product_sku, expiry_date)
+    WHERE expiry_date IS NOT NULL;
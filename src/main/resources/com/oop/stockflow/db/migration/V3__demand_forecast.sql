@@ -0,0 +1,8 @@
+-- =========================================================
+-- Safety stock and outbound history for the demand forecast
+-- =========================================================
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS safety_stock INTEGER DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_outbound_history ON transactions (product_sku, date)
+    WHERE transaction_type = 'outbound' AND status = 'committed';
@@ -0,0 +1,54 @@
+-- =========================================================
+-- Change notifications for open client screens
+-- =========================================================
+
+-- payload: entity|operation|id|warehouse_id|user_id
+CREATE OR REPLACE FUNCTION notify_product_change()
+    RETURNS TRIGGER AS $$
+DECLARE
+    changed products%ROWTYPE;
+BEGIN
+    IF (TG_OP = 'DELETE') THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    PERFORM pg_notify('stockflow_changes',
+                      'product|' || TG_OP || '|' || changed.sku || '|' || COALESCE(changed.warehouse_id, 0) || '|0');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION notify_transaction_change()
+    RETURNS TRIGGER AS $$
+DECLARE
+    changed transactions%ROWTYPE;
+    changed_warehouse_id BIGINT;
+BEGIN
+    IF (TG_OP = 'DELETE') THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    SELECT warehouse_id INTO changed_warehouse_id FROM products WHERE sku = changed.product_sku;
+
+    PERFORM pg_notify('stockflow_changes',
+                      'transaction|' || TG_OP || '|' || changed.id || '|' || COALESCE(changed_warehouse_id, 0) || '|' ||
+                      COALESCE(changed.user_id, 0));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS products_notify_change ON products;
+CREATE TRIGGER products_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON products
+    FOR EACH ROW
+EXECUTE FUNCTION notify_product_change();
+
+DROP TRIGGER IF EXISTS transactions_notify_change ON transactions;
+CREATE TRIGGER transactions_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON transactions
+    FOR EACH ROW
+EXECUTE FUNCTION notify_transaction_change();
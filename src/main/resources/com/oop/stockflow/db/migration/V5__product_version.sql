@@ -0,0 +1,6 @@
+-- =========================================================
+-- Optimistic versioning of product updates
+-- =========================================================
+
+-- incremented by every catalog update
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,76 @@
+-- =========================================================
+-- Monthly range partitions of transactions on date
+-- =========================================================
+
+-- the partition key has to be part of the primary key. A plain transactions table is rebuilt as a
+-- partitioned one: every month with rows gets its partition, named as PartitionManager names them, and the
+-- rows are copied before the triggers are created, so product quantities are not applied a second time.
+-- The id sequence is kept, so new ids continue after the copied ones.
+DO $$
+DECLARE
+    month_start TIMESTAMP;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'transactions'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+    ALTER TABLE transactions_unpartitioned RENAME CONSTRAINT transactions_pkey TO transactions_unpartitioned_pkey;
+
+    CREATE TABLE transactions
+    (
+        id                  BIGINT           NOT NULL DEFAULT nextval('transactions_id_seq'),
+        user_id             BIGINT           REFERENCES staff (id)
+                                                 ON UPDATE CASCADE ON DELETE SET NULL,
+        date                TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        transaction_type    transaction_type NOT NULL,
+        destination_address TEXT             NULL,
+        shipping_method     shipping_method  NOT NULL,
+        product_sku         INT REFERENCES products (sku)
+            ON UPDATE CASCADE ON DELETE CASCADE NOT NULL,
+        quantity            INT NOT NULL DEFAULT 0,
+        status              transaction_status NOT NULL,
+        -- expiry of the received lot, fresh products only
+        expiry_date         DATE             NULL,
+        PRIMARY KEY (id, date)
+    ) PARTITION BY RANGE (date);
+
+    -- catches rows of months without a partition; PartitionManager moves them out when the partition is created
+    CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+    FOR month_start IN SELECT DISTINCT date_trunc('month', date) FROM transactions_unpartitioned WHERE date IS NOT NULL
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_p' || to_char(month_start, 'YYYY_MM'), month_start, month_start + INTERVAL '1 month');
+    END LOOP;
+
+    -- rows without a date cannot be placed in a month; they fail the NOT NULL of the partition key
+    INSERT INTO transactions (id, user_id, date, transaction_type, destination_address, shipping_method,
+                              product_sku, quantity, status, expiry_date)
+    SELECT id, user_id, date, transaction_type, destination_address, shipping_method,
+           product_sku, quantity, status, expiry_date
+    FROM transactions_unpartitioned;
+
+    ALTER SEQUENCE transactions_id_seq OWNED BY transactions.id;
+    DROP TABLE transactions_unpartitioned;
+
+    CREATE TRIGGER transactions_after_insert_update_v2
+        AFTER INSERT OR UPDATE ON transactions
+        FOR EACH ROW
+    EXECUTE FUNCTION update_product_quantity_v2();
+
+    CREATE TRIGGER transactions_notify_change
+        AFTER INSERT OR UPDATE OR DELETE ON transactions
+        FOR EACH ROW
+    EXECUTE FUNCTION notify_transaction_change();
+END;
+$$;
+
+-- Indexes for Faster Lookup, created on every partition; the V1 index on user_id alone was dropped with the plain table
+CREATE INDEX IF NOT EXISTS idx_transactions_user ON transactions (user_id, date);
+CREATE INDEX IF NOT EXISTS idx_transactions_type_date ON transactions (transaction_type, date);
+CREATE INDEX IF NOT EXISTS idx_transactions_date_brin ON transactions USING BRIN (date);
+CREATE INDEX IF NOT EXISTS idx_transactions_expiry ON transactions (product_sku, expiry_date)
+    WHERE expiry_date IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_transactions_outbound_history ON transactions (product_sku, date)
+    WHERE transaction_type = 'outbound' AND status = 'committed';
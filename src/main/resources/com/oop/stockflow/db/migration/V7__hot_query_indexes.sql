@@ -0,0 +1,24 @@
+-- =========================================================
+-- Indexes behind the repository queries run on every screen
+-- =========================================================
+
+-- login looks up managers and staff by email: served by the UNIQUE constraints of V1
+
+-- logout deletes the sessions of a user
+CREATE INDEX idx_sessions_user ON sessions (user_id);
+
+-- warehouse list and every "by manager" join
+CREATE INDEX idx_warehouses_manager ON warehouses (manager_id);
+
+-- staff list and staff counts per warehouse
+CREATE INDEX idx_staff_warehouse ON staff (warehouse_id);
+
+-- product list per warehouse, ordered by name; also serves the product counts per warehouse
+CREATE INDEX idx_products_warehouse_name ON products (warehouse_id, name);
+
+-- low / in / out of stock counts and reorder candidates, answered from the index alone
+CREATE INDEX idx_products_warehouse_dry_stock ON products (warehouse_id) INCLUDE (quantity, reorder_point)
+    WHERE product_type = 'dry good';
+
+-- product_sku joins of the dashboard counts and the outbound chart, filtered by date
+CREATE INDEX idx_transactions_sku_date ON transactions (product_sku, date) INCLUDE (transaction_type, status);
@@ -0,0 +1,42 @@
+-- =========================================================
+-- Warehouse of each transaction, copied from its product
+-- =========================================================
+
+-- lets warehouse-level transaction queries filter without joining products;
+-- written by TransactionRepository on insert and never changed afterwards
+ALTER TABLE transactions
+    ADD COLUMN warehouse_id BIGINT REFERENCES warehouses (id)
+        ON UPDATE CASCADE ON DELETE SET NULL;
+
+-- backfill without firing the quantity and notification triggers for every row
+ALTER TABLE transactions DISABLE TRIGGER USER;
+
+UPDATE transactions t
+SET warehouse_id = p.warehouse_id
+FROM products p
+WHERE p.sku = t.product_sku;
+
+ALTER TABLE transactions ENABLE TRIGGER USER;
+
+-- dashboard counts, the outbound chart and the paged warehouse transaction list (newest first)
+CREATE INDEX idx_transactions_warehouse_date ON transactions (warehouse_id, date, id)
+    INCLUDE (transaction_type, status);
+
+-- the notification no longer has to look up the product
+CREATE OR REPLACE FUNCTION notify_transaction_change()
+    RETURNS TRIGGER AS $$
+DECLARE
+    changed transactions%ROWTYPE;
+BEGIN
+    IF (TG_OP = 'DELETE') THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    PERFORM pg_notify('stockflow_changes',
+                      'transaction|' || TG_OP || '|' || changed.id || '|' || COALESCE(changed.warehouse_id, 0) || '|' ||
+                      COALESCE(changed.user_id, 0));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,19 @@
+-- =========================================================
+-- Purchase price of received lots, for inventory valuation
+-- =========================================================
+
+-- unit cost of an inbound transaction, copied from the product's purchase price when it is recorded,
+-- so later price changes do not revalue stock that was already received; NULL for outbound transactions
+ALTER TABLE transactions
+    ADD COLUMN unit_cost NUMERIC(12, 2) NULL;
+
+-- existing receipts are valued at the current purchase price, the best information available
+ALTER TABLE transactions DISABLE TRIGGER USER;
+
+UPDATE transactions t
+SET unit_cost = p.purchase_price
+FROM products p
+WHERE p.sku = t.product_sku
+  AND t.transaction_type = 'inbound';
+
+ALTER TABLE transactions ENABLE TRIGGER USER;
@@ -0,0 +1,113 @@
+package com.oop.stockflow.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobScheduleTest {
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 2, 12, 0);
+
+    @Test
+    void fixedRateRunsAtOnceThenEveryInterval() {
+        JobSchedule schedule = JobSchedule.every(Duration.ofMinutes(5));
+
+        assertEquals(NOON, schedule.first(NOON));
+        assertEquals(NOON.plusMinutes(5), schedule.next(NOON));
+    }
+
+    @Test
+    void fixedRateBelowOneSecondIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> JobSchedule.every(Duration.ofMillis(999)));
+    }
+
+    @Test
+    void cronRunsAtTheNextMatchingMinute() {
+        JobSchedule schedule = JobSchedule.cron("10 0 * * *");
+
+        assertEquals(LocalDateTime.of(2026, 3, 2, 0, 10), schedule.first(LocalDateTime.of(2026, 3, 2, 0, 9, 30)));
+        // strictly after the previous slot
+        assertEquals(LocalDateTime.of(2026, 3, 3, 0, 10), schedule.next(LocalDateTime.of(2026, 3, 2, 0, 10)));
+    }
+
+    @Test
+    void cronStepsCoverTheWholeRangeOrStartAtTheValue() {
+        JobSchedule everyQuarter = JobSchedule.cron("*/15 * * * *");
+        assertEquals(NOON.withMinute(15), everyQuarter.next(NOON.withMinute(7)));
+        assertEquals(NOON.plusHours(1), everyQuarter.next(NOON.withMinute(45)));
+
+        JobSchedule fromFive = JobSchedule.cron("5/15 * * * *");
+        assertEquals(NOON.withMinute(5), fromFive.next(NOON));
+        assertEquals(NOON.plusHours(1).withMinute(5), fromFive.next(NOON.withMinute(50)));
+    }
+
+    @Test
+    void cronRangesAndListsAreCombined() {
+        // 09:00, 13:00 and 17:00 on Mondays and Wednesdays; 2026-03-02 is a Monday
+        JobSchedule schedule = JobSchedule.cron("0 9-17/4 * * 1,3");
+
+        assertEquals(LocalDateTime.of(2026, 3, 2, 13, 0), schedule.next(NOON));
+        assertEquals(LocalDateTime.of(2026, 3, 2, 17, 0), schedule.next(LocalDateTime.of(2026, 3, 2, 13, 0)));
+        assertEquals(LocalDateTime.of(2026, 3, 4, 9, 0), schedule.next(LocalDateTime.of(2026, 3, 2, 17, 0)));
+    }
+
+    @Test
+    void sundayIsBothZeroAndSeven() {
+        LocalDateTime saturday = LocalDateTime.of(2026, 3, 7, 12, 0);
+        LocalDateTime sunday = LocalDateTime.of(2026, 3, 8, 0, 0);
+
+        assertEquals(sunday, JobSchedule.cron("0 0 * * 0").next(saturday));
+        assertEquals(sunday, JobSchedule.cron("0 0 * * 7").next(saturday));
+    }
+
+    @Test
+    void restrictedDayFieldsMatchEitherDay() {
+        // 2026-01-13 is a Tuesday, 2026-02-06 a Friday
+        JobSchedule thirteenthOrFriday = JobSchedule.cron("0 0 13 * 5");
+        assertEquals(LocalDateTime.of(2026, 1, 13, 0, 0), thirteenthOrFriday.next(LocalDateTime.of(2026, 1, 10, 0, 0)));
+        assertEquals(LocalDateTime.of(2026, 2, 6, 0, 0), thirteenthOrFriday.next(LocalDateTime.of(2026, 2, 1, 0, 0)));
+
+        // a wildcard day of week leaves only the day of month
+        JobSchedule thirteenth = JobSchedule.cron("0 0 13 * *");
+        assertEquals(LocalDateTime.of(2026, 2, 13, 0, 0), thirteenth.next(LocalDateTime.of(2026, 1, 14, 0, 0)));
+    }
+
+    @Test
+    void malformedCronExpressionsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> JobSchedule.cron("0 0 * *"));
+        assertThrows(IllegalArgumentException.class, () -> JobSchedule.cron("60 * * * *"));
+        assertThrows(IllegalArgumentException.class, () -> JobSchedule.cron("0 5-1 * * *"));
+        assertThrows(IllegalArgumentException.class, () -> JobSchedule.cron("a * * * *"));
+        assertThrows(IllegalArgumentException.class, () -> JobSchedule.cron("*/0 * * * *"));
+    }
+
+    @Test
+    void cronThatNeverMatchesIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> JobSchedule.cron("0 0 31 2 *"));
+    }
+
+    @Test
+    void cronSlotIsDueUntilSomeClientRanIt() {
+        JobSchedule schedule = JobSchedule.cron("10 0 * * *");
+        LocalDateTime slot = LocalDateTime.of(2026, 3, 2, 0, 10);
+
+        assertTrue(schedule.isDue(null, slot));
+        assertTrue(schedule.isDue(slot.minusDays(1), slot));
+        assertFalse(schedule.isDue(slot, slot));
+    }
+
+    @Test
+    void fixedRateSlotIsCoveredByARunWithinHalfAnInterval() {
+        JobSchedule schedule = JobSchedule.every(Duration.ofMinutes(10));
+
+        assertTrue(schedule.isDue(null, NOON));
+        assertTrue(schedule.isDue(NOON.minusMinutes(10), NOON));
+        assertTrue(schedule.isDue(NOON.minusMinutes(5), NOON));
+        assertFalse(schedule.isDue(NOON.minusMinutes(4), NOON));
+    }
+}
@@ -0,0 +1,81 @@
+package com.oop.stockflow.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        assertEquals(0, new LatencyHistogram().percentile(99));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 20; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(10, histogram.percentile(50));
+        assertEquals(19, histogram.percentile(95));
+        assertEquals(20, histogram.percentile(100));
+    }
+
+    @Test
+    void negativeValuesAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(0, histogram.percentile(100));
+    }
+
+    @Test
+    void largeValuesAreReportedWithinSixPercent() {
+        for (long nanos : new long[]{32, 33, 1_000, 12_345, 999_999, 1_000_000_007L, Long.MAX_VALUE / 3}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(nanos);
+
+            long reported = histogram.percentile(100);
+            assertTrue(reported >= nanos, nanos + " reported as " + reported);
+            assertTrue(reported - nanos <= nanos / 16, nanos + " reported as " + reported);
+        }
+    }
+
+    @Test
+    void largestValueFallsInTheLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.percentile(100));
+    }
+
+    @Test
+    void concurrentRecordingLosesNoValue() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(10);
+                }
+                histogram.record(1_000_000);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // 40,000 values of 10 ns, then 4 of 1 ms at the very top
+        assertEquals(10, histogram.percentile(99.99));
+        assertTrue(histogram.percentile(99.999) >= 1_000_000);
+    }
+}
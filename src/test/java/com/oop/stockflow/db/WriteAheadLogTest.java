@@ -0,0 +1,202 @@
+package com.oop.stockflow.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WriteAheadLogTest {
+    // file header and record header sizes of the log format
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_HEADER_SIZE = 12;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsArePeekedInOrderUntilConsumed() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(dir.resolve("queue.wal"), 4096)) {
+            log.append(bytes("first"));
+            log.append(bytes("second"));
+            log.append(bytes("third"));
+
+            assertEquals(3, log.getPendingCount());
+            assertEquals(List.of("first", "second"), strings(log.peek(2)));
+
+            log.consume(1);
+            assertEquals(2, log.getPendingCount());
+            assertEquals(List.of("second", "third"), strings(log.peek(10)));
+        }
+    }
+
+    @Test
+    void pendingRecordsSurviveARestart() throws IOException {
+        Path path = dir.resolve("queue.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            log.append(bytes("first"));
+            log.append(bytes("second"));
+            log.append(bytes("third"));
+            log.consume(1);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            assertEquals(2, log.getPendingCount());
+            assertEquals(List.of("second", "third"), strings(log.peek(10)));
+
+            log.append(bytes("fourth"));
+            assertEquals(List.of("second", "third", "fourth"), strings(log.peek(10)));
+        }
+    }
+
+    @Test
+    void tornRecordEndsTheLogAndIsOverwritten() throws IOException {
+        Path path = dir.resolve("queue.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            log.append(bytes("aaaa"));
+            log.append(bytes("bbbb"));
+            log.append(bytes("cccc"));
+        }
+        // a crash left the payload of the last record half written, so its checksum no longer matches
+        corrupt(path, HEADER_SIZE + 2 * (RECORD_HEADER_SIZE + 4) + RECORD_HEADER_SIZE + 2);
+
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            assertEquals(2, log.getPendingCount());
+            assertEquals(List.of("aaaa", "bbbb"), strings(log.peek(10)));
+            log.append(bytes("dddd"));
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            assertEquals(List.of("aaaa", "bbbb", "dddd"), strings(log.peek(10)));
+        }
+    }
+
+    @Test
+    void recordWithoutItsLengthIsNotRecovered() throws IOException {
+        Path path = dir.resolve("queue.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            log.append(bytes("aaaa"));
+            log.append(bytes("bbbb"));
+        }
+        // the length is written last, a crash before it leaves zero
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(HEADER_SIZE + RECORD_HEADER_SIZE + 4);
+            file.writeInt(0);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            assertEquals(List.of("aaaa"), strings(log.peek(10)));
+        }
+    }
+
+    @Test
+    void recordsOfAnEarlierGenerationAreIgnored() throws IOException {
+        Path path = dir.resolve("queue.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            log.append(bytes("old-1"));
+            log.append(bytes("old-2"));
+            log.consume(2);
+            assertEquals(0, log.getPendingCount());
+
+            // starts over at the beginning, right before the stale second record
+            log.append(bytes("new-1"));
+            assertEquals(List.of("new-1"), strings(log.peek(10)));
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            assertEquals(1, log.getPendingCount());
+            assertEquals(List.of("new-1"), strings(log.peek(10)));
+
+            log.consume(1);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(path, 4096)) {
+            assertEquals(0, log.getPendingCount());
+            assertEquals(List.of(), strings(log.peek(10)));
+        }
+    }
+
+    @Test
+    void logGrowsBeyondItsInitialCapacity() throws IOException {
+        Path path = dir.resolve("queue.wal");
+        List<String> expected = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(path, 128)) {
+            for (int i = 0; i < 100; i++) {
+                String record = "record-" + i;
+                log.append(bytes(record));
+                expected.add(record);
+            }
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(path, 128)) {
+            assertEquals(100, log.getPendingCount());
+            assertEquals(expected, strings(log.peek(100)));
+        }
+    }
+
+    @Test
+    void concurrentAppendsAreAllRecovered() throws Exception {
+        Path path = dir.resolve("queue.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, 1024)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        try {
+                            log.append(bytes(thread + ":" + i));
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(path, 1024)) {
+            assertEquals(200, log.getPendingCount());
+            assertEquals(200, log.peek(1000).size());
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path path = dir.resolve("notes.txt");
+        Files.write(path, bytes("not a write-ahead log, just some text"));
+
+        assertThrows(IOException.class, () -> new WriteAheadLog(path, 4096));
+    }
+
+    private static void corrupt(Path path, long offset) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(offset);
+            int value = file.read();
+            file.seek(offset);
+            file.write(value ^ 0xFF);
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(List<byte[]> records) {
+        List<String> strings = new ArrayList<>();
+        for (byte[] record : records) {
+            strings.add(new String(record, StandardCharsets.UTF_8));
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,122 @@
+package com.oop.stockflow.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRingBufferTest {
+
+    @Test
+    void emptyBufferHasNothingToPoll() {
+        assertFalse(new LogRingBuffer(8).poll(new LogRingBuffer.LogEvent()));
+    }
+
+    @Test
+    void eventsArePolledInOrderWithTheirFields() {
+        LogRingBuffer buffer = new LogRingBuffer(8);
+        assertTrue(buffer.offer(LogLevel.INFO, 1L, "main", "App", "Started {}", 1, "client", null, null));
+        assertTrue(buffer.offer(LogLevel.ERROR, 2L, "pool-1", "Db", "Failed {} of {}", 2, 3, 7, null));
+
+        LogRingBuffer.LogEvent event = new LogRingBuffer.LogEvent();
+        assertTrue(buffer.poll(event));
+        assertEquals(LogLevel.INFO, event.level);
+        assertEquals(1L, event.timestamp);
+        assertEquals("main", event.thread);
+        assertEquals("App", event.logger);
+        assertEquals("Started {}", event.pattern);
+        assertEquals(1, event.argCount);
+        assertEquals("client", event.args[0]);
+
+        assertTrue(buffer.poll(event));
+        assertEquals(LogLevel.ERROR, event.level);
+        assertEquals("Failed {} of {}", event.pattern);
+        assertEquals(2, event.argCount);
+        assertEquals(3, event.args[0]);
+        assertEquals(7, event.args[1]);
+        assertNull(event.args[2]);
+
+        assertFalse(buffer.poll(event));
+    }
+
+    @Test
+    void fullBufferRejectsUntilASlotIsPolled() {
+        // rounded up to 8 slots
+        LogRingBuffer buffer = new LogRingBuffer(5);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(LogLevel.DEBUG, i, "main", "App", "event", 0, null, null, null));
+        }
+        assertFalse(buffer.offer(LogLevel.DEBUG, 8, "main", "App", "event", 0, null, null, null));
+
+        LogRingBuffer.LogEvent event = new LogRingBuffer.LogEvent();
+        assertTrue(buffer.poll(event));
+        assertEquals(0L, event.timestamp);
+        assertTrue(buffer.offer(LogLevel.DEBUG, 8, "main", "App", "event", 0, null, null, null));
+    }
+
+    @Test
+    void orderIsKeptAcrossManyLaps() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        LogRingBuffer.LogEvent event = new LogRingBuffer.LogEvent();
+        long next = 0;
+        for (long timestamp = 0; timestamp < 100; timestamp++) {
+            assertTrue(buffer.offer(LogLevel.INFO, timestamp, "main", "App", "event", 0, null, null, null));
+            // keep the buffer between one and three events full
+            if (timestamp % 3 == 2) {
+                while (buffer.poll(event)) {
+                    assertEquals(next++, event.timestamp);
+                }
+            }
+        }
+        while (buffer.poll(event)) {
+            assertEquals(next++, event.timestamp);
+        }
+        assertEquals(100, next);
+    }
+
+    @Test
+    void concurrentProducersLoseNoEventAndKeepTheirOwnOrder() throws InterruptedException {
+        int producers = 4;
+        int eventsPerProducer = 50_000;
+        LogRingBuffer buffer = new LogRingBuffer(64);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String name = "producer-" + p;
+            Thread thread = new Thread(() -> {
+                for (long i = 0; i < eventsPerProducer; i++) {
+                    while (!buffer.offer(LogLevel.INFO, i, name, "Test", "event {}", 1, i, null, null)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        long[] nextByProducer = new long[producers];
+        LogRingBuffer.LogEvent event = new LogRingBuffer.LogEvent();
+        int received = 0;
+        while (received < producers * eventsPerProducer) {
+            if (!buffer.poll(event)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = Integer.parseInt(event.thread.substring("producer-".length()));
+            assertEquals(nextByProducer[producer], event.timestamp, "order of " + event.thread);
+            assertEquals(event.timestamp, event.args[0]);
+            nextByProducer[producer]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(buffer.poll(event));
+    }
+}
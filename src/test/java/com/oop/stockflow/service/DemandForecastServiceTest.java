@@ -0,0 +1,62 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.model.DemandForecast;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DemandForecastServiceTest {
+
+    @Test
+    void steadyDemandNeedsNoSafetyStock() {
+        int[] demand = new int[28];
+        Arrays.fill(demand, 10);
+
+        DemandForecast forecast = DemandForecastService.fit(42, demand, 7);
+
+        assertEquals(42, forecast.getSku());
+        assertEquals(10.0, forecast.getAverageDailyDemand(), 1e-9);
+        assertEquals(70.0, forecast.getLeadTimeDemand(), 1e-9);
+        assertEquals(0, forecast.getSafetyStock());
+        assertEquals(70, forecast.getReorderPoint());
+    }
+
+    @Test
+    void weeklyPatternIsForecastPerWeekday() {
+        // demand only on the last two days of every week
+        int[] demand = new int[28];
+        for (int t = 0; t < demand.length; t++) {
+            demand[t] = t % 7 >= 5 ? 20 : 0;
+        }
+
+        // the next two days are quiet weekdays, the full week holds both busy days
+        assertEquals(0.0, DemandForecastService.fit(1, demand, 2).getLeadTimeDemand(), 1e-9);
+        assertEquals(40.0, DemandForecastService.fit(1, demand, 7).getLeadTimeDemand(), 1e-9);
+    }
+
+    @Test
+    void noisyDemandAddsSafetyStockOnTopOfTheLeadTimeDemand() {
+        int[] demand = new int[56];
+        for (int t = 0; t < demand.length; t++) {
+            demand[t] = t % 2 == 0 ? 5 : 15;
+        }
+
+        DemandForecast forecast = DemandForecastService.fit(1, demand, 7);
+
+        assertTrue(forecast.getSafetyStock() > 0);
+        assertEquals((int) Math.ceil(forecast.getLeadTimeDemand()) + forecast.getSafetyStock(),
+                forecast.getReorderPoint());
+    }
+
+    @Test
+    void productWithoutHistoryHasNoReorderPoint() {
+        DemandForecast forecast = DemandForecastService.fit(1, new int[0], 7);
+
+        assertEquals(0.0, forecast.getAverageDailyDemand(), 1e-9);
+        assertEquals(0, forecast.getSafetyStock());
+        assertEquals(0, forecast.getReorderPoint());
+    }
+}
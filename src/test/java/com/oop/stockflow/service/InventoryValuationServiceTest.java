@@ -0,0 +1,158 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.model.ValuationMethod;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InventoryValuationServiceTest {
+    private static final int WAREHOUSE = 1;
+    private static final int OTHER_WAREHOUSE = 2;
+    private static final int SKU = 10;
+    private static final int OTHER_SKU = 20;
+
+    @Test
+    void issuesAreValuedAtAverageCostAndFromTheOldestLayers() {
+        InventoryValuationService.ManagerValuation valuation = loaded();
+        valuation.replay(SKU, WAREHOUSE, true, 10, 100);
+        valuation.replay(SKU, WAREHOUSE, true, 10, 200);
+        assertValues(valuation, WAREHOUSE, 3000, 3000);
+
+        valuation.replay(SKU, WAREHOUSE, false, 5, 0);
+        // average: 3000 - 3000 * 5 / 20; FIFO: the 5 units come from the 100 layer
+        assertValues(valuation, WAREHOUSE, 2250, 2500);
+
+        valuation.replay(SKU, WAREHOUSE, false, 10, 0);
+        // FIFO: the last 5 units of the 100 layer, then 5 of the 200 layer
+        assertValues(valuation, WAREHOUSE, 750, 1000);
+        assertEquals(150, valuation.averageUnitCost(SKU));
+    }
+
+    @Test
+    void issuingMoreThanOnHandEmptiesTheSku() {
+        InventoryValuationService.ManagerValuation valuation = loaded();
+        valuation.replay(SKU, WAREHOUSE, true, 3, 333);
+
+        valuation.replay(SKU, WAREHOUSE, false, 7, 0);
+
+        assertValues(valuation, WAREHOUSE, 0, 0);
+        assertEquals(-1, valuation.averageUnitCost(SKU));
+    }
+
+    @Test
+    void averageRoundingLeavesNoValueOnceEmpty() {
+        InventoryValuationService.ManagerValuation valuation = loaded();
+        valuation.replay(SKU, WAREHOUSE, true, 3, 100);
+        valuation.replay(SKU, WAREHOUSE, true, 1, 1);
+
+        valuation.replay(SKU, WAREHOUSE, false, 3, 0);
+        valuation.replay(SKU, WAREHOUSE, false, 1, 0);
+
+        assertValues(valuation, WAREHOUSE, 0, 0);
+    }
+
+    @Test
+    void archivedStockIsReceivedAsTheOldestLayerAtThePurchasePrice() {
+        InventoryValuationService.ManagerValuation valuation = loaded();
+        valuation.replay(SKU, WAREHOUSE, true, 5, 200);
+
+        // the product holds 8 units, 3 of them from history that is no longer online
+        valuation.reconcile(SKU, WAREHOUSE, 8, 100);
+        assertValues(valuation, WAREHOUSE, 1300, 1300);
+
+        valuation.replay(SKU, WAREHOUSE, false, 3, 0);
+        // average: 1300 - 1300 * 3 / 8; FIFO: the archived units leave first
+        assertValues(valuation, WAREHOUSE, 813, 1000);
+    }
+
+    @Test
+    void reconcilingBelowTheReplayedStockIssuesTheSurplus() {
+        InventoryValuationService.ManagerValuation valuation = loaded();
+        valuation.replay(SKU, WAREHOUSE, true, 4, 100);
+        valuation.replay(SKU, WAREHOUSE, true, 4, 300);
+
+        valuation.reconcile(SKU, WAREHOUSE, 2, 500);
+
+        assertValues(valuation, WAREHOUSE, 400, 600);
+    }
+
+    @Test
+    void transactionReportedTwiceIsAppliedOnce() {
+        InventoryValuationService.ManagerValuation valuation = new InventoryValuationService.ManagerValuation();
+        valuation.replay(SKU, WAREHOUSE, true, 10, 100);
+        valuation.finishLoading(List.of(7));
+
+        // already part of the replayed history
+        valuation.apply(7, SKU, WAREHOUSE, true, 10, 100);
+        assertValues(valuation, WAREHOUSE, 1000, 1000);
+
+        valuation.apply(8, SKU, WAREHOUSE, false, 4, 0);
+        valuation.apply(8, SKU, WAREHOUSE, false, 4, 0);
+        assertValues(valuation, WAREHOUSE, 600, 600);
+    }
+
+    @Test
+    void averageUnitCostIsUnknownUntilTheReplayIsDone() {
+        InventoryValuationService.ManagerValuation valuation = new InventoryValuationService.ManagerValuation();
+        valuation.replay(SKU, WAREHOUSE, true, 10, 100);
+        assertEquals(-1, valuation.averageUnitCost(SKU));
+
+        valuation.finishLoading(List.of());
+        assertEquals(100, valuation.averageUnitCost(SKU));
+    }
+
+    @Test
+    void inboundWithoutUnitCostIsValuedAtTheLastKnownPurchasePrice() {
+        InventoryValuationService.ManagerValuation valuation = loaded();
+        valuation.reconcile(SKU, WAREHOUSE, 0, 250);
+
+        valuation.apply(9, SKU, WAREHOUSE, true, 4, -1);
+
+        assertValues(valuation, WAREHOUSE, 1000, 1000);
+    }
+
+    @Test
+    void transferMovesValueBetweenWarehousesOnce() {
+        InventoryValuationService.ManagerValuation valuation = loaded();
+        valuation.reconcile(SKU, WAREHOUSE, 10, 100);
+
+        valuation.applyTransfer(11, SKU, WAREHOUSE, 4);
+        valuation.receiveTransfer(SKU, OTHER_SKU, OTHER_WAREHOUSE, 4, -1);
+        // the receiving side brings the product to its current stock, so a second report changes nothing
+        valuation.applyTransfer(11, SKU, WAREHOUSE, 4);
+        valuation.receiveTransfer(SKU, OTHER_SKU, OTHER_WAREHOUSE, 4, -1);
+
+        assertValues(valuation, WAREHOUSE, 600, 600);
+        assertValues(valuation, OTHER_WAREHOUSE, 400, 400);
+        assertEquals(1000, valuation.totalValue(ValuationMethod.WEIGHTED_AVERAGE));
+        assertEquals(1000, valuation.totalValue(ValuationMethod.FIFO));
+    }
+
+    @Test
+    void removedProductLeavesTheTotals() {
+        InventoryValuationService.ManagerValuation valuation = loaded();
+        valuation.replay(SKU, WAREHOUSE, true, 2, 500);
+        valuation.replay(OTHER_SKU, OTHER_WAREHOUSE, true, 3, 100);
+        assertEquals(1300, valuation.totalValue(ValuationMethod.FIFO));
+
+        valuation.removeProduct(SKU);
+
+        assertValues(valuation, WAREHOUSE, 0, 0);
+        assertEquals(300, valuation.totalValue(ValuationMethod.WEIGHTED_AVERAGE));
+        assertEquals(300, valuation.totalValue(ValuationMethod.FIFO));
+    }
+
+    private static InventoryValuationService.ManagerValuation loaded() {
+        InventoryValuationService.ManagerValuation valuation = new InventoryValuationService.ManagerValuation();
+        valuation.finishLoading(List.of());
+        return valuation;
+    }
+
+    private static void assertValues(InventoryValuationService.ManagerValuation valuation, int warehouseId,
+                                     long averageCents, long fifoCents) {
+        assertEquals(averageCents, valuation.warehouseValue(warehouseId, ValuationMethod.WEIGHTED_AVERAGE), "weighted average");
+        assertEquals(fifoCents, valuation.warehouseValue(warehouseId, ValuationMethod.FIFO), "FIFO");
+    }
+}
@@ -0,0 +1,42 @@
+package com.oop.stockflow.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplenishmentServiceTest {
+
+    @Test
+    void nothingIsOrderedAboveTheReorderPoint() {
+        assertEquals(0, ReplenishmentService.suggestOrderQuantity(11, 10, 5, 0));
+    }
+
+    @Test
+    void stockAtTheReorderPointIsReordered() {
+        assertEquals(5, ReplenishmentService.suggestOrderQuantity(10, 10, 5, 0));
+    }
+
+    @Test
+    void orderBringsStockBackAboveTheReorderPoint() {
+        // 9 units take 2 units back to 11, above the reorder point of 10
+        assertEquals(9, ReplenishmentService.suggestOrderQuantity(2, 10, 5, 0));
+    }
+
+    @Test
+    void atLeastTheReorderQuantityIsOrdered() {
+        assertEquals(50, ReplenishmentService.suggestOrderQuantity(9, 10, 50, 0));
+    }
+
+    @Test
+    void orderIsRoundedUpToWholeCases() {
+        assertEquals(12, ReplenishmentService.suggestOrderQuantity(2, 10, 5, 4));
+        assertEquals(60, ReplenishmentService.suggestOrderQuantity(9, 10, 50, 12));
+        // already a whole number of cases
+        assertEquals(8, ReplenishmentService.suggestOrderQuantity(3, 10, 8, 4));
+    }
+
+    @Test
+    void singleUnitCasesAreNotRounded() {
+        assertEquals(9, ReplenishmentService.suggestOrderQuantity(2, 10, 5, 1));
+    }
+}
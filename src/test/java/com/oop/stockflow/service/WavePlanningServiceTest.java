@@ -0,0 +1,107 @@
+package com.oop.stockflow.service;
+
+import com.oop.stockflow.model.DryGoodProduct;
+import com.oop.stockflow.model.OutboundTransaction;
+import com.oop.stockflow.model.PickWave;
+import com.oop.stockflow.model.Product;
+import com.oop.stockflow.model.ShippingType;
+import com.oop.stockflow.model.TransactionStatus;
+import com.oop.stockflow.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WavePlanningServiceTest {
+    private static final Map<Integer, Product> PRODUCTS = Map.of(
+            1, product(1, 2.0, 0.01),
+            2, product(2, 0.5, 0.002));
+
+    @Test
+    void spellingVariantsOfAnAddressAreNormalizedAlike() {
+        assertEquals("jalan merdeka nomor 5", WavePlanningService.normalizeDestination("Jl. Merdeka No. 5"));
+        assertEquals("jalan merdeka nomor 5", WavePlanningService.normalizeDestination("  JALAN  merdeka,\nno 5 "));
+        assertEquals("12 main street", WavePlanningService.normalizeDestination("12 Main St."));
+        assertEquals("", WavePlanningService.normalizeDestination(" - "));
+    }
+
+    @Test
+    void transactionsAreGroupedByShippingMethodAndDestination() {
+        List<OutboundTransaction> transactions = List.of(
+                outbound(1, 1, 2, ShippingType.EXPRESS_AIR, "Jl. Merdeka 5"),
+                outbound(2, 1, 3, ShippingType.STANDARD_GROUND, "jalan merdeka 5"),
+                outbound(3, 2, 1, ShippingType.STANDARD_GROUND, "Jalan Merdeka 5"),
+                outbound(4, 99, 4, ShippingType.STANDARD_GROUND, "Main Rd 1"),
+                outbound(5, 2, 1, ShippingType.EXPRESS_AIR, "JL MERDEKA 5"));
+
+        List<PickWave> waves = WavePlanningService.plan(transactions, PRODUCTS);
+
+        // by shipping method, then largest wave first
+        assertEquals(3, waves.size());
+
+        PickWave ground = waves.get(0);
+        assertEquals(ShippingType.STANDARD_GROUND, ground.getShippingType());
+        assertEquals("jalan merdeka 5", ground.getDestinationAddress());
+        assertEquals(List.of(2, 3), ids(ground));
+        assertEquals(4, ground.getTotalQuantity());
+        assertEquals(6.5, ground.getTotalWeightKg(), 1e-9);
+        assertEquals(0.032, ground.getTotalVolumeM3(), 1e-9);
+
+        // the product is unknown, so the wave has no weight or volume
+        PickWave unknownProduct = waves.get(1);
+        assertEquals(ShippingType.STANDARD_GROUND, unknownProduct.getShippingType());
+        assertEquals(List.of(4), ids(unknownProduct));
+        assertEquals(4, unknownProduct.getTotalQuantity());
+        assertEquals(0.0, unknownProduct.getTotalWeightKg(), 1e-9);
+
+        PickWave air = waves.get(2);
+        assertEquals(ShippingType.EXPRESS_AIR, air.getShippingType());
+        assertEquals("Jl. Merdeka 5", air.getDestinationAddress());
+        assertEquals(List.of(1, 5), ids(air));
+        assertEquals(3, air.getTotalQuantity());
+        assertEquals(4.5, air.getTotalWeightKg(), 1e-9);
+        assertEquals(0.022, air.getTotalVolumeM3(), 1e-9);
+    }
+
+    @Test
+    void transactionsWithoutAnAddressShareAWave() {
+        List<OutboundTransaction> transactions = Arrays.asList(
+                outbound(1, 1, 1, ShippingType.SEA_FREIGHT, null),
+                outbound(2, 1, 1, ShippingType.SEA_FREIGHT, ""));
+
+        List<PickWave> waves = WavePlanningService.plan(transactions, PRODUCTS);
+
+        assertEquals(1, waves.size());
+        assertEquals(List.of(1, 2), ids(waves.get(0)));
+    }
+
+    @Test
+    void nothingPendingPlansNoWave() {
+        assertTrue(WavePlanningService.plan(List.of(), PRODUCTS).isEmpty());
+    }
+
+    private static List<Integer> ids(PickWave wave) {
+        List<Integer> ids = new ArrayList<>();
+        for (OutboundTransaction transaction : wave.getTransactions()) {
+            ids.add(transaction.getId());
+        }
+        return ids;
+    }
+
+    private static OutboundTransaction outbound(int id, int sku, int quantity, ShippingType shippingType, String address) {
+        return new OutboundTransaction(id, sku, 1, quantity, new Date(), shippingType, TransactionStatus.PENDING,
+                address, TransactionType.OUTBOUND);
+    }
+
+    private static Product product(int sku, double weightPerUnitKg, double volumePerUnitM3) {
+        return new DryGoodProduct(sku, "Product " + sku, "Brand", null, BigDecimal.TEN,
+                weightPerUnitKg, volumePerUnitM3, 100, 10, 20, 0, 1);
+    }
+}